@@ -35,6 +35,8 @@ import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
 import org.jkiss.dbeaver.runtime.properties.*;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class CompareObjectsExecutor {
 
@@ -50,9 +52,13 @@ public class CompareObjectsExecutor {
     private final DBRProgressListener initializeFinisher;
     private final ILazyPropertyLoadListener lazyPropertyLoadListener;
 
-    private volatile int initializedCount = 0;
+    private volatile CountDownLatch initializeLatch;
     private volatile IStatus initializeError;
     private final Map<Object, Map<DBPPropertyDescriptor, Object>> propertyValues = new IdentityHashMap<>();
+    // Property descriptors by object class and data source filter
+    private final Map<List<Object>, List<ObjectPropertyDescriptor>> propertyDescriptors = new HashMap<>();
+    // Nodes of different data sources are read in parallel, one pool thread per compared side
+    private ExecutorService readExecutor;
 
     private final List<CompareReportLine> reportLines = new ArrayList<>();
     private int reportDepth = 0;
@@ -126,8 +132,10 @@ public class CompareObjectsExecutor {
             {
                 if (!status.isOK()) {
                     initializeError = status;
-                } else {
-                    initializedCount++;
+                }
+                CountDownLatch latch = initializeLatch;
+                if (latch != null) {
+                    latch.countDown();
                 }
             }
         };
@@ -135,7 +143,7 @@ public class CompareObjectsExecutor {
             @Override
             public void handlePropertyLoad(Object object, DBPPropertyDescriptor property, Object propertyValue, boolean completed)
             {
-                synchronized (propertyValues) {
+                synchronized (PROPS_LOCK) {
                     Map<DBPPropertyDescriptor, Object> objectProps = propertyValues.get(object);
                     if (objectProps != null) {
                         objectProps.put(property, propertyValue);
@@ -161,8 +169,23 @@ public class CompareObjectsExecutor {
     {
         reportLines.clear();
         lastLine = null;
+        propertyDescriptors.clear();
 
-        compareNodes(monitor, nodes);
+        Set<Object> containers = new HashSet<>();
+        for (DBNDatabaseNode node : nodes) {
+            containers.add(node.getDataSourceContainer());
+        }
+        if (nodes.size() > 1 && containers.size() == nodes.size()) {
+            readExecutor = Executors.newFixedThreadPool(nodes.size(), new NodeReaderThreadFactory());
+        }
+        try {
+            compareNodes(monitor, nodes);
+        } finally {
+            if (readExecutor != null) {
+                readExecutor.shutdownNow();
+                readExecutor = null;
+            }
+        }
         return new CompareReport(rootNodes, reportLines);
     }
 
@@ -190,9 +213,11 @@ public class CompareObjectsExecutor {
         boolean onlyStruct = settings.isCompareOnlyStructure();
 
         // Clear compare singletons
-        this.initializedCount = 0;
+        this.initializeLatch = new CountDownLatch(nodes.size());
         this.initializeError = null;
-        this.propertyValues.clear();
+        synchronized (PROPS_LOCK) {
+            this.propertyValues.clear();
+        }
 
         StringBuilder title = new StringBuilder();
         // Initialize nodes
@@ -204,25 +229,25 @@ public class CompareObjectsExecutor {
                 node.initializeNode(null, initializeFinisher);
                 monitor.worked(1);
             }
-            while (initializedCount != nodes.size()) {
+            // Usually nodes are initialized synchronously. Data source nodes may connect in background
+            while (!initializeLatch.await(50, TimeUnit.MILLISECONDS)) {
                 if (initializeError != null) {
-                    throw new DBException(initializeError.getMessage());
+                    break;
                 }
-                Thread.sleep(50);
                 if (monitor.isCanceled()) {
                     throw new InterruptedException();
                 }
             }
+            if (initializeError != null) {
+                throw new DBException(initializeError.getMessage());
+            }
         }
 
         monitor.subTask("Compare " + title.toString());
         boolean compareLazyProperties = false;
 
         DBNDatabaseNode firstNode = nodes.get(0);
-        List<ObjectPropertyDescriptor> properties = ObjectPropertyDescriptor.extractAnnotations(
-            null,
-            firstNode.getObject().getClass(),
-            getDataSourceFilter(firstNode), null);
+        List<ObjectPropertyDescriptor> properties = getPropertyDescriptors(firstNode);
         for (ObjectPropertyDescriptor prop : properties) {
             if (prop.isLazy()) {
                 compareLazyProperties = true;
@@ -238,53 +263,64 @@ public class CompareObjectsExecutor {
         }
 
         // Load all properties
-        for (DBNDatabaseNode node : nodes) {
-            if (monitor.isCanceled()) {
-                throw new InterruptedException();
-            }
-            DBSObject databaseObject = node.getObject();
-            Map<DBPPropertyDescriptor, Object> nodeProperties = propertyValues.get(databaseObject);
-            if (nodeProperties == null) {
-                nodeProperties = new IdentityHashMap<>();
-                propertyValues.put(databaseObject, nodeProperties);
+        List<Map<DBPPropertyDescriptor, Object>> allProperties = new ArrayList<>(nodes.size());
+        synchronized (PROPS_LOCK) {
+            for (DBNDatabaseNode node : nodes) {
+                allProperties.add(propertyValues.computeIfAbsent(node.getObject(), o -> new IdentityHashMap<>()));
             }
-            PropertyCollector propertySource = new PropertyCollector(databaseObject, compareLazyProperties || compareScripts);
-            for (ObjectPropertyDescriptor prop : properties) {
-                boolean isScriptProperty = prop.getId().equals(DBConstants.PARAM_OBJECT_DEFINITION_TEXT) || prop.getId().equals(DBConstants.PARAM_EXTENDED_DEFINITION_TEXT);
-                if (prop.isLazy()) {
-                    if (!compareLazyProperties) {
-                        if (compareScripts) {
-                            // Only DBPScriptObject methods
-                            if (!isScriptProperty) {
-                                continue;
-                            }
-                        } else {
+        }
+        final boolean readLazyProperties = compareLazyProperties;
+        readNodes(monitor, nodes, (nodeMonitor, index) -> {
+            loadProperties(nodeMonitor, nodes.get(index), properties, allProperties.get(index), readLazyProperties, compareScripts, onlyStruct);
+        });
+        monitor.worked(nodes.size());
+
+        // Compare properties
+        for (ObjectPropertyDescriptor prop : properties) {
+            reportPropertyCompare(prop);
+        }
+    }
+
+    private void loadProperties(
+        DBRProgressMonitor monitor,
+        DBNDatabaseNode node,
+        List<ObjectPropertyDescriptor> properties,
+        Map<DBPPropertyDescriptor, Object> nodeProperties,
+        boolean compareLazyProperties,
+        boolean compareScripts,
+        boolean onlyStruct)
+    {
+        DBSObject databaseObject = node.getObject();
+        PropertyCollector propertySource = new PropertyCollector(databaseObject, compareLazyProperties || compareScripts);
+        for (ObjectPropertyDescriptor prop : properties) {
+            boolean isScriptProperty = prop.getId().equals(DBConstants.PARAM_OBJECT_DEFINITION_TEXT) || prop.getId().equals(DBConstants.PARAM_EXTENDED_DEFINITION_TEXT);
+            if (prop.isLazy()) {
+                if (!compareLazyProperties) {
+                    if (compareScripts) {
+                        // Only DBPScriptObject methods
+                        if (!isScriptProperty) {
                             continue;
                         }
-                    }
-                } else {
-                    if (prop.isHidden()) {
+                    } else {
                         continue;
                     }
                 }
-                if (onlyStruct && !isScriptProperty) {
+            } else {
+                if (prop.isHidden()) {
                     continue;
                 }
-                Object propertyValue = propertySource.getPropertyValue(monitor, databaseObject, prop, true);
-                synchronized (PROPS_LOCK) {
-                    if (propertyValue instanceof DBPNamedObject) {
-                        // Compare just object names
-                        propertyValue = ((DBPNamedObject) propertyValue).getName();
-                    }
-                    nodeProperties.put(prop, propertyValue);
+            }
+            if (onlyStruct && !isScriptProperty) {
+                continue;
+            }
+            Object propertyValue = propertySource.getPropertyValue(monitor, databaseObject, prop, true);
+            synchronized (PROPS_LOCK) {
+                if (propertyValue instanceof DBPNamedObject) {
+                    // Compare just object names
+                    propertyValue = ((DBPNamedObject) propertyValue).getName();
                 }
+                nodeProperties.put(prop, propertyValue);
             }
-            monitor.worked(1);
-        }
-
-        // Compare properties
-        for (ObjectPropertyDescriptor prop : properties) {
-            reportPropertyCompare(prop);
         }
     }
 
@@ -292,22 +328,30 @@ public class CompareObjectsExecutor {
     {
         // Compare children
         int nodeCount = nodes.size();
-        List<DBNDatabaseNode[]> allChildren = new ArrayList<>(nodeCount);
+        DBNDatabaseNode[][] childLists = new DBNDatabaseNode[nodeCount][];
         // Use submonitor to avoid huge number of tasks
-        DBRProgressMonitor subMonitor = new SubTaskProgressMonitor(monitor);
-        for (int i = 0; i < nodeCount; i++) {
-            DBNDatabaseNode node = nodes.get(i);
+        readNodes(new SubTaskProgressMonitor(monitor), nodes, (subMonitor, index) -> {
+            DBNDatabaseNode node = nodes.get(index);
             // Cache structure if possible
             if (node.getObject() instanceof DBSObjectContainer) {
                 ((DBSObjectContainer) node.getObject()).cacheStructure(subMonitor, DBSObjectContainer.STRUCT_ALL);
             }
             try {
-                DBNDatabaseNode[] children = node.getChildren(subMonitor);
-                allChildren.add(children);
+                childLists[index] = node.getChildren(subMonitor);
             } catch (Exception e) {
                 log.warn("Error reading child nodes for compare", e);
-                allChildren.add(null);
             }
+        });
+        List<DBNDatabaseNode[]> allChildren = Arrays.asList(childLists);
+        List<Map<String, Integer>> allChildIndexes = new ArrayList<>(nodeCount);
+        for (DBNDatabaseNode[] childList : allChildren) {
+            Map<String, Integer> childIndexes = new HashMap<>();
+            if (childList != null) {
+                for (int k = 0; k < childList.length; k++) {
+                    childIndexes.putIfAbsent(childList[k].getNodeName(), k);
+                }
+            }
+            allChildIndexes.add(childIndexes);
         }
 
         Set<String> allChildNames = new LinkedHashSet<>();
@@ -330,16 +374,8 @@ public class CompareObjectsExecutor {
         for (String childName : allChildNames) {
             int[] childIndexes = new int[nodeCount];
             for (int i = 0; i < nodeCount; i++) {
-                childIndexes[i] = -1;
-                DBNDatabaseNode[] childList = allChildren.get(i);
-                if (childList == null) continue;
-                for (int k = 0; k < childList.length; k++) {
-                    DBNDatabaseNode child = childList[k];
-                    if (child.getNodeName().equals(childName)) {
-                        childIndexes[i] = k;
-                        break;
-                    }
-                }
+                Integer childIndex = allChildIndexes.get(i).get(childName);
+                childIndexes[i] = childIndex == null ? -1 : childIndex;
             }
 
             List<DBNDatabaseNode> nodesToCompare = new ArrayList<>(nodeCount);
@@ -365,6 +401,82 @@ public class CompareObjectsExecutor {
     }
 
 
+    private List<ObjectPropertyDescriptor> getPropertyDescriptors(DBNDatabaseNode node)
+    {
+        Class<?> objectClass = node.getObject().getClass();
+        DataSourcePropertyFilter filter = getDataSourceFilter(node);
+        return propertyDescriptors.computeIfAbsent(
+            Arrays.asList(objectClass, filter),
+            key -> ObjectPropertyDescriptor.extractAnnotations(null, objectClass, filter, null));
+    }
+
+    /**
+     * Runs reader for each node. Nodes of different data sources are read in parallel.
+     */
+    private void readNodes(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes, NodeReader reader)
+        throws DBException, InterruptedException
+    {
+        if (readExecutor == null || nodes.size() < 2) {
+            for (int i = 0; i < nodes.size(); i++) {
+                if (monitor.isCanceled()) {
+                    throw new InterruptedException();
+                }
+                reader.readNode(monitor, i);
+            }
+            return;
+        }
+        // Readers never call readNodes themselves, so the pool can't run out of threads
+        List<Future<?>> results = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            final int index = i;
+            results.add(readExecutor.submit(() -> {
+                reader.readNode(monitor, index);
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> result : results) {
+                while (true) {
+                    try {
+                        result.get(100, TimeUnit.MILLISECONDS);
+                        break;
+                    } catch (TimeoutException e) {
+                        if (monitor.isCanceled()) {
+                            // Readers check monitor themselves. Don't wait for them
+                            throw new InterruptedException();
+                        }
+                    }
+                }
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DBException) {
+                throw (DBException) cause;
+            }
+            throw new DBException("Error reading compare objects", cause);
+        } finally {
+            for (Future<?> result : results) {
+                result.cancel(true);
+            }
+        }
+    }
+
+    private interface NodeReader {
+        void readNode(DBRProgressMonitor monitor, int index) throws DBException;
+    }
+
+    private static class NodeReaderThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r)
+        {
+            Thread thread = new Thread(r, "Compare objects reader (" + threadCount.incrementAndGet() + ")");
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
     private DataSourcePropertyFilter getDataSourceFilter(DBNDatabaseNode node)
     {
         DBPDataSource dataSource = node.getDataSourceContainer().getDataSource();
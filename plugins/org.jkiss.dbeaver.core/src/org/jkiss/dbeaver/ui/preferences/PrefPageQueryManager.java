@@ -60,6 +60,7 @@ public class PrefPageQueryManager extends AbstractPrefPage implements IWorkbench
     private Text textHistoryDays;
     private Text textEntriesPerPage;
     private Button checkStoreLog;
+    private Button checkStoreHistory;
     private Text textOutputFolder;
 
 
@@ -111,6 +112,14 @@ public class PrefPageQueryManager extends AbstractPrefPage implements IWorkbench
                 }
             });
             textOutputFolder = DialogUtils.createOutputFolderChooser(storageSettings, CoreMessages.pref_page_query_manager_logs_folder, null);
+            checkStoreHistory = UIUtils.createCheckbox(storageSettings, CoreMessages.pref_page_query_manager_checkbox_store_history, null, false, 2);
+            checkStoreHistory.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    textHistoryDays.setEnabled(checkStoreHistory.getSelection());
+                }
+            });
             textHistoryDays = UIUtils.createLabelText(storageSettings, CoreMessages.pref_page_query_manager_label_days_to_store_log, "", SWT.BORDER, new GridData(50, SWT.DEFAULT)); //$NON-NLS-2$
             textHistoryDays.setEnabled(false);
 
@@ -146,6 +155,8 @@ public class PrefPageQueryManager extends AbstractPrefPage implements IWorkbench
         checkStoreLog.setSelection(store.getBoolean(QMConstants.PROP_STORE_LOG_FILE));
         textOutputFolder.setText(store.getString(QMConstants.PROP_LOG_DIRECTORY));
         UIUtils.enableWithChildren(textOutputFolder.getParent(), checkStoreLog.getSelection());
+        checkStoreHistory.setSelection(store.getBoolean(QMConstants.PROP_STORE_HISTORY));
+        textHistoryDays.setEnabled(checkStoreHistory.getSelection());
 
         super.performDefaults();
     }
@@ -180,6 +191,7 @@ public class PrefPageQueryManager extends AbstractPrefPage implements IWorkbench
         }
         store.setValue(QMConstants.PROP_STORE_LOG_FILE, checkStoreLog.getSelection());
         store.setValue(QMConstants.PROP_LOG_DIRECTORY, textOutputFolder.getText());
+        store.setValue(QMConstants.PROP_STORE_HISTORY, checkStoreHistory.getSelection());
         PrefUtils.savePreferenceStore(store);
 
         return super.performOk();
@@ -0,0 +1,134 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.data.columnar;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+
+import java.sql.Types;
+
+/**
+ * Column type of columnar (Arrow, Parquet) files
+ */
+public enum ColumnarDataType {
+
+    BOOLEAN(DBPDataKind.BOOLEAN, "BOOLEAN", Types.BOOLEAN),
+    INT32(DBPDataKind.NUMERIC, "INTEGER", Types.INTEGER),
+    INT64(DBPDataKind.NUMERIC, "BIGINT", Types.BIGINT),
+    FLOAT(DBPDataKind.NUMERIC, "REAL", Types.REAL),
+    DOUBLE(DBPDataKind.NUMERIC, "DOUBLE", Types.DOUBLE),
+    DECIMAL(DBPDataKind.NUMERIC, "DECIMAL", Types.DECIMAL),
+    STRING(DBPDataKind.STRING, "VARCHAR", Types.VARCHAR),
+    BINARY(DBPDataKind.BINARY, "VARBINARY", Types.VARBINARY),
+    DATE(DBPDataKind.DATETIME, "DATE", Types.DATE),
+    TIME(DBPDataKind.DATETIME, "TIME", Types.TIME),
+    TIMESTAMP(DBPDataKind.DATETIME, "TIMESTAMP", Types.TIMESTAMP),
+    TIMESTAMP_TZ(DBPDataKind.DATETIME, "TIMESTAMP WITH TIME ZONE", Types.TIMESTAMP_WITH_TIMEZONE);
+
+    // Maximal precision of 128-bit decimals
+    public static final int MAX_DECIMAL_PRECISION = 38;
+
+    private final DBPDataKind dataKind;
+    private final String typeName;
+    private final int typeID;
+
+    ColumnarDataType(DBPDataKind dataKind, String typeName, int typeID) {
+        this.dataKind = dataKind;
+        this.typeName = typeName;
+        this.typeID = typeID;
+    }
+
+    public DBPDataKind getDataKind() {
+        return dataKind;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public int getTypeID() {
+        return typeID;
+    }
+
+    /**
+     * Maps attribute type to the column type.
+     * Types without columnar representation (documents, arrays, structs, etc) are exported as strings.
+     */
+    @NotNull
+    public static ColumnarDataType getColumnType(@NotNull DBSTypedObject attribute) {
+        switch (attribute.getDataKind()) {
+            case BOOLEAN:
+                return BOOLEAN;
+            case NUMERIC:
+                switch (attribute.getTypeID()) {
+                    case Types.BIT:
+                    case Types.TINYINT:
+                    case Types.SMALLINT:
+                    case Types.INTEGER:
+                        return INT32;
+                    case Types.BIGINT:
+                        return INT64;
+                    case Types.REAL:
+                        return FLOAT;
+                    case Types.DECIMAL:
+                    case Types.NUMERIC:
+                        if (isDecimalSupported(attribute)) {
+                            return DECIMAL;
+                        }
+                        // Numbers without (or with too large) precision are kept as strings, so no digits are lost
+                        return STRING;
+                    default:
+                        return DOUBLE;
+                }
+            case DATETIME:
+                switch (attribute.getTypeID()) {
+                    case Types.DATE:
+                        return DATE;
+                    case Types.TIME:
+                    case Types.TIME_WITH_TIMEZONE:
+                        return TIME;
+                    case Types.TIMESTAMP_WITH_TIMEZONE:
+                        return TIMESTAMP_TZ;
+                    default:
+                        return TIMESTAMP;
+                }
+            case BINARY:
+                return BINARY;
+            case CONTENT:
+                switch (attribute.getTypeID()) {
+                    case Types.BLOB:
+                    case Types.BINARY:
+                    case Types.VARBINARY:
+                    case Types.LONGVARBINARY:
+                        return BINARY;
+                    default:
+                        return STRING;
+                }
+            default:
+                return STRING;
+        }
+    }
+
+    private static boolean isDecimalSupported(@NotNull DBSTypedObject attribute) {
+        Integer precision = attribute.getPrecision();
+        Integer scale = attribute.getScale();
+        return precision != null && precision > 0 && precision <= MAX_DECIMAL_PRECISION &&
+            scale != null && scale >= 0 && scale <= precision;
+    }
+
+}
@@ -0,0 +1,232 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.data.columnar.export;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.data.columnar.ColumnarDataType;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.StreamExporterAbstract;
+import org.jkiss.dbeaver.utils.ContentUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.*;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Base exporter for columnar formats.
+ * Maps attributes to column types and converts row values to the column representation:
+ * dates are exported as epoch days, times as microseconds of day and timestamps as epoch microseconds.
+ */
+public abstract class ColumnarExporterAbstract extends StreamExporterAbstract {
+
+    private static final LocalDateTime EPOCH_DATE_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    protected DBDAttributeBinding[] columns;
+    protected String[] columnNames;
+    protected ColumnarDataType[] columnTypes;
+
+    @Override
+    public void exportHeader(DBCSession session) throws DBException, IOException {
+        columns = getSite().getAttributes();
+        columnNames = new String[columns.length];
+        columnTypes = new ColumnarDataType[columns.length];
+        Set<String> usedNames = new HashSet<>();
+        for (int i = 0; i < columns.length; i++) {
+            String columnName = columns[i].getLabel();
+            if (CommonUtils.isEmpty(columnName)) {
+                columnName = columns[i].getName();
+            }
+            // Column names must be unique in the file schema
+            String uniqueName = columnName;
+            for (int index = 2; !usedNames.add(uniqueName); index++) {
+                uniqueName = columnName + "_" + index;
+            }
+            columnNames[i] = uniqueName;
+            columnTypes[i] = ColumnarDataType.getColumnType(columns[i]);
+        }
+        startExport();
+    }
+
+    /**
+     * Creates file writer. Column names and types are already resolved.
+     */
+    protected abstract void startExport() throws DBException, IOException;
+
+    protected int getDecimalPrecision(int index) {
+        return CommonUtils.toInt(columns[index].getPrecision());
+    }
+
+    protected int getDecimalScale(int index) {
+        return CommonUtils.toInt(columns[index].getScale());
+    }
+
+    /**
+     * Converts row value to the column representation.
+     * Returns Boolean, Integer, Long, Float, Double, BigDecimal, String or byte[] value, or null.
+     */
+    @Nullable
+    protected Object getColumnValue(@NotNull DBCSession session, int index, @Nullable Object value) throws DBException {
+        if (DBUtils.isNullValue(value)) {
+            return null;
+        }
+        ColumnarDataType columnType = columnTypes[index];
+        if (value instanceof DBDContent) {
+            DBDContent content = (DBDContent) value;
+            try {
+                if (columnType == ColumnarDataType.BINARY) {
+                    return ContentUtils.getContentBinaryValue(session.getProgressMonitor(), content);
+                }
+                value = ContentUtils.getContentStringValue(session.getProgressMonitor(), content);
+                if (value == null) {
+                    return null;
+                }
+            } finally {
+                content.release();
+            }
+        }
+        try {
+            switch (columnType) {
+                case BOOLEAN:
+                    if (value instanceof Boolean) {
+                        return value;
+                    }
+                    return toNumber(value).intValue() != 0;
+                case INT32:
+                    return toNumber(value).intValue();
+                case INT64: {
+                    Number number = toNumber(value);
+                    if (number instanceof BigDecimal) {
+                        return ((BigDecimal) number).longValueExact();
+                    } else if (number instanceof BigInteger) {
+                        return ((BigInteger) number).longValueExact();
+                    }
+                    return number.longValue();
+                }
+                case FLOAT:
+                    return toNumber(value).floatValue();
+                case DOUBLE:
+                    return toNumber(value).doubleValue();
+                case DECIMAL: {
+                    Number number = toNumber(value);
+                    BigDecimal decimal = number instanceof BigDecimal ? (BigDecimal) number : new BigDecimal(number.toString());
+                    decimal = decimal.setScale(getDecimalScale(index), RoundingMode.HALF_UP);
+                    if (decimal.precision() > getDecimalPrecision(index)) {
+                        throw new ArithmeticException("Value " + decimal + " exceeds precision " + getDecimalPrecision(index));
+                    }
+                    return decimal;
+                }
+                case BINARY:
+                    if (value instanceof byte[]) {
+                        return value;
+                    }
+                    return getValueDisplayString(columns[index], value).getBytes(StandardCharsets.UTF_8);
+                case DATE:
+                    return (int) toLocalDateTime(value).toLocalDate().toEpochDay();
+                case TIME:
+                    return toLocalDateTime(value).toLocalTime().toNanoOfDay() / 1000;
+                case TIMESTAMP:
+                    return ChronoUnit.MICROS.between(EPOCH_DATE_TIME, toLocalDateTime(value));
+                case TIMESTAMP_TZ:
+                    return ChronoUnit.MICROS.between(Instant.EPOCH, toInstant(value));
+                default:
+                    if (value instanceof String) {
+                        return value;
+                    }
+                    return getValueDisplayString(columns[index], value);
+            }
+        } catch (ArithmeticException | IllegalArgumentException | DateTimeParseException e) {
+            throw new DBException("Can't convert value '" + value + "' of column '" + columnNames[index] + "' to " + columnType, e);
+        }
+    }
+
+    @NotNull
+    private static Number toNumber(@NotNull Object value) {
+        if (value instanceof Number) {
+            return (Number) value;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        return new BigDecimal(value.toString().trim());
+    }
+
+    /**
+     * Returns wall clock date/time. Zoned values are shifted to the local time zone.
+     */
+    @NotNull
+    private static LocalDateTime toLocalDateTime(@NotNull Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime();
+        } else if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate().atStartOfDay();
+        } else if (value instanceof java.sql.Time) {
+            return ((java.sql.Time) value).toLocalTime().atDate(LocalDate.EPOCH);
+        } else if (value instanceof Date) {
+            return new Timestamp(((Date) value).getTime()).toLocalDateTime();
+        } else if (value instanceof LocalDateTime) {
+            return (LocalDateTime) value;
+        } else if (value instanceof LocalDate) {
+            return ((LocalDate) value).atStartOfDay();
+        } else if (value instanceof LocalTime) {
+            return ((LocalTime) value).atDate(LocalDate.EPOCH);
+        } else if (value instanceof OffsetTime) {
+            return ((OffsetTime) value).toLocalTime().atDate(LocalDate.EPOCH);
+        } else if (value instanceof OffsetDateTime || value instanceof ZonedDateTime || value instanceof Instant) {
+            return LocalDateTime.ofInstant(toInstant(value), ZoneId.systemDefault());
+        }
+        // Values formatted by the driver (e.g. with native date/time format)
+        String strValue = value.toString().trim();
+        if (strValue.indexOf(':') == -1) {
+            return LocalDate.parse(strValue).atStartOfDay();
+        } else if (strValue.indexOf('-') == -1) {
+            return LocalTime.parse(strValue).atDate(LocalDate.EPOCH);
+        }
+        return LocalDateTime.parse(strValue.replace(' ', 'T'));
+    }
+
+    @NotNull
+    private static Instant toInstant(@NotNull Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toInstant();
+        } else if (value instanceof Date) {
+            // java.sql.Date and java.sql.Time don't support toInstant()
+            return Instant.ofEpochMilli(((Date) value).getTime());
+        } else if (value instanceof OffsetDateTime) {
+            return ((OffsetDateTime) value).toInstant();
+        } else if (value instanceof ZonedDateTime) {
+            return ((ZonedDateTime) value).toInstant();
+        } else if (value instanceof Instant) {
+            return (Instant) value;
+        }
+        return toLocalDateTime(value).atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+}
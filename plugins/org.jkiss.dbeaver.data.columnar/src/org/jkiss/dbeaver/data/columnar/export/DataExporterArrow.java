@@ -0,0 +1,212 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.data.columnar.export;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.*;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Apache Arrow IPC stream format exporter.
+ * Rows are collected in record batches of the configured size.
+ */
+public class DataExporterArrow extends ColumnarExporterAbstract {
+
+    private static final Log log = Log.getLog(DataExporterArrow.class);
+
+    private static final String PROP_BATCH_SIZE = "batchSize";
+
+    private static final int DEFAULT_BATCH_SIZE = 10000;
+
+    private BufferAllocator allocator;
+    private VectorSchemaRoot root;
+    private ArrowStreamWriter writer;
+    private int batchSize;
+    private int batchRowCount;
+
+    @Override
+    protected void startExport() throws IOException {
+        batchSize = Math.max(CommonUtils.toInt(getSite().getProperties().get(PROP_BATCH_SIZE), DEFAULT_BATCH_SIZE), 1);
+
+        List<Field> fields = new ArrayList<>(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            fields.add(new Field(columnNames[i], FieldType.nullable(getArrowType(i)), null));
+        }
+        allocator = new RootAllocator();
+        root = VectorSchemaRoot.create(new Schema(fields), allocator);
+        // Output stream is closed by the consumer
+        writer = new ArrowStreamWriter(root, null, new FilterOutputStream(getOutputStream()) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        });
+        writer.start();
+        root.allocateNew();
+    }
+
+    @Override
+    public void exportRow(DBCSession session, DBCResultSet resultSet, Object[] row) throws DBException, IOException {
+        for (int i = 0; i < columns.length; i++) {
+            setVectorValue(root.getVector(i), i, getColumnValue(session, i, row[i]));
+        }
+        batchRowCount++;
+        if (batchRowCount >= batchSize) {
+            writeBatch();
+        }
+    }
+
+    @Override
+    public void exportFooter(DBRProgressMonitor monitor) throws IOException {
+        if (batchRowCount > 0) {
+            writeBatch();
+        }
+        writer.end();
+    }
+
+    @Override
+    public void dispose() {
+        try {
+            if (writer != null) {
+                writer.close();
+            }
+            if (root != null) {
+                root.close();
+            }
+            if (allocator != null) {
+                allocator.close();
+            }
+        } catch (Exception e) {
+            log.debug("Error closing Arrow writer", e);
+        }
+        writer = null;
+        root = null;
+        allocator = null;
+        super.dispose();
+    }
+
+    private void writeBatch() throws IOException {
+        root.setRowCount(batchRowCount);
+        writer.writeBatch();
+        root.allocateNew();
+        batchRowCount = 0;
+    }
+
+    private void setVectorValue(FieldVector vector, int index, Object value) {
+        if (value == null) {
+            if (vector instanceof BaseFixedWidthVector) {
+                ((BaseFixedWidthVector) vector).setNull(batchRowCount);
+            } else {
+                ((BaseVariableWidthVector) vector).setNull(batchRowCount);
+            }
+            return;
+        }
+        switch (columnTypes[index]) {
+            case BOOLEAN:
+                ((BitVector) vector).setSafe(batchRowCount, (Boolean) value ? 1 : 0);
+                break;
+            case INT32:
+                ((IntVector) vector).setSafe(batchRowCount, (Integer) value);
+                break;
+            case INT64:
+                ((BigIntVector) vector).setSafe(batchRowCount, (Long) value);
+                break;
+            case FLOAT:
+                ((Float4Vector) vector).setSafe(batchRowCount, (Float) value);
+                break;
+            case DOUBLE:
+                ((Float8Vector) vector).setSafe(batchRowCount, (Double) value);
+                break;
+            case DECIMAL:
+                ((DecimalVector) vector).setSafe(batchRowCount, (BigDecimal) value);
+                break;
+            case BINARY:
+                ((VarBinaryVector) vector).setSafe(batchRowCount, (byte[]) value);
+                break;
+            case DATE:
+                ((DateDayVector) vector).setSafe(batchRowCount, (Integer) value);
+                break;
+            case TIME:
+                ((TimeMicroVector) vector).setSafe(batchRowCount, (Long) value);
+                break;
+            case TIMESTAMP:
+            case TIMESTAMP_TZ:
+                ((TimeStampVector) vector).setSafe(batchRowCount, (Long) value);
+                break;
+            default:
+                ((VarCharVector) vector).setSafe(batchRowCount, ((String) value).getBytes(StandardCharsets.UTF_8));
+                break;
+        }
+    }
+
+    private ArrowType getArrowType(int index) {
+        switch (columnTypes[index]) {
+            case BOOLEAN:
+                return ArrowType.Bool.INSTANCE;
+            case INT32:
+                return new ArrowType.Int(32, true);
+            case INT64:
+                return new ArrowType.Int(64, true);
+            case FLOAT:
+                return new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+            case DOUBLE:
+                return new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+            case DECIMAL:
+                return new ArrowType.Decimal(getDecimalPrecision(index), getDecimalScale(index), 128);
+            case BINARY:
+                return ArrowType.Binary.INSTANCE;
+            case DATE:
+                return new ArrowType.Date(DateUnit.DAY);
+            case TIME:
+                return new ArrowType.Time(TimeUnit.MICROSECOND, 64);
+            case TIMESTAMP:
+                return new ArrowType.Timestamp(TimeUnit.MICROSECOND, null);
+            case TIMESTAMP_TZ:
+                return new ArrowType.Timestamp(TimeUnit.MICROSECOND, "UTC");
+            default:
+                return ArrowType.Utf8.INSTANCE;
+        }
+    }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.data.columnar.export;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Types;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Apache Parquet format exporter.
+ * Repeating values are dictionary encoded, dictionary indexes and definition levels are run-length encoded.
+ */
+public class DataExporterParquet extends ColumnarExporterAbstract {
+
+    private static final Log log = Log.getLog(DataExporterParquet.class);
+
+    private static final String PROP_COMPRESSION = "compression";
+    private static final String PROP_DICTIONARY = "dictionary";
+
+    private static final String SCHEMA_NAME = "schema";
+
+    private ParquetWriter<Group> writer;
+    private SimpleGroupFactory groupFactory;
+
+    @Override
+    protected void startExport() throws IOException {
+        Map<String, Object> properties = getSite().getProperties();
+        CompressionCodecName compression = CommonUtils.valueOf(
+            CompressionCodecName.class, CommonUtils.toString(properties.get(PROP_COMPRESSION)), CompressionCodecName.SNAPPY);
+        boolean dictionary = CommonUtils.getBoolean(properties.get(PROP_DICTIONARY), true);
+
+        List<Type> fields = new ArrayList<>(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            fields.add(getParquetType(i));
+        }
+        MessageType schema = new MessageType(SCHEMA_NAME, fields);
+
+        // Hadoop configuration without default resources, classes are loaded by the bundle class loader
+        Configuration configuration = new Configuration(false);
+        configuration.setClassLoader(DataExporterParquet.class.getClassLoader());
+
+        writer = ExampleParquetWriter.builder(new ParquetStreamOutputFile(getOutputStream()))
+            .withConf(configuration)
+            .withType(schema)
+            .withCompressionCodec(compression)
+            .withDictionaryEncoding(dictionary)
+            .build();
+        groupFactory = new SimpleGroupFactory(schema);
+    }
+
+    @Override
+    public void exportRow(DBCSession session, DBCResultSet resultSet, Object[] row) throws DBException, IOException {
+        Group group = groupFactory.newGroup();
+        for (int i = 0; i < columns.length; i++) {
+            Object value = getColumnValue(session, i, row[i]);
+            if (value == null) {
+                // Optional field
+                continue;
+            }
+            switch (columnTypes[i]) {
+                case BOOLEAN:
+                    group.add(i, (Boolean) value);
+                    break;
+                case INT32:
+                case DATE:
+                    group.add(i, (Integer) value);
+                    break;
+                case INT64:
+                case TIME:
+                case TIMESTAMP:
+                case TIMESTAMP_TZ:
+                    group.add(i, (Long) value);
+                    break;
+                case FLOAT:
+                    group.add(i, (Float) value);
+                    break;
+                case DOUBLE:
+                    group.add(i, (Double) value);
+                    break;
+                case DECIMAL:
+                    group.add(i, Binary.fromConstantByteArray(((BigDecimal) value).unscaledValue().toByteArray()));
+                    break;
+                case BINARY:
+                    group.add(i, Binary.fromConstantByteArray((byte[]) value));
+                    break;
+                default:
+                    group.add(i, (String) value);
+                    break;
+            }
+        }
+        writer.write(group);
+    }
+
+    @Override
+    public void exportFooter(DBRProgressMonitor monitor) throws IOException {
+        // Writes the last row group and file metadata
+        writer.close();
+        writer = null;
+    }
+
+    @Override
+    public void dispose() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.debug("Error closing Parquet writer", e);
+            }
+            writer = null;
+        }
+        super.dispose();
+    }
+
+    private Type getParquetType(int index) {
+        String name = columnNames[index];
+        switch (columnTypes[index]) {
+            case BOOLEAN:
+                return Types.optional(PrimitiveTypeName.BOOLEAN).named(name);
+            case INT32:
+                return Types.optional(PrimitiveTypeName.INT32).named(name);
+            case INT64:
+                return Types.optional(PrimitiveTypeName.INT64).named(name);
+            case FLOAT:
+                return Types.optional(PrimitiveTypeName.FLOAT).named(name);
+            case DOUBLE:
+                return Types.optional(PrimitiveTypeName.DOUBLE).named(name);
+            case DECIMAL:
+                return Types.optional(PrimitiveTypeName.BINARY)
+                    .as(LogicalTypeAnnotation.decimalType(getDecimalScale(index), getDecimalPrecision(index)))
+                    .named(name);
+            case BINARY:
+                return Types.optional(PrimitiveTypeName.BINARY).named(name);
+            case DATE:
+                return Types.optional(PrimitiveTypeName.INT32).as(LogicalTypeAnnotation.dateType()).named(name);
+            case TIME:
+                return Types.optional(PrimitiveTypeName.INT64)
+                    .as(LogicalTypeAnnotation.timeType(false, LogicalTypeAnnotation.TimeUnit.MICROS))
+                    .named(name);
+            case TIMESTAMP:
+                return Types.optional(PrimitiveTypeName.INT64)
+                    .as(LogicalTypeAnnotation.timestampType(false, LogicalTypeAnnotation.TimeUnit.MICROS))
+                    .named(name);
+            case TIMESTAMP_TZ:
+                return Types.optional(PrimitiveTypeName.INT64)
+                    .as(LogicalTypeAnnotation.timestampType(true, LogicalTypeAnnotation.TimeUnit.MICROS))
+                    .named(name);
+            default:
+                return Types.optional(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType()).named(name);
+        }
+    }
+
+}
@@ -0,0 +1,237 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.data.columnar.importer;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.data.columnar.ColumnarDataType;
+import org.jkiss.dbeaver.model.DBFetchProgress;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.local.LocalStatement;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.stream.*;
+import org.jkiss.dbeaver.tools.transfer.stream.importer.StreamImporterAbstract;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base importer for columnar formats.
+ * Column types are read from the file schema, lengths of text columns are detected from sample rows.
+ */
+public abstract class ColumnarImporterAbstract extends StreamImporterAbstract {
+
+    protected static final long MICROS_PER_SECOND = 1_000_000L;
+
+    /**
+     * Column of the file schema
+     */
+    protected static class SourceColumn {
+        final String name;
+        final ColumnarDataType type;
+        final int precision;
+        final int scale;
+
+        SourceColumn(String name, ColumnarDataType type, int precision, int scale) {
+            this.name = name;
+            this.type = type;
+            this.precision = precision;
+            this.scale = scale;
+        }
+
+        SourceColumn(String name, ColumnarDataType type) {
+            this(name, type, 0, 0);
+        }
+    }
+
+    /**
+     * Receives file schema and rows
+     */
+    protected interface StreamReceiver {
+
+        void readColumns(@NotNull List<SourceColumn> columns);
+
+        /**
+         * Returns false if no more rows are needed
+         */
+        boolean readRow(@NotNull Object[] row) throws DBException;
+
+    }
+
+    /**
+     * Reads file schema and then rows. Row values are Boolean, Integer, Long, Float, Double, BigDecimal,
+     * String, byte[], java.sql.Date, java.sql.Time and java.sql.Timestamp objects.
+     */
+    protected abstract void readStream(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull InputStream inputStream,
+        @NotNull StreamReceiver receiver) throws DBException, IOException;
+
+    @NotNull
+    @Override
+    public List<StreamDataImporterColumnInfo> readColumnsInfo(StreamEntityMapping entityMapping, @NotNull InputStream inputStream) throws DBException {
+        List<StreamDataImporterColumnInfo> columnsInfo = new ArrayList<>();
+        Map<String, Object> processorProperties = getSite().getProcessorProperties();
+        final int columnSamplesCount = Math.max(CommonUtils.toInt(processorProperties.get(PROP_COLUMN_TYPE_SAMPLES), 100), 0);
+        final int columnMinimalLength = Math.max(CommonUtils.toInt(processorProperties.get(PROP_COLUMN_TYPE_LENGTH), 1), 1);
+
+        try {
+            readStream(new VoidProgressMonitor(), inputStream, new StreamReceiver() {
+                private int samplesCount;
+
+                @Override
+                public void readColumns(@NotNull List<SourceColumn> columns) {
+                    for (int i = 0; i < columns.size(); i++) {
+                        SourceColumn column = columns.get(i);
+                        StreamDataImporterColumnInfo columnInfo = new StreamDataImporterColumnInfo(
+                            entityMapping, i, column.name, column.type.getTypeName(), columnMinimalLength, column.type.getDataKind());
+                        columnInfo.setValueType(column.type.getTypeID());
+                        if (column.type == ColumnarDataType.DECIMAL) {
+                            columnInfo.setPrecision(column.precision);
+                            columnInfo.setScale(column.scale);
+                        }
+                        columnInfo.setMappingMetadataPresent(true);
+                        columnsInfo.add(columnInfo);
+                    }
+                }
+
+                @Override
+                public boolean readRow(@NotNull Object[] row) {
+                    if (samplesCount >= columnSamplesCount) {
+                        return false;
+                    }
+                    for (int i = 0; i < row.length; i++) {
+                        int length;
+                        if (row[i] instanceof String) {
+                            length = ((String) row[i]).length();
+                        } else if (row[i] instanceof byte[]) {
+                            length = ((byte[]) row[i]).length;
+                        } else {
+                            continue;
+                        }
+                        length = roundToNextPowerOf2(length);
+                        StreamDataImporterColumnInfo columnInfo = columnsInfo.get(i);
+                        if (length > columnInfo.getMaxLength()) {
+                            columnInfo.setMaxLength(length);
+                        }
+                    }
+                    samplesCount++;
+                    return samplesCount < columnSamplesCount;
+                }
+            });
+        } catch (IOException e) {
+            throw new DBException("IO error reading columns info", e);
+        }
+        return columnsInfo;
+    }
+
+    @Override
+    public void runImport(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSource streamDataSource, @NotNull InputStream inputStream, @NotNull IDataTransferConsumer consumer) throws DBException {
+        IStreamDataImporterSite site = getSite();
+        StreamEntityMapping entityMapping = site.getSourceObject();
+        Map<String, Object> properties = site.getProcessorProperties();
+        final int maxRows = site.getSettings().getMaxRows();
+
+        DBCExecutionContext context = streamDataSource.getDefaultInstance().getDefaultContext(monitor, false);
+        try (DBCSession producerSession = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Transfer stream data")) {
+            LocalStatement localStatement = new LocalStatement(producerSession, "SELECT * FROM Stream");
+            StreamTransferResultSet resultSet = new StreamTransferResultSet(producerSession, localStatement, entityMapping);
+
+            consumer.fetchStart(producerSession, resultSet, -1, -1);
+
+            applyTransformHints(resultSet, consumer, properties, null, null);
+
+            try {
+                readStream(monitor, inputStream, new StreamReceiver() {
+                    private int rowCount;
+
+                    @Override
+                    public void readColumns(@NotNull List<SourceColumn> columns) {
+                        // Columns are already mapped
+                    }
+
+                    @Override
+                    public boolean readRow(@NotNull Object[] row) throws DBException {
+                        if (monitor.isCanceled() || (maxRows > 0 && rowCount >= maxRows)) {
+                            return false;
+                        }
+                        resultSet.setStreamRow(row);
+                        consumer.fetchRow(producerSession, resultSet);
+                        rowCount++;
+
+                        if (DBFetchProgress.monitorFetchProgress(rowCount)) {
+                            monitor.subTask(rowCount + " rows processed");
+                        }
+                        return true;
+                    }
+                });
+            } catch (IOException e) {
+                throw new DBException("IO error reading stream", e);
+            } finally {
+                try {
+                    consumer.fetchEnd(producerSession, resultSet);
+                } finally {
+                    consumer.close();
+                }
+            }
+        }
+    }
+
+    protected static java.sql.Date toSqlDate(long epochDay) {
+        return java.sql.Date.valueOf(LocalDate.ofEpochDay(epochDay));
+    }
+
+    protected static Time toSqlTime(long microsOfDay) {
+        return Time.valueOf(LocalTime.ofNanoOfDay(microsOfDay * 1000));
+    }
+
+    /**
+     * Converts epoch microseconds to timestamp. UTC adjusted values are instants,
+     * other values are wall clock date/time.
+     */
+    protected static Timestamp toTimestamp(long epochMicros, boolean adjustedToUTC) {
+        if (adjustedToUTC) {
+            return Timestamp.from(Instant.EPOCH.plus(epochMicros, ChronoUnit.MICROS));
+        }
+        return Timestamp.valueOf(LocalDateTime.ofEpochSecond(
+            Math.floorDiv(epochMicros, MICROS_PER_SECOND),
+            (int) Math.floorMod(epochMicros, MICROS_PER_SECOND) * 1000,
+            ZoneOffset.UTC));
+    }
+
+    private static int roundToNextPowerOf2(int value) {
+        int power = 1;
+        while (power < value) {
+            power *= 2;
+        }
+        return power;
+    }
+
+}
@@ -0,0 +1,191 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.data.columnar.importer;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.*;
+import org.apache.arrow.vector.dictionary.DictionaryEncoder;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.data.columnar.ColumnarDataType;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Apache Arrow IPC stream format importer.
+ * Dictionary encoded columns are decoded batch by batch.
+ */
+public class DataImporterArrow extends ColumnarImporterAbstract {
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    @Override
+    protected void readStream(@NotNull DBRProgressMonitor monitor, @NotNull InputStream inputStream, @NotNull StreamReceiver receiver) throws DBException, IOException {
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(inputStream, allocator))
+        {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            List<Field> fields = root.getSchema().getFields();
+            List<SourceColumn> columns = new ArrayList<>(fields.size());
+            for (Field field : fields) {
+                columns.add(getSourceColumn(field));
+            }
+            receiver.readColumns(columns);
+
+            ValueVector[] vectors = new ValueVector[fields.size()];
+            List<ValueVector> decodedVectors = new ArrayList<>();
+            while (!monitor.isCanceled() && reader.loadNextBatch()) {
+                try {
+                    for (int i = 0; i < vectors.length; i++) {
+                        FieldVector vector = root.getVector(i);
+                        DictionaryEncoding encoding = vector.getField().getDictionary();
+                        if (encoding != null) {
+                            // Vector contains dictionary indexes
+                            vectors[i] = DictionaryEncoder.decode(vector, reader.lookup(encoding.getId()));
+                            decodedVectors.add(vectors[i]);
+                        } else {
+                            vectors[i] = vector;
+                        }
+                    }
+                    int rowCount = root.getRowCount();
+                    for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+                        Object[] row = new Object[vectors.length];
+                        for (int i = 0; i < vectors.length; i++) {
+                            if (!vectors[i].isNull(rowIndex)) {
+                                row[i] = readValue(vectors[i], rowIndex, columns.get(i).type);
+                            }
+                        }
+                        if (!receiver.readRow(row)) {
+                            return;
+                        }
+                    }
+                } finally {
+                    for (ValueVector vector : decodedVectors) {
+                        vector.close();
+                    }
+                    decodedVectors.clear();
+                }
+            }
+        }
+    }
+
+    @NotNull
+    private static SourceColumn getSourceColumn(@NotNull Field field) {
+        // Field type of dictionary encoded column is the dictionary value type
+        ArrowType type = field.getType();
+        switch (type.getTypeID()) {
+            case Bool:
+                return new SourceColumn(field.getName(), ColumnarDataType.BOOLEAN);
+            case Int: {
+                ArrowType.Int intType = (ArrowType.Int) type;
+                boolean isInt32 = intType.getBitWidth() < 32 || (intType.getBitWidth() == 32 && intType.getIsSigned());
+                return new SourceColumn(field.getName(), isInt32 ? ColumnarDataType.INT32 : ColumnarDataType.INT64);
+            }
+            case FloatingPoint:
+                return new SourceColumn(
+                    field.getName(),
+                    ((ArrowType.FloatingPoint) type).getPrecision() == FloatingPointPrecision.DOUBLE ? ColumnarDataType.DOUBLE : ColumnarDataType.FLOAT);
+            case Decimal: {
+                ArrowType.Decimal decimalType = (ArrowType.Decimal) type;
+                return new SourceColumn(field.getName(), ColumnarDataType.DECIMAL, decimalType.getPrecision(), decimalType.getScale());
+            }
+            case Binary:
+            case LargeBinary:
+            case FixedSizeBinary:
+                return new SourceColumn(field.getName(), ColumnarDataType.BINARY);
+            case Date:
+                return new SourceColumn(field.getName(), ColumnarDataType.DATE);
+            case Time:
+                return new SourceColumn(field.getName(), ColumnarDataType.TIME);
+            case Timestamp:
+                return new SourceColumn(
+                    field.getName(),
+                    ((ArrowType.Timestamp) type).getTimezone() == null ? ColumnarDataType.TIMESTAMP : ColumnarDataType.TIMESTAMP_TZ);
+            default:
+                // Strings, lists, structs, intervals, etc
+                return new SourceColumn(field.getName(), ColumnarDataType.STRING);
+        }
+    }
+
+    @Nullable
+    private static Object readValue(@NotNull ValueVector vector, int index, @NotNull ColumnarDataType type) {
+        switch (type) {
+            case INT32:
+                return (int) ((BaseIntVector) vector).getValueAsLong(index);
+            case INT64:
+                return ((BaseIntVector) vector).getValueAsLong(index);
+            case DATE:
+                if (vector instanceof DateDayVector) {
+                    return toSqlDate(((DateDayVector) vector).get(index));
+                }
+                return toSqlDate(Math.floorDiv(((DateMilliVector) vector).get(index), MILLIS_PER_DAY));
+            case TIME:
+                return toSqlTime(getTimeMicros(vector, index));
+            case TIMESTAMP:
+            case TIMESTAMP_TZ: {
+                TimeStampVector timeStampVector = (TimeStampVector) vector;
+                TimeUnit unit = ((ArrowType.Timestamp) timeStampVector.getField().getType()).getUnit();
+                return toTimestamp(toMicros(timeStampVector.get(index), unit), type == ColumnarDataType.TIMESTAMP_TZ);
+            }
+            case STRING: {
+                Object value = vector.getObject(index);
+                return value == null ? null : value.toString();
+            }
+            default:
+                // Boolean, Float, Double, BigDecimal or byte[]
+                return vector.getObject(index);
+        }
+    }
+
+    private static long getTimeMicros(@NotNull ValueVector vector, int index) {
+        if (vector instanceof TimeSecVector) {
+            return ((TimeSecVector) vector).get(index) * MICROS_PER_SECOND;
+        } else if (vector instanceof TimeMilliVector) {
+            return ((TimeMilliVector) vector).get(index) * 1000L;
+        } else if (vector instanceof TimeMicroVector) {
+            return ((TimeMicroVector) vector).get(index);
+        } else {
+            return ((TimeNanoVector) vector).get(index) / 1000;
+        }
+    }
+
+    private static long toMicros(long value, @NotNull TimeUnit unit) {
+        switch (unit) {
+            case SECOND:
+                return value * MICROS_PER_SECOND;
+            case MILLISECOND:
+                return value * 1000;
+            case NANOSECOND:
+                return Math.floorDiv(value, 1000L);
+            default:
+                return value;
+        }
+    }
+
+}
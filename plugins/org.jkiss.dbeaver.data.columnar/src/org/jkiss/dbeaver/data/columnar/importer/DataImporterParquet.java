@@ -0,0 +1,250 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.data.columnar.importer;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.HadoopReadOptions;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.data.columnar.ColumnarDataType;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Apache Parquet format importer.
+ * Parquet metadata is stored at the end of the file, so the stream is copied to a temporary file first.
+ */
+public class DataImporterParquet extends ColumnarImporterAbstract {
+
+    private static final Log log = Log.getLog(DataImporterParquet.class);
+
+    // Julian day of 1970-01-01
+    private static final long JULIAN_EPOCH_DAY = 2_440_588L;
+    private static final long MICROS_PER_DAY = 24L * 60 * 60 * MICROS_PER_SECOND;
+
+    @Override
+    protected void readStream(@NotNull DBRProgressMonitor monitor, @NotNull InputStream inputStream, @NotNull StreamReceiver receiver) throws DBException, IOException {
+        Path tempFile = Files.createTempFile("dbeaver-import-", ".parquet");
+        try {
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                inputStream.transferTo(out);
+            }
+
+            // Hadoop configuration without default resources, classes are loaded by the bundle class loader
+            Configuration configuration = new Configuration(false);
+            configuration.setClassLoader(DataImporterParquet.class.getClassLoader());
+
+            try (ParquetFileReader reader = ParquetFileReader.open(
+                new ParquetLocalInputFile(tempFile), HadoopReadOptions.builder(configuration).build()))
+            {
+                MessageType schema = reader.getFooter().getFileMetaData().getSchema();
+                List<Type> fields = schema.getFields();
+                List<SourceColumn> columns = new ArrayList<>(fields.size());
+                for (Type field : fields) {
+                    columns.add(getSourceColumn(field));
+                }
+                receiver.readColumns(columns);
+
+                MessageColumnIO columnIO = new ColumnIOFactory().getColumnIO(schema);
+                PageReadStore rowGroup;
+                while (!monitor.isCanceled() && (rowGroup = reader.readNextRowGroup()) != null) {
+                    RecordReader<Group> recordReader = columnIO.getRecordReader(rowGroup, new GroupRecordConverter(schema));
+                    long rowCount = rowGroup.getRowCount();
+                    for (long rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+                        Group group = recordReader.read();
+                        Object[] row = new Object[fields.size()];
+                        for (int i = 0; i < row.length; i++) {
+                            if (group.getFieldRepetitionCount(i) > 0) {
+                                row[i] = readValue(group, i, fields.get(i), columns.get(i));
+                            }
+                        }
+                        if (!receiver.readRow(row)) {
+                            return;
+                        }
+                    }
+                }
+            }
+        } finally {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                log.debug("Error deleting temporary file " + tempFile, e);
+            }
+        }
+    }
+
+    @NotNull
+    private static SourceColumn getSourceColumn(@NotNull Type field) {
+        String name = field.getName();
+        if (!field.isPrimitive() || field.isRepetition(Type.Repetition.REPEATED)) {
+            // Nested and repeated values are imported as strings
+            return new SourceColumn(name, ColumnarDataType.STRING);
+        }
+        PrimitiveType primitiveType = field.asPrimitiveType();
+        LogicalTypeAnnotation annotation = primitiveType.getLogicalTypeAnnotation();
+        if (annotation instanceof LogicalTypeAnnotation.DecimalLogicalTypeAnnotation) {
+            LogicalTypeAnnotation.DecimalLogicalTypeAnnotation decimalType = (LogicalTypeAnnotation.DecimalLogicalTypeAnnotation) annotation;
+            return new SourceColumn(name, ColumnarDataType.DECIMAL, decimalType.getPrecision(), decimalType.getScale());
+        } else if (annotation instanceof LogicalTypeAnnotation.DateLogicalTypeAnnotation) {
+            return new SourceColumn(name, ColumnarDataType.DATE);
+        } else if (annotation instanceof LogicalTypeAnnotation.TimeLogicalTypeAnnotation) {
+            return new SourceColumn(name, ColumnarDataType.TIME);
+        } else if (annotation instanceof LogicalTypeAnnotation.TimestampLogicalTypeAnnotation) {
+            return new SourceColumn(
+                name,
+                ((LogicalTypeAnnotation.TimestampLogicalTypeAnnotation) annotation).isAdjustedToUTC() ? ColumnarDataType.TIMESTAMP_TZ : ColumnarDataType.TIMESTAMP);
+        }
+        switch (primitiveType.getPrimitiveTypeName()) {
+            case BOOLEAN:
+                return new SourceColumn(name, ColumnarDataType.BOOLEAN);
+            case INT32:
+                if (annotation instanceof LogicalTypeAnnotation.IntLogicalTypeAnnotation &&
+                    !((LogicalTypeAnnotation.IntLogicalTypeAnnotation) annotation).isSigned())
+                {
+                    return new SourceColumn(name, ColumnarDataType.INT64);
+                }
+                return new SourceColumn(name, ColumnarDataType.INT32);
+            case INT64:
+                return new SourceColumn(name, ColumnarDataType.INT64);
+            case INT96:
+                // Legacy timestamps (Impala, Spark)
+                return new SourceColumn(name, ColumnarDataType.TIMESTAMP_TZ);
+            case FLOAT:
+                return new SourceColumn(name, ColumnarDataType.FLOAT);
+            case DOUBLE:
+                return new SourceColumn(name, ColumnarDataType.DOUBLE);
+            default:
+                if (annotation instanceof LogicalTypeAnnotation.StringLogicalTypeAnnotation ||
+                    annotation instanceof LogicalTypeAnnotation.EnumLogicalTypeAnnotation ||
+                    annotation instanceof LogicalTypeAnnotation.JsonLogicalTypeAnnotation)
+                {
+                    return new SourceColumn(name, ColumnarDataType.STRING);
+                }
+                return new SourceColumn(name, ColumnarDataType.BINARY);
+        }
+    }
+
+    @Nullable
+    private static Object readValue(@NotNull Group group, int index, @NotNull Type field, @NotNull SourceColumn column) {
+        if (field.isRepetition(Type.Repetition.REPEATED)) {
+            StringJoiner values = new StringJoiner(",", "[", "]");
+            for (int i = 0; i < group.getFieldRepetitionCount(index); i++) {
+                values.add(field.isPrimitive() ? group.getValueToString(index, i) : group.getGroup(index, i).toString().trim());
+            }
+            return values.toString();
+        } else if (!field.isPrimitive()) {
+            return group.getGroup(index, 0).toString().trim();
+        }
+        PrimitiveType.PrimitiveTypeName typeName = field.asPrimitiveType().getPrimitiveTypeName();
+        LogicalTypeAnnotation annotation = field.getLogicalTypeAnnotation();
+        switch (column.type) {
+            case BOOLEAN:
+                return group.getBoolean(index, 0);
+            case INT32:
+                return group.getInteger(index, 0);
+            case INT64:
+                if (typeName == PrimitiveType.PrimitiveTypeName.INT32) {
+                    return Integer.toUnsignedLong(group.getInteger(index, 0));
+                }
+                return group.getLong(index, 0);
+            case FLOAT:
+                return group.getFloat(index, 0);
+            case DOUBLE:
+                return group.getDouble(index, 0);
+            case DECIMAL:
+                switch (typeName) {
+                    case INT32:
+                        return BigDecimal.valueOf(group.getInteger(index, 0), column.scale);
+                    case INT64:
+                        return BigDecimal.valueOf(group.getLong(index, 0), column.scale);
+                    default:
+                        return new BigDecimal(new BigInteger(group.getBinary(index, 0).getBytes()), column.scale);
+                }
+            case DATE:
+                return toSqlDate(group.getInteger(index, 0));
+            case TIME: {
+                LogicalTypeAnnotation.TimeUnit unit = ((LogicalTypeAnnotation.TimeLogicalTypeAnnotation) annotation).getUnit();
+                if (typeName == PrimitiveType.PrimitiveTypeName.INT32) {
+                    return toSqlTime(group.getInteger(index, 0) * 1000L);
+                }
+                return toSqlTime(toMicros(group.getLong(index, 0), unit));
+            }
+            case TIMESTAMP:
+            case TIMESTAMP_TZ:
+                if (typeName == PrimitiveType.PrimitiveTypeName.INT96) {
+                    return toTimestamp(getInt96Micros(group.getInt96(index, 0).getBytes()), true);
+                }
+                return toTimestamp(
+                    toMicros(group.getLong(index, 0), ((LogicalTypeAnnotation.TimestampLogicalTypeAnnotation) annotation).getUnit()),
+                    column.type == ColumnarDataType.TIMESTAMP_TZ);
+            case BINARY:
+                return group.getBinary(index, 0).getBytes();
+            default:
+                if (typeName == PrimitiveType.PrimitiveTypeName.BINARY || typeName == PrimitiveType.PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY) {
+                    return group.getString(index, 0);
+                }
+                return group.getValueToString(index, 0);
+        }
+    }
+
+    private static long toMicros(long value, @NotNull LogicalTypeAnnotation.TimeUnit unit) {
+        switch (unit) {
+            case MILLIS:
+                return value * 1000;
+            case NANOS:
+                return Math.floorDiv(value, 1000L);
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * INT96 timestamp is nanoseconds of day followed by Julian day, both little endian
+     */
+    private static long getInt96Micros(@NotNull byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        long nanosOfDay = buffer.getLong();
+        long julianDay = buffer.getInt();
+        return (julianDay - JULIAN_EPOCH_DAY) * MICROS_PER_DAY + nanosOfDay / 1000;
+    }
+
+}
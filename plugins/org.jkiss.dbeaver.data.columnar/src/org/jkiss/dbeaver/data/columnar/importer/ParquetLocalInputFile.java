@@ -0,0 +1,76 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.data.columnar.importer;
+
+import org.apache.parquet.io.DelegatingSeekableInputStream;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.SeekableInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Parquet input file which reads local file without Hadoop file system
+ */
+class ParquetLocalInputFile implements InputFile {
+
+    private final Path path;
+
+    ParquetLocalInputFile(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public long getLength() throws IOException {
+        return Files.size(path);
+    }
+
+    @Override
+    public SeekableInputStream newStream() throws IOException {
+        RandomAccessFile file = new RandomAccessFile(path.toFile(), "r");
+        return new DelegatingSeekableInputStream(new InputStream() {
+            @Override
+            public int read() throws IOException {
+                return file.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return file.read(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                file.close();
+            }
+        }) {
+            @Override
+            public long getPos() throws IOException {
+                return file.getFilePointer();
+            }
+
+            @Override
+            public void seek(long newPos) throws IOException {
+                file.seek(newPos);
+            }
+        };
+    }
+
+}
@@ -55,6 +55,8 @@ public class DTUIMessages extends NLS {
 	public static String database_consumer_wizard_checkbox_multi_insert_label;
 	public static String database_consumer_wizard_checkbox_multi_insert_description;
 	public static String database_consumer_wizard_spinner_multi_insert_batch_size;
+	public static String database_consumer_wizard_pipeline_queue_size_tip;
+	public static String database_consumer_wizard_adaptive_batch_target_time_tip;
     public static String database_consumer_wizard_checkbox_multi_insert_skip_bind_values_label;
     public static String database_consumer_wizard_checkbox_multi_insert_skip_bind_values_description;
 	public static String database_consumer_wizard_disable_import_batches_label;
@@ -99,6 +101,7 @@ public class DTUIMessages extends NLS {
 	public static String database_producer_page_extract_settings_row_count_checkbox_tooltip;
 	public static String database_producer_page_extract_settings_text_fetch_size_label;
 	public static String database_producer_page_extract_settings_text_fetch_size_tooltip;
+	public static String database_producer_page_extract_settings_parallel_partitions_tooltip;
 
 	public static String database_producer_page_input_objects_name;
 	public static String database_producer_page_input_objects_title;
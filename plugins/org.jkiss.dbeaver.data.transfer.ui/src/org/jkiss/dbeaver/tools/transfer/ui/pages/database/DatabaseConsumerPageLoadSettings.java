@@ -202,6 +202,22 @@ public class DatabaseConsumerPageLoadSettings extends DataTransferPageNodeSettin
             gd.widthHint = UIUtils.getFontHeight(commitAfterEdit) * 6;
             commitAfterEdit.setLayoutData(gd);
 
+            final Text pipelineQueueSizeEdit = UIUtils.createLabelText(performanceSettings, DTMessages.database_consumer_settings_option_pipeline_queue_size, String.valueOf(settings.getPipelineQueueSize()), SWT.BORDER);
+            pipelineQueueSizeEdit.setToolTipText(DTUIMessages.database_consumer_wizard_pipeline_queue_size_tip);
+            pipelineQueueSizeEdit.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.ENGLISH));
+            pipelineQueueSizeEdit.addModifyListener(e -> settings.setPipelineQueueSize(CommonUtils.toInt(pipelineQueueSizeEdit.getText())));
+            gd = new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1);
+            gd.widthHint = UIUtils.getFontHeight(pipelineQueueSizeEdit) * 6;
+            pipelineQueueSizeEdit.setLayoutData(gd);
+
+            final Text adaptiveBatchTimeEdit = UIUtils.createLabelText(performanceSettings, DTMessages.database_consumer_settings_option_adaptive_batch_target_time, String.valueOf(settings.getAdaptiveBatchTargetTime()), SWT.BORDER);
+            adaptiveBatchTimeEdit.setToolTipText(DTUIMessages.database_consumer_wizard_adaptive_batch_target_time_tip);
+            adaptiveBatchTimeEdit.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.ENGLISH));
+            adaptiveBatchTimeEdit.addModifyListener(e -> settings.setAdaptiveBatchTargetTime(CommonUtils.toInt(adaptiveBatchTimeEdit.getText())));
+            gd = new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1);
+            gd.widthHint = UIUtils.getFontHeight(adaptiveBatchTimeEdit) * 6;
+            adaptiveBatchTimeEdit.setLayoutData(gd);
+
             final Button useMultiRowInsert = UIUtils.createCheckbox(performanceSettings, DTUIMessages.database_consumer_wizard_checkbox_multi_insert_label, DTUIMessages.database_consumer_wizard_checkbox_multi_insert_description, settings.isUseMultiRowInsert(), 1);
             if (useBatchCheck != null && (
                 (!useBatchCheck.isDisposed() && useBatchCheck.getSelection()) ||
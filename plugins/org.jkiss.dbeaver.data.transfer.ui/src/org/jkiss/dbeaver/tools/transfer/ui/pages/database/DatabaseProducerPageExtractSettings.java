@@ -53,6 +53,7 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
     private Button selectedColumnsOnlyCheckbox;
     private Button selectedRowsOnlyCheckbox;
     private Text fetchSizeText;
+    private Text parallelPartitionsText;
 
     public DatabaseProducerPageExtractSettings() {
         super(DTUIMessages.database_producer_page_extract_settings_name_and_title);
@@ -147,6 +148,15 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
                 settings.setFetchSize(Integer.parseInt(fetchSizeText.getText()));
             });
 
+            parallelPartitionsText = UIUtils.createLabelText(generalSettings, DTMessages.data_transfer_wizard_output_label_parallel_partitions, "", SWT.BORDER);
+            parallelPartitionsText.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
+            ((GridData)parallelPartitionsText.getLayoutData()).widthHint = UIUtils.getFontHeight(parallelPartitionsText) * 5;
+            parallelPartitionsText.setToolTipText(DTUIMessages.database_producer_page_extract_settings_parallel_partitions_tooltip);
+            parallelPartitionsText.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.ENGLISH));
+            parallelPartitionsText.addModifyListener(e -> {
+                settings.setParallelPartitions(CommonUtils.toInt(parallelPartitionsText.getText(), 1));
+            });
+
             IStructuredSelection curSelection = getWizard().getCurrentSelection();
             boolean hasSelection = curSelection != null && !curSelection.isEmpty() && curSelection.getFirstElement() instanceof DBDCellValue;
 
@@ -236,6 +246,7 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
             }
         }
         fetchSizeText.setText(String.valueOf(settings.getFetchSize()));
+        parallelPartitionsText.setText(String.valueOf(settings.getParallelPartitions()));
         if (selectedColumnsOnlyCheckbox != null) {
             selectedColumnsOnlyCheckbox.setSelection(settings.isSelectedColumnsOnly());
         }
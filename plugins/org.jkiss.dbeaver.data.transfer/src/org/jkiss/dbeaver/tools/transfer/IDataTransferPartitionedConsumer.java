@@ -0,0 +1,48 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.util.List;
+
+/**
+ * Consumer which can receive data from several partitions of the same source in parallel.
+ * Each partition is written by its own consumer instance created by {@link #createPartitionConsumer(int, int)}.
+ */
+public interface IDataTransferPartitionedConsumer {
+
+    /**
+     * Checks whether current consumer configuration allows partitioned transfer
+     */
+    boolean supportsPartitions();
+
+    /**
+     * Creates new initialized consumer for the specified partition.
+     * Partition consumers are used from different threads and must not share any state.
+     */
+    @NotNull
+    IDataTransferConsumer<?, ?> createPartitionConsumer(int partitionIndex, int totalPartitions) throws DBException;
+
+    /**
+     * Called after all partitions were transferred and their consumers were finished.
+     */
+    void finishPartitions(@NotNull DBRProgressMonitor monitor, @NotNull List<IDataTransferConsumer<?, ?>> partitionConsumers);
+
+}
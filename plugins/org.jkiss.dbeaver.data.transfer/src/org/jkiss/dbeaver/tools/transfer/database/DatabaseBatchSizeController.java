@@ -0,0 +1,131 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jkiss.dbeaver.tools.transfer.database;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.data.DBDContent;
+
+/**
+ * Adjusts insert batch size (and commit interval) according to measured batch execution time.
+ *
+ * Each executed batch scales the next batch size towards the target time. The size change is limited
+ * by factor 2 per batch so a single slow batch doesn't collapse the batch size.
+ * Batch data volume is limited as well, so wide LOB rows produce smaller batches.
+ */
+class DatabaseBatchSizeController {
+
+    static final int MIN_BATCH_SIZE = 10;
+    static final int MAX_BATCH_SIZE = 100000;
+    // Max estimated size of a single batch data
+    private static final long MAX_BATCH_BYTES = 32 * 1024 * 1024;
+    private static final double MAX_SCALE_FACTOR = 2.0;
+
+    private final long targetTime;
+    private int batchSize;
+
+    private int batchRows;
+    private long batchBytes;
+    private double avgRowBytes;
+
+    private int minBatchSize = Integer.MAX_VALUE;
+    private int maxBatchSize;
+    private long batchCount;
+    private long totalBatchTime;
+
+    DatabaseBatchSizeController(int initialBatchSize, long targetTime) {
+        this.targetTime = Math.max(targetTime, 1);
+        this.batchSize = Math.min(Math.max(initialBatchSize, MIN_BATCH_SIZE), MAX_BATCH_SIZE);
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    void addRow(@NotNull Object[] rowValues) {
+        batchRows++;
+        batchBytes += estimateRowSize(rowValues);
+    }
+
+    boolean isBatchFull() {
+        return batchRows >= batchSize || batchBytes >= MAX_BATCH_BYTES;
+    }
+
+    /**
+     * Registers executed batch and calculates next batch size.
+     * Incomplete (final) batches are not used for adjustment because they are not representative.
+     */
+    void batchExecuted(long executeTime, boolean complete) {
+        int rows = batchRows;
+        long bytes = batchBytes;
+        batchRows = 0;
+        batchBytes = 0;
+        if (rows == 0) {
+            return;
+        }
+        batchCount++;
+        totalBatchTime += executeTime;
+        minBatchSize = Math.min(minBatchSize, rows);
+        maxBatchSize = Math.max(maxBatchSize, rows);
+
+        double rowBytes = (double) bytes / rows;
+        avgRowBytes = avgRowBytes <= 0 ? rowBytes : (avgRowBytes + rowBytes) / 2;
+        if (!complete) {
+            return;
+        }
+
+        double scale = (double) targetTime / Math.max(executeTime, 1);
+        scale = Math.max(1 / MAX_SCALE_FACTOR, Math.min(MAX_SCALE_FACTOR, scale));
+        long newSize = Math.round(rows * scale);
+        if (avgRowBytes > 0) {
+            newSize = Math.min(newSize, (long) (MAX_BATCH_BYTES / avgRowBytes));
+        }
+        batchSize = (int) Math.max(MIN_BATCH_SIZE, Math.min(MAX_BATCH_SIZE, newSize));
+    }
+
+    @Override
+    public String toString() {
+        if (batchCount == 0) {
+            return String.valueOf(batchSize);
+        }
+        return batchSize + " (min " + minBatchSize + ", max " + maxBatchSize +
+            ", avg time " + (totalBatchTime / batchCount) + "ms)";
+    }
+
+    private static long estimateRowSize(@NotNull Object[] rowValues) {
+        long size = 0;
+        for (Object value : rowValues) {
+            if (value == null) {
+                size += 1;
+            } else if (value instanceof CharSequence) {
+                size += ((CharSequence) value).length();
+            } else if (value instanceof byte[]) {
+                size += ((byte[]) value).length;
+            } else if (value instanceof DBDContent) {
+                try {
+                    size += Math.max(((DBDContent) value).getContentLength(), 0);
+                } catch (Exception e) {
+                    size += 8;
+                }
+            } else {
+                size += 8;
+            }
+        }
+        return size;
+    }
+
+}
@@ -64,6 +64,10 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
     private boolean useBulkLoad = false;
     private String onDuplicateKeyInsertMethodId;
     private boolean disableReferentialIntegrity;
+    // Size of rows queue between source reader and target writer. Zero means synchronous writes
+    private int pipelineQueueSize = 0;
+    // Target execution time of a single batch in ms. Zero means fixed batch size (commitAfterRows)
+    private int adaptiveBatchTargetTime = 0;
 
     private transient Map<String, Object> dialogSettings;
 
@@ -197,6 +201,22 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         this.commitAfterRows = commitAfterRows;
     }
 
+    public int getPipelineQueueSize() {
+        return pipelineQueueSize;
+    }
+
+    public void setPipelineQueueSize(int pipelineQueueSize) {
+        this.pipelineQueueSize = Math.max(pipelineQueueSize, 0);
+    }
+
+    public int getAdaptiveBatchTargetTime() {
+        return adaptiveBatchTargetTime;
+    }
+
+    public void setAdaptiveBatchTargetTime(int adaptiveBatchTargetTime) {
+        this.adaptiveBatchTargetTime = Math.max(adaptiveBatchTargetTime, 0);
+    }
+
     public boolean isUseBulkLoad() {
         return useBulkLoad;
     }
@@ -235,6 +255,8 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         useBulkLoad = CommonUtils.getBoolean(settings.get("useBulkLoad"), useBulkLoad);
         truncateBeforeLoad = CommonUtils.getBoolean(settings.get("truncateBeforeLoad"), truncateBeforeLoad);
         openTableOnFinish = CommonUtils.getBoolean(settings.get("openTableOnFinish"), openTableOnFinish);
+        setPipelineQueueSize(CommonUtils.toInt(settings.get("pipelineQueueSize"), pipelineQueueSize));
+        setAdaptiveBatchTargetTime(CommonUtils.toInt(settings.get("adaptiveBatchTargetTime"), adaptiveBatchTargetTime));
 
         List<DataTransferPipe> dataPipes = dataTransferSettings.getDataPipes();
         {
@@ -305,6 +327,8 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         settings.put("useBulkLoad", useBulkLoad);
         settings.put("truncateBeforeLoad", truncateBeforeLoad);
         settings.put("openTableOnFinish", openTableOnFinish);
+        settings.put("pipelineQueueSize", pipelineQueueSize);
+        settings.put("adaptiveBatchTargetTime", adaptiveBatchTargetTime);
 
         // Load all data mappings
         Map<String, Object> mappings = new LinkedHashMap<>();
@@ -338,6 +362,12 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_disable_referential_integrity, disableReferentialIntegrity);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_use_bulk_load, useBulkLoad);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_truncate_before_load, truncateBeforeLoad);
+        if (pipelineQueueSize > 0) {
+            DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_pipeline_queue_size, pipelineQueueSize);
+        }
+        if (adaptiveBatchTargetTime > 0) {
+            DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_adaptive_batch_target_time, adaptiveBatchTargetTime);
+        }
 
         return summary.toString();
     }
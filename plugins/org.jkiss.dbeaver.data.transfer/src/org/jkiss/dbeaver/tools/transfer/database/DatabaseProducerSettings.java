@@ -46,6 +46,8 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
     private boolean selectedColumnsOnly = false;
     private ExtractType extractType = ExtractType.SINGLE_QUERY;
     private int fetchSize = DEFAULT_FETCH_SIZE;
+    // Number of partitions read in parallel. Values less than 2 disable partitioning
+    private int parallelPartitions = 1;
 
     public DatabaseProducerSettings() {
     }
@@ -108,6 +110,14 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         this.extractType = extractType;
     }
 
+    public int getParallelPartitions() {
+        return parallelPartitions;
+    }
+
+    public void setParallelPartitions(int parallelPartitions) {
+        this.parallelPartitions = Math.max(parallelPartitions, 1);
+    }
+
     @Override
     public void loadSettings(DBRRunnableContext runnableContext, DataTransferSettings dataTransferSettings, Map<String, Object> settings) {
         extractType = CommonUtils.valueOf(ExtractType.class, (String) settings.get("extractType"), extractType);
@@ -117,6 +127,7 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         queryRowCount = CommonUtils.toBoolean(settings.get("queryRowCount"));
         selectedColumnsOnly = CommonUtils.toBoolean(settings.get("selectedColumnsOnly"));
         selectedRowsOnly = CommonUtils.toBoolean(settings.get("selectedRowsOnly"));
+        setParallelPartitions(CommonUtils.toInt(settings.get("parallelPartitions"), 1));
     }
 
     @Override
@@ -128,6 +139,7 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         settings.put("queryRowCount", queryRowCount);
         settings.put("selectedColumnsOnly", selectedColumnsOnly);
         settings.put("selectedRowsOnly", selectedRowsOnly);
+        settings.put("parallelPartitions", parallelPartitions);
     }
 
     @Override
@@ -139,6 +151,9 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_select_row_count, queryRowCount);
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_selected_rows_only, selectedRowsOnly);
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_selected_columns_only, selectedColumnsOnly);
+        if (parallelPartitions > 1) {
+            DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_label_parallel_partitions, parallelPartitions);
+        }
 
         return summary.toString();
     }
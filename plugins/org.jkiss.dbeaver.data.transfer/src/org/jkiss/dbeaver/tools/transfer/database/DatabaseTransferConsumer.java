@@ -16,6 +16,8 @@
  */
 package org.jkiss.dbeaver.tools.transfer.database;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
@@ -33,6 +35,7 @@ import org.jkiss.dbeaver.model.meta.DBSerializable;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 import org.jkiss.dbeaver.model.navigator.DBNEvent;
 import org.jkiss.dbeaver.model.navigator.DBNUtils;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.sql.registry.SQLInsertReplaceMethodDescriptor;
@@ -52,6 +55,10 @@ import org.jkiss.utils.CommonUtils;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Stream transfer consumer
@@ -86,6 +93,10 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     private boolean isPreview;
     private List<Object[]> previewRows;
     private DBDAttributeBinding[] rsAttributes;
+    // Writes rows in a separate thread if pipelining is enabled
+    private PipelineWriter pipelineWriter;
+    // Adjusts batch size if adaptive batching is enabled
+    private DatabaseBatchSizeController batchSizeController;
 
     public static class ColumnMapping {
         public DBDAttributeBinding sourceAttr;
@@ -265,6 +276,10 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
                     try {
                         bulkLoadManager = bulkLoader.createBulkLoad(
                             targetSession, targetObject, attributes, executionSource, settings.getCommitAfterRows(), options);
+                    } catch (DBCFeatureNotSupportedException e) {
+                        // Native loader isn't supported by the driver
+                        log.warn("Bulk load is not supported (" + e.getMessage() + "), falling back to batch insert");
+                        bulkLoadManager = null;
                     } catch (Exception e) {
                         throw new DBCException("Error creating bulk loader", e);
                     }
@@ -285,6 +300,43 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
             previewRows = new ArrayList<>();
             executeBatch = new PreviewBatch();
         }
+
+        if (!isPreview && settings.getAdaptiveBatchTargetTime() > 0 && !settings.isDisableUsingBatches()) {
+            batchSizeController = new DatabaseBatchSizeController(settings.getCommitAfterRows(), settings.getAdaptiveBatchTargetTime());
+        }
+
+        if (!isPreview && settings.getPipelineQueueSize() > 0) {
+            if (isPipelineSupported()) {
+                pipelineWriter = new PipelineWriter(settings.getPipelineQueueSize());
+                pipelineWriter.schedule();
+            } else {
+                log.debug("Source data contains complex values. Rows will be written synchronously");
+            }
+        }
+    }
+
+    /**
+     * Complex values (LOBs, structures, etc.) may refer to the source result set, so they must be written
+     * before the next row is fetched.
+     */
+    private boolean isPipelineSupported() {
+        for (ColumnMapping column : columnMappings) {
+            if (column == null || column.targetIndex < 0) {
+                continue;
+            }
+            switch (column.sourceAttr.getDataKind()) {
+                case BOOLEAN:
+                case NUMERIC:
+                case STRING:
+                case DATETIME:
+                case BINARY:
+                case ROWID:
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
     }
 
     private boolean isSkipColumn(DBDAttributeBinding attr) {
@@ -348,11 +400,22 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
             }
         }
 
+        if (pipelineWriter != null) {
+            pipelineWriter.addRow(rowValues);
+        } else {
+            writeRow(rowValues);
+        }
+    }
+
+    private void writeRow(Object[] rowValues) throws DBCException {
         if (bulkLoadManager != null) {
             bulkLoadManager.addRow(targetSession, rowValues);
         } else {
             executeBatch.add(rowValues);
         }
+        if (batchSizeController != null) {
+            batchSizeController.addRow(rowValues);
+        }
 
         rowsExported++;
         // No need. monitor is incremented in data reader
@@ -365,10 +428,19 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         if (isPreview) {
             return;
         }
-        boolean needCommit = force || ((rowsExported % settings.getCommitAfterRows()) == 0);
+        boolean needCommit;
+        if (batchSizeController != null) {
+            needCommit = force || batchSizeController.isBatchFull();
+        } else {
+            needCommit = force || ((rowsExported % settings.getCommitAfterRows()) == 0);
+        }
+        long batchStartTime = System.currentTimeMillis();
         if (bulkLoadManager != null) {
             if (needCommit) {
                 bulkLoadManager.flushRows(targetSession);
+                if (batchSizeController != null) {
+                    batchSizeController.batchExecuted(System.currentTimeMillis() - batchStartTime, !force);
+                }
             }
             return;
         } else {
@@ -422,7 +494,13 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
                         } else {
                             message = DTMessages.database_transfer_consumer_task_error_occurred_during_batch_insert;
                         }
-                        DBPPlatformUI.UserResponse response = DBWorkbench.getPlatformUI().showErrorStopRetryIgnore(message, e, true);
+                        DBPPlatformUI.UserResponse response;
+                        if (pipelineWriter != null && pipelineWriter.isWriterThread()) {
+                            // Let the producer thread decide
+                            response = pipelineWriter.askProducer(message, e);
+                        } else {
+                            response = DBWorkbench.getPlatformUI().showErrorStopRetryIgnore(message, e, true);
+                        }
                         switch (response) {
                             case STOP:
                                 throw new DBCException("Can't insert row", e);
@@ -448,14 +526,30 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
                 txnManager.commit(targetSession);
             }
         }
+        if (batchSizeController != null && needCommit) {
+            // Commit is a part of batch processing time
+            batchSizeController.batchExecuted(System.currentTimeMillis() - batchStartTime, !force);
+        }
     }
 
     @Override
     public void fetchEnd(DBCSession session, DBCResultSet resultSet) throws DBCException {
         try {
+            if (pipelineWriter != null) {
+                // Wait for all queued rows
+                try {
+                    pipelineWriter.finish();
+                } finally {
+                    pipelineWriter = null;
+                }
+            }
             if (rowsExported > 0) {
                 insertBatch(true);
             }
+            if (batchSizeController != null) {
+                statistics.addInfo("Batch size", batchSizeController.toString());
+                log.debug("Adaptive batch size of '" + getObjectName() + "': " + batchSizeController);
+            }
             if (bulkLoadManager != null) {
                 bulkLoadManager.finishBulkLoad(targetSession);
             } else if (executeBatch != null) {
@@ -476,6 +570,10 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
 
     @Override
     public void close() {
+        if (pipelineWriter != null) {
+            pipelineWriter.abort();
+            pipelineWriter = null;
+        }
         closeExporter();
     }
 
@@ -889,4 +987,160 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
             return this.binding.getDataKind();
         }
     }
+
+    /**
+     * Insert error of the pipeline writer. Writer waits for the producer thread response.
+     */
+    private static class InsertErrorRequest {
+        private final String message;
+        private final Throwable error;
+        private final BlockingQueue<DBPPlatformUI.UserResponse> response = new ArrayBlockingQueue<>(1);
+
+        InsertErrorRequest(String message, Throwable error) {
+            this.message = message;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Target rows writer. Rows are passed through a bounded queue, so source reads overlap with target writes.
+     * Producer is blocked when the queue is full.
+     * Insert errors are passed to the producer thread, which asks user what to do.
+     */
+    private class PipelineWriter extends AbstractJob {
+        private final Object[] endOfData = new Object[0];
+        private final BlockingQueue<Object[]> queue;
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private volatile InsertErrorRequest errorRequest;
+        private volatile Throwable error;
+        private volatile boolean aborted;
+
+        PipelineWriter(int queueSize) {
+            super("Data transfer writer [" + getObjectName() + "]");
+            setSystem(true);
+            setUser(false);
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            try {
+                while (!aborted) {
+                    Object[] row = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (row == null) {
+                        continue;
+                    }
+                    if (row == endOfData) {
+                        break;
+                    }
+                    writeRow(row);
+                }
+            } catch (Throwable e) {
+                error = e;
+                // Release producer
+                queue.clear();
+            } finally {
+                finished.countDown();
+            }
+            // Errors are reported by the producer
+            return Status.OK_STATUS;
+        }
+
+        boolean isWriterThread() {
+            return getThread() == Thread.currentThread();
+        }
+
+        /**
+         * Called by writer. Waits until producer thread handles the error.
+         */
+        DBPPlatformUI.UserResponse askProducer(String message, Throwable insertError) throws DBCException {
+            InsertErrorRequest request = new InsertErrorRequest(message, insertError);
+            errorRequest = request;
+            try {
+                for (;;) {
+                    DBPPlatformUI.UserResponse response = request.response.poll(100, TimeUnit.MILLISECONDS);
+                    if (response != null) {
+                        return response;
+                    }
+                    if (aborted) {
+                        return DBPPlatformUI.UserResponse.STOP;
+                    }
+                }
+            } catch (InterruptedException e) {
+                throw new DBCException("Data transfer interrupted", e);
+            }
+        }
+
+        /**
+         * Called by producer. Asks user what to do with the writer error (if any).
+         */
+        private void handleErrorRequest() {
+            InsertErrorRequest request = errorRequest;
+            if (request != null) {
+                errorRequest = null;
+                request.response.add(DBWorkbench.getPlatformUI().showErrorStopRetryIgnore(request.message, request.error, true));
+            }
+        }
+
+        void addRow(@NotNull Object[] row) throws DBCException {
+            try {
+                handleErrorRequest();
+                while (!queue.offer(row, 100, TimeUnit.MILLISECONDS)) {
+                    handleErrorRequest();
+                    checkError();
+                    if (finished.getCount() == 0) {
+                        throw new DBCException("Data transfer writer has been terminated");
+                    }
+                }
+            } catch (InterruptedException e) {
+                throw new DBCException("Data transfer interrupted", e);
+            }
+            checkError();
+        }
+
+        void finish() throws DBCException {
+            if (error == null) {
+                addRow(endOfData);
+            }
+            try {
+                while (!finished.await(100, TimeUnit.MILLISECONDS)) {
+                    handleErrorRequest();
+                }
+            } catch (InterruptedException e) {
+                abort();
+                Thread.currentThread().interrupt();
+                throw new DBCException("Data transfer interrupted", e);
+            }
+            checkError();
+        }
+
+        void abort() {
+            aborted = true;
+            queue.clear();
+            boolean interrupted = false;
+            while (getState() != NONE) {
+                // Wait for the current batch
+                try {
+                    if (finished.await(100, TimeUnit.MILLISECONDS)) {
+                        break;
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void checkError() throws DBCException {
+            Throwable e = error;
+            if (e instanceof DBCException) {
+                throw (DBCException) e;
+            } else if (e != null) {
+                throw new DBCException("Error writing data to target", e);
+            }
+        }
+    }
+
 }
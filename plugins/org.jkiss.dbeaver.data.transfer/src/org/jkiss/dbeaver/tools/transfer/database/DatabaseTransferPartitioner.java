@@ -0,0 +1,213 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jkiss.dbeaver.tools.transfer.database;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.utils.CommonUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits entity data into independent partitions which can be read in parallel.
+ *
+ * Entities with a single numeric key are split by key value ranges.
+ * Other entities with a unique key are split by row offsets (ordered by key) using the current row count,
+ * so rows inserted during the transfer may be skipped.
+ */
+class DatabaseTransferPartitioner {
+
+    private static final Log log = Log.getLog(DatabaseTransferPartitioner.class);
+
+    // Do not split tables which are too small
+    private static final long MIN_PARTITION_SIZE = 1000;
+
+    static class Partition {
+        final int index;
+        @NotNull
+        final DBDDataFilter dataFilter;
+        final long offset;
+        final long maxRows;
+
+        Partition(int index, @NotNull DBDDataFilter dataFilter, long offset, long maxRows) {
+            this.index = index;
+            this.dataFilter = dataFilter;
+            this.offset = offset;
+            this.maxRows = maxRows;
+        }
+
+        @Override
+        public String toString() {
+            return "Partition " + (index + 1) + " [" + (CommonUtils.isEmpty(dataFilter.getWhere()) ? offset + "+" + maxRows : dataFilter.getWhere()) + "]";
+        }
+    }
+
+    /**
+     * Makes partitions. Returns null if entity can't be partitioned.
+     */
+    @Nullable
+    static List<Partition> makePartitions(
+        @NotNull DBCExecutionSource source,
+        @NotNull DBCSession session,
+        @NotNull DBSEntity entity,
+        @Nullable DBDDataFilter dataFilter,
+        long readFlags,
+        int partitionCount) throws DBException
+    {
+        if (!(entity instanceof DBSDataContainer)) {
+            return null;
+        }
+        List<? extends DBSEntityAttribute> keyAttributes = DBUtils.getBestTableIdentifier(session.getProgressMonitor(), entity);
+        if (CommonUtils.isEmpty(keyAttributes)) {
+            log.debug("Entity '" + entity.getName() + "' has no unique key and can't be partitioned");
+            return null;
+        }
+        if (keyAttributes.size() == 1 && keyAttributes.get(0).getDataKind() == DBPDataKind.NUMERIC) {
+            List<Partition> partitions = makeRangePartitions(source, session, entity, keyAttributes.get(0), dataFilter, partitionCount);
+            if (partitions != null) {
+                return partitions;
+            }
+        }
+        return makeOffsetPartitions(source, session, (DBSDataContainer) entity, keyAttributes, dataFilter, readFlags, partitionCount);
+    }
+
+    @Nullable
+    private static List<Partition> makeRangePartitions(
+        @NotNull DBCExecutionSource source,
+        @NotNull DBCSession session,
+        @NotNull DBSEntity entity,
+        @NotNull DBSEntityAttribute keyAttribute,
+        @Nullable DBDDataFilter dataFilter,
+        int partitionCount) throws DBCException
+    {
+        String keyName = DBUtils.getQuotedIdentifier(keyAttribute);
+
+        StringBuilder query = new StringBuilder();
+        query.append("SELECT MIN(").append(keyName).append("),MAX(").append(keyName).append(") FROM "); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        query.append(DBUtils.getObjectFullName(entity, DBPEvaluationContext.DML));
+        SQLUtils.appendQueryConditions(session.getDataSource(), query, null, dataFilter);
+
+        long minValue, maxValue;
+        try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.toString(), false, false, false)) {
+            dbStat.setStatementSource(source);
+            if (!dbStat.executeStatement()) {
+                return null;
+            }
+            try (DBCResultSet dbResult = dbStat.openResultSet()) {
+                if (dbResult == null || !dbResult.nextRow()) {
+                    return null;
+                }
+                Object min = dbResult.getAttributeValue(0);
+                Object max = dbResult.getAttributeValue(1);
+                if (!(min instanceof Number) || !(max instanceof Number)) {
+                    // Empty table or unsupported key type
+                    return null;
+                }
+                minValue = new BigDecimal(min.toString()).setScale(0, RoundingMode.FLOOR).longValue();
+                maxValue = new BigDecimal(max.toString()).setScale(0, RoundingMode.CEILING).longValue();
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            log.debug("Can't determine key range of '" + entity.getName() + "'", e);
+            return null;
+        }
+        if (maxValue - minValue < (long) partitionCount * MIN_PARTITION_SIZE || maxValue < minValue) {
+            // Too small range (or an overflow)
+            return null;
+        }
+
+        long step = (maxValue - minValue) / partitionCount + 1;
+        List<Partition> partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            long lowBound = minValue + step * i;
+            String condition;
+            if (i == 0) {
+                // Key may be a nullable unique index column
+                condition = "(" + keyName + " < " + (lowBound + step) + " OR " + keyName + " IS NULL)"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+            } else if (i == partitionCount - 1) {
+                // Last partition has no upper bound to include rows inserted during the transfer
+                condition = keyName + " >= " + lowBound; //$NON-NLS-1$
+            } else {
+                condition = keyName + " >= " + lowBound + " AND " + keyName + " < " + (lowBound + step); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            }
+            partitions.add(new Partition(i, makePartitionFilter(dataFilter, condition), -1, -1));
+        }
+        return partitions;
+    }
+
+    @Nullable
+    private static List<Partition> makeOffsetPartitions(
+        @NotNull DBCExecutionSource source,
+        @NotNull DBCSession session,
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull List<? extends DBSEntityAttribute> keyAttributes,
+        @Nullable DBDDataFilter dataFilter,
+        long readFlags,
+        int partitionCount) throws DBCException
+    {
+        if (!dataContainer.isFeatureSupported(DBSDataContainer.FEATURE_DATA_COUNT)) {
+            return null;
+        }
+        long totalRows = dataContainer.countData(source, session, dataFilter, readFlags);
+        if (totalRows < (long) partitionCount * MIN_PARTITION_SIZE) {
+            return null;
+        }
+
+        DBDDataFilter orderedFilter = dataFilter == null ? new DBDDataFilter() : new DBDDataFilter(dataFilter);
+        if (!orderedFilter.hasOrdering()) {
+            // Stable order is required for offset based paging
+            StringBuilder order = new StringBuilder();
+            for (DBSEntityAttribute attr : keyAttributes) {
+                if (order.length() > 0) order.append(",");
+                order.append(DBUtils.getQuotedIdentifier(attr));
+            }
+            orderedFilter.setOrder(order.toString());
+        }
+
+        long partitionSize = totalRows / partitionCount + 1;
+        List<Partition> partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            long offset = partitionSize * i;
+            long maxRows = i == partitionCount - 1 ? totalRows - offset : partitionSize;
+            partitions.add(new Partition(i, new DBDDataFilter(orderedFilter), offset, maxRows));
+        }
+        return partitions;
+    }
+
+    @NotNull
+    private static DBDDataFilter makePartitionFilter(@Nullable DBDDataFilter dataFilter, @NotNull String condition) {
+        DBDDataFilter partitionFilter = dataFilter == null ? new DBDDataFilter() : new DBDDataFilter(dataFilter);
+        String where = partitionFilter.getWhere();
+        partitionFilter.setWhere(CommonUtils.isEmpty(where) ? condition : "(" + where + ") AND " + condition); //$NON-NLS-1$ //$NON-NLS-2$
+        return partitionFilter;
+    }
+
+}
@@ -18,6 +18,9 @@
 package org.jkiss.dbeaver.tools.transfer.database;
 
 import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
@@ -29,8 +32,7 @@ import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.impl.DataSourceContextProvider;
 import org.jkiss.dbeaver.model.meta.DBSerializable;
-import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
-import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
+import org.jkiss.dbeaver.model.runtime.*;
 import org.jkiss.dbeaver.model.sql.SQLQuery;
 import org.jkiss.dbeaver.model.sql.SQLQueryContainer;
 import org.jkiss.dbeaver.model.sql.SQLScriptContext;
@@ -44,6 +46,7 @@ import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.runtime.serialize.DBPObjectSerializer;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferNodePrimary;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferPartitionedConsumer;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferProcessor;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferProducer;
 import org.jkiss.dbeaver.tools.transfer.internal.DTMessages;
@@ -51,7 +54,9 @@ import org.jkiss.utils.CommonUtils;
 
 import java.io.PrintWriter;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -62,6 +67,8 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
 
     private static final Log log = Log.getLog(DatabaseTransferProducer.class);
 
+    private static final int MAX_PARALLEL_PARTITIONS = 64;
+
     private final DBCStatistics producerStatistics = new DBCStatistics();
 
     private DBSDataContainer dataContainer;
@@ -180,6 +187,12 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
             boolean newConnection = settings.isOpenNewConnections() && !getDatabaseObject().getDataSource().getContainer().getDriver().isEmbedded();
             boolean forceDataReadTransactions = Boolean.TRUE.equals(dataSource.getDataSourceFeature(DBPDataSource.FEATURE_LOB_REQUIRE_TRANSACTIONS));
             boolean selectiveExportFromUI = settings.isSelectedColumnsOnly() || settings.isSelectedRowsOnly();
+            // Partitions are read in parallel by isolated contexts so new connections must be allowed
+            boolean partitionedRead = !selectiveExportFromUI && newConnection &&
+                settings.getParallelPartitions() > 1 &&
+                dataContainer instanceof DBSEntity &&
+                consumer instanceof IDataTransferPartitionedConsumer &&
+                ((IDataTransferPartitionedConsumer) consumer).supportsPartitions();
 
             try {
                 DBCExecutionContext context;
@@ -248,8 +261,21 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
                         try {
                             monitor.subTask("Read data");
 
+                            List<DatabaseTransferPartitioner.Partition> partitions = null;
+                            if (partitionedRead) {
+                                try {
+                                    partitions = DatabaseTransferPartitioner.makePartitions(
+                                        transferSource, session, (DBSEntity) dataContainer, dataFilter, readFlags,
+                                        Math.min(settings.getParallelPartitions(), MAX_PARALLEL_PARTITIONS));
+                                } catch (DBException e) {
+                                    log.warn("Can't split '" + dataContainer.getName() + "' into partitions. Read data sequentially.", e);
+                                }
+                            }
+
                             // Perform export
-                            if (settings.getExtractType() == DatabaseProducerSettings.ExtractType.SINGLE_QUERY) {
+                            if (partitions != null) {
+                                transferPartitions(monitor, context, (IDataTransferPartitionedConsumer) consumer, partitions, settings, readFlags);
+                            } else if (settings.getExtractType() == DatabaseProducerSettings.ExtractType.SINGLE_QUERY) {
                                 // Just do it in single query
                                 producerStatistics.accumulate(dataContainer.readData(transferSource, session, consumer, dataFilter, -1, -1, readFlags, settings.getFetchSize()));
                             } else {
@@ -297,6 +323,82 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
         });
     }
 
+    private void transferPartitions(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBCExecutionContext initFrom,
+        @NotNull IDataTransferPartitionedConsumer consumer,
+        @NotNull List<DatabaseTransferPartitioner.Partition> partitions,
+        @NotNull DatabaseProducerSettings settings,
+        long readFlags) throws DBException
+    {
+        List<IDataTransferConsumer<?, ?>> partitionConsumers = new ArrayList<>(partitions.size());
+        List<PartitionReaderJob> readers = new ArrayList<>(partitions.size());
+        Throwable error = null;
+        try {
+            for (DatabaseTransferPartitioner.Partition partition : partitions) {
+                IDataTransferConsumer<?, ?> partitionConsumer = consumer.createPartitionConsumer(partition.index, partitions.size());
+                partitionConsumers.add(partitionConsumer);
+                partitionConsumer.startTransfer(monitor);
+                readers.add(new PartitionReaderJob(monitor, initFrom, partitionConsumer, partition, settings, readFlags));
+            }
+            log.debug("Read '" + dataContainer.getName() + "' in " + partitions.size() + " partitions");
+            for (PartitionReaderJob reader : readers) {
+                reader.schedule();
+            }
+            boolean interrupted = false;
+            for (PartitionReaderJob reader : readers) {
+                while (reader.getState() != Job.NONE) {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        // Do not leave readers alive. Cancel them, wait and restore interrupt status after that
+                        interrupted = true;
+                        cancelPartitionReaders(readers);
+                    }
+                    if (monitor.isCanceled() || hasPartitionErrors(readers)) {
+                        cancelPartitionReaders(readers);
+                    }
+                }
+                if (reader.statistics != null) {
+                    producerStatistics.accumulate(reader.statistics);
+                }
+                if (error == null && reader.error != null) {
+                    error = reader.error;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            for (IDataTransferConsumer<?, ?> partitionConsumer : partitionConsumers) {
+                partitionConsumer.finishTransfer(monitor, false);
+            }
+            consumer.finishPartitions(monitor, partitionConsumers);
+        }
+        if (error instanceof DBException) {
+            throw (DBException) error;
+        } else if (error != null) {
+            throw new DBException("Error reading partitioned data from '" + dataContainer.getName() + "'", error);
+        }
+    }
+
+    private static boolean hasPartitionErrors(@NotNull List<PartitionReaderJob> readers) {
+        for (PartitionReaderJob reader : readers) {
+            if (reader.error != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void cancelPartitionReaders(@NotNull List<PartitionReaderJob> readers) {
+        for (PartitionReaderJob reader : readers) {
+            if (reader.getState() != Job.NONE) {
+                reader.cancelRead();
+            }
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         return obj instanceof DatabaseTransferProducer &&
@@ -310,6 +412,153 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
         return producerStatistics;
     }
 
+    /**
+     * Reads one partition in its own isolated execution context
+     */
+    private class PartitionReaderJob extends AbstractJob {
+        private final PartitionProgressMonitor monitor;
+        private final DBCExecutionContext initFrom;
+        private final IDataTransferConsumer<?, ?> consumer;
+        private final DatabaseTransferPartitioner.Partition partition;
+        private final DatabaseProducerSettings settings;
+        private final long readFlags;
+
+        private volatile DBCStatistics statistics;
+        private volatile Throwable error;
+
+        PartitionReaderJob(
+            @NotNull DBRProgressMonitor monitor,
+            @NotNull DBCExecutionContext initFrom,
+            @NotNull IDataTransferConsumer<?, ?> consumer,
+            @NotNull DatabaseTransferPartitioner.Partition partition,
+            @NotNull DatabaseProducerSettings settings,
+            long readFlags)
+        {
+            super("Data transfer " + partition + " of " + getObjectName());
+            setSystem(true);
+            setUser(false);
+            this.monitor = new PartitionProgressMonitor(monitor);
+            this.initFrom = initFrom;
+            this.consumer = consumer;
+            this.partition = partition;
+            this.settings = settings;
+            this.readFlags = readFlags;
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor jobMonitor) {
+            if (monitor.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+            try {
+                DBPDataSource dataSource = dataContainer.getDataSource();
+                DBCExecutionContext context = DBUtils.getObjectOwnerInstance(dataContainer).openIsolatedContext(
+                    monitor, "Data transfer producer (partition " + (partition.index + 1) + ")", initFrom);
+                try {
+                    DBExecUtils.setExecutionContextDefaults(monitor, dataSource, context, defaultCatalog, null, defaultSchema);
+                    try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.UTIL, DTMessages.data_transfer_wizard_job_task_export)) {
+                        session.enableLogging(false);
+                        DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+                        if (txnManager != null && txnManager.isSupportsTransactions()) {
+                            // The same as for sequential read. Some drivers read LOBs only in transactional mode
+                            try {
+                                txnManager.setAutoCommit(monitor, false);
+                            } catch (DBCException e) {
+                                log.warn("Can't change auto-commit", e);
+                            }
+                        }
+                        AbstractExecutionSource transferSource = new AbstractExecutionSource(dataContainer, context, consumer);
+                        statistics = dataContainer.readData(
+                            transferSource, session, consumer, partition.dataFilter, partition.offset, partition.maxRows, readFlags, settings.getFetchSize());
+                        if (txnManager != null && txnManager.isSupportsTransactions() && !txnManager.isAutoCommit()) {
+                            txnManager.rollback(session, null);
+                        }
+                    }
+                } finally {
+                    context.close();
+                }
+            } catch (Throwable e) {
+                error = e;
+            }
+            // Errors are reported by the producer
+            return Status.OK_STATUS;
+        }
+
+        void cancelRead() {
+            if (monitor.canceled) {
+                // Already canceled
+                return;
+            }
+            monitor.setCanceled(true);
+            for (DBRBlockingObject block : monitor.getActiveBlocks()) {
+                try {
+                    BlockCanceler.cancelBlock(monitor, block, getThread());
+                } catch (DBException e) {
+                    log.debug("Error canceling partition read", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Partition reader monitor. Forwards progress and cancellation to the transfer monitor but keeps its own blocks.
+     */
+    private static class PartitionProgressMonitor extends ProxyProgressMonitor {
+        private final List<DBRBlockingObject> blocks = new ArrayList<>();
+        private volatile boolean canceled;
+
+        PartitionProgressMonitor(DBRProgressMonitor original) {
+            super(original);
+        }
+
+        @Override
+        public void beginTask(String name, int totalWork) {
+            // Do not override transfer task
+        }
+
+        @Override
+        public void done() {
+        }
+
+        @Override
+        public void subTask(String name) {
+        }
+
+        @Override
+        public void worked(int work) {
+            synchronized (original) {
+                original.worked(work);
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled || original.isCanceled();
+        }
+
+        @Override
+        public void setCanceled(boolean value) {
+            this.canceled = value;
+        }
+
+        @Override
+        public synchronized void startBlock(DBRBlockingObject object, String taskName) {
+            blocks.add(object);
+        }
+
+        @Override
+        public synchronized void endBlock() {
+            if (!blocks.isEmpty()) {
+                blocks.remove(blocks.size() - 1);
+            }
+        }
+
+        @Override
+        public synchronized List<DBRBlockingObject> getActiveBlocks() {
+            return new ArrayList<>(blocks);
+        }
+    }
+
     public static class ObjectSerializer implements DBPObjectSerializer<DBTTask, DatabaseTransferProducer> {
 
         @Override
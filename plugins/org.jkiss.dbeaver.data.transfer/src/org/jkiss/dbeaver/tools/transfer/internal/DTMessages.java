@@ -58,6 +58,7 @@ public class DTMessages extends NLS {
 	public static String data_transfer_wizard_output_label_insert_bom_tooltip;
 	public static String data_transfer_wizard_output_label_max_threads;
 	public static String data_transfer_wizard_output_label_segment_size;
+	public static String data_transfer_wizard_output_label_parallel_partitions;
 	public static String data_transfer_wizard_output_label_add_to_end_of_file;
 	public static String data_transfer_wizard_output_label_add_to_end_of_file_tip;
 	public static String data_transfer_wizard_output_error_empty_output_directory;
@@ -138,6 +139,8 @@ public class DTMessages extends NLS {
 	public static String database_consumer_settings_option_transfer_auto_generated_columns;
 	public static String database_consumer_settings_option_disable_referential_integrity;
 	public static String database_consumer_settings_option_use_bulk_load;
+	public static String database_consumer_settings_option_pipeline_queue_size;
+	public static String database_consumer_settings_option_adaptive_batch_target_time;
 	public static String database_consumer_settings_option_truncate_before_load;
 
 	public static String data_transfer_settings_title_find_producer;
@@ -21,18 +21,38 @@ import org.jkiss.code.NotNull;
 import java.io.IOException;
 import java.io.OutputStream;
 
+/**
+ * Output stream which counts written bytes and measures write throughput
+ */
 public class StatOutputStream extends OutputStream {
     private final OutputStream stream;
+    private final long startTime;
     private long bytesWritten = 0;
 
     public StatOutputStream(OutputStream stream) {
         this.stream = stream;
+        this.startTime = System.currentTimeMillis();
     }
 
     public long getBytesWritten() {
         return bytesWritten;
     }
 
+    /**
+     * Time elapsed since the stream was opened (in milliseconds)
+     */
+    public long getElapsedTime() {
+        return System.currentTimeMillis() - startTime;
+    }
+
+    /**
+     * Average write throughput since the stream was opened
+     */
+    public long getBytesPerSecond() {
+        long elapsedTime = getElapsedTime();
+        return elapsedTime <= 0 ? bytesWritten : bytesWritten * 1000 / elapsedTime;
+    }
+
     @Override
     public void write(int b) throws IOException {
         stream.write(b);
@@ -41,6 +41,7 @@ import org.jkiss.dbeaver.runtime.serialize.DBPObjectSerializer;
 import org.jkiss.dbeaver.tools.transfer.DTUtils;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferEventProcessor;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferPartitionedConsumer;
 import org.jkiss.dbeaver.tools.transfer.registry.DataTransferEventProcessorDescriptor;
 import org.jkiss.dbeaver.tools.transfer.registry.DataTransferRegistry;
 import org.jkiss.dbeaver.utils.ContentUtils;
@@ -62,7 +63,7 @@ import java.util.zip.ZipOutputStream;
  * Stream transfer consumer
  */
 @DBSerializable("streamTransferConsumer")
-public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsumerSettings, IStreamDataExporter> {
+public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsumerSettings, IStreamDataExporter>, IDataTransferPartitionedConsumer {
 
     private static final Log log = Log.getLog(StreamTransferConsumer.class);
 
@@ -118,6 +119,10 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
     private ZipOutputStream zipStream;
     private PrintWriter writer;
     private int multiFileNumber;
+    // Partition number (starting from 1) for partitioned export. Zero if partitioning is not used
+    private int partitionNumber;
+    // Data was exported by partition consumers
+    private boolean partitioned;
     private long bytesWritten = 0;
 
     private DBDAttributeBinding[] columnMetas;
@@ -189,6 +194,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         try {
             // Check for file split
             if (settings.isSplitOutFiles() && !parameters.isBinary && !firstRow) {
+                // Flushes encoded characters into the size counter, buffered file stream is not flushed
                 writer.flush();
                 if (bytesWritten >= settings.getMaxOutFileSize()) {
                     // Make new file
@@ -257,7 +263,8 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         if (lobDirectory == null) {
             lobDirectory = new File(getOutputFolder(), LOB_DIRECTORY_NAME);
             if (!lobDirectory.exists()) {
-                if (!lobDirectory.mkdir()) {
+                // Directory may be created by another partition consumer at the same time
+                if (!lobDirectory.mkdir() && !lobDirectory.exists()) {
                     throw new IOException("Can't create directory for CONTENT files: " + lobDirectory.getAbsolutePath());
                 }
             }
@@ -389,6 +396,11 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             }
             ContentUtils.close(outputStream);
             outputStream = null;
+
+            if (statStream != null && outputFile != null) {
+                log.debug("Exported " + statStream.getBytesWritten() + " bytes into '" + outputFile.getName() + "' in " +
+                    statStream.getElapsedTime() + "ms (" + (statStream.getBytesPerSecond() / 1024) + "Kb/s)");
+            }
         }
     }
 
@@ -419,6 +431,11 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
     @Override
     public void finishTransfer(DBRProgressMonitor monitor, boolean last) {
+        if (!last && partitioned) {
+            // Nothing was exported by this consumer itself
+            processor = null;
+            return;
+        }
         if (!last) {
             if (processor != null) {
                 try {
@@ -457,6 +474,40 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
     }
 
+    @Override
+    public boolean supportsPartitions() {
+        return !settings.isOutputClipboard() && !settings.isUseSingleFile() && !settings.isAppendToFileEnd();
+    }
+
+    @NotNull
+    @Override
+    public IDataTransferConsumer<?, ?> createPartitionConsumer(int partitionIndex, int totalPartitions) throws DBException {
+        // Exporters keep state so each partition needs its own instance
+        IStreamDataExporter partitionProcessor;
+        try {
+            partitionProcessor = processor.getClass().getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new DBException("Can't instantiate data exporter for partition " + (partitionIndex + 1), e);
+        }
+        TransferParameters partitionParameters = new TransferParameters(parameters.isBinary, parameters.isHTML);
+        partitionParameters.orderNumber = parameters.orderNumber;
+        partitionParameters.totalConsumers = parameters.totalConsumers;
+        partitionParameters.startTimestamp = parameters.startTimestamp;
+
+        StreamTransferConsumer partitionConsumer = new StreamTransferConsumer();
+        partitionConsumer.initTransfer(dataContainer, settings, partitionParameters, partitionProcessor, processorProperties);
+        partitionConsumer.partitionNumber = partitionIndex + 1;
+        return partitionConsumer;
+    }
+
+    @Override
+    public void finishPartitions(@NotNull DBRProgressMonitor monitor, @NotNull List<IDataTransferConsumer<?, ?>> partitionConsumers) {
+        partitioned = true;
+        for (IDataTransferConsumer<?, ?> partitionConsumer : partitionConsumers) {
+            outputFiles.addAll(((StreamTransferConsumer) partitionConsumer).getOutputFiles());
+        }
+    }
+
     @Override
     public Object getTargetObject() {
         return null;
@@ -512,6 +563,9 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 //        if (parameters.orderNumber > 0 && !settings.isUseSingleFile()) {
 //            fileName += "_" + String.valueOf(parameters.orderNumber + 1);
 //        }
+        if (partitionNumber > 0) {
+            fileName += "_part" + partitionNumber;
+        }
         if (multiFileNumber > 0) {
             fileName += "_" + (multiFileNumber + 1);
         }
@@ -815,7 +869,8 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
         @Override
         public void flush() throws IOException {
-            out.flush();
+            // Do not propagate: size is checked after each row and flushing of buffered file stream
+            // would make a system call per row. Buffered data is written on close.
         }
 
         @Override
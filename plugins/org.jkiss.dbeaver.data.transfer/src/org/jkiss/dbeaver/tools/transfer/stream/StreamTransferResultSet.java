@@ -85,9 +85,15 @@ public class StreamTransferResultSet implements DBCResultSet {
 
     @Override
     public Object getAttributeValue(int index) throws DBCException {
+        return convertAttributeValue(index, streamRow[index]);
+    }
+
+    /**
+     * Converts stream value to the attribute type. Doesn't depend on the current row and can be called from any thread.
+     */
+    public Object convertAttributeValue(int index, Object value) {
         StreamDataImporterColumnInfo attr = this.attributeMappings.get(index);
 
-        Object value = streamRow[index];
         if (value != null && dateTimeFormat != null && attr.getDataKind() == DBPDataKind.DATETIME && !(value instanceof Date)) {
             // Convert string to timestamp
             try {
@@ -82,7 +82,9 @@ public class DataExporterCSV extends StreamExporterAbstract {
     private HeaderFormat headerFormat;
     private DBDAttributeBinding[] columns;
 
-    private final StringBuilder buffer = new StringBuilder();
+    // Row text is collected in the buffer and written at once
+    private final StringBuilder rowBuffer = new StringBuilder(1000);
+    private final StringBuilder cellBuffer = new StringBuilder(100);
 
     @Override
     public void init(IStreamDataExporterSite site) throws DBException
@@ -187,8 +189,10 @@ public class DataExporterCSV extends StreamExporterAbstract {
                     if (cs == null) {
                         writeCellValue(DBConstants.NULL_VALUE_LABEL, false);
                     } else if (ContentUtils.isTextContent(content)) {
+                        flushRowBuffer();
                         writeCellValue(cs.getContentReader());
                     } else {
+                        flushRowBuffer();
 //                        out.write(quoteChar);
                         getSite().writeBinaryData(cs);
 //                        out.write(quoteChar);
@@ -198,16 +202,18 @@ public class DataExporterCSV extends StreamExporterAbstract {
                     content.release();
                 }
             } else {
-                String stringValue = super.getValueDisplayString(column, row[i]);
+                StringBuilder stringValue = cellBuffer;
+                stringValue.setLength(0);
+                super.appendValueDisplayString(column, row[i], stringValue);
                 boolean quote = false;
 
                 if (quoteStrategy == QuoteStrategy.DISABLED) {
-                    if (!stringValue.isEmpty() && !(row[i] instanceof Number) && !(row[i] instanceof Date) && Character.isDigit(stringValue.charAt(0))) {
+                    if (stringValue.length() > 0 && !(row[i] instanceof Number) && !(row[i] instanceof Date) && Character.isDigit(stringValue.charAt(0))) {
                         // Quote string values which starts from number
                         quote = true;
                     }
                 } else if (quoteStrategy == QuoteStrategy.STRINGS) {
-                    if (!stringValue.isEmpty() && !(row[i] instanceof Number) && !(row[i] instanceof Date)) {
+                    if (stringValue.length() > 0 && !(row[i] instanceof Number) && !(row[i] instanceof Date)) {
                         quote = true;
                     }
                 } else if (quoteStrategy == QuoteStrategy.ALL_BUT_NUMBERS) {
@@ -241,43 +247,41 @@ public class DataExporterCSV extends StreamExporterAbstract {
         }
     }
 
-    private void writeCellValue(String value, boolean quote)
+    private void writeCellValue(CharSequence value, boolean quote)
     {
         if (!useQuotes) {
             quote = false;
         }
         // check for needed quote
-        final boolean hasQuotes = useQuotes && value.indexOf(quoteChar) != -1;
+        final boolean hasQuotes = useQuotes && contains(value, quoteChar);
 
-        if (quoteStrategy == QuoteStrategy.ALL || (useQuotes && value.isEmpty())) {
+        if (quoteStrategy == QuoteStrategy.ALL || (useQuotes && value.length() == 0)) {
             quote = true;
         } else if (!quote) {
             if (hasQuotes ||
-                value.contains(delimiter) ||
-                value.indexOf('\r') != -1 ||
-                value.indexOf('\n') != -1 ||
-                value.contains(rowDelimiter))
+                contains(value, delimiter) ||
+                contains(value, '\r') ||
+                contains(value, '\n') ||
+                contains(value, rowDelimiter))
             {
                 quote = true;
             }
         }
 
+        if (quote && useQuotes) rowBuffer.append(quoteChar);
         if (quote && hasQuotes) {
             // escape quotes with double quotes
-            buffer.setLength(0);
             for (int i = 0; i < value.length(); i++) {
                 char c = value.charAt(i);
                 if (c == quoteChar) {
-                    buffer.append(quoteChar);
+                    rowBuffer.append(quoteChar);
                 }
-                buffer.append(c);
+                rowBuffer.append(c);
             }
-            value = buffer.toString();
+        } else {
+            rowBuffer.append(value);
         }
-        PrintWriter out = getWriter();
-        if (quote && useQuotes) out.write(quoteChar);
-        out.write(value);
-        if (quote && useQuotes) out.write(quoteChar);
+        if (quote && useQuotes) rowBuffer.append(quoteChar);
     }
 
     private void writeCellValue(Reader reader) throws IOException
@@ -307,12 +311,44 @@ public class DataExporterCSV extends StreamExporterAbstract {
 
     private void writeDelimiter()
     {
-        getWriter().write(delimiter);
+        rowBuffer.append(delimiter);
     }
 
     private void writeRowLimit()
     {
-        getWriter().write(rowDelimiter);
+        rowBuffer.append(rowDelimiter);
+        flushRowBuffer();
+    }
+
+    private void flushRowBuffer()
+    {
+        writeBuffer(rowBuffer);
+        rowBuffer.setLength(0);
+    }
+
+    private static boolean contains(CharSequence value, char c)
+    {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(CharSequence value, String str)
+    {
+        final int strLength = str.length();
+        for (int i = 0, lastPos = value.length() - strLength; i <= lastPos; i++) {
+            int k = 0;
+            while (k < strLength && value.charAt(i + k) == str.charAt(k)) {
+                k++;
+            }
+            if (k == strLength) {
+                return true;
+            }
+        }
+        return false;
     }
 
 }
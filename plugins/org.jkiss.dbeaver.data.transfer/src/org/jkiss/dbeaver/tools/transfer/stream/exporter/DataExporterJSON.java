@@ -53,12 +53,17 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
     public static final String PROP_PRINT_TABLE_NAME = "printTableName";
 
     private DBDAttributeBinding[] columns;
+    // Escaped column names with indents
+    private String[] columnPrefixes;
     private String tableName;
     private int rowNum = 0;
 
     private boolean printTableName = true;
     private boolean formatDateISO = true;
 
+    private final StringBuilder rowBuffer = new StringBuilder(1000);
+    private final StringBuilder cellBuffer = new StringBuilder(100);
+
     @Override
     public void init(IStreamDataExporterSite site) throws DBException
     {
@@ -77,6 +82,14 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
     public void exportHeader(DBCSession session) throws DBException, IOException
     {
         columns = getSite().getAttributes();
+        columnPrefixes = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            String columnName = columns[i].getLabel();
+            if (CommonUtils.isEmpty(columnName)) {
+                columnName = columns[i].getName();
+            }
+            columnPrefixes[i] = "\t\t\"" + JSONUtils.escapeJsonString(columnName) + "\" : ";
+        }
         tableName = getSite().getSource().getName();
         printHeader();
     }
@@ -106,14 +119,11 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
             String jsonText = buffer.toString(StandardCharsets.UTF_8.name());
             out.write(jsonText);
         } else {
-            out.write("\t{\n");
+            rowBuffer.setLength(0);
+            rowBuffer.append("\t{\n");
             for (int i = 0; i < columns.length; i++) {
                 DBDAttributeBinding column = columns[i];
-                String columnName = column.getLabel();
-                if (CommonUtils.isEmpty(columnName)) {
-                    columnName = column.getName();
-                }
-                out.write("\t\t\"" + JSONUtils.escapeJsonString(columnName) + "\" : ");
+                rowBuffer.append(columnPrefixes[i]);
                 Object cellValue = row[column.getOrdinalPosition()];
                 if (DBUtils.isNullValue(cellValue)) {
                     writeTextCell(null);
@@ -124,6 +134,7 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
                     try {
                         DBDContentStorage cs = content.getContents(session.getProgressMonitor());
                         if (cs != null) {
+                            flushRowBuffer();
                             if (ContentUtils.isTextContent(content)) {
                                 try (Reader in = cs.getContentReader()) {
                                     out.write("\"");
@@ -138,20 +149,27 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
                         content.release();
                     }
                 } else {
-                    if (cellValue instanceof Number || cellValue instanceof Boolean) {
-                        out.write(cellValue.toString());
+                    if (cellValue instanceof Long || cellValue instanceof Integer || cellValue instanceof Short || cellValue instanceof Byte) {
+                        rowBuffer.append(((Number) cellValue).longValue());
+                    } else if (cellValue instanceof Boolean) {
+                        rowBuffer.append(((Boolean) cellValue).booleanValue());
+                    } else if (cellValue instanceof Number) {
+                        rowBuffer.append(cellValue.toString());
                     } else if (cellValue instanceof Date && formatDateISO) {
                         writeTextCell(JSONUtils.formatDate((Date) cellValue));
                     } else {
-                        writeTextCell(super.getValueDisplayString(column, cellValue));
+                        cellBuffer.setLength(0);
+                        super.appendValueDisplayString(column, cellValue, cellBuffer);
+                        writeTextCell(cellBuffer);
                     }
                 }
                 if (i < columns.length - 1) {
-                    out.write(",");
+                    rowBuffer.append(',');
                 }
-                out.write("\n");
+                rowBuffer.append('\n');
             }
-            out.write("\t}");
+            rowBuffer.append("\t}");
+            flushRowBuffer();
         }
     }
 
@@ -179,15 +197,23 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
         out.write("\n");
     }
 
-    private void writeTextCell(@Nullable String value)
+    private void writeTextCell(@Nullable CharSequence value)
     {
         if (value != null) {
-            getWriter().write("\"" + JSONUtils.escapeJsonString(value) + "\"");
+            rowBuffer.append('"');
+            JSONUtils.escapeJsonString(value, rowBuffer);
+            rowBuffer.append('"');
         } else {
-            getWriter().write("null");
+            rowBuffer.append("null");
         }
     }
 
+    private void flushRowBuffer()
+    {
+        writeBuffer(rowBuffer);
+        rowBuffer.setLength(0);
+    }
+
     private void writeCellValue(Reader reader) throws IOException
     {
         // Copy reader
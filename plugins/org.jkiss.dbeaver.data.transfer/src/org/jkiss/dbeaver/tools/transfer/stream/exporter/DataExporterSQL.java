@@ -68,6 +68,8 @@ public class DataExporterSQL extends StreamExporterAbstract {
     private boolean lineBeforeRows = true;
     private String tableName;
     private DBDAttributeBinding[] columns;
+    // Table name and column list of INSERT statement
+    private String insertTarget;
     private boolean oneLineEntry;
 
     private final String KEYWORD_INSERT_INTO = "INSERT INTO";
@@ -185,6 +187,7 @@ public class DataExporterSQL extends StreamExporterAbstract {
         columns = getSite().getAttributes();
         DBPNamedObject source = getSite().getSource();
         tableName = DTUtils.getTableName(session.getDataSource(), source, omitSchema);
+        insertTarget = null;
 
         rowCount = 0;
     }
@@ -251,19 +254,10 @@ public class DataExporterSQL extends StreamExporterAbstract {
                         sqlBuffer.append(identifierCase.transform(KEYWORD_INSERT_INTO));
                     }
             }
-            sqlBuffer.append(" ").append(transformTableNameCase(session.getDataSource(), tableName)).append(" (");
-            boolean hasColumn = false;
-            for (DBDAttributeBinding column : columns) {
-                if (isSkipColumn(column)) {
-                    continue;
-                }
-                if (hasColumn) {
-                    sqlBuffer.append(',');
-                }
-                hasColumn = true;
-                sqlBuffer.append(transformIdentifierCase(session.getDataSource(), DBUtils.getQuotedIdentifier(column)));
+            if (insertTarget == null) {
+                insertTarget = makeInsertTarget(session.getDataSource());
             }
-            sqlBuffer.append(") ");
+            sqlBuffer.append(insertTarget);
             sqlBuffer.append(identifierCase.transform(KEYWORD_VALUES));
             if (oneLineEntry || insertKeyword == InsertKeyword.INSERT_ALL) {
                 sqlBuffer.append(" (");
@@ -271,7 +265,7 @@ public class DataExporterSQL extends StreamExporterAbstract {
             if (rowsInStatement > 1 && lineBeforeRows && insertKeyword != InsertKeyword.INSERT_ALL) {
                 sqlBuffer.append(rowDelimiter);
             }
-            out.write(sqlBuffer.toString());
+            writeBuffer(sqlBuffer);
             firstRow = true;
         }
         if (!oneLineEntry && !firstRow) {
@@ -361,6 +355,24 @@ public class DataExporterSQL extends StreamExporterAbstract {
         }
     }
 
+    private String makeInsertTarget(DBPDataSource dataSource) {
+        StringBuilder target = new StringBuilder();
+        target.append(" ").append(transformTableNameCase(dataSource, tableName)).append(" (");
+        boolean hasColumn = false;
+        for (DBDAttributeBinding column : columns) {
+            if (isSkipColumn(column)) {
+                continue;
+            }
+            if (hasColumn) {
+                target.append(',');
+            }
+            hasColumn = true;
+            target.append(transformIdentifierCase(dataSource, DBUtils.getQuotedIdentifier(column)));
+        }
+        target.append(") ");
+        return target.toString();
+    }
+
     private void addOnConflictExpression(PrintWriter out) {
         if (insertKeyword == InsertKeyword.ON_CONFLICT) {
             out.write(" " + identifierCase.transform(KEYWORD_ON_CONFLICT) + " " + onConflictExpression);
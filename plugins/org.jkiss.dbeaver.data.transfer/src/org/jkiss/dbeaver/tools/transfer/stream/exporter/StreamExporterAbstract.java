@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.tools.transfer.stream.exporter;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.data.DBDValueAppender;
 import org.jkiss.dbeaver.model.data.DBDValueHandler;
 import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporter;
 import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
@@ -33,6 +34,7 @@ public abstract class StreamExporterAbstract implements IStreamDataExporter {
 
     private IStreamDataExporterSite site;
     private DBDDisplayFormat exportFormat;
+    private char[] writeBuffer = new char[1024];
 
     public IStreamDataExporterSite getSite()
     {
@@ -67,6 +69,36 @@ public abstract class StreamExporterAbstract implements IStreamDataExporter {
         return valueHandler.getValueDisplayString(column, value, getValueExportFormat(column));
     }
 
+    /**
+     * Appends value display string to the buffer.
+     * Value handlers which support {@link DBDValueAppender} format values without intermediate strings.
+     */
+    protected void appendValueDisplayString(
+        DBDAttributeBinding column,
+        Object value,
+        StringBuilder buffer)
+    {
+        final DBDValueHandler valueHandler = column.getValueHandler();
+        if (valueHandler instanceof DBDValueAppender) {
+            ((DBDValueAppender) valueHandler).appendValueDisplayString(column, value, getValueExportFormat(column), buffer);
+        } else {
+            buffer.append(valueHandler.getValueDisplayString(column, value, getValueExportFormat(column)));
+        }
+    }
+
+    /**
+     * Writes buffer contents to the output writer.
+     * Characters are copied into reusable array, so no intermediate strings are created.
+     */
+    protected void writeBuffer(StringBuilder buffer) {
+        final int length = buffer.length();
+        if (length > writeBuffer.length) {
+            writeBuffer = new char[Math.max(length, writeBuffer.length * 2)];
+        }
+        buffer.getChars(0, length, writeBuffer, 0);
+        getWriter().write(writeBuffer, 0, length);
+    }
+
     protected DBDDisplayFormat getValueExportFormat(DBDAttributeBinding column) {
         if (this.exportFormat == null) {
             this.exportFormat = getSite().getExportFormat();
@@ -23,6 +23,7 @@ import org.jkiss.dbeaver.model.DBFetchProgress;
 import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.exec.DBCSession;
@@ -39,9 +40,13 @@ import org.jkiss.utils.io.BOMInputStream;
 
 import java.io.*;
 import java.nio.charset.Charset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * CSV importer
@@ -56,7 +61,10 @@ public class DataImporterCSV extends StreamImporterAbstract {
     private static final String PROP_NULL_STRING = "nullString";
     private static final String PROP_EMPTY_STRING_NULL = "emptyStringNull";
     private static final String PROP_ESCAPE_CHAR = "escapeChar";
+    private static final String PROP_PARSE_THREADS = "parseThreads";
     public static final int READ_BUFFER_SIZE = 255 * 1024;
+    // Chunk size (in characters) for parallel parsing
+    private static final int PARSE_CHUNK_SIZE = 4 * 1024 * 1024;
 
     public enum HeaderPosition {
         none,
@@ -170,16 +178,27 @@ public class DataImporterCSV extends StreamImporterAbstract {
     }
 
     private CSVReader openCSVReader(Reader reader, Map<String, Object> processorProperties) {
-        String delimiter = StreamTransferUtils.getDelimiterString(processorProperties, PROP_DELIMITER);
+        return new CSVReader(reader, getDelimiterChar(processorProperties), getQuoteChar(processorProperties), getEscapeChar(processorProperties));
+    }
+
+    private static char getDelimiterChar(Map<String, Object> processorProperties) {
+        return StreamTransferUtils.getDelimiterString(processorProperties, PROP_DELIMITER).charAt(0);
+    }
+
+    private static char getQuoteChar(Map<String, Object> processorProperties) {
         String quoteChar = CommonUtils.toString(processorProperties.get(PROP_QUOTE_CHAR));
         if (CommonUtils.isEmpty(quoteChar)) {
             quoteChar = "'";
         }
+        return quoteChar.charAt(0);
+    }
+
+    private static char getEscapeChar(Map<String, Object> processorProperties) {
         String escapeChar = CommonUtils.toString(processorProperties.get(PROP_ESCAPE_CHAR));
         if (CommonUtils.isEmpty(escapeChar)) {
             escapeChar = "\\";
         }
-        return new CSVReader(reader, delimiter.charAt(0), quoteChar.charAt(0), escapeChar.charAt(0));
+        return escapeChar.charAt(0);
     }
 
     private Reader openStreamReader(InputStream inputStream, Map<String, Object> processorProperties, boolean useBufferedStream) throws UnsupportedEncodingException {
@@ -193,6 +212,10 @@ public class DataImporterCSV extends StreamImporterAbstract {
         } catch (IllegalArgumentException ignored) {
             // This charset does not have BOM, suppress and continue
         }
+        if (useBufferedStream) {
+            // CSV reader and line reader use this reader as is
+            return new BufferedReader(new InputStreamReader(inputStream, charset), READ_BUFFER_SIZE);
+        }
         return new InputStreamReader(inputStream, charset);
     }
 
@@ -214,9 +237,7 @@ public class DataImporterCSV extends StreamImporterAbstract {
         IStreamDataImporterSite site = getSite();
         StreamEntityMapping entityMapping = site.getSourceObject();
         Map<String, Object> properties = site.getProcessorProperties();
-        HeaderPosition headerPosition = getHeaderPosition(properties);
-        boolean emptyStringNull = CommonUtils.getBoolean(properties.get(PROP_EMPTY_STRING_NULL), false);
-        String nullValueMark = CommonUtils.toString(properties.get(PROP_NULL_STRING));
+        int parseThreads = CommonUtils.toInt(properties.get(PROP_PARSE_THREADS), 1);
 
         DBCExecutionContext context = streamDataSource.getDefaultInstance().getDefaultContext(monitor, false);
         try (DBCSession producerSession = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Transfer stream data")) {
@@ -227,63 +248,25 @@ public class DataImporterCSV extends StreamImporterAbstract {
 
             applyTransformHints(resultSet, consumer, properties, PROP_TIMESTAMP_FORMAT, PROP_TIMESTAMP_ZONE);
 
+            StreamRowWriter rowWriter = new StreamRowWriter(
+                producerSession, resultSet, consumer, properties, getHeaderPosition(properties) != HeaderPosition.none, site.getSettings().getMaxRows());
             try (Reader reader = openStreamReader(inputStream, properties, true)) {
-                try (CSVReader csvReader = openCSVReader(reader, properties)) {
-
-                    int maxRows = site.getSettings().getMaxRows();
-                    int targetAttrSize = entityMapping.getStreamColumns().size();
-                    boolean headerRead = false;
-                    for (int lineNum = 0; ; ) {
-                        if (monitor.isCanceled()) {
-                            break;
-                        }
-                        String[] line = csvReader.readNext();
-                        if (line == null) {
-                            break;
-                        }
-                        if (line.length == 0) {
-                            continue;
-                        }
-                        if (headerPosition != HeaderPosition.none && !headerRead) {
-                            // First line is a header
-                            headerRead = true;
-                            continue;
-                        }
-                        if (maxRows > 0 && lineNum >= maxRows) {
-                            break;
-                        }
-
-                        if (line.length < targetAttrSize) {
-                            // Stream row may be shorter than header
-                            String[] newLine = new String[targetAttrSize];
-                            System.arraycopy(line, 0, newLine, 0, line.length);
-                            for (int i = line.length; i < targetAttrSize; i++) {
-                                newLine[i] = null;
+                if (parseThreads > 1) {
+                    runParallelImport(monitor, reader, properties, rowWriter, parseThreads);
+                } else {
+                    try (CSVReader csvReader = openCSVReader(reader, properties)) {
+                        while (!monitor.isCanceled()) {
+                            String[] line = csvReader.readNext();
+                            if (line == null) {
+                                break;
                             }
-                            line = newLine;
-                        }
-                        if (emptyStringNull) {
-                            for (int i = 0; i < line.length; i++) {
-                                if ("".equals(line[i])) {
-                                    line[i] = null;
-                                }
+                            if (line.length == 0) {
+                                continue;
                             }
-                        }
-                        if (!CommonUtils.isEmpty(nullValueMark)) {
-                            for (int i = 0; i < line.length; i++) {
-                                if (nullValueMark.equals(line[i])) {
-                                    line[i] = null;
-                                }
+                            if (!rowWriter.writeRow(rowWriter.prepareRow(line, false))) {
+                                break;
                             }
                         }
-
-                        resultSet.setStreamRow(line);
-                        consumer.fetchRow(producerSession, resultSet);
-                        lineNum++;
-
-                        if (DBFetchProgress.monitorFetchProgress(lineNum)) {
-                            monitor.subTask(lineNum + " rows processed");
-                        }
                     }
                 }
             } catch (IOException e) {
@@ -299,4 +282,234 @@ public class DataImporterCSV extends StreamImporterAbstract {
 
     }
 
+    /**
+     * Splits the stream in chunks at record boundaries and parses chunks in parallel.
+     * Parsed rows are passed to the consumer in the file order.
+     */
+    private void runParallelImport(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull Reader reader,
+        @NotNull Map<String, Object> properties,
+        @NotNull StreamRowWriter rowWriter,
+        int parseThreads) throws IOException, DBException
+    {
+        char delimiter = getDelimiterChar(properties);
+        char quoteChar = getQuoteChar(properties);
+        char escapeChar = getEscapeChar(properties);
+        CSVRecordScanner recordScanner = new CSVRecordScanner(delimiter, quoteChar, escapeChar);
+        ForkJoinPool parsePool = new ForkJoinPool(parseThreads);
+        ArrayDeque<Future<List<Object[]>>> parsedChunks = new ArrayDeque<>();
+        try {
+            // Reader reads lines the same way as CSVReader does (no carriage returns)
+            BufferedReader lineReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader, READ_BUFFER_SIZE);
+            StringBuilder chunk = new StringBuilder();
+            boolean endOfStream = false;
+            while (!monitor.isCanceled()) {
+                if (!endOfStream) {
+                    String line = lineReader.readLine();
+                    if (line == null) {
+                        endOfStream = true;
+                    } else {
+                        chunk.append(line).append('\n');
+                        recordScanner.scanLine(line);
+                    }
+                    if (chunk.length() > 0 && (endOfStream || (chunk.length() >= PARSE_CHUNK_SIZE && recordScanner.isRecordEnd()))) {
+                        String chunkText = chunk.toString();
+                        chunk.setLength(0);
+                        parsedChunks.add(parsePool.submit(
+                            () -> parseChunk(chunkText, delimiter, quoteChar, escapeChar, rowWriter)));
+                    }
+                }
+                if (parsedChunks.isEmpty()) {
+                    if (endOfStream) {
+                        break;
+                    }
+                    continue;
+                }
+                if (!endOfStream && parsedChunks.size() <= parseThreads * 2) {
+                    // Keep parsers busy
+                    continue;
+                }
+                List<Object[]> rows;
+                try {
+                    rows = parsedChunks.poll().get();
+                } catch (InterruptedException e) {
+                    // Stop import. Pending chunks are canceled below
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof IOException) {
+                        throw (IOException) e.getCause();
+                    }
+                    throw new DBException("Error parsing CSV", e.getCause());
+                }
+                for (Object[] row : rows) {
+                    if (monitor.isCanceled() || !rowWriter.writeRow(row)) {
+                        return;
+                    }
+                }
+            }
+        } finally {
+            for (Future<List<Object[]>> parsedChunk : parsedChunks) {
+                parsedChunk.cancel(true);
+            }
+            parsePool.shutdownNow();
+        }
+    }
+
+    private static List<Object[]> parseChunk(
+        @NotNull String chunkText,
+        char delimiter,
+        char quoteChar,
+        char escapeChar,
+        @NotNull StreamRowWriter rowWriter) throws IOException
+    {
+        List<Object[]> rows = new ArrayList<>();
+        try (CSVReader csvReader = new CSVReader(new StringReader(chunkText), delimiter, quoteChar, escapeChar)) {
+            for (String[] line = csvReader.readNext(); line != null; line = csvReader.readNext()) {
+                if (line.length > 0) {
+                    rows.add(rowWriter.prepareRow(line, true));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Passes stream rows to the consumer
+     */
+    private static class StreamRowWriter {
+        private final DBCSession session;
+        private final StreamTransferResultSet resultSet;
+        private final IDataTransferConsumer consumer;
+        private final boolean skipHeader;
+        private final boolean emptyStringNull;
+        private final String nullValueMark;
+        private final int maxRows;
+        private final int targetAttrSize;
+        private boolean headerRead;
+        private int lineNum;
+
+        StreamRowWriter(DBCSession session, StreamTransferResultSet resultSet, IDataTransferConsumer consumer, Map<String, Object> properties, boolean skipHeader, int maxRows) {
+            this.session = session;
+            this.resultSet = resultSet;
+            this.consumer = consumer;
+            this.skipHeader = skipHeader;
+            this.emptyStringNull = CommonUtils.getBoolean(properties.get(PROP_EMPTY_STRING_NULL), false);
+            this.nullValueMark = CommonUtils.toString(properties.get(PROP_NULL_STRING));
+            this.maxRows = maxRows;
+            this.targetAttrSize = resultSet.getAttributeMappings().size();
+        }
+
+        /**
+         * Pads row to the target size and replaces null marks. Can be called from any thread.
+         * Parser threads also convert values to attribute types, so the consumer thread doesn't parse them.
+         */
+        Object[] prepareRow(String[] line, boolean convertValues) {
+            if (line.length < targetAttrSize) {
+                // Stream row may be shorter than header
+                String[] newLine = new String[targetAttrSize];
+                System.arraycopy(line, 0, newLine, 0, line.length);
+                for (int i = line.length; i < targetAttrSize; i++) {
+                    newLine[i] = null;
+                }
+                line = newLine;
+            }
+            if (emptyStringNull) {
+                for (int i = 0; i < line.length; i++) {
+                    if ("".equals(line[i])) {
+                        line[i] = null;
+                    }
+                }
+            }
+            if (!CommonUtils.isEmpty(nullValueMark)) {
+                for (int i = 0; i < line.length; i++) {
+                    if (nullValueMark.equals(line[i])) {
+                        line[i] = null;
+                    }
+                }
+            }
+            if (!convertValues) {
+                return line;
+            }
+            Object[] row = new Object[line.length];
+            for (int i = 0; i < line.length; i++) {
+                row[i] = i < targetAttrSize ? resultSet.convertAttributeValue(i, line[i]) : line[i];
+            }
+            return row;
+        }
+
+        /**
+         * Returns false if no more rows are needed
+         */
+        boolean writeRow(Object[] row) throws DBCException {
+            if (skipHeader && !headerRead) {
+                // First line is a header
+                headerRead = true;
+                return true;
+            }
+            if (maxRows > 0 && lineNum >= maxRows) {
+                return false;
+            }
+            resultSet.setStreamRow(row);
+            consumer.fetchRow(session, resultSet);
+            lineNum++;
+
+            if (DBFetchProgress.monitorFetchProgress(lineNum)) {
+                session.getProgressMonitor().subTask(lineNum + " rows processed");
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Finds CSV record boundaries. Tracks quotes in the same way as {@link org.jkiss.utils.csv.CSVParser} does
+     * (with default strict quotes and quotations handling), but doesn't extract values.
+     */
+    private static class CSVRecordScanner {
+        private final char separator;
+        private final char quoteChar;
+        private final char escapeChar;
+        private boolean pending;
+        private boolean inField;
+
+        CSVRecordScanner(char separator, char quoteChar, char escapeChar) {
+            this.separator = separator;
+            this.quoteChar = quoteChar;
+            this.escapeChar = escapeChar;
+        }
+
+        void scanLine(String line) {
+            boolean inQuotes = pending;
+            int length = line.length();
+            for (int i = 0; i < length; i++) {
+                char c = line.charAt(i);
+                if (c == escapeChar) {
+                    if ((inQuotes || inField) && i + 1 < length && (line.charAt(i + 1) == quoteChar || line.charAt(i + 1) == escapeChar)) {
+                        i++;
+                    }
+                } else if (c == quoteChar) {
+                    if ((inQuotes || inField) && i + 1 < length && line.charAt(i + 1) == quoteChar) {
+                        i++;
+                    } else {
+                        inQuotes = !inQuotes;
+                    }
+                    inField = !inField;
+                } else if (c == separator && !inQuotes) {
+                    inField = false;
+                } else {
+                    inField = true;
+                }
+            }
+            pending = inQuotes;
+            if (!inQuotes) {
+                inField = false;
+            }
+        }
+
+        boolean isRecordEnd() {
+            return !pending;
+        }
+    }
+
 }
@@ -0,0 +1,281 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.mssql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.data.DBDValue;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCFeatureNotSupportedException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.utils.ContentUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.*;
+
+/**
+ * Bulk loader based on SQLServerBulkCopy API of Microsoft JDBC driver.
+ * Driver classes are accessed with reflection because they are loaded by the driver class loader.
+ */
+public class SQLServerBulkLoader implements DBSDataBulkLoader, DBSDataBulkLoader.BulkLoadManager {
+
+    private static final Log log = Log.getLog(SQLServerBulkLoader.class);
+
+    // Flush buffered rows even if commit size wasn't reached
+    private static final int MAX_BUFFER_SIZE = 32 * 1024 * 1024;
+    // Estimated size of value which is not a string or binary
+    private static final int VALUE_SIZE_ESTIMATE = 16;
+
+    private static final String BULK_COPY_CLASS = "com.microsoft.sqlserver.jdbc.SQLServerBulkCopy"; //$NON-NLS-1$
+    private static final String BULK_COPY_OPTIONS_CLASS = "com.microsoft.sqlserver.jdbc.SQLServerBulkCopyOptions"; //$NON-NLS-1$
+    private static final String[] BULK_DATA_INTERFACES = {
+        "com.microsoft.sqlserver.jdbc.ISQLServerBulkData", //$NON-NLS-1$
+        "com.microsoft.sqlserver.jdbc.ISQLServerBulkRecord" //$NON-NLS-1$
+    };
+
+    private final SQLServerDataSource dataSource;
+    private DBSAttributeBase[] attributes;
+    private Set<Integer> columnOrdinals;
+    private Object bulkCopy;
+    private Class<?> bulkDataInterface;
+    private Method writeToServerMethod;
+    private final List<Object[]> bufferedRows = new ArrayList<>();
+    private long bufferedSize;
+
+    public SQLServerBulkLoader(SQLServerDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @NotNull
+    @Override
+    public BulkLoadManager createBulkLoad(
+        @NotNull DBCSession session,
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull DBSAttributeBase[] attributes,
+        @NotNull DBCExecutionSource source,
+        int batchSize,
+        Map<String, Object> options) throws DBCException
+    {
+        if (!(dataContainer instanceof DBSEntity)) {
+            throw new DBCException("Bulk copy is supported only for tables");
+        }
+        this.attributes = attributes;
+        this.columnOrdinals = new LinkedHashSet<>();
+        for (int i = 0; i < attributes.length; i++) {
+            columnOrdinals.add(i + 1);
+        }
+        try {
+            Connection connection = ((JDBCSession) session).getOriginal();
+            ClassLoader driverClassLoader = connection.getClass().getClassLoader();
+
+            Class<?> bulkCopyClass = Class.forName(BULK_COPY_CLASS, true, driverClassLoader);
+            Class<?> optionsClass = Class.forName(BULK_COPY_OPTIONS_CLASS, true, driverClassLoader);
+            for (String ifaceName : BULK_DATA_INTERFACES) {
+                try {
+                    bulkDataInterface = Class.forName(ifaceName, true, driverClassLoader);
+                    writeToServerMethod = bulkCopyClass.getMethod("writeToServer", bulkDataInterface);
+                    break;
+                } catch (ClassNotFoundException | NoSuchMethodException e) {
+                    // Older driver version
+                    bulkDataInterface = null;
+                }
+            }
+            if (writeToServerMethod == null) {
+                throw new DBCFeatureNotSupportedException("Bulk copy API is not supported by driver");
+            }
+
+            bulkCopy = bulkCopyClass.getConstructor(Connection.class).newInstance(connection);
+            bulkCopyClass.getMethod("setDestinationTableName", String.class).invoke(
+                bulkCopy, DBUtils.getObjectFullName(dataContainer, DBPEvaluationContext.DML));
+
+            Object copyOptions = optionsClass.getConstructor().newInstance();
+            // Keep explicit identity values only if identity columns are mapped, the same way as regular INSERT does
+            optionsClass.getMethod("setKeepIdentity", Boolean.TYPE).invoke(copyOptions, SQLServerTableBase.hasIdentityColumns(attributes));
+            optionsClass.getMethod("setKeepNulls", Boolean.TYPE).invoke(copyOptions, true);
+            optionsClass.getMethod("setBulkCopyTimeout", Integer.TYPE).invoke(copyOptions, 0);
+            bulkCopyClass.getMethod("setBulkCopyOptions", optionsClass).invoke(bulkCopy, copyOptions);
+
+            Method addColumnMapping = bulkCopyClass.getMethod("addColumnMapping", Integer.TYPE, String.class);
+            for (int i = 0; i < attributes.length; i++) {
+                addColumnMapping.invoke(bulkCopy, i + 1, attributes[i].getName());
+            }
+        } catch (DBCException e) {
+            throw e;
+        } catch (ClassNotFoundException e) {
+            throw new DBCFeatureNotSupportedException("Bulk copy API is not supported by driver", e);
+        } catch (Throwable e) {
+            if (e instanceof InvocationTargetException) {
+                e = ((InvocationTargetException) e).getTargetException();
+            }
+            throw new DBCException("Can't instantiate SQLServerBulkCopy", e);
+        }
+        return this;
+    }
+
+    @Override
+    public void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException {
+        Object[] row = new Object[attributeValues.length];
+        for (int i = 0; i < attributeValues.length; i++) {
+            Object value = attributeValues[i];
+            if (value instanceof DBDContent) {
+                DBDContent content = (DBDContent) value;
+                if (content.isNull()) {
+                    value = null;
+                } else if (ContentUtils.isTextContent(content)) {
+                    value = ContentUtils.getContentStringValue(session.getProgressMonitor(), content);
+                } else {
+                    value = ContentUtils.getContentBinaryValue(session.getProgressMonitor(), content);
+                }
+            } else if (value instanceof DBDValue) {
+                value = ((DBDValue) value).getRawValue();
+            }
+            row[i] = value;
+            bufferedSize += estimateValueSize(value);
+        }
+        bufferedRows.add(row);
+        if (bufferedSize >= MAX_BUFFER_SIZE) {
+            flushRows(session);
+        }
+    }
+
+    private static int estimateValueSize(Object value) {
+        if (value instanceof String) {
+            return ((String) value).length() * 2;
+        } else if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        return VALUE_SIZE_ESTIMATE;
+    }
+
+    @Override
+    public void flushRows(@NotNull DBCSession session) throws DBCException {
+        if (bufferedRows.isEmpty()) {
+            return;
+        }
+        try {
+            Object bulkData = Proxy.newProxyInstance(
+                bulkDataInterface.getClassLoader(),
+                new Class[] { bulkDataInterface },
+                new BulkDataHandler(bufferedRows));
+            writeToServerMethod.invoke(bulkCopy, bulkData);
+        } catch (Throwable e) {
+            if (e instanceof InvocationTargetException) {
+                e = ((InvocationTargetException) e).getTargetException();
+            }
+            throw new DBCException("Error copying data into SQL Server table", e);
+        } finally {
+            bufferedRows.clear();
+            bufferedSize = 0;
+        }
+    }
+
+    @Override
+    public void finishBulkLoad(@NotNull DBCSession session) throws DBCException {
+        flushRows(session);
+    }
+
+    @Override
+    public void close() {
+        bufferedRows.clear();
+        bufferedSize = 0;
+        if (bulkCopy != null) {
+            try {
+                bulkCopy.getClass().getMethod("close").invoke(bulkCopy);
+            } catch (Throwable e) {
+                log.debug("Error closing bulk copy", e);
+            }
+            bulkCopy = null;
+        }
+    }
+
+    /**
+     * Implements ISQLServerBulkData over buffered rows
+     */
+    private class BulkDataHandler implements InvocationHandler {
+        private final List<Object[]> rows;
+        private int position = -1;
+
+        BulkDataHandler(List<Object[]> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getColumnOrdinals":
+                    return columnOrdinals;
+                case "getColumnName":
+                    return getAttribute(args).getName();
+                case "getColumnType":
+                    return getAttribute(args).getTypeID();
+                case "getPrecision": {
+                    DBSAttributeBase attr = getAttribute(args);
+                    Integer precision = attr.getPrecision();
+                    return precision != null && precision > 0 ? precision : (int) Math.min(attr.getMaxLength(), Integer.MAX_VALUE);
+                }
+                case "getScale": {
+                    Integer scale = getAttribute(args).getScale();
+                    return scale == null ? 0 : scale;
+                }
+                case "isAutoIncrement":
+                    return false;
+                case "next":
+                    position++;
+                    return position < rows.size();
+                case "getRowData":
+                    return rows.get(position);
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "Bulk data (" + rows.size() + " rows)";
+                default:
+                    return getDefaultValue(method.getReturnType());
+            }
+        }
+
+        private DBSAttributeBase getAttribute(Object[] args) {
+            return attributes[((Number) args[0]).intValue() - 1];
+        }
+    }
+
+    private static Object getDefaultValue(Class<?> type) {
+        if (type == Boolean.TYPE) {
+            return false;
+        } else if (type == Integer.TYPE) {
+            return 0;
+        } else if (type == Long.TYPE) {
+            return 0L;
+        }
+        return null;
+    }
+
+}
@@ -415,6 +415,11 @@ public class SQLServerDataSource extends JDBCDataSource implements DBSInstanceCo
             return adapter.cast(new SQLServerSessionManager(this));
         } else if (adapter == DBAUserPasswordManager.class) {
             return adapter.cast(new SQLServerLoginPasswordManager(this));
+        } else if (adapter == DBSDataBulkLoader.class) {
+            DBPDriver driver = getContainer().getDriver();
+            if (!SQLServerUtils.isDriverJtds(driver) && !SQLServerUtils.isDriverBabelfish(driver)) {
+                return adapter.cast(new SQLServerBulkLoader(this));
+            }
         }
         return super.getAdapter(adapter);
     }
@@ -194,6 +194,12 @@ public class SQLServerDialect extends JDBCSQLDialect implements TPRuleProvider {
         }
     }
 
+    @Override
+    public int getMaxQueryParametersCount() {
+        // RPC requests are limited with 2100 parameters (some of them may be used by driver)
+        return 2000;
+    }
+
     @Override
     public String getColumnTypeModifiers(@NotNull DBPDataSource dataSource, @NotNull DBSTypedObject column, @NotNull String typeName, @NotNull DBPDataKind dataKind) {
         String lowerTypeName = typeName.toLowerCase(Locale.ENGLISH); // Workaround for generic data types
@@ -254,13 +254,15 @@ public abstract class SQLServerTableBase extends JDBCTable<SQLServerDataSource,
     }
 
     private boolean hasIdentityInsert(@NotNull DBSManipulationType type, @NotNull DBSAttributeBase[] attributes) {
-        if (type == DBSManipulationType.INSERT) {
-            for (DBSAttributeBase attr : attributes) {
-                if (attr instanceof SQLServerTableColumn && ((SQLServerTableColumn) attr).isIdentity()) {
-                    return true;
-                } else if (attr.isAutoGenerated()) {
-                    return true;
-                }
+        return type == DBSManipulationType.INSERT && hasIdentityColumns(attributes);
+    }
+
+    static boolean hasIdentityColumns(@NotNull DBSAttributeBase[] attributes) {
+        for (DBSAttributeBase attr : attributes) {
+            if (attr instanceof SQLServerTableColumn && ((SQLServerTableColumn) attr).isIdentity()) {
+                return true;
+            } else if (attr.isAutoGenerated()) {
+                return true;
             }
         }
         return false;
@@ -0,0 +1,260 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.mysql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCFeatureNotSupportedException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.utils.ContentUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk loader based on LOAD DATA LOCAL INFILE.
+ * Rows are buffered in memory and passed to the driver as a local infile stream,
+ * so no temporary files are needed. Requires local_infile to be enabled on server
+ * and allowLoadLocalInfile driver property.
+ */
+public class MySQLBulkLoader implements DBSDataBulkLoader, DBSDataBulkLoader.BulkLoadManager {
+
+    private static final Log log = Log.getLog(MySQLBulkLoader.class);
+
+    // Flush buffer even if commit size wasn't reached
+    private static final int MAX_BUFFER_SIZE = 32 * 1024 * 1024;
+    private static final String NULL_VALUE = "\\N"; //$NON-NLS-1$
+
+    private final MySQLDataSource dataSource;
+    private DBSAttributeBase[] attributes;
+    private DBDValueHandler[] valueHandlers;
+    private boolean[] binaryAttributes;
+    private String loadQuery;
+    private Method setStreamMethod;
+
+    private ByteArrayOutputStream buffer;
+    private Writer bufferWriter;
+    private long bufferedRows;
+
+    public MySQLBulkLoader(MySQLDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @NotNull
+    @Override
+    public BulkLoadManager createBulkLoad(
+        @NotNull DBCSession session,
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull DBSAttributeBase[] attributes,
+        @NotNull DBCExecutionSource source,
+        int batchSize,
+        Map<String, Object> options) throws DBCException
+    {
+        if (!(dataContainer instanceof DBSEntity)) {
+            throw new DBCException("Bulk load is supported only for tables");
+        }
+        try (Statement dbStat = ((JDBCSession) session).getOriginal().createStatement()) {
+            setStreamMethod = findStreamSetter(dbStat.getClass());
+        } catch (SQLException e) {
+            throw new DBCException("Error checking driver capabilities", e);
+        }
+        if (setStreamMethod == null) {
+            throw new DBCFeatureNotSupportedException("Driver doesn't support LOAD DATA LOCAL INFILE streams");
+        }
+
+        this.attributes = attributes;
+        this.valueHandlers = new DBDValueHandler[attributes.length];
+        this.binaryAttributes = new boolean[attributes.length];
+
+        StringBuilder columns = new StringBuilder();
+        StringBuilder setClause = new StringBuilder();
+        for (int i = 0; i < attributes.length; i++) {
+            DBSAttributeBase attr = attributes[i];
+            valueHandlers[i] = DBUtils.findValueHandler(session, attr);
+            String columnName = DBUtils.getQuotedIdentifier(dataSource, attr.getName());
+            if (i > 0) columns.append(",");
+            if (isBinaryAttribute(attr)) {
+                // Binary values are passed in hex to avoid charset conversion
+                binaryAttributes[i] = true;
+                columns.append("@v").append(i);
+                setClause.append(setClause.length() == 0 ? " SET " : ",");
+                setClause.append(columnName).append("=UNHEX(@v").append(i).append(")");
+            } else {
+                columns.append(columnName);
+            }
+        }
+        loadQuery = "LOAD DATA LOCAL INFILE 'dbeaver-bulk-load' INTO TABLE " + //$NON-NLS-1$
+            DBUtils.getObjectFullName(dataContainer, DBPEvaluationContext.DML) +
+            " CHARACTER SET " + (dataSource.isServerVersionAtLeast(5, 5) ? "utf8mb4" : "utf8") + //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            " FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n'" + //$NON-NLS-1$
+            " (" + columns + ")" + setClause; //$NON-NLS-1$ //$NON-NLS-2$
+
+        resetBuffer();
+        return this;
+    }
+
+    @Override
+    public void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException {
+        try {
+            for (int i = 0; i < attributes.length; i++) {
+                if (i > 0) {
+                    bufferWriter.write('\t');
+                }
+                writeValue(session, i, attributeValues[i]);
+            }
+            bufferWriter.write('\n');
+        } catch (IOException e) {
+            throw new DBCException("Error buffering row", e);
+        }
+        bufferedRows++;
+        if (buffer.size() >= MAX_BUFFER_SIZE) {
+            flushRows(session);
+        }
+    }
+
+    private void writeValue(@NotNull DBCSession session, int index, Object value) throws IOException, DBCException {
+        if (value instanceof DBDContent) {
+            DBDContent content = (DBDContent) value;
+            if (content.isNull()) {
+                value = null;
+            } else if (binaryAttributes[index]) {
+                value = ContentUtils.getContentBinaryValue(session.getProgressMonitor(), content);
+            } else {
+                value = ContentUtils.getContentStringValue(session.getProgressMonitor(), content);
+            }
+        }
+        if (DBUtils.isNullValue(value)) {
+            bufferWriter.write(NULL_VALUE);
+        } else if (binaryAttributes[index]) {
+            byte[] bytes = value instanceof byte[] ? (byte[]) value : value.toString().getBytes(StandardCharsets.UTF_8);
+            bufferWriter.write(CommonUtils.toHexString(bytes));
+        } else if (value instanceof Boolean) {
+            bufferWriter.write((Boolean) value ? '1' : '0');
+        } else if (value instanceof BigDecimal) {
+            bufferWriter.write(((BigDecimal) value).toPlainString());
+        } else if (value instanceof Number) {
+            bufferWriter.write(value.toString());
+        } else {
+            String strValue = value instanceof String ?
+                (String) value :
+                valueHandlers[index].getValueDisplayString(attributes[index], value, DBDDisplayFormat.NATIVE);
+            writeEscaped(strValue);
+        }
+    }
+
+    private void writeEscaped(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\': bufferWriter.write("\\\\"); break;
+                case '\t': bufferWriter.write("\\t"); break;
+                case '\n': bufferWriter.write("\\n"); break;
+                case '\r': bufferWriter.write("\\r"); break;
+                case 0: bufferWriter.write("\\0"); break;
+                default: bufferWriter.write(c); break;
+            }
+        }
+    }
+
+    @Override
+    public void flushRows(@NotNull DBCSession session) throws DBCException {
+        if (bufferedRows == 0) {
+            return;
+        }
+        try {
+            bufferWriter.flush();
+            try (Statement dbStat = ((JDBCSession) session).getOriginal().createStatement()) {
+                setStreamMethod.invoke(dbStat, new ByteArrayInputStream(buffer.toByteArray()));
+                int rowCount = dbStat.executeUpdate(loadQuery);
+                if (rowCount != bufferedRows) {
+                    log.debug("LOAD DATA processed " + rowCount + " rows of " + bufferedRows);
+                }
+            }
+        } catch (Throwable e) {
+            if (e instanceof InvocationTargetException) {
+                e = ((InvocationTargetException) e).getTargetException();
+            }
+            throw new DBCException("Error loading data into MySQL table", e);
+        } finally {
+            resetBuffer();
+        }
+    }
+
+    @Override
+    public void finishBulkLoad(@NotNull DBCSession session) throws DBCException {
+        flushRows(session);
+    }
+
+    @Override
+    public void close() {
+        buffer = null;
+        bufferWriter = null;
+    }
+
+    private void resetBuffer() {
+        if (buffer == null) {
+            buffer = new ByteArrayOutputStream(1024 * 1024);
+            bufferWriter = new BufferedWriter(new OutputStreamWriter(buffer, StandardCharsets.UTF_8));
+        } else {
+            buffer.reset();
+        }
+        bufferedRows = 0;
+    }
+
+    private static boolean isBinaryAttribute(DBSAttributeBase attr) {
+        switch (attr.getDataKind()) {
+            case BINARY:
+                return true;
+            case CONTENT:
+                return CommonUtils.notEmpty(attr.getTypeName()).toLowerCase(Locale.ENGLISH).contains("blob"); //$NON-NLS-1$
+            default:
+                return false;
+        }
+    }
+
+    private static Method findStreamSetter(Class<?> statementClass) {
+        // MySQL Connector/J and MariaDB Connector/J 2.x
+        try {
+            Method method = statementClass.getMethod("setLocalInfileInputStream", InputStream.class);
+            method.setAccessible(true);
+            return method;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+}
@@ -193,6 +193,11 @@ class MySQLDialect extends JDBCSQLDialect {
         return MultiValueInsertMode.GROUP_ROWS;
     }
 
+    @Override
+    public int getMaxQueryParametersCount() {
+        return 65535;
+    }
+
     @Override
     public boolean supportsAliasInSelect() {
         return true;
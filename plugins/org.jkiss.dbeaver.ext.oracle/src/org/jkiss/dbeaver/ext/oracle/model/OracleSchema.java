@@ -513,6 +513,11 @@ public class OracleSchema extends OracleGlobalObject implements DBSSchema, DBPRe
             setListOrderComparator(DBUtils.nameComparator());
         }
 
+        @Override
+        protected boolean isBulkLoadSupported() {
+            return true;
+        }
+
         @NotNull
         @Override
         public JDBCStatement prepareLookupStatement(@NotNull JDBCSession session, @NotNull OracleSchema owner, @Nullable OracleTableBase object, @Nullable String objectName) throws SQLException {
@@ -671,6 +676,11 @@ public class OracleSchema extends OracleGlobalObject implements DBSSchema, DBPRe
             super(tableCache, OracleTableBase.class, "TABLE_NAME", "CONSTRAINT_NAME");
         }
 
+        @Override
+        protected boolean isBulkLoadSupported() {
+            return true;
+        }
+
         @NotNull
         @Override
         protected JDBCStatement prepareObjectsStatement(JDBCSession session, OracleSchema owner, OracleTableBase forTable)
@@ -888,6 +898,11 @@ public class OracleSchema extends OracleGlobalObject implements DBSSchema, DBPRe
            
         }
 
+        @Override
+        protected boolean isBulkLoadSupported() {
+            return true;
+        }
+
         @Override
         protected void loadObjects(DBRProgressMonitor monitor, OracleSchema schema, OracleTable forParent)
             throws DBException
@@ -1074,6 +1089,11 @@ public class OracleSchema extends OracleGlobalObject implements DBSSchema, DBPRe
             super(tableCache, OracleTablePhysical.class, "TABLE_NAME", "INDEX_NAME");
         }
 
+        @Override
+        protected boolean isBulkLoadSupported() {
+            return true;
+        }
+
         @NotNull
         @Override
         protected JDBCStatement prepareObjectsStatement(JDBCSession session, OracleSchema owner, OracleTablePhysical forTable)
@@ -50,6 +50,7 @@ public class PostgreConnectionPageAdvanced extends ConnectionPageAbstract
     private Button showDatabaseStatistics;
     private Button readAllDataTypes;
     private Button usePreparedStatements;
+    private Button useCopyStreaming;
     private Combo ddPlainBehaviorCombo;
     private Combo ddTagBehaviorCombo;
 
@@ -110,13 +111,16 @@ public class PostgreConnectionPageAdvanced extends ConnectionPageAbstract
         final DBPDriver driver = site.getDriver();
         PostgreServerType serverType = PostgreUtils.getServerType(driver);
 
-        if (serverType.turnOffPreparedStatements())
         {
             Group performanceGroup = new Group(cfgGroup, SWT.NONE);
             performanceGroup.setText(PostgreMessages.dialog_setting_group_performance);
             performanceGroup.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
             performanceGroup.setLayout(new GridLayout(2, false));
-            usePreparedStatements = UIUtils.createCheckbox(performanceGroup, PostgreMessages.dialog_setting_connection_use_prepared_statements, PostgreMessages.dialog_setting_connection_use_prepared_statements_tip, false, 2);
+            if (serverType.turnOffPreparedStatements()) {
+                usePreparedStatements = UIUtils.createCheckbox(performanceGroup, PostgreMessages.dialog_setting_connection_use_prepared_statements, PostgreMessages.dialog_setting_connection_use_prepared_statements_tip, false, 2);
+            }
+            // Used only if server supports COPY FROM STDIN
+            useCopyStreaming = UIUtils.createCheckbox(performanceGroup, PostgreMessages.dialog_setting_connection_use_copy_streaming, PostgreMessages.dialog_setting_connection_use_copy_streaming_tip, false, 2);
         }
 
         setControl(cfgGroup);
@@ -168,6 +172,10 @@ public class PostgreConnectionPageAdvanced extends ConnectionPageAbstract
             usePreparedStatements.setSelection(
                     CommonUtils.getBoolean(connectionInfo.getProviderProperty(PostgreConstants.PROP_USE_PREPARED_STATEMENTS), false));
         }
+        if (useCopyStreaming != null) {
+            useCopyStreaming.setSelection(
+                    CommonUtils.getBoolean(connectionInfo.getProviderProperty(PostgreConstants.PROP_USE_COPY_STREAMING), false));
+        }
 
         ddPlainBehaviorCombo.select(CommonUtils.getBoolean(
             connectionInfo.getProviderProperty(PostgreConstants.PROP_DD_PLAIN_STRING),
@@ -190,6 +198,9 @@ public class PostgreConnectionPageAdvanced extends ConnectionPageAbstract
         if (usePreparedStatements != null) {
             connectionCfg.setProviderProperty(PostgreConstants.PROP_USE_PREPARED_STATEMENTS, String.valueOf(usePreparedStatements.getSelection()));
         }
+        if (useCopyStreaming != null) {
+            connectionCfg.setProviderProperty(PostgreConstants.PROP_USE_COPY_STREAMING, String.valueOf(useCopyStreaming.getSelection()));
+        }
 
         connectionCfg.setProviderProperty(PostgreConstants.PROP_DD_PLAIN_STRING, String.valueOf(ddPlainBehaviorCombo.getSelectionIndex() == 0));
         connectionCfg.setProviderProperty(PostgreConstants.PROP_DD_TAG_STRING, String.valueOf(ddTagBehaviorCombo.getSelectionIndex() == 0));
@@ -0,0 +1,212 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.ext.postgresql.PostgreConstants;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Writes rows in PostgreSQL binary COPY format.
+ *
+ * Values of supported types are written as Java objects of the matching type or as strings.
+ * Strings are parsed the same way as the server parses text input, bad values raise IllegalArgumentException or ArithmeticException.
+ */
+class PostgreCopyBinaryWriter {
+
+    // Signature, flags and header extension length
+    static final byte[] HEADER = {
+        'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0,
+        0, 0, 0, 0,
+        0, 0, 0, 0
+    };
+
+    enum FieldType {
+        BOOL,
+        INT2,
+        INT4,
+        INT8,
+        FLOAT4,
+        FLOAT8,
+        TEXT,
+        UUID;
+
+        @Nullable
+        static FieldType getByTypeName(@NotNull String typeName) {
+            switch (typeName) {
+                case PostgreConstants.TYPE_BOOL:
+                    return BOOL;
+                case PostgreConstants.TYPE_INT2:
+                    return INT2;
+                case PostgreConstants.TYPE_INT4:
+                    return INT4;
+                case PostgreConstants.TYPE_INT8:
+                    return INT8;
+                case PostgreConstants.TYPE_FLOAT4:
+                    return FLOAT4;
+                case PostgreConstants.TYPE_FLOAT8:
+                    return FLOAT8;
+                case PostgreConstants.TYPE_UUID:
+                    return UUID;
+                case PostgreConstants.TYPE_VARCHAR:
+                case PostgreConstants.TYPE_BPCHAR:
+                case "text": //$NON-NLS-1$
+                case "name": //$NON-NLS-1$
+                    return TEXT;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private final DataOutputStream out;
+
+    PostgreCopyBinaryWriter(@NotNull OutputStream out) {
+        this.out = new DataOutputStream(out);
+    }
+
+    void writeHeader() throws IOException {
+        out.write(HEADER);
+    }
+
+    void writeTrailer() throws IOException {
+        out.writeShort(-1);
+    }
+
+    /**
+     * Starts tuple. It must be followed by the specified number of fields.
+     */
+    void startRow(int fieldCount) throws IOException {
+        out.writeShort(fieldCount);
+    }
+
+    void writeNull() throws IOException {
+        out.writeInt(-1);
+    }
+
+    /**
+     * Writes field value. Value is validated before anything is written, so a bad value doesn't corrupt the stream.
+     */
+    void writeValue(@NotNull FieldType type, @NotNull Object value) throws IOException {
+        switch (type) {
+            case BOOL: {
+                boolean boolValue;
+                if (value instanceof Boolean) {
+                    boolValue = (Boolean) value;
+                } else if (value instanceof Number) {
+                    boolValue = ((Number) value).intValue() != 0;
+                } else {
+                    boolValue = parseBoolean(value.toString());
+                }
+                out.writeInt(1);
+                out.writeByte(boolValue ? 1 : 0);
+                break;
+            }
+            case INT2: {
+                short shortValue = (short) getLongValue(value, Short.MIN_VALUE, Short.MAX_VALUE);
+                out.writeInt(2);
+                out.writeShort(shortValue);
+                break;
+            }
+            case INT4: {
+                int intValue = (int) getLongValue(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                out.writeInt(4);
+                out.writeInt(intValue);
+                break;
+            }
+            case INT8: {
+                long longValue = getLongValue(value, Long.MIN_VALUE, Long.MAX_VALUE);
+                out.writeInt(8);
+                out.writeLong(longValue);
+                break;
+            }
+            case FLOAT4: {
+                float floatValue = value instanceof Number ? ((Number) value).floatValue() : Float.parseFloat(value.toString().trim());
+                out.writeInt(4);
+                out.writeFloat(floatValue);
+                break;
+            }
+            case FLOAT8: {
+                double doubleValue = value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(value.toString().trim());
+                out.writeInt(8);
+                out.writeDouble(doubleValue);
+                break;
+            }
+            case UUID: {
+                UUID uuid = value instanceof UUID ? (UUID) value : UUID.fromString(value.toString().trim());
+                out.writeInt(16);
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+                break;
+            }
+            default:
+                byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+                break;
+        }
+    }
+
+    /**
+     * Parses PostgreSQL boolean literal
+     */
+    static boolean parseBoolean(@NotNull String value) {
+        switch (value.trim().toLowerCase(Locale.ENGLISH)) {
+            case "t": //$NON-NLS-1$
+            case "true": //$NON-NLS-1$
+            case "y": //$NON-NLS-1$
+            case "yes": //$NON-NLS-1$
+            case "on": //$NON-NLS-1$
+            case "1": //$NON-NLS-1$
+                return true;
+            case "f": //$NON-NLS-1$
+            case "false": //$NON-NLS-1$
+            case "n": //$NON-NLS-1$
+            case "no": //$NON-NLS-1$
+            case "off": //$NON-NLS-1$
+            case "0": //$NON-NLS-1$
+                return false;
+            default:
+                throw new IllegalArgumentException("Invalid boolean value '" + value + "'");
+        }
+    }
+
+    private static long getLongValue(@NotNull Object value, long minValue, long maxValue) {
+        long longValue;
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            longValue = ((Number) value).longValue();
+        } else if (value instanceof Number) {
+            // Fractional part is an error, the same as for text input
+            longValue = new BigDecimal(value.toString()).longValueExact();
+        } else {
+            longValue = Long.parseLong(value.toString().trim());
+        }
+        if (longValue < minValue || longValue > maxValue) {
+            throw new ArithmeticException("Value is out of range");
+        }
+        return longValue;
+    }
+
+}
@@ -18,6 +18,7 @@ package org.jkiss.dbeaver.ext.postgresql.model;
 
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.postgresql.PostgreConstants;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
@@ -38,6 +39,7 @@ import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Bulk loader based on CopyManager
@@ -47,6 +49,10 @@ import java.util.Map;
  * //                "COPY table1 FROM STDIN (FORMAT csv)",
  * //                new BufferedReader(new FileReader("data.csv"))
  * //            );
+ *
+ * By default rows are saved in a temporary CSV file which is copied when load is finished.
+ * In streaming mode rows are sent to COPY FROM STDIN as they are added.
+ * Binary COPY format is used if all loaded columns have simple types, CSV otherwise.
  */
 public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.BulkLoadManager {
 
@@ -59,6 +65,18 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
     private Writer csvWriter;
     private File csvFile;
 
+    private boolean streamCopy;
+    private boolean binaryCopy;
+    private Method writeToCopyMethod;
+    private Method flushCopyMethod;
+    private Method endCopyMethod;
+    private Method cancelCopyMethod;
+    private Method isActiveMethod;
+    private Object copyIn;
+    private OutputStream copyStream;
+    private PostgreCopyBinaryWriter binaryWriter;
+    private int copyFieldCount;
+
     private AttrMapping[] mappings;
 
     private int copyBufferSize = 100 * 1024;
@@ -67,11 +85,13 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
         PostgreTableColumn tableAttr;
         DBDValueHandler valueHandler;
         int srcPos;
+        PostgreCopyBinaryWriter.FieldType binaryType;
 
         AttrMapping(PostgreTableColumn tableAttr, DBDValueHandler valueHandler, int srcPos) {
             this.tableAttr = tableAttr;
             this.valueHandler = valueHandler;
             this.srcPos = srcPos;
+            this.binaryType = PostgreCopyBinaryWriter.FieldType.getByTypeName(tableAttr.getTypeName());
         }
     }
 
@@ -90,6 +110,8 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
         Map<String, Object> options) throws DBCException
     {
         this.table = (PostgreTableReal) dataContainer;
+        this.streamCopy = CommonUtils.toBoolean(
+            dataSource.getContainer().getActualConnectionConfiguration().getProviderProperty(PostgreConstants.PROP_USE_COPY_STREAMING));
         try {
             // Use reflection to create copy manager
             Connection pgConnection = ((JDBCSession) session).getOriginal();
@@ -98,26 +120,39 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
             Class<?> baseConnectionClass = Class.forName("org.postgresql.core.BaseConnection", true, driverClassLoader);
             Class<?> copyManagerClass = Class.forName("org.postgresql.copy.CopyManager", true, driverClassLoader);
 
-            // Get method copyIn(final String sql, Reader from, int bufferSize)
-            copyInMethod = copyManagerClass.getMethod("copyIn", String.class, Reader.class, Integer.TYPE);
-
             copyManager = copyManagerClass.getConstructor(baseConnectionClass).newInstance(pgConnection);
 
-            File tempFolder = DBWorkbench.getPlatform().getTempFolder(session.getProgressMonitor(), "postgesql-copy-datasets");
-            csvFile = new File(tempFolder, CommonUtils.escapeFileName(table.getFullyQualifiedName(DBPEvaluationContext.DML)) + "-" + System.currentTimeMillis() + ".csv");  //$NON-NLS-1$ //$NON-NLS-2$
-            if (!csvFile.createNewFile()){
-                throw new IOException("Can't create CSV file " + csvFile.getAbsolutePath());
-            }
+            if (streamCopy) {
+                // Get method copyIn(final String sql) and CopyIn methods
+                copyInMethod = copyManagerClass.getMethod("copyIn", String.class);
+                Class<?> copyInClass = Class.forName("org.postgresql.copy.CopyIn", true, driverClassLoader);
+                writeToCopyMethod = copyInClass.getMethod("writeToCopy", byte[].class, Integer.TYPE, Integer.TYPE);
+                flushCopyMethod = copyInClass.getMethod("flushCopy");
+                endCopyMethod = copyInClass.getMethod("endCopy");
+                cancelCopyMethod = copyInClass.getMethod("cancelCopy");
+                isActiveMethod = copyInClass.getMethod("isActive");
+            } else {
+                // Get method copyIn(final String sql, Reader from, int bufferSize)
+                copyInMethod = copyManagerClass.getMethod("copyIn", String.class, Reader.class, Integer.TYPE);
 
-            csvWriter = new BufferedWriter(
-                new FileWriter(csvFile, StandardCharsets.UTF_8),
-                copyBufferSize
-                );
+                File tempFolder = DBWorkbench.getPlatform().getTempFolder(session.getProgressMonitor(), "postgesql-copy-datasets");
+                csvFile = new File(tempFolder, CommonUtils.escapeFileName(table.getFullyQualifiedName(DBPEvaluationContext.DML)) + "-" + System.currentTimeMillis() + ".csv");  //$NON-NLS-1$ //$NON-NLS-2$
+                if (!csvFile.createNewFile()){
+                    throw new IOException("Can't create CSV file " + csvFile.getAbsolutePath());
+                }
+
+                csvWriter = new BufferedWriter(
+                    new FileWriter(csvFile, StandardCharsets.UTF_8),
+                    copyBufferSize
+                    );
+            }
 
             List<? extends PostgreTableColumn> tableAttrs = CommonUtils.safeList(table.getAttributes(session.getProgressMonitor()));
             tableAttrs.removeIf(a -> a.getOrdinalPosition() < 0);
             mappings = new AttrMapping[tableAttrs.size()];
 
+            binaryCopy = streamCopy;
+            copyFieldCount = 0;
             for (int i = 0; i < tableAttrs.size(); i++) {
                 PostgreTableColumn attr = tableAttrs.get(i);
                 DBDValueHandler valueHandler = DBUtils.findValueHandler(session, attr);
@@ -127,6 +162,12 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
                     ArrayUtils.indexOf(attributes, attr)
                 );
                 mappings[i] = mapping;
+                if (mapping.srcPos >= 0) {
+                    copyFieldCount++;
+                    if (mapping.binaryType == null) {
+                        binaryCopy = false;
+                    }
+                }
             }
         } catch (Exception e) {
             throw new DBCException("Can't instantiate CopyManager", e);
@@ -136,6 +177,30 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
 
     @Override
     public void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException {
+        if (streamCopy) {
+            try {
+                if (copyIn == null) {
+                    // Start COPY with the first row. Connection can't execute other queries until COPY is finished
+                    startStreamCopy(session);
+                }
+                if (binaryCopy) {
+                    writeBinaryRow(attributeValues);
+                } else {
+                    copyStream.write(makeCsvLine(attributeValues).getBytes(StandardCharsets.UTF_8));
+                }
+            } catch (IOException e) {
+                throw new DBCException("Error writing COPY data", e);
+            }
+            return;
+        }
+        try {
+            csvWriter.write(makeCsvLine(attributeValues));
+        } catch (IOException e) {
+            throw new DBCException("Error writing CSV line", e);
+        }
+    }
+
+    private String makeCsvLine(@NotNull Object[] attributeValues) {
         StringBuilder line = new StringBuilder();
         boolean hasCell = false;
         for (AttrMapping mapping : mappings) {
@@ -158,11 +223,7 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
             }
         }
         line.append("\n");
-        try {
-            csvWriter.write(line.toString());
-        } catch (IOException e) {
-            throw new DBCException("Error writing CSV line", e);
-        }
+        return line.toString();
     }
 
     private String convertStringValueToCell(String strValue) {
@@ -171,10 +232,84 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
             '"';
     }
 
+    private void startStreamCopy(@NotNull DBCSession session) throws DBCException {
+        StringBuilder queryText = new StringBuilder();
+        queryText.append("COPY ").append(table.getFullyQualifiedName(DBPEvaluationContext.DML)).append(" (");
+        boolean hasColumn = false;
+        for (AttrMapping mapping : mappings) {
+            if (mapping.srcPos >= 0) {
+                if (hasColumn) {
+                    queryText.append(",");
+                }
+                queryText.append(DBUtils.getQuotedIdentifier(mapping.tableAttr));
+                hasColumn = true;
+            }
+        }
+        queryText.append(") FROM STDIN (FORMAT ").append(binaryCopy ? "BINARY" : "CSV").append(")");
+
+        session.getProgressMonitor().subTask("Copy into " + table.getFullyQualifiedName(DBPEvaluationContext.DML));
+        try {
+            copyIn = copyInMethod.invoke(copyManager, queryText.toString());
+        } catch (Throwable e) {
+            if (e instanceof InvocationTargetException) {
+                e = ((InvocationTargetException) e).getTargetException();
+            }
+            throw new DBCException("Error starting COPY on remote server", e);
+        }
+        copyStream = new BufferedOutputStream(new CopyInOutputStream(), copyBufferSize);
+        if (binaryCopy) {
+            binaryWriter = new PostgreCopyBinaryWriter(copyStream);
+            try {
+                binaryWriter.writeHeader();
+            } catch (IOException e) {
+                throw new DBCException("Error writing COPY header", e);
+            }
+        }
+    }
+
+    private void writeBinaryRow(@NotNull Object[] attributeValues) throws IOException, DBCException {
+        binaryWriter.startRow(copyFieldCount);
+        for (AttrMapping mapping : mappings) {
+            if (mapping.srcPos < 0) {
+                continue;
+            }
+            Object value = attributeValues[mapping.srcPos];
+            if (DBUtils.isNullValue(value)) {
+                binaryWriter.writeNull();
+                continue;
+            }
+            try {
+                binaryWriter.writeValue(mapping.binaryType, getBinaryValue(mapping, value));
+            } catch (IllegalArgumentException | ArithmeticException e) {
+                throw new DBCException("Bad value of column '" + mapping.tableAttr.getName() + "': " + value, e);
+            }
+        }
+    }
+
+    /**
+     * Returns value of a type supported by the binary writer. Other values are converted to strings by the value handler.
+     */
+    @NotNull
+    private static Object getBinaryValue(@NotNull AttrMapping mapping, @NotNull Object value) {
+        if (value instanceof String ||
+            (mapping.binaryType != PostgreCopyBinaryWriter.FieldType.TEXT &&
+                (value instanceof Number || value instanceof Boolean || value instanceof UUID)))
+        {
+            return value;
+        }
+        return mapping.valueHandler.getValueDisplayString(mapping.tableAttr, value, DBDDisplayFormat.NATIVE);
+    }
+
     @Override
     public void flushRows(@NotNull DBCSession session) throws DBCException {
         try {
-            csvWriter.flush();
+            if (streamCopy) {
+                if (copyStream != null) {
+                    copyStream.flush();
+                }
+            } else {
+                csvWriter.flush();
+            }
         } catch (IOException e) {
             throw new DBCException("Error saving CSV data", e);
         }
@@ -182,6 +317,10 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
 
     @Override
     public void finishBulkLoad(@NotNull DBCSession session) throws DBCException {
+        if (streamCopy) {
+            finishStreamCopy(session);
+            return;
+        }
         try {
             csvWriter.flush();
             csvWriter.close();
@@ -202,12 +341,7 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
                 rowCount = copyInMethod.invoke(copyManager, queryText, csvReader, copyBufferSize);
             }
 
-            // Commit changes
-            DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
-            if (txnManager != null && !txnManager.isAutoCommit()) {
-                session.getProgressMonitor().subTask("Commit COPY");
-                txnManager.commit(session);
-            }
+            commitCopy(session);
 
             log.debug("CSV has been imported (" + rowCount + ")");
         } catch (Throwable e) {
@@ -218,9 +352,56 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
         }
     }
 
+    private void finishStreamCopy(@NotNull DBCSession session) throws DBCException {
+        try {
+            Object rowCount = 0;
+            if (copyIn != null) {
+                if (binaryCopy) {
+                    binaryWriter.writeTrailer();
+                }
+                copyStream.flush();
+                rowCount = endCopyMethod.invoke(copyIn);
+                copyIn = null;
+                copyStream = null;
+                binaryWriter = null;
+            }
+
+            commitCopy(session);
+
+            log.debug("Data has been copied (" + rowCount + ")");
+        } catch (Throwable e) {
+            if (e instanceof InvocationTargetException) {
+                e = ((InvocationTargetException) e).getTargetException();
+            }
+            throw new DBCException("Error copying dataset on remote server", e);
+        }
+    }
+
+    private void commitCopy(@NotNull DBCSession session) throws DBCException {
+        // Commit changes
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
+        if (txnManager != null && !txnManager.isAutoCommit()) {
+            session.getProgressMonitor().subTask("Commit COPY");
+            txnManager.commit(session);
+        }
+    }
+
     @Override
 
     public void close() {
+        if (copyIn != null) {
+            // Load wasn't finished. Connection must leave COPY mode
+            try {
+                if (Boolean.TRUE.equals(isActiveMethod.invoke(copyIn))) {
+                    cancelCopyMethod.invoke(copyIn);
+                }
+            } catch (Throwable e) {
+                log.debug("Error canceling COPY", e);
+            }
+            copyIn = null;
+            copyStream = null;
+            binaryWriter = null;
+        }
         if (csvFile != null && csvFile.exists()) {
             if (!csvFile.delete()) {
                 log.debug("Error deleting CSV file " + csvFile.getAbsolutePath());
@@ -228,4 +409,35 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
             }
         }
     }
+
+    /**
+     * Sends buffered data to the CopyIn operation
+     */
+    private class CopyInOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(@NotNull byte[] b, int off, int len) throws IOException {
+            invokeCopyMethod(writeToCopyMethod, b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            invokeCopyMethod(flushCopyMethod);
+        }
+
+        private void invokeCopyMethod(Method method, Object... args) throws IOException {
+            try {
+                method.invoke(copyIn, args);
+            } catch (InvocationTargetException e) {
+                throw new IOException(e.getTargetException().getMessage(), e.getTargetException());
+            } catch (IllegalAccessException e) {
+                throw new IOException(e);
+            }
+        }
+    }
 }
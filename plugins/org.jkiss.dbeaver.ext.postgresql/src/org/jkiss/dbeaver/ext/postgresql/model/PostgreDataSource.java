@@ -40,6 +40,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.*;
 import org.jkiss.dbeaver.model.exec.plan.DBCQueryPlanner;
 import org.jkiss.dbeaver.model.impl.AsyncServerOutputReader;
 import org.jkiss.dbeaver.model.impl.jdbc.*;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCCacheSnapshotProvider;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectLookupCache;
 import org.jkiss.dbeaver.model.impl.net.SSLHandlerTrustStoreImpl;
 import org.jkiss.dbeaver.model.impl.sql.QueryTransformerLimit;
@@ -65,7 +66,7 @@ import java.util.regex.Pattern;
 /**
  * PostgreDataSource
  */
-public class PostgreDataSource extends JDBCDataSource implements DBSInstanceContainer, IAdaptable, DBPObjectStatisticsCollector {
+public class PostgreDataSource extends JDBCDataSource implements DBSInstanceContainer, IAdaptable, DBPObjectStatisticsCollector, JDBCCacheSnapshotProvider {
 
     private static final Log log = Log.getLog(PostgreDataSource.class);
     private static final PostgrePrivilegeType[] SUPPORTED_PRIVILEGE_TYPES = new PostgrePrivilegeType[]{
@@ -678,6 +679,52 @@ public class PostgreDataSource extends JDBCDataSource implements DBSInstanceCont
         }
     }
 
+    /**
+     * Schema metadata is changed if any of its catalog rows was added, deleted or updated (xmin is a transaction id of the row version).
+     * Marker includes all catalogs which are read by schema caches (tables, columns, defaults, constraints, indexes, triggers,
+     * inheritance, procedures, types, extensions and comments).
+     */
+    @Nullable
+    @Override
+    public String getCacheSnapshotMarker(@NotNull JDBCSession session, @NotNull DBSObject owner) throws SQLException {
+        if (!(owner instanceof PostgreSchema) || !(getServerType() instanceof PostgreServerPostgreSQL)) {
+            return null;
+        }
+        try (JDBCPreparedStatement dbStat = session.prepareStatement(
+            "SELECT 1,count(*),max(xmin::text::bigint) FROM pg_catalog.pg_class WHERE relnamespace=?\n" +
+            "UNION ALL SELECT 2,count(*),max(a.xmin::text::bigint) FROM pg_catalog.pg_attribute a,pg_catalog.pg_class c WHERE c.oid=a.attrelid AND c.relnamespace=?\n" +
+            "UNION ALL SELECT 3,count(*),max(d.xmin::text::bigint) FROM pg_catalog.pg_description d,pg_catalog.pg_class c WHERE c.oid=d.objoid AND c.relnamespace=?\n" +
+            "UNION ALL SELECT 4,count(*),max(xmin::text::bigint) FROM pg_catalog.pg_constraint WHERE connamespace=?\n" +
+            "UNION ALL SELECT 5,count(*),max(xmin::text::bigint) FROM pg_catalog.pg_proc WHERE pronamespace=?\n" +
+            "UNION ALL SELECT 6,count(*),max(xmin::text::bigint) FROM pg_catalog.pg_type WHERE typnamespace=?\n" +
+            "UNION ALL SELECT 7,count(*),max(d.xmin::text::bigint) FROM pg_catalog.pg_attrdef d,pg_catalog.pg_class c WHERE c.oid=d.adrelid AND c.relnamespace=?\n" +
+            "UNION ALL SELECT 8,count(*),max(i.xmin::text::bigint) FROM pg_catalog.pg_index i,pg_catalog.pg_class c WHERE c.oid=i.indrelid AND c.relnamespace=?\n" +
+            "UNION ALL SELECT 9,count(*),max(t.xmin::text::bigint) FROM pg_catalog.pg_trigger t,pg_catalog.pg_class c WHERE c.oid=t.tgrelid AND c.relnamespace=?\n" +
+            "UNION ALL SELECT 10,count(*),max(i.xmin::text::bigint) FROM pg_catalog.pg_inherits i,pg_catalog.pg_class c WHERE c.oid=i.inhrelid AND c.relnamespace=?\n" +
+            "UNION ALL SELECT 11,count(*),max(xmin::text::bigint) FROM pg_catalog.pg_extension WHERE extnamespace=?\n" +
+            "UNION ALL SELECT 12,count(*),max(e.xmin::text::bigint) FROM pg_catalog.pg_enum e,pg_catalog.pg_type t WHERE t.oid=e.enumtypid AND t.typnamespace=?\n" +
+            "UNION ALL SELECT 13,count(*),max(a.xmin::text::bigint) FROM pg_catalog.pg_aggregate a,pg_catalog.pg_proc p WHERE p.oid=a.aggfnoid AND p.pronamespace=?\n" +
+            // Comments of procedures, types and constraints (comments of tables and columns are counted above)
+            "UNION ALL SELECT 14,count(*),max(d.xmin::text::bigint) FROM pg_catalog.pg_description d WHERE d.objoid IN (" +
+                "SELECT oid FROM pg_catalog.pg_proc WHERE pronamespace=? " +
+                "UNION ALL SELECT oid FROM pg_catalog.pg_type WHERE typnamespace=? " +
+                "UNION ALL SELECT oid FROM pg_catalog.pg_constraint WHERE connamespace=?)\n" +
+            "ORDER BY 1"))
+        {
+            long schemaId = ((PostgreSchema) owner).getObjectId();
+            for (int i = 1; i <= 16; i++) {
+                dbStat.setLong(i, schemaId);
+            }
+            StringBuilder marker = new StringBuilder();
+            try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                while (dbResult.next()) {
+                    marker.append(dbResult.getLong(2)).append(':').append(dbResult.getLong(3)).append(';');
+                }
+            }
+            return marker.toString();
+        }
+    }
+
     private static class DatabaseCache extends SimpleObjectCache<PostgreDataSource, PostgreDatabase> {
     }
 
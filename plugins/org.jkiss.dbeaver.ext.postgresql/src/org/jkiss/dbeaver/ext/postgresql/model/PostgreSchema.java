@@ -709,6 +709,11 @@ public class PostgreSchema implements
             setListOrderComparator(DBUtils.nameComparator());
         }
 
+        @Override
+        protected boolean isBulkLoadSupported() {
+            return true;
+        }
+
         @NotNull
         @Override
         public JDBCStatement prepareLookupStatement(@NotNull JDBCSession session, @NotNull PostgreTableContainer container, @Nullable PostgreTableBase object, @Nullable String objectName) throws SQLException {
@@ -804,6 +809,11 @@ public class PostgreSchema implements
             super(getTableCache(), PostgreTableBase.class, "tabrelname", "conname");
         }
 
+        @Override
+        protected boolean isBulkLoadSupported() {
+            return true;
+        }
+
         @NotNull
         @Override
         protected JDBCStatement prepareObjectsStatement(JDBCSession session, PostgreTableContainer container, PostgreTableBase forParent) throws SQLException {
@@ -958,6 +968,11 @@ public class PostgreSchema implements
             super(getTableCache(), PostgreTableBase.class, "tabrelname", "relname");
         }
 
+        @Override
+        protected boolean isBulkLoadSupported() {
+            return true;
+        }
+
         @NotNull
         @Override
         protected JDBCStatement prepareObjectsStatement(JDBCSession session, PostgreTableContainer container, PostgreTableBase forTable)
@@ -54,6 +54,12 @@ public class SQLiteSQLDialect extends GenericSQLDialect {
         return MultiValueInsertMode.GROUP_ROWS;
     }
 
+    @Override
+    public int getMaxQueryParametersCount() {
+        // SQLITE_MAX_VARIABLE_NUMBER default for versions prior to 3.32
+        return 999;
+    }
+
     @Override
     public boolean supportsInsertAllDefaultValuesStatement() {
         return true;
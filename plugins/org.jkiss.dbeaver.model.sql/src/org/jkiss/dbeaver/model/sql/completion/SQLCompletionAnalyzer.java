@@ -820,6 +820,23 @@ public class SQLCompletionAnalyzer implements DBRRunnableParametrized<DBRProgres
                     if (childObject == null && !request.isSimpleMode()) {
                         // Search using structure assistant
                         DBSStructureAssistant structureAssistant = DBUtils.getAdapter(DBSStructureAssistant.class, sc);
+                        if (structureAssistant != null && request.getContext().isUseObjectIndex()) {
+                            String objectNamePart = request.getWordDetector().removeQuotes(token);
+                            List<DBSObject> indexedObjects = findObjectsInIndex(
+                                sc,
+                                structureAssistant.getAutoCompleteObjectTypes(),
+                                objectNamePart,
+                                request.getWordDetector().isQuoted(token),
+                                false,
+                                2);
+                            if (indexedObjects != null) {
+                                // Exact matches go first in the index
+                                if (!indexedObjects.isEmpty() && indexedObjects.get(0).getName().equalsIgnoreCase(objectNamePart)) {
+                                    childObject = indexedObjects.get(0);
+                                }
+                                structureAssistant = null;
+                            }
+                        }
                         if (structureAssistant != null) {
                             DBSStructureAssistant.ObjectsSearchParams params = new DBSStructureAssistant.ObjectsSearchParams(
                                     structureAssistant.getAutoCompleteObjectTypes(),
@@ -1195,6 +1212,27 @@ public class SQLCompletionAnalyzer implements DBRRunnableParametrized<DBRProgres
         String objectName,
         @NotNull Map<String, Object> params) throws DBException
     {
+        if (request.getContext().isUseObjectIndex()) {
+            String namePart = makeObjectNamePart(objectName, rootSC);
+            List<DBSObject> indexedObjects = findObjectsInIndex(
+                rootSC,
+                objectTypes == null ? assistant.getAutoCompleteObjectTypes() : objectTypes,
+                namePart,
+                request.getWordDetector().isQuoted(objectName),
+                request.getContext().isSearchInsideNames(),
+                MAX_STRUCT_PROPOSALS);
+            if (indexedObjects != null) {
+                boolean searchInside = request.getContext().isSearchInsideNames() && !namePart.isEmpty();
+                for (DBSObject object : indexedObjects) {
+                    SQLCompletionProposalBase proposal = makeProposalsFromObject(object, !(rootSC instanceof DBPDataSource), params);
+                    if (searchInside) {
+                        proposal.setProposalScore(TextUtils.fuzzyScore(object.getName(), namePart));
+                    }
+                    proposals.add(proposal);
+                }
+                return;
+            }
+        }
         DBSStructureAssistant.ObjectsSearchParams assistantParams = new DBSStructureAssistant.ObjectsSearchParams(
                 objectTypes == null ? assistant.getAutoCompleteObjectTypes() : objectTypes,
                 makeObjectNameMask(objectName, rootSC)
@@ -1214,7 +1252,65 @@ public class SQLCompletionAnalyzer implements DBRRunnableParametrized<DBRProgres
         }
     }
 
+    /**
+     * Searches objects in the completion index.
+     * Returns null if index doesn't contain requested containers yet.
+     */
+    @Nullable
+    private List<DBSObject> findObjectsInIndex(
+        @Nullable DBSObjectContainer rootSC,
+        @NotNull DBSObjectType[] objectTypes,
+        @NotNull String namePart,
+        boolean caseSensitive,
+        boolean searchInside,
+        int maxResults)
+    {
+        DBPDataSource dataSource = request.getContext().getDataSource();
+        DBCExecutionContext executionContext = request.getContext().getExecutionContext();
+        if (dataSource == null || executionContext == null) {
+            return null;
+        }
+        DBSObjectContainer[] scopes;
+        if (rootSC != null && !(rootSC instanceof DBPDataSource)) {
+            scopes = new DBSObjectContainer[] { rootSC };
+        } else {
+            DBSObjectContainer dataSourceContainer = DBUtils.getAdapter(DBSObjectContainer.class, dataSource);
+            List<DBSObjectContainer> selectedContainers = new ArrayList<>();
+            if (!request.getContext().isSearchGlobally()) {
+                for (DBSObject selectedObject : DBUtils.getSelectedObjects(monitor, executionContext)) {
+                    DBSObjectContainer selectedContainer = DBUtils.getAdapter(DBSObjectContainer.class, selectedObject);
+                    if (selectedContainer != null) {
+                        selectedContainers.add(selectedContainer);
+                    }
+                }
+            }
+            if (selectedContainers.isEmpty()) {
+                if (dataSourceContainer == null) {
+                    return null;
+                }
+                selectedContainers.add(dataSourceContainer);
+            }
+            scopes = selectedContainers.toArray(new DBSObjectContainer[0]);
+        }
+        return SQLCompletionObjectIndex.getIndex(dataSource).findObjects(
+            scopes,
+            objectTypes,
+            namePart,
+            caseSensitive,
+            searchInside,
+            maxResults);
+    }
+
     private String makeObjectNameMask(String objectName, @Nullable DBSObjectContainer rootSC) {
+        objectName = makeObjectNamePart(objectName, rootSC);
+        if (request.getContext().isSearchInsideNames()) {
+            return MATCH_ANY_PATTERN + objectName + MATCH_ANY_PATTERN;
+        } else {
+            return objectName + MATCH_ANY_PATTERN;
+        }
+    }
+
+    private String makeObjectNamePart(String objectName, @Nullable DBSObjectContainer rootSC) {
         SQLWordPartDetector wordDetector = request.getWordDetector();
         if (wordDetector.containsSeparator(objectName)) {
             String[] strings = wordDetector.splitIdentifier(objectName);
@@ -1232,11 +1328,7 @@ public class SQLCompletionAnalyzer implements DBRRunnableParametrized<DBRProgres
         } else {
             objectName = wordDetector.removeQuotes(objectName);
         }
-        if (request.getContext().isSearchInsideNames()) {
-            return MATCH_ANY_PATTERN + objectName + MATCH_ANY_PATTERN;
-        } else {
-            return objectName + MATCH_ANY_PATTERN;
-        }
+        return objectName;
     }
 
     private SQLCompletionProposalBase makeProposalsFromObject(DBSObject object, boolean useShortName, Map<String, Object> params)
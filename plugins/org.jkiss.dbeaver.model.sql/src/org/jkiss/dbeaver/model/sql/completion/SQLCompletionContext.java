@@ -66,6 +66,13 @@ public interface SQLCompletionContext {
 
     boolean isHideDuplicates();
 
+    /**
+     * Use background object names index ({@link SQLCompletionObjectIndex}) instead of structure assistant queries
+     */
+    default boolean isUseObjectIndex() {
+        return false;
+    }
+
     SQLCompletionProposalBase createProposal(
         @NotNull SQLCompletionRequest request,
         @NotNull String displayString,
@@ -0,0 +1,413 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.completion;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBPEvent;
+import org.jkiss.dbeaver.model.DBPEventListener;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
+import org.jkiss.dbeaver.model.struct.DBSObjectType;
+import org.jkiss.dbeaver.model.struct.rdb.DBSProcedureContainer;
+import org.jkiss.dbeaver.model.text.TextUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of object names used by SQL completion.
+ *
+ * Index is created per data source. Object containers (catalogs, schemas) are indexed on demand in a background job,
+ * until container is indexed completion falls back to the structure assistant.
+ * Index reads objects from metadata caches (it doesn't run own queries) and is kept in sync with DBPEvent notifications.
+ * Entries are sorted by upper-cased name, so prefix lookup is a range scan. "Contains" lookup uses fuzzy scoring.
+ * Attributes are not indexed - they are read from their entity.
+ * If data source has too many objects then index is marked as overflowed and it is not used anymore
+ * (until reconnect), completion uses the structure assistant then.
+ */
+public class SQLCompletionObjectIndex implements DBPEventListener {
+
+    private static final Log log = Log.getLog(SQLCompletionObjectIndex.class);
+
+    private static final int MAX_INDEX_SIZE = 100000;
+    private static final int MAX_CONTAINER_DEPTH = 3;
+    private static final char KEY_SEPARATOR = '\0';
+
+    private static final Map<DBPDataSourceContainer, SQLCompletionObjectIndex> indexes = new ConcurrentHashMap<>();
+
+    @NotNull
+    private final DBPDataSource dataSource;
+    // Upper-cased name + unique suffix -> object
+    private final ConcurrentNavigableMap<String, DBSObject> entries = new ConcurrentSkipListMap<>();
+    private final Map<DBSObject, String> entryKeys = new ConcurrentHashMap<>();
+    private final Set<DBSObjectContainer> indexedContainers = ConcurrentHashMap.newKeySet();
+    private final Set<DBSObjectContainer> pendingContainers = ConcurrentHashMap.newKeySet();
+    private final Queue<DBSObjectContainer> indexQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicLong keySequence = new AtomicLong();
+    private final IndexJob indexJob = new IndexJob();
+    private final int maxSize;
+    private volatile boolean overflowed;
+    private volatile boolean disposed;
+
+    private SQLCompletionObjectIndex(@NotNull DBPDataSource dataSource, int maxSize) {
+        this.dataSource = dataSource;
+        this.maxSize = maxSize;
+        dataSource.getContainer().getRegistry().addDataSourceListener(this);
+    }
+
+    /**
+     * Creates standalone index with the specified maximum size. Index is not registered as data source index.
+     */
+    @NotNull
+    public static SQLCompletionObjectIndex createIndex(@NotNull DBPDataSource dataSource, int maxSize) {
+        return new SQLCompletionObjectIndex(dataSource, maxSize);
+    }
+
+    /**
+     * Returns index of the specified data source. Index is created (empty) if needed.
+     */
+    @NotNull
+    public static SQLCompletionObjectIndex getIndex(@NotNull DBPDataSource dataSource) {
+        DBPDataSourceContainer container = dataSource.getContainer();
+        SQLCompletionObjectIndex index = indexes.get(container);
+        if (index != null && index.dataSource == dataSource) {
+            return index;
+        }
+        synchronized (indexes) {
+            index = indexes.get(container);
+            if (index != null && index.dataSource != dataSource) {
+                // Data source was reconnected
+                index.dispose();
+                index = null;
+            }
+            if (index == null) {
+                index = new SQLCompletionObjectIndex(dataSource, MAX_INDEX_SIZE);
+                indexes.put(container, index);
+            }
+            return index;
+        }
+    }
+
+    @NotNull
+    public DBPDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Returns true if data source has more objects than index may keep. Overflowed index is never used for lookups.
+     */
+    public boolean isOverflowed() {
+        return overflowed;
+    }
+
+    /**
+     * Checks whether container content is in the index (container itself or one of its parents were indexed)
+     */
+    public boolean isIndexed(@NotNull DBSObjectContainer container) {
+        for (DBSObject object = container; object != null; object = object.getParentObject()) {
+            if (object instanceof DBSObjectContainer && indexedContainers.contains(object)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Schedules background indexing of the specified container
+     */
+    public void scheduleIndexing(@NotNull DBSObjectContainer container) {
+        if (!isIndexed(container)) {
+            queueContainer(container);
+        }
+    }
+
+    private void queueContainer(@NotNull DBSObjectContainer container) {
+        if (disposed || overflowed || !pendingContainers.add(container)) {
+            return;
+        }
+        indexQueue.add(container);
+        indexJob.schedule();
+    }
+
+    /**
+     * Finds objects by name.
+     *
+     * @param scopes      containers to search in
+     * @param objectTypes object types or null for any type
+     * @param namePart    name prefix (or name part if searchInside is true)
+     * @param caseSensitive use case sensitive name match
+     * @param searchInside fuzzy search of name part inside object names
+     * @param maxResults  maximum number of results
+     * @return found objects or null if some of scopes are not indexed yet (indexing is scheduled then)
+     * or if index is overflowed
+     */
+    @Nullable
+    public List<DBSObject> findObjects(
+        @NotNull DBSObjectContainer[] scopes,
+        @Nullable DBSObjectType[] objectTypes,
+        @NotNull String namePart,
+        boolean caseSensitive,
+        boolean searchInside,
+        int maxResults)
+    {
+        if (overflowed) {
+            return null;
+        }
+        boolean ready = true;
+        for (DBSObjectContainer scope : scopes) {
+            if (!isIndexed(scope)) {
+                scheduleIndexing(scope);
+                ready = false;
+            }
+        }
+        if (!ready || overflowed) {
+            return null;
+        }
+        List<DBSObject> result = new ArrayList<>();
+        if (!searchInside || namePart.isEmpty()) {
+            String prefix = namePart.toUpperCase(Locale.ENGLISH);
+            Collection<DBSObject> candidates = prefix.isEmpty() ?
+                entries.values() :
+                entries.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+            for (DBSObject object : candidates) {
+                if ((!caseSensitive || object.getName().startsWith(namePart)) && isMatches(object, scopes, objectTypes)) {
+                    result.add(object);
+                    if (result.size() >= maxResults) {
+                        break;
+                    }
+                }
+            }
+        } else {
+            Map<DBSObject, Integer> scores = new IdentityHashMap<>();
+            for (DBSObject object : entries.values()) {
+                int score = TextUtils.fuzzyScore(object.getName(), namePart);
+                if (score > 0 && isMatches(object, scopes, objectTypes)) {
+                    result.add(object);
+                    scores.put(object, score);
+                }
+            }
+            result.sort((o1, o2) -> scores.get(o2) - scores.get(o1));
+            if (result.size() > maxResults) {
+                result = new ArrayList<>(result.subList(0, maxResults));
+            }
+        }
+        return result;
+    }
+
+    private static boolean isMatches(@NotNull DBSObject object, @NotNull DBSObjectContainer[] scopes, @Nullable DBSObjectType[] objectTypes) {
+        if (objectTypes != null) {
+            boolean typeMatches = false;
+            for (DBSObjectType type : objectTypes) {
+                if (type.getTypeClass().isInstance(object)) {
+                    typeMatches = true;
+                    break;
+                }
+            }
+            if (!typeMatches) {
+                return false;
+            }
+        }
+        for (DBSObject parent = object.getParentObject(); parent != null; parent = parent.getParentObject()) {
+            for (DBSObjectContainer scope : scopes) {
+                if (parent == scope) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public void dispose() {
+        disposed = true;
+        indexes.remove(dataSource.getContainer(), this);
+        dataSource.getContainer().getRegistry().removeDataSourceListener(this);
+        indexJob.cancel();
+        indexQueue.clear();
+        pendingContainers.clear();
+        indexedContainers.clear();
+        entries.clear();
+        entryKeys.clear();
+    }
+
+    @Override
+    public void handleDataSourceEvent(DBPEvent event) {
+        DBSObject object = event.getObject();
+        if (disposed || object == null) {
+            return;
+        }
+        if (object == dataSource.getContainer()) {
+            // Connect, disconnect or refresh of the whole data source
+            dispose();
+            return;
+        }
+        if (object.getDataSource() != dataSource) {
+            return;
+        }
+        switch (event.getAction()) {
+            case OBJECT_ADD: {
+                DBSObject parent = object.getParentObject();
+                if (parent instanceof DBSObjectContainer && isIndexed((DBSObjectContainer) parent)) {
+                    addObject(object);
+                }
+                break;
+            }
+            case OBJECT_REMOVE:
+                removeObject(object);
+                break;
+            case OBJECT_UPDATE:
+                if (event.getData() == DBPEvent.RENAME) {
+                    if (entryKeys.containsKey(object)) {
+                        removeEntry(object);
+                        addObject(object);
+                    }
+                } else if (object instanceof DBSObjectContainer && !(object instanceof DBSEntity) && isIndexed((DBSObjectContainer) object)) {
+                    // Container refresh. Its children are new objects now
+                    removeChildren(object);
+                    queueContainer((DBSObjectContainer) object);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void addObject(@NotNull DBSObject object) {
+        if (overflowed || entryKeys.containsKey(object)) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            // Incomplete index would hide objects from completion. Do not use it at all.
+            log.debug("Completion index of " + dataSource.getContainer().getName() + " is overflowed (" + maxSize + " objects)");
+            overflowed = true;
+            indexQueue.clear();
+            entries.clear();
+            entryKeys.clear();
+            indexedContainers.clear();
+            return;
+        }
+        String key = object.getName().toUpperCase(Locale.ENGLISH) + KEY_SEPARATOR + keySequence.incrementAndGet();
+        entryKeys.put(object, key);
+        entries.put(key, object);
+    }
+
+    private void removeEntry(@NotNull DBSObject object) {
+        String key = entryKeys.remove(object);
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Removes object and all its indexed children
+     */
+    private void removeObject(@NotNull DBSObject object) {
+        removeEntry(object);
+        if (object instanceof DBSObjectContainer) {
+            removeChildren(object);
+        }
+    }
+
+    private void removeChildren(@NotNull DBSObject parent) {
+        for (DBSObject child : entries.values()) {
+            if (child != parent && DBUtils.isParentOf(child, parent)) {
+                removeEntry(child);
+            }
+        }
+        indexedContainers.removeIf(container -> container == parent || DBUtils.isParentOf(container, parent));
+    }
+
+    private void indexContainer(@NotNull DBRProgressMonitor monitor, @NotNull DBSObjectContainer container, int depth) throws DBException {
+        if (monitor.isCanceled() || disposed || overflowed) {
+            return;
+        }
+        List<DBSObjectContainer> childContainers = new ArrayList<>();
+        for (DBSObject child : container.getChildren(monitor)) {
+            if (DBUtils.isHiddenObject(child)) {
+                continue;
+            }
+            addObject(child);
+            if (child instanceof DBSObjectContainer && !(child instanceof DBSEntity)) {
+                childContainers.add((DBSObjectContainer) child);
+            }
+        }
+        if (container instanceof DBSProcedureContainer) {
+            for (DBSObject procedure : ((DBSProcedureContainer) container).getProcedures(monitor)) {
+                addObject(procedure);
+            }
+        }
+        if (depth < MAX_CONTAINER_DEPTH) {
+            for (DBSObjectContainer childContainer : childContainers) {
+                indexContainer(monitor, childContainer, depth + 1);
+            }
+        }
+    }
+
+    private class IndexJob extends AbstractJob {
+
+        IndexJob() {
+            super("Index " + dataSource.getContainer().getName() + " objects");
+            setSystem(true);
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            for (DBSObjectContainer container = indexQueue.poll(); container != null; container = indexQueue.poll()) {
+                if (monitor.isCanceled() || disposed) {
+                    break;
+                }
+                try {
+                    if (!indexedContainers.contains(container)) {
+                        long startTime = System.currentTimeMillis();
+                        indexContainer(monitor, container, 0);
+                        if (!monitor.isCanceled() && !disposed && !overflowed) {
+                            indexedContainers.add(container);
+                            log.debug("Completion index of " + DBUtils.getObjectFullName(container, DBPEvaluationContext.UI) +
+                                " built in " + (System.currentTimeMillis() - startTime) + "ms (" + entries.size() + " objects)");
+                        }
+                    }
+                } catch (Exception e) {
+                    log.debug("Error indexing objects of " + container.getName(), e);
+                } finally {
+                    pendingContainers.remove(container);
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+}
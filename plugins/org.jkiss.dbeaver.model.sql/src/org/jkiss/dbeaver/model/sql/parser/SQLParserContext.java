@@ -45,6 +45,8 @@ public class SQLParserContext {
 
     @Nullable
     private DBPPreferenceStore preferenceStore;
+    @Nullable
+    private SQLScriptParseIndex scriptIndex;
 
     public SQLParserContext(@Nullable DBPDataSource dataSource, @NotNull SQLSyntaxManager syntaxManager, @NotNull SQLRuleManager ruleManager, @NotNull IDocument document) {
         this.dataSource = dataSource;
@@ -99,6 +101,18 @@ public class SQLParserContext {
         this.preferenceStore = preferenceStore;
     }
 
+    /**
+     * Statement boundaries index of the context document (if any)
+     */
+    @Nullable
+    public SQLScriptParseIndex getScriptIndex() {
+        return scriptIndex;
+    }
+
+    public void setScriptIndex(@Nullable SQLScriptParseIndex scriptIndex) {
+        this.scriptIndex = scriptIndex;
+    }
+
     void startScriptEvaluation() {
         getScanner().startEval();
     }
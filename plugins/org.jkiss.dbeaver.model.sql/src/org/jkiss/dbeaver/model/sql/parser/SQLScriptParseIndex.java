@@ -0,0 +1,360 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.parser;
+
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statement boundaries index of SQL document.
+ *
+ * Boundaries are the same as produced by {@link SQLScriptParser#extractScriptQueries} in non-script mode with delimiters.
+ * Index listens for document changes: following statements are shifted and the damaged region is marked dirty.
+ * Dirty region is re-parsed lazily on the next request, starting from the previous statement
+ * and until parsed statements match existing boundaries again.
+ * Lookups are binary searches over sorted boundaries.
+ *
+ * Parsing is done outside of the index lock, so document listener never waits for it.
+ * Each document change increments modification count. Parse results are dropped if the document was changed during the parse.
+ */
+public class SQLScriptParseIndex implements IDocumentListener {
+
+    private static final Log log = Log.getLog(SQLScriptParseIndex.class);
+
+    private static class Entry {
+        int offset;
+        int length;
+
+        Entry(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+        int getEnd() {
+            return offset + length;
+        }
+    }
+
+    // Parse attempts in a single request. Document may be changed during each of them
+    private static final int MAX_PARSE_ATTEMPTS = 3;
+
+    @NotNull
+    private final SQLParserContext context;
+    @NotNull
+    private final IDocument document;
+    // Serializes parsing (parser context is not thread-safe). Never acquired while holding the index lock
+    private final Object parseLock = new Object();
+    private final List<Entry> entries = new ArrayList<>();
+    private boolean valid;
+    private int dirtyStart = -1;
+    private int dirtyEnd = -1;
+    private long modificationCount;
+
+    /**
+     * Creates index and attaches it to the context document.
+     * Index uses its own copy of parser context, so it doesn't share scanner state with other parser clients.
+     */
+    public SQLScriptParseIndex(@NotNull SQLParserContext context) {
+        this.context = new SQLParserContext(context.getDataSource(), context.getSyntaxManager(), context.getRuleManager(), context.getDocument());
+        this.document = context.getDocument();
+        this.document.addDocumentListener(this);
+    }
+
+    public void dispose() {
+        document.removeDocumentListener(this);
+        invalidate();
+    }
+
+    /**
+     * Drops all boundaries. Index will be rebuilt on the next request.
+     */
+    public synchronized void invalidate() {
+        entries.clear();
+        valid = false;
+        dirtyStart = dirtyEnd = -1;
+        modificationCount++;
+    }
+
+    public int getStatementCount() {
+        revalidate();
+        synchronized (this) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns statement which contains specified offset
+     */
+    @Nullable
+    public IRegion getStatementAt(int offset) {
+        revalidate();
+        synchronized (this) {
+            int index = findEntry(offset);
+            if (index < entries.size()) {
+                Entry entry = entries.get(index);
+                if (entry.offset <= offset) {
+                    return new Region(entry.offset, entry.length);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns the end of the last statement which ends before (or at) the specified offset.
+     * Parsing can be safely started from this position.
+     */
+    public int getStatementBoundary(int offset) {
+        revalidate();
+        synchronized (this) {
+            int index = findEntry(offset);
+            if (index < entries.size() && entries.get(index).getEnd() == offset) {
+                return offset;
+            }
+            return index == 0 ? 0 : entries.get(index - 1).getEnd();
+        }
+    }
+
+    /**
+     * Returns all statements which intersect with the specified region
+     */
+    @NotNull
+    public List<IRegion> getStatements(int offset, int length) {
+        revalidate();
+        synchronized (this) {
+            List<IRegion> result = new ArrayList<>();
+            int endOffset = offset + length;
+            for (int i = findEntry(offset); i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                if (entry.offset > endOffset || (entry.offset == endOffset && length > 0)) {
+                    break;
+                }
+                result.add(new Region(entry.offset, entry.length));
+            }
+            return result;
+        }
+    }
+
+    @Override
+    public synchronized void documentAboutToBeChanged(DocumentEvent event) {
+        // Parse which is running now may read changed text. Its results must be dropped
+        modificationCount++;
+    }
+
+    @Override
+    public synchronized void documentChanged(DocumentEvent event) {
+        modificationCount++;
+        if (!valid) {
+            return;
+        }
+        int offset = event.getOffset();
+        int oldEnd = offset + event.getLength();
+        int newEnd = offset + (event.getText() == null ? 0 : event.getText().length());
+        int delta = newEnd - oldEnd;
+
+        for (int i = findEntry(offset); i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (entry.offset >= oldEnd) {
+                entry.offset += delta;
+            } else {
+                // Damaged entry. Keep boundaries sorted until it is re-parsed
+                int entryEnd = shiftOffset(entry.getEnd(), offset, oldEnd, newEnd);
+                entry.offset = shiftOffset(entry.offset, offset, oldEnd, newEnd);
+                entry.length = entryEnd - entry.offset;
+            }
+        }
+        if (dirtyStart < 0) {
+            dirtyStart = offset;
+            dirtyEnd = newEnd;
+        } else {
+            dirtyStart = Math.min(shiftOffset(dirtyStart, offset, oldEnd, newEnd), offset);
+            dirtyEnd = Math.max(shiftOffset(dirtyEnd, offset, oldEnd, newEnd), newEnd);
+        }
+    }
+
+    private static int shiftOffset(int position, int offset, int oldEnd, int newEnd) {
+        if (position >= oldEnd) {
+            return position + newEnd - oldEnd;
+        } else if (position > offset) {
+            return newEnd;
+        }
+        return position;
+    }
+
+    /**
+     * Returns index of the first entry which ends after the specified offset (or entries count)
+     */
+    private int findEntry(int offset) {
+        int low = 0, high = entries.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (entries.get(mid).getEnd() <= offset) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Re-parses invalid or dirty part of the document.
+     * If document is changed all the time then index may remain dirty. Boundaries are still sorted in this case,
+     * they are just not exact around the changed text.
+     */
+    private void revalidate() {
+        for (int attempt = 0; attempt < MAX_PARSE_ATTEMPTS; attempt++) {
+            synchronized (parseLock) {
+                long parseModificationCount;
+                int firstIndex, parseStart, parseDirtyEnd;
+                int[] syncOffsets = null, syncLengths = null;
+                synchronized (this) {
+                    if (valid && dirtyStart < 0) {
+                        return;
+                    }
+                    parseModificationCount = modificationCount;
+                    if (!valid) {
+                        firstIndex = parseStart = 0;
+                        parseDirtyEnd = -1;
+                    } else {
+                        // Start from the statement before the one which touches the dirty region,
+                        // because removed delimiter may join it with the damaged one
+                        firstIndex = Math.max(findEntry(dirtyStart - 1) - 1, 0);
+                        parseStart = firstIndex == 0 ? 0 : entries.get(firstIndex - 1).getEnd();
+                        parseDirtyEnd = dirtyEnd;
+                        // Entries which may be matched by parsed statements
+                        syncOffsets = new int[entries.size() - firstIndex];
+                        syncLengths = new int[syncOffsets.length];
+                        for (int i = 0; i < syncOffsets.length; i++) {
+                            Entry entry = entries.get(firstIndex + i);
+                            syncOffsets[i] = entry.offset;
+                            syncLengths[i] = entry.length;
+                        }
+                    }
+                }
+
+                List<Entry> parsed = new ArrayList<>();
+                int syncIndex;
+                try {
+                    syncIndex = parseStatements(parseStart, parseDirtyEnd, syncOffsets, syncLengths, parsed);
+                } catch (RuntimeException e) {
+                    // Document was changed during the parse
+                    syncIndex = -1;
+                    if (!isModifiedSince(parseModificationCount)) {
+                        throw e;
+                    }
+                }
+
+                synchronized (this) {
+                    if (modificationCount != parseModificationCount) {
+                        // Parsed boundaries may belong to another document text. Try again
+                        continue;
+                    }
+                    if (!valid) {
+                        entries.clear();
+                        entries.addAll(parsed);
+                        valid = true;
+                    } else {
+                        // Matched entry and all following entries are still valid
+                        int lastIndex = syncIndex < 0 ? entries.size() : firstIndex + syncIndex;
+                        List<Entry> tail = new ArrayList<>(entries.subList(lastIndex, entries.size()));
+                        entries.subList(firstIndex, entries.size()).clear();
+                        entries.addAll(parsed);
+                        entries.addAll(tail);
+                    }
+                    dirtyStart = dirtyEnd = -1;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #findEntry(int)}, but for a copy of entries
+     */
+    private static int findSyncEntry(@NotNull int[] offsets, @NotNull int[] lengths, int offset) {
+        int low = 0, high = offsets.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (offsets[mid] + lengths[mid] <= offset) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private synchronized boolean isModifiedSince(long parseModificationCount) {
+        return modificationCount != parseModificationCount;
+    }
+
+    /**
+     * Parses statements starting from the specified position.
+     * If sync entries are specified then parsing stops when parsed statement (starting after syncStart)
+     * matches one of them. Returns index of matched sync entry or -1.
+     */
+    private int parseStatements(
+        int startOffset,
+        int syncStart,
+        @Nullable int[] syncOffsets,
+        @Nullable int[] syncLengths,
+        @NotNull List<Entry> result)
+    {
+        int docLength = document.getLength();
+        if (docLength == 0) {
+            return -1;
+        }
+        context.startScriptEvaluation();
+        try {
+            for (int offset = startOffset; offset < docLength; ) {
+                SQLScriptElement element = SQLScriptParser.parseQuery(context, offset, docLength, offset, false, true);
+                if (element == null) {
+                    break;
+                }
+                int elementEnd = element.getOffset() + element.getLength();
+                if (elementEnd <= offset) {
+                    log.debug("Script parser doesn't move forward at " + offset);
+                    break;
+                }
+                if (syncOffsets != null && element.getOffset() >= syncStart) {
+                    int index = findSyncEntry(syncOffsets, syncLengths, element.getOffset());
+                    if (index < syncOffsets.length && syncOffsets[index] == element.getOffset() && syncLengths[index] == element.getLength()) {
+                        // Boundaries are the same as before the change
+                        return index;
+                    }
+                }
+                result.add(new Entry(element.getOffset(), element.getLength()));
+                offset = elementEnd;
+            }
+        } finally {
+            context.endScriptEvaluation();
+        }
+        return -1;
+    }
+
+}
@@ -412,7 +412,14 @@ public class SQLScriptParser
                     firstLine--;
                 }
                 if (startPos == 0) {
-                    startPos = document.getLineOffset(firstLine);
+                    SQLScriptParseIndex scriptIndex = context.getScriptIndex();
+                    if (firstLine == 0 && scriptIndex != null) {
+                        // No blank lines or delimiters before the current line.
+                        // Start from the previous statement end instead of parsing the whole document
+                        startPos = scriptIndex.getStatementBoundary(document.getLineOffset(currentLine));
+                    } else {
+                        startPos = document.getLineOffset(firstLine);
+                    }
                 }
             }
 
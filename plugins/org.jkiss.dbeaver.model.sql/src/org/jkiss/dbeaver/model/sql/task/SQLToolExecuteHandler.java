@@ -16,17 +16,19 @@
  */
 package org.jkiss.dbeaver.model.sql.task;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
-import org.jkiss.dbeaver.model.DBPEvaluationContext;
-import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.edit.SQLDatabasePersistActionComment;
-import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
-import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
-import org.jkiss.dbeaver.model.runtime.PrintStreamProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.*;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.task.DBTTask;
 import org.jkiss.dbeaver.model.task.DBTTaskExecutionListener;
@@ -38,10 +40,9 @@ import org.jkiss.utils.CommonUtils;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Locale;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 
 /**
@@ -99,120 +100,369 @@ public abstract class SQLToolExecuteHandler<OBJECT_TYPE extends DBSObject, SETTI
                 Throwable throwable = warnings.get(0);
                 throw new DBCException("Tool execution error: " + throwable.getMessage(), throwable);
             }
-            for (OBJECT_TYPE object : objectList) {
-                monitor.subTask("Process [" + DBUtils.getObjectFullName(object, DBPEvaluationContext.UI) + "]");
-                try (DBCSession session = DBUtils.openUtilSession(monitor, object, "Execute " + task.getType().getName())) {
-                    List<DBEPersistAction> queries = new ArrayList<>();
-                    generateObjectQueries(session, settings, queries, object);
-
-                    DBCExecutionContext context = session.getExecutionContext();
-                    DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
-                    boolean isAutoCommitModeSwitchedOn = true;
-
-                    try {
-                        if(isRunInAutoCommit() && txnManager != null && !txnManager.isAutoCommit()){
-                            isAutoCommitModeSwitchedOn = false;
-                            txnManager.setAutoCommit(monitor, true);
+            if (settings.getParallelism() > 1 && objectList.size() > 1) {
+                lastError = executeParallel(monitor, task, settings, log, outLog, listener);
+            } else {
+                for (OBJECT_TYPE object : objectList) {
+                    monitor.subTask("Process [" + DBUtils.getObjectFullName(object, DBPEvaluationContext.UI) + "]");
+                    try (DBCSession session = DBUtils.openUtilSession(monitor, object, "Execute " + task.getType().getName())) {
+                        Exception error = executeObjectQueries(monitor, session, settings, log, outLog, listener, object);
+                        if (error != null) {
+                            lastError = error;
                         }
+                    }
+                    monitor.worked(1);
+                }
+            }
+        } catch (Exception e) {
+            lastError = e;
+            outLog.println("Process error\n" + e.getMessage());
+        } finally {
+            monitor.done();
+        }
+        listener.taskFinished(settings, null, lastError);
 
-                        for (DBEPersistAction action : queries) {
-                            if (monitor.isCanceled()) {
-                                break;
-                            }
-                            if (!CommonUtils.isEmpty(action.getTitle())) {
-                                monitor.subTask(action.getTitle());
-                            }
-                            try {
-                                if (action instanceof SQLDatabasePersistActionComment) {
-                                    continue;
-                                }
-                                String script = action.getScript();
-                                if (!CommonUtils.isEmpty(script)) {
-                                    long startTime = System.currentTimeMillis();
-                                    try (final DBCStatement statement = session.prepareStatement(
-                                        DBCStatementType.SCRIPT,
-                                        script,
-                                        false,
-                                        false,
-                                        false)) {
-                                        long execTime = System.currentTimeMillis() - startTime;
-                                        statement.executeStatement();
-                                        if (listener instanceof SQLToolRunListener) {
-                                            if (action.getType() != DBEPersistAction.ActionType.INITIALIZER && action.getType() != DBEPersistAction.ActionType.FINALIZER) {
-                                                SQLToolStatisticsSimple statisticsSimple = new SQLToolStatisticsSimple(object, false);
-                                                if (SQLToolExecuteHandler.this instanceof SQLToolRunStatisticsGenerator) {
-                                                    List<? extends SQLToolStatistics> executeStatistics =
-                                                            ((SQLToolRunStatisticsGenerator) SQLToolExecuteHandler.this).getExecuteStatistics(
-                                                                    object,
-                                                                    settings,
-                                                                    action,
-                                                                    session,
-                                                                    statement);
-                                                    monitor.subTask("\tFinished in " + RuntimeUtils.formatExecutionTime(execTime));
-                                                    if (!CommonUtils.isEmpty(executeStatistics)) {
-                                                        for (SQLToolStatistics stat : executeStatistics) {
-                                                            stat.setExecutionTime(execTime);
-                                                        }
-                                                        ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, executeStatistics);
-                                                    } else {
-                                                        ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, Collections.singletonList(statisticsSimple));
-                                                    }
-                                                } else {
-                                                    ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, Collections.singletonList(statisticsSimple));
-                                                }
-                                            }
-                                        }
+        outLog.println("Tool execution finished");
+        outLog.flush();
+    }
+
+    /**
+     * Executes queries of a single object. Returns the last query error (or null).
+     */
+    private Exception executeObjectQueries(DBRProgressMonitor monitor, DBCSession session, SETTINGS settings, Log log, PrintStream outLog, DBTTaskExecutionListener listener, OBJECT_TYPE object) throws DBException {
+        Exception lastError = null;
+        List<DBEPersistAction> queries = new ArrayList<>();
+        generateObjectQueries(session, settings, queries, object);
+
+        DBCExecutionContext context = session.getExecutionContext();
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+        boolean isAutoCommitModeSwitchedOn = true;
 
-                                        statistics.addStatementsCount();
-                                        statistics.addExecuteTime(execTime);
-                                        try {
-                                            long updateCount = statement.getUpdateRowCount();
-                                            if (updateCount >= 0) {
-                                                statistics.addRowsUpdated(updateCount);
+        try {
+            if(isRunInAutoCommit() && txnManager != null && !txnManager.isAutoCommit()){
+                isAutoCommitModeSwitchedOn = false;
+                txnManager.setAutoCommit(monitor, true);
+            }
+
+            for (DBEPersistAction action : queries) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                if (!CommonUtils.isEmpty(action.getTitle())) {
+                    monitor.subTask(action.getTitle());
+                }
+                try {
+                    if (action instanceof SQLDatabasePersistActionComment) {
+                        continue;
+                    }
+                    String script = action.getScript();
+                    if (!CommonUtils.isEmpty(script)) {
+                        long startTime = System.currentTimeMillis();
+                        try (final DBCStatement statement = session.prepareStatement(
+                            DBCStatementType.SCRIPT,
+                            script,
+                            false,
+                            false,
+                            false)) {
+                            long execTime = System.currentTimeMillis() - startTime;
+                            statement.executeStatement();
+                            if (listener instanceof SQLToolRunListener) {
+                                if (action.getType() != DBEPersistAction.ActionType.INITIALIZER && action.getType() != DBEPersistAction.ActionType.FINALIZER) {
+                                    SQLToolStatisticsSimple statisticsSimple = new SQLToolStatisticsSimple(object, false);
+                                    if (SQLToolExecuteHandler.this instanceof SQLToolRunStatisticsGenerator) {
+                                        List<? extends SQLToolStatistics> executeStatistics =
+                                                ((SQLToolRunStatisticsGenerator) SQLToolExecuteHandler.this).getExecuteStatistics(
+                                                        object,
+                                                        settings,
+                                                        action,
+                                                        session,
+                                                        statement);
+                                        monitor.subTask("\tFinished in " + RuntimeUtils.formatExecutionTime(execTime));
+                                        if (!CommonUtils.isEmpty(executeStatistics)) {
+                                            for (SQLToolStatistics stat : executeStatistics) {
+                                                stat.setExecutionTime(execTime);
                                             }
-                                        } catch (DBCException e) {
-                                            // In some cases we can't read update count
-                                            // This is bad but we can live with it
-                                            // Just print a warning
-                                            log.warn("Can't obtain update count", e);
+                                            handleActionStatistics(listener, object, action, session, executeStatistics);
+                                        } else {
+                                            handleActionStatistics(listener, object, action, session, Collections.singletonList(statisticsSimple));
                                         }
+                                    } else {
+                                        handleActionStatistics(listener, object, action, session, Collections.singletonList(statisticsSimple));
                                     }
                                 }
-                            } catch (Exception e) {
-                                lastError = e;
-                                log.debug("Error executing query", e);
-                                outLog.println("Error executing query\n" + e.getMessage());
-                                if(listener instanceof SQLToolRunListener) {
-                                    SQLToolStatisticsSimple errorStat = new SQLToolStatisticsSimple(object, true);
-                                    errorStat.setStatusMessage(e.getMessage());
-                                    ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, Collections.singletonList(errorStat));
-                                }
-                            } finally {
-                                monitor.worked(1);
                             }
-                        }
-                    } finally {
-                        if (!isAutoCommitModeSwitchedOn) {
+
+                            synchronized (statistics) {
+                                statistics.addStatementsCount();
+                                statistics.addExecuteTime(execTime);
+                            }
                             try {
-                                txnManager.setAutoCommit(monitor, false);
+                                long updateCount = statement.getUpdateRowCount();
+                                if (updateCount >= 0) {
+                                    synchronized (statistics) {
+                                        statistics.addRowsUpdated(updateCount);
+                                    }
+                                }
                             } catch (DBCException e) {
-                                log.debug("Cannot set auto-commit status", e);
+                                // In some cases we can't read update count
+                                // This is bad but we can live with it
+                                // Just print a warning
+                                log.warn("Can't obtain update count", e);
                             }
                         }
                     }
+                } catch (Exception e) {
+                    lastError = e;
+                    log.debug("Error executing query", e);
+                    outLog.println("Error executing query\n" + e.getMessage());
+                    if(listener instanceof SQLToolRunListener) {
+                        SQLToolStatisticsSimple errorStat = new SQLToolStatisticsSimple(object, true);
+                        errorStat.setStatusMessage(e.getMessage());
+                        handleActionStatistics(listener, object, action, session, Collections.singletonList(errorStat));
+                    }
+                } finally {
+                    monitor.worked(1);
                 }
-                monitor.worked(1);
             }
-        } catch (Exception e) {
-            lastError = e;
-            outLog.println("Process error\n" + e.getMessage());
         } finally {
-            monitor.done();
+            if (!isAutoCommitModeSwitchedOn) {
+                try {
+                    txnManager.setAutoCommit(monitor, false);
+                } catch (DBCException e) {
+                    log.debug("Cannot set auto-commit status", e);
+                }
+            }
         }
-        listener.taskFinished(settings, null, lastError);
+        return lastError;
+    }
 
-        outLog.println("Tool execution finished");
-        outLog.flush();
+    private static void handleActionStatistics(DBTTaskExecutionListener listener, DBPObject object, DBEPersistAction action, DBCSession session, List<? extends SQLToolStatistics> statistics) {
+        // Statistics may come from several tool workers
+        synchronized (listener) {
+            ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, statistics);
+        }
+    }
+
+    /**
+     * Processes objects in several threads. Each connection gets up to {@link SQLToolExecuteSettings#getParallelism()} workers,
+     * each worker processes one object at a time in its own isolated context.
+     * If worker can't open isolated context then it uses the default context, but only one worker
+     * at a time may use it, so objects processed in the default context are processed sequentially.
+     * Larger objects are processed first, so the longest ones don't remain at the end.
+     * Workers report progress to the task monitor through one synchronized monitor.
+     * Returns the last error (or null).
+     */
+    private Exception executeParallel(DBRProgressMonitor taskMonitor, DBTTask task, SETTINGS settings, Log log, PrintStream outLog, DBTTaskExecutionListener listener) {
+        DBRProgressMonitor monitor = new SynchronizedProgressMonitor(taskMonitor);
+        List<OBJECT_TYPE> objects = getObjectsBySize(monitor, settings.getObjectList(), log);
+        Map<DBPDataSourceContainer, Queue<OBJECT_TYPE>> containerObjects = new LinkedHashMap<>();
+        for (OBJECT_TYPE object : objects) {
+            DBPDataSource dataSource = object.getDataSource();
+            if (dataSource == null) {
+                outLog.println("Object [" + DBUtils.getObjectFullName(object, DBPEvaluationContext.UI) + "] is not connected");
+                continue;
+            }
+            containerObjects.computeIfAbsent(dataSource.getContainer(), k -> new ConcurrentLinkedQueue<>()).add(object);
+        }
+        List<ToolWorker> workers = new ArrayList<>();
+        Map<DBSInstance, Object> defaultContextLocks = new ConcurrentHashMap<>();
+        for (Map.Entry<DBPDataSourceContainer, Queue<OBJECT_TYPE>> entry : containerObjects.entrySet()) {
+            // Embedded databases don't benefit from several connections
+            int maxWorkers = entry.getKey().getDriver().isEmbedded() ? 1 : settings.getParallelism();
+            for (int i = 0; i < Math.min(maxWorkers, entry.getValue().size()); i++) {
+                ToolWorker worker = new ToolWorker(monitor, task, settings, log, outLog, listener, entry.getValue(), defaultContextLocks, entry.getKey().getName() + " (" + (i + 1) + ")");
+                workers.add(worker);
+                worker.schedule();
+            }
+        }
+        log.debug("Execute tool '" + task.getType().getName() + "' on " + objects.size() + " object(s) by " + workers.size() + " thread(s)");
+        Exception lastError = null;
+        boolean interrupted = false;
+        for (ToolWorker worker : workers) {
+            while (worker.getState() != Job.NONE) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    // Do not leave workers alive. Wait for them to close their contexts and restore interrupt status after that
+                    interrupted = true;
+                    cancelToolWorkers(workers);
+                }
+                if (monitor.isCanceled()) {
+                    cancelToolWorkers(workers);
+                }
+            }
+            if (worker.lastError != null) {
+                lastError = worker.lastError;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return lastError;
+    }
+
+    private void cancelToolWorkers(List<ToolWorker> workers) {
+        for (ToolWorker worker : workers) {
+            worker.cancel();
+        }
+    }
+
+    /**
+     * Sorts objects by size (the largest first). Objects without statistics keep their order at the end.
+     * Statistics are read once per parent object if they weren't read yet.
+     */
+    private List<OBJECT_TYPE> getObjectsBySize(DBRProgressMonitor monitor, List<OBJECT_TYPE> objectList, Log log) {
+        Set<DBSObject> parents = new HashSet<>();
+        for (OBJECT_TYPE object : objectList) {
+            DBSObject parent = object.getParentObject();
+            if (parent instanceof DBPObjectStatisticsCollector && parents.add(parent) &&
+                !((DBPObjectStatisticsCollector) parent).isStatisticsCollected())
+            {
+                try {
+                    ((DBPObjectStatisticsCollector) parent).collectObjectStatistics(monitor, false, false);
+                } catch (DBException e) {
+                    log.debug("Can't read statistics of '" + parent.getName() + "'", e);
+                }
+            }
+        }
+        List<OBJECT_TYPE> objects = new ArrayList<>(objectList);
+        objects.sort((o1, o2) -> Long.compare(getObjectSize(o2), getObjectSize(o1)));
+        return objects;
+    }
+
+    private static long getObjectSize(DBSObject object) {
+        if (object instanceof DBPObjectStatistics && ((DBPObjectStatistics) object).hasStatistics()) {
+            return ((DBPObjectStatistics) object).getStatObjectSize();
+        }
+        return 0;
+    }
+
+    /**
+     * Progress monitor which may be used by several workers at once
+     */
+    private static class SynchronizedProgressMonitor extends ProxyProgressMonitor {
+
+        SynchronizedProgressMonitor(DBRProgressMonitor original) {
+            super(original);
+        }
+
+        @Override
+        public synchronized void beginTask(String name, int totalWork) {
+            super.beginTask(name, totalWork);
+        }
+
+        @Override
+        public synchronized void done() {
+            super.done();
+        }
+
+        @Override
+        public synchronized void subTask(String name) {
+            super.subTask(name);
+        }
+
+        @Override
+        public synchronized void worked(int work) {
+            super.worked(work);
+        }
+    }
+
+    private class ToolWorker extends AbstractJob {
+        private final DBRProgressMonitor monitor;
+        private final DBTTask task;
+        private final SETTINGS settings;
+        private final Log log;
+        private final PrintStream outLog;
+        private final DBTTaskExecutionListener listener;
+        private final Queue<OBJECT_TYPE> objects;
+        private final Map<DBSInstance, Object> defaultContextLocks;
+        private final Map<DBSInstance, DBCExecutionContext> contexts = new HashMap<>();
+        // Instances where isolated context can't be opened
+        private final Set<DBSInstance> failedInstances = new HashSet<>();
+        private volatile Exception lastError;
+
+        ToolWorker(DBRProgressMonitor monitor, DBTTask task, SETTINGS settings, Log log, PrintStream outLog, DBTTaskExecutionListener listener, Queue<OBJECT_TYPE> objects, Map<DBSInstance, Object> defaultContextLocks, String name) {
+            super("Execute tool '" + task.getType().getName() + "' in " + name);
+            setSystem(true);
+            setUser(false);
+            this.monitor = monitor;
+            this.task = task;
+            this.settings = settings;
+            this.log = log;
+            this.outLog = outLog;
+            this.listener = listener;
+            this.objects = objects;
+            this.defaultContextLocks = defaultContextLocks;
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor jobMonitor) {
+            try {
+                for (OBJECT_TYPE object = objects.poll(); object != null; object = objects.poll()) {
+                    if (isCanceled() || monitor.isCanceled()) {
+                        break;
+                    }
+                    monitor.subTask("Process [" + DBUtils.getObjectFullName(object, DBPEvaluationContext.UI) + "]");
+                    DBSInstance instance = DBUtils.getObjectOwnerInstance(object);
+                    DBCExecutionContext context = getToolContext(instance, object);
+                    if (context == null) {
+                        // Default context is never used by several workers at once
+                        synchronized (defaultContextLocks.computeIfAbsent(instance, k -> new Object())) {
+                            processObject(object, null);
+                        }
+                    } else {
+                        processObject(object, context);
+                    }
+                    monitor.worked(1);
+                }
+            } finally {
+                for (DBCExecutionContext context : contexts.values()) {
+                    context.close();
+                }
+            }
+            // Errors are reported by the tool handler
+            return Status.OK_STATUS;
+        }
+
+        private void processObject(OBJECT_TYPE object, @Nullable DBCExecutionContext context) {
+            if (isCanceled() || monitor.isCanceled()) {
+                // Canceled while waiting for the default context
+                return;
+            }
+            String sessionTitle = "Execute " + task.getType().getName();
+            try (DBCSession session = context == null ?
+                DBUtils.openUtilSession(monitor, object, sessionTitle) :
+                context.openSession(monitor, DBCExecutionPurpose.UTIL, sessionTitle))
+            {
+                Exception error = executeObjectQueries(monitor, session, settings, log, outLog, listener, object);
+                if (error != null) {
+                    lastError = error;
+                }
+            } catch (Exception e) {
+                lastError = e;
+                log.debug("Error processing object '" + DBUtils.getObjectFullName(object, DBPEvaluationContext.UI) + "'", e);
+                outLog.println("Process error\n" + e.getMessage());
+            }
+        }
+
+        /**
+         * Returns isolated context of this worker or null if it can't be opened (then the default context must be used).
+         */
+        @Nullable
+        private DBCExecutionContext getToolContext(DBSInstance instance, OBJECT_TYPE object) {
+            DBCExecutionContext context = contexts.get(instance);
+            if (context == null && !failedInstances.contains(instance)) {
+                try {
+                    context = instance.openIsolatedContext(monitor, "Execute " + task.getType().getName(), DBUtils.getDefaultContext(object, false));
+                } catch (Throwable e) {
+                    log.debug("Can't open isolated context in '" + instance.getName() + "'. Objects will be processed sequentially in the default context", e);
+                    failedInstances.add(instance);
+                    return null;
+                }
+                contexts.put(instance, context);
+            }
+            return context;
+        }
     }
 
     public String generateScript(DBRProgressMonitor monitor, SETTINGS settings) throws DBCException {
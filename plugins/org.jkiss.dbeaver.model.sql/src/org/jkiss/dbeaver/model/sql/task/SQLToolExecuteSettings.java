@@ -21,6 +21,7 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.data.json.JSONUtils;
+import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.task.DBTTaskSettingsInput;
@@ -42,6 +43,7 @@ public class SQLToolExecuteSettings<OBJECT_TYPE extends DBSObject> implements DB
 
     private List<OBJECT_TYPE> objectList = new ArrayList<>();
     private final List<Throwable> warnings = new ArrayList<>();
+    private int parallelism = 1;
 
     protected SQLToolExecuteSettings() {
     }
@@ -58,6 +60,18 @@ public class SQLToolExecuteSettings<OBJECT_TYPE extends DBSObject> implements DB
         return warnings;
     }
 
+    /**
+     * Maximum number of sessions which process objects of the same connection at once
+     */
+    @Property(viewable = true, editable = true, updatable = true, order = 1000)
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(parallelism, 1);
+    }
+
         @Override
     public void loadSettingsFromInput(List<OBJECT_TYPE> inputObjects) {
         objectList.addAll(inputObjects);
@@ -92,11 +106,13 @@ public class SQLToolExecuteSettings<OBJECT_TYPE extends DBSObject> implements DB
         } catch (InterruptedException e) {
             // ignore
         }
+        setParallelism(JSONUtils.getInteger(config, "parallelism", 1));
     }
 
     public void saveConfiguration(Map<String, Object> config) {
         List<Map<String, Object>> objectsConfig = new ArrayList<>();
         config.put("objects", objectsConfig);
+        config.put("parallelism", parallelism);
         for (OBJECT_TYPE obj : objectList) {
             Map<String, Object> objectInfo = new LinkedHashMap<>();
             objectInfo.put("project", obj.getDataSource().getContainer().getProject().getName());
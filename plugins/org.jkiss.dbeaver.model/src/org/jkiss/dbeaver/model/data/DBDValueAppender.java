@@ -0,0 +1,39 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+
+/**
+ * Value renderer which appends value display string to the existing buffer.
+ * Implemented by value handlers which can format values without intermediate strings (e.g. for bulk data export).
+ */
+public interface DBDValueAppender
+{
+    /**
+     * Appends value in the same format as {@link DBDValueRenderer#getValueDisplayString} does
+     *
+     * @param column column
+     * @param value value
+     * @param format string format
+     * @param buffer target buffer
+     */
+    void appendValueDisplayString(@NotNull DBSTypedObject column, @Nullable Object value, @NotNull DBDDisplayFormat format, @NotNull StringBuilder buffer);
+
+}
@@ -92,6 +92,14 @@ public class JSONUtils {
             return null;
         }
         StringBuilder result = new StringBuilder(str.length());
+        escapeJsonString(str, result);
+        return result.toString();
+    }
+
+    /**
+     * Appends escaped string to the buffer
+     */
+    public static void escapeJsonString(@NotNull CharSequence str, @NotNull StringBuilder result) {
         for (int i = 0; i < str.length(); i++) {
             char c = str.charAt(i);
             switch (c) {
@@ -120,7 +128,6 @@ public class JSONUtils {
                     break;
             }
         }
-        return result.toString();
     }
 
     @NotNull
@@ -24,17 +24,40 @@ import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.data.DBDValueHandler;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCPreparedStatementCachedImpl;
 import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
 import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
 import org.jkiss.dbeaver.model.struct.rdb.DBSTable;
 import org.jkiss.utils.CommonUtils;
 
-import java.util.*;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Inserts several rows with a single INSERT ... VALUES (...),(...) statement.
+ * Number of rows in one statement is limited by batch size and by dialect's max parameters count.
+ * Prepared statements are cached by query text so statements with the same number of rows are prepared only once.
+ */
 public class ExecuteBatchWithMultipleInsert extends ExecuteInsertBatchImpl {
 
+    // Usually there are only two statements: full batch and the last (incomplete) one
+    private static final int MAX_CACHED_STATEMENTS = 4;
+
     private final DBCExecutionSource source;
     private DBSTable table;
+    private final Map<String, JDBCPreparedStatementCachedImpl> cachedStatements = new LinkedHashMap<String, JDBCPreparedStatementCachedImpl>(MAX_CACHED_STATEMENTS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JDBCPreparedStatementCachedImpl> eldest) {
+            if (size() > MAX_CACHED_STATEMENTS) {
+                eldest.getValue().drop();
+                return true;
+            }
+            return false;
+        }
+    };
 
     /**
      * Constructs new batch
@@ -52,17 +75,12 @@ public class ExecuteBatchWithMultipleInsert extends ExecuteInsertBatchImpl {
     @Override
     protected void bindStatement(@NotNull DBDValueHandler[] handlers, @NotNull DBCStatement statement, Object[] attributeValues) throws DBCException {
         int paramIndex = 0;
-        int handlersLength = handlers.length;
-        int attributeCount = 0;
-        for (Object attribute : attributeValues) {
-            if (DBUtils.isPseudoAttribute(attributes[attributeCount])) {
+        for (int i = 0; i < attributeValues.length; i++) {
+            int attrIndex = i % handlers.length;
+            if (DBUtils.isPseudoAttribute(attributes[attrIndex])) {
                 continue;
             }
-            handlers[attributeCount].bindValueObject(statement.getSession(), statement, attributes[attributeCount], paramIndex++, attribute);
-            attributeCount++;
-            if (attributeCount == handlersLength) {
-                attributeCount = 0;
-            }
+            handlers[attrIndex].bindValueObject(statement.getSession(), statement, attributes[attrIndex], paramIndex++, attributeValues[i]);
         }
     }
 
@@ -76,59 +94,70 @@ public class ExecuteBatchWithMultipleInsert extends ExecuteInsertBatchImpl {
         return dbStat;
     }
 
+    @NotNull
+    private DBCStatement getCachedStatement(@NotNull JDBCSession session, DBDValueHandler[] handlers, Object[] attributeValues, Map<String, Object> options) throws DBCException {
+        // Query text may depend on values (e.g. value binders) so it is used as a cache key
+        String query = prepareQueryForStatement(session, handlers, attributeValues, attributes, table, true, options).toString();
+        JDBCPreparedStatementCachedImpl dbStat = cachedStatements.get(query);
+        if (dbStat == null) {
+            try {
+                dbStat = new JDBCPreparedStatementCachedImpl(session, session.getOriginal().prepareStatement(query), query);
+            } catch (SQLException e) {
+                throw new DBCException(e, session.getExecutionContext());
+            }
+            dbStat.setStatementSource(source);
+            cachedStatements.put(query, dbStat);
+        }
+        return dbStat;
+    }
+
     @NotNull
     @Override
     public DBCStatistics processBatch(@NotNull DBCSession session, @Nullable List<DBEPersistAction> actions, Map<String, Object> options) throws DBCException {
         int attributesLength = attributes.length;
         DBDValueHandler[] handlers = new DBDValueHandler[attributesLength];
+        int rowParamsCount = 0;
         for (int i = 0; i < attributesLength; i++) {
             if (attributes[i] instanceof DBDAttributeBinding) {
                 handlers[i] = ((DBDAttributeBinding)attributes[i]).getValueHandler();
             } else {
                 handlers[i] = DBUtils.findValueHandler(session, attributes[i]);
             }
+            if (!DBUtils.isPseudoAttribute(attributes[i])) {
+                rowParamsCount++;
+            }
         }
 
         DBCStatistics statistics = new DBCStatistics();
-        DBCStatement batchStatement = null;
-
-        try {
-            int multiRowInsertBatchSize = CommonUtils.toInt(options.get(DBSDataManipulator.OPTION_MULTI_INSERT_BATCH_SIZE), 100);
-            boolean skipBindValues = CommonUtils.toBoolean(options.get(DBSDataManipulator.OPTION_SKIP_BIND_VALUES));
 
+        int multiRowInsertBatchSize = CommonUtils.toInt(options.get(DBSDataManipulator.OPTION_MULTI_INSERT_BATCH_SIZE), 100);
+        boolean skipBindValues = CommonUtils.toBoolean(options.get(DBSDataManipulator.OPTION_SKIP_BIND_VALUES));
+        int rowsPerStatement = Math.max(multiRowInsertBatchSize, 1);
+        if (!skipBindValues && rowParamsCount > 0) {
+            int maxParameters = session.getDataSource().getSQLDialect().getMaxQueryParametersCount();
+            rowsPerStatement = Math.max(1, Math.min(rowsPerStatement, maxParameters / rowParamsCount));
+        }
+        boolean cacheStatements = !skipBindValues && keysReceiver == null && session instanceof JDBCSession;
 
-            int rowsCount = values.size();
-            List<Object> multiRowInsertBatchValuesList = new ArrayList<>();
-            for (int i = 0; i < rowsCount; i++) {
-                if (session.getProgressMonitor().isCanceled()) {
-                    break;
-                }
-                Object[] objects = values.get(i);
-                // Execute batch if it has a suitable size, or this are the last values
-                if (i == rowsCount - 1 || (i != 0 && i % multiRowInsertBatchSize == 0)) {
-                    // We can reuse statement, but not for the last values (their amount can be different from previous batches)
-                    if (i == rowsCount - 1) {
-                        Collections.addAll(multiRowInsertBatchValuesList, objects);
-                        Object[] allMultiInsertValues = multiRowInsertBatchValuesList.toArray(new Object[0]);
-                        try (DBCStatement statement = prepareStatement(session, handlers, allMultiInsertValues, options)) {
-                            bindAndFlushStatement(handlers, statistics, statement, allMultiInsertValues, skipBindValues);
-                            multiRowInsertBatchValuesList.clear();
-                            break;
-                        }
-                    }
-                    Object[] allMultiInsertValuesBatch = multiRowInsertBatchValuesList.toArray(new Object[0]);
-                    batchStatement = prepareStatement(session, handlers, allMultiInsertValuesBatch, options);
-                    bindAndFlushStatement(handlers, statistics, batchStatement, allMultiInsertValuesBatch, skipBindValues);
-                    multiRowInsertBatchValuesList.clear();
-                }
-                Collections.addAll(multiRowInsertBatchValuesList, objects);
+        int rowsCount = values.size();
+        for (int offset = 0; offset < rowsCount; offset += rowsPerStatement) {
+            if (session.getProgressMonitor().isCanceled()) {
+                break;
             }
-            values.clear();
-        } finally {
-            if (batchStatement != null) {
-                 batchStatement.close();
+            int statementRows = Math.min(rowsPerStatement, rowsCount - offset);
+            Object[] statementValues = new Object[statementRows * attributesLength];
+            for (int i = 0; i < statementRows; i++) {
+                System.arraycopy(values.get(offset + i), 0, statementValues, i * attributesLength, attributesLength);
+            }
+            if (cacheStatements) {
+                bindAndFlushStatement(handlers, statistics, getCachedStatement((JDBCSession) session, handlers, statementValues, options), statementValues, false);
+            } else {
+                try (DBCStatement statement = prepareStatement(session, handlers, statementValues, options)) {
+                    bindAndFlushStatement(handlers, statistics, statement, statementValues, skipBindValues);
+                }
             }
         }
+        values.clear();
 
         return statistics;
     }
@@ -142,4 +171,13 @@ public class ExecuteBatchWithMultipleInsert extends ExecuteInsertBatchImpl {
         batchStatement.addToBatch();
         flushBatch(statistics, batchStatement);
     }
+
+    @Override
+    public void close() {
+        for (JDBCPreparedStatementCachedImpl statement : cachedStatements.values()) {
+            statement.drop();
+        }
+        cachedStatements.clear();
+        super.close();
+    }
 }
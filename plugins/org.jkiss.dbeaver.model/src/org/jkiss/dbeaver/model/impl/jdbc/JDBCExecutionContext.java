@@ -21,11 +21,13 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBPTransactionIsolation;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionContext;
 import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCSavepointImpl;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCStatementCache;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -60,6 +62,7 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     private volatile Boolean autoCommit;
     private volatile Integer transactionIsolationLevel;
     private transient volatile boolean txnIsolationLevelReadInProgress;
+    private volatile JDBCStatementCache statementCache;
 
     public JDBCExecutionContext(@NotNull JDBCRemoteInstance instance, String purpose) {
         super(instance.getDataSource(), purpose);
@@ -104,6 +107,8 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
             if (this.connection == null) {
                 throw new DBCException("Null connection returned");
             }
+            int statementCacheSize = dataSource.getContainer().getPreferenceStore().getInt(ModelPreferences.RESULT_SET_STATEMENT_CACHE_SIZE);
+            this.statementCache = statementCacheSize > 0 ? new JDBCStatementCache(statementCacheSize) : null;
             monitor.subTask("Set connection defaults");
             // Get defaults from preferences
             if (autoCommit == null) {
@@ -184,6 +189,12 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         // [JDBC] Need sync here because real connection close could take some time
         // while UI may invoke callbacks to operate with connection
         synchronized (this) {
+            if (this.statementCache != null) {
+                // Cached statements belong to the closed connection
+                log.debug(this.statementCache + " [" + this + "]");
+                this.statementCache.clear();
+                this.statementCache = null;
+            }
             if (this.connection != null) {
                 if (!this.dataSource.closeConnection(connection, purpose, true)) {
                     log.debug("Connection close timeout");
@@ -229,6 +240,14 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         return connection != null;
     }
 
+    /**
+     * Prepared statements cache of this context. Returns null if statements caching is disabled.
+     */
+    @Nullable
+    public JDBCStatementCache getStatementCache() {
+        return statementCache;
+    }
+
     @NotNull
     @Override
     public InvalidateResult invalidateContext(@NotNull DBRProgressMonitor monitor, boolean closeOnFailure)
@@ -0,0 +1,852 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCResultSetImpl;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.utils.CommonUtils;
+import org.jkiss.utils.IOUtils;
+import org.jkiss.utils.SecurityUtils;
+
+import java.io.*;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.*;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Persistent snapshot of metadata cache query results.
+ *
+ * Snapshot keeps raw rows of the cache query, so cache objects are created from snapshot rows
+ * by regular fetch methods and caches don't need any serialization support.
+ * Snapshots are enabled by {@link ModelPreferences#META_CACHE_SNAPSHOTS} for data sources which implement
+ * {@link JDBCCacheSnapshotProvider}. Snapshot is used only if the owner change marker is the same as it was on save.
+ * Rows are read from the snapshot file (or recorded while cache reads query results) one by one.
+ */
+public class JDBCCacheSnapshot {
+
+    private static final Log log = Log.getLog(JDBCCacheSnapshot.class);
+
+    private static final String SNAPSHOTS_FOLDER = "metadata-snapshots"; //$NON-NLS-1$
+    private static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_DECIMAL = 5;
+    private static final byte TYPE_BOOLEAN = 6;
+    private static final byte TYPE_TIMESTAMP = 7;
+    private static final byte TYPE_BYTES = 8;
+    private static final byte TYPE_ARRAY = 9;
+
+    private static final Class<?>[] ARRAY_ELEMENT_TYPES = {
+        String.class, Integer.class, Long.class, Short.class, Double.class, Float.class, Boolean.class, BigDecimal.class
+    };
+
+    @NotNull
+    private final Path file;
+    @NotNull
+    private final String key;
+    @NotNull
+    private final String marker;
+
+    private JDBCCacheSnapshot(@NotNull Path file, @NotNull String key, @NotNull String marker) {
+        this.file = file;
+        this.key = key;
+        this.marker = marker;
+    }
+
+    /**
+     * Executes cache statement.
+     * If valid snapshot exists then returns result set which reads snapshot rows and doesn't execute the statement at all.
+     * Otherwise executes the statement and records the result set rows. Snapshot is saved when the result set
+     * is closed after reading all rows.
+     * If snapshots are disabled then just executes the statement.
+     *
+     * @param cache cache which reads objects. Snapshot key includes cache class and query text.
+     */
+    @Nullable
+    public static JDBCResultSet executeStatement(
+        @NotNull JDBCSession session,
+        @NotNull JDBCStatement dbStat,
+        @NotNull DBSObject owner,
+        @NotNull Object cache) throws SQLException
+    {
+        JDBCCacheSnapshot snapshot = openSnapshot(session, dbStat, owner, cache);
+        if (snapshot != null) {
+            SnapshotReader reader = snapshot.openReader();
+            if (reader != null) {
+                return new SnapshotResultSet(session, dbStat, reader);
+            }
+        }
+        dbStat.executeStatement();
+        JDBCResultSet dbResult = dbStat.getResultSet();
+        if (dbResult == null || snapshot == null) {
+            return dbResult;
+        }
+        SnapshotWriter writer = snapshot.openWriter(dbResult);
+        if (writer == null) {
+            return dbResult;
+        }
+        return new SnapshotResultSet(session, dbStat, writer);
+    }
+
+    @Nullable
+    private static JDBCCacheSnapshot openSnapshot(
+        @NotNull JDBCSession session,
+        @NotNull JDBCStatement dbStat,
+        @NotNull DBSObject owner,
+        @NotNull Object cache)
+    {
+        DBPDataSource dataSource = session.getDataSource();
+        if (!(dataSource instanceof JDBCCacheSnapshotProvider)) {
+            return null;
+        }
+        DBPDataSourceContainer container = dataSource.getContainer();
+        if (!container.getPreferenceStore().getBoolean(ModelPreferences.META_CACHE_SNAPSHOTS)) {
+            return null;
+        }
+        String marker;
+        try {
+            marker = ((JDBCCacheSnapshotProvider) dataSource).getCacheSnapshotMarker(session, owner);
+        } catch (Exception e) {
+            log.debug("Error reading metadata change marker of '" + owner.getName() + "'", e);
+            return null;
+        }
+        if (marker == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(cache.getClass().getName());
+        // Full owner path. Object full names don't include database name for some drivers
+        for (DBSObject object = owner; object != null && !(object instanceof DBPDataSource); object = object.getParentObject()) {
+            key.append("\n").append(object.getName());
+        }
+        key.append("\n").append(dbStat.getQueryString());
+        Path file = container.getProject().getMetadataFolder(false)
+            .resolve(SNAPSHOTS_FOLDER)
+            .resolve(CommonUtils.escapeFileName(container.getId()))
+            .resolve(SecurityUtils.makeDigest(key.toString()) + ".dat");
+        return new JDBCCacheSnapshot(file, key.toString(), marker);
+    }
+
+    @Nullable
+    private SnapshotReader openReader() {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        DataInputStream input = null;
+        try {
+            input = new DataInputStream(new GZIPInputStream(Files.newInputStream(file), BUFFER_SIZE));
+            if (input.readInt() != FORMAT_VERSION || !key.equals(readString(input)) || !marker.equals(readString(input))) {
+                // Outdated snapshot. It will be overwritten
+                input.close();
+                return null;
+            }
+            int columnCount = input.readInt();
+            String[] labels = new String[columnCount];
+            int[] types = new int[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                labels[i] = readString(input);
+                types[i] = input.readInt();
+            }
+            return new SnapshotReader(labels, types, input);
+        } catch (IOException e) {
+            log.debug("Error reading metadata snapshot " + file, e);
+            IOUtils.close(input);
+            deleteFile(file);
+            return null;
+        }
+    }
+
+    @Nullable
+    private SnapshotWriter openWriter(@NotNull JDBCResultSet dbResult) throws SQLException {
+        ResultSetMetaData metaData = dbResult.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        int[] types = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+            types[i] = metaData.getColumnType(i + 1);
+        }
+        Path tempFile = null;
+        try {
+            Files.createDirectories(file.getParent());
+            tempFile = Files.createTempFile(file.getParent(), "snapshot", ".tmp");
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(tempFile), BUFFER_SIZE), BUFFER_SIZE));
+            output.writeInt(FORMAT_VERSION);
+            writeString(output, key);
+            writeString(output, marker);
+            output.writeInt(columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                writeString(output, CommonUtils.notEmpty(labels[i]));
+                output.writeInt(types[i]);
+            }
+            return new SnapshotWriter(labels, types, dbResult, output, tempFile);
+        } catch (IOException e) {
+            log.debug("Error creating metadata snapshot " + file, e);
+            if (tempFile != null) {
+                deleteFile(tempFile);
+            }
+            return null;
+        }
+    }
+
+    private static void deleteFile(@NotNull Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Error deleting metadata snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Source of snapshot rows
+     */
+    private abstract static class RowSource {
+        final String[] labels;
+        final int[] types;
+
+        RowSource(@NotNull String[] labels, @NotNull int[] types) {
+            this.labels = labels;
+            this.types = types;
+        }
+
+        @Nullable
+        abstract Object[] nextRow() throws SQLException;
+
+        abstract void close();
+    }
+
+    private class SnapshotReader extends RowSource {
+        private final DataInputStream input;
+
+        SnapshotReader(@NotNull String[] labels, @NotNull int[] types, @NotNull DataInputStream input) {
+            super(labels, types);
+            this.input = input;
+        }
+
+        @Override
+        Object[] nextRow() throws SQLException {
+            try {
+                if (!input.readBoolean()) {
+                    return null;
+                }
+                Object[] row = new Object[labels.length];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = readValue(input);
+                }
+                return row;
+            } catch (IOException e) {
+                // Corrupted snapshot. Delete it so next read will use database
+                close();
+                deleteFile(file);
+                throw new SQLException("Error reading metadata snapshot " + file, e);
+            }
+        }
+
+        @Override
+        void close() {
+            IOUtils.close(input);
+        }
+    }
+
+    private class SnapshotWriter extends RowSource {
+        private final JDBCResultSet dbResult;
+        private final Path tempFile;
+        private DataOutputStream output;
+        private boolean complete;
+
+        SnapshotWriter(@NotNull String[] labels, @NotNull int[] types, @NotNull JDBCResultSet dbResult, @NotNull DataOutputStream output, @NotNull Path tempFile) {
+            super(labels, types);
+            this.dbResult = dbResult;
+            this.output = output;
+            this.tempFile = tempFile;
+        }
+
+        @Override
+        Object[] nextRow() throws SQLException {
+            if (!dbResult.next()) {
+                complete = true;
+                return null;
+            }
+            Object[] row = new Object[labels.length];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = normalizeValue(dbResult, i + 1, types[i]);
+            }
+            if (output != null) {
+                try {
+                    output.writeBoolean(true);
+                    for (Object value : row) {
+                        writeValue(output, value);
+                    }
+                } catch (IOException e) {
+                    log.debug("Error writing metadata snapshot " + file, e);
+                    discard();
+                }
+            }
+            return row;
+        }
+
+        @Override
+        void close() {
+            dbResult.close();
+            if (output == null) {
+                return;
+            }
+            if (!complete) {
+                // Not all rows were read
+                discard();
+                return;
+            }
+            try {
+                output.writeBoolean(false);
+                output.close();
+                output = null;
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                log.debug("Error saving metadata snapshot " + file, e);
+                discard();
+            }
+        }
+
+        private void discard() {
+            IOUtils.close(output);
+            output = null;
+            deleteFile(tempFile);
+        }
+    }
+
+    /**
+     * Result set which returns rows of snapshot. Original result set is a proxy of {@link RowSource}.
+     */
+    private static class SnapshotResultSet extends JDBCResultSetImpl {
+        SnapshotResultSet(@NotNull JDBCSession session, @NotNull JDBCStatement statement, @NotNull RowSource rowSource) {
+            super(session, statement, createResultSetProxy(rowSource), "Metadata snapshot", true);
+        }
+    }
+
+    @NotNull
+    private static ResultSet createResultSetProxy(@NotNull RowSource rowSource) {
+        return (ResultSet) Proxy.newProxyInstance(
+            JDBCCacheSnapshot.class.getClassLoader(),
+            new Class[] { ResultSet.class },
+            new ResultSetHandler(rowSource));
+    }
+
+    /**
+     * Implements ResultSet over snapshot rows.
+     * Values are converted on read, so data read from snapshot is the same as data read during recording.
+     */
+    private static class ResultSetHandler implements InvocationHandler {
+        private final RowSource rowSource;
+        private final Map<String, Integer> columnIndexes = new HashMap<>();
+        private Object[] row;
+        private int rowNumber;
+        private boolean wasNull;
+        private boolean closed;
+
+        ResultSetHandler(@NotNull RowSource rowSource) {
+            this.rowSource = rowSource;
+            for (int i = 0; i < rowSource.labels.length; i++) {
+                // JDBC column lookup is case insensitive, the first column wins
+                columnIndexes.putIfAbsent(CommonUtils.notEmpty(rowSource.labels[i]).toUpperCase(Locale.ENGLISH), i);
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "next":
+                    row = closed ? null : rowSource.nextRow();
+                    if (row != null) {
+                        rowNumber++;
+                    }
+                    return row != null;
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        row = null;
+                        rowSource.close();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "wasNull":
+                    return wasNull;
+                case "getRow":
+                    return rowNumber;
+                case "findColumn":
+                    return getColumnIndex(args[0]) + 1;
+                case "getMetaData":
+                    return Proxy.newProxyInstance(
+                        JDBCCacheSnapshot.class.getClassLoader(),
+                        new Class[] { ResultSetMetaData.class },
+                        this::invokeMetaData);
+                case "getType":
+                    return ResultSet.TYPE_FORWARD_ONLY;
+                case "getConcurrency":
+                    return ResultSet.CONCUR_READ_ONLY;
+                case "getFetchSize":
+                case "getFetchDirection":
+                    return 0;
+                case "setFetchSize":
+                case "setFetchDirection":
+                case "clearWarnings":
+                case "getWarnings":
+                case "getStatement":
+                    return null;
+                case "isWrapperFor":
+                    return false;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "Metadata snapshot result set";
+            }
+            if (name.startsWith("get") && args != null && args.length > 0 && (args[0] instanceof Integer || args[0] instanceof String)) {
+                if (row == null) {
+                    throw new SQLException("No current row");
+                }
+                Object value = row[getColumnIndex(args[0])];
+                wasNull = value == null;
+                Class<?> targetType = args.length > 1 && args[1] instanceof Class ? (Class<?>) args[1] : null;
+                return convertValue(name, value, method.getReturnType(), targetType);
+            }
+            throw new SQLFeatureNotSupportedException("Method '" + name + "' is not supported by metadata snapshot");
+        }
+
+        private Object invokeMetaData(Object proxy, Method method, Object[] args) throws SQLException {
+            switch (method.getName()) {
+                case "getColumnCount":
+                    return rowSource.labels.length;
+                case "getColumnLabel":
+                case "getColumnName":
+                    return rowSource.labels[getColumnIndex(args[0])];
+                case "getColumnType":
+                    return rowSource.types[getColumnIndex(args[0])];
+                case "isNullable":
+                    return ResultSetMetaData.columnNullableUnknown;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "Metadata snapshot result set metadata";
+            }
+            Class<?> returnType = method.getReturnType();
+            if (returnType == String.class) {
+                return "";
+            }
+            return getDefaultValue(returnType);
+        }
+
+        private int getColumnIndex(Object column) throws SQLException {
+            if (column instanceof Integer) {
+                int index = (Integer) column - 1;
+                if (index < 0 || index >= rowSource.labels.length) {
+                    throw new SQLException("Column index " + column + " is out of range");
+                }
+                return index;
+            }
+            Integer index = columnIndexes.get(String.valueOf(column).toUpperCase(Locale.ENGLISH));
+            if (index == null) {
+                throw new SQLException("Column '" + column + "' not found");
+            }
+            return index;
+        }
+    }
+
+    @Nullable
+    private static Object normalizeValue(@NotNull JDBCResultSet dbResult, int index, int type) throws SQLException {
+        Object value = dbResult.getObject(index);
+        if (value == null || value instanceof String || value instanceof Integer || value instanceof Long ||
+            value instanceof Double || value instanceof BigDecimal || value instanceof Boolean ||
+            value instanceof byte[] || value instanceof Timestamp)
+        {
+            return value;
+        } else if (value instanceof Short || value instanceof Byte) {
+            return ((Number) value).intValue();
+        } else if (value instanceof Float) {
+            return ((Float) value).doubleValue();
+        } else if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        } else if (value instanceof java.util.Date) {
+            return new Timestamp(((java.util.Date) value).getTime());
+        } else if (value instanceof Array) {
+            return SnapshotArray.of((Array) value);
+        }
+        switch (type) {
+            case Types.DATE:
+            case Types.TIME:
+            case Types.TIMESTAMP:
+            case Types.TIME_WITH_TIMEZONE:
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                return dbResult.getTimestamp(index);
+            default:
+                // Driver specific type. Keep string representation
+                return dbResult.getString(index);
+        }
+    }
+
+    private static Object convertValue(@NotNull String getter, @Nullable Object value, @NotNull Class<?> returnType, @Nullable Class<?> targetType) throws SQLException {
+        if (value == null) {
+            return getDefaultValue(returnType);
+        }
+        try {
+            switch (getter) {
+                case "getString":
+                case "getNString":
+                    return value instanceof byte[] ? new String((byte[]) value, StandardCharsets.UTF_8) : value.toString();
+                case "getBoolean":
+                    if (value instanceof Boolean) {
+                        return value;
+                    } else if (value instanceof Number) {
+                        return ((Number) value).intValue() != 0;
+                    }
+                    String strValue = value.toString().trim().toLowerCase(Locale.ENGLISH);
+                    return strValue.equals("t") || strValue.equals("true") || strValue.equals("y") || strValue.equals("yes") ||
+                        strValue.equals("on") || strValue.equals("1");
+                case "getByte":
+                    return toNumber(value).byteValue();
+                case "getShort":
+                    return toNumber(value).shortValue();
+                case "getInt":
+                    return toNumber(value).intValue();
+                case "getLong":
+                    return toNumber(value).longValue();
+                case "getFloat":
+                    return toNumber(value).floatValue();
+                case "getDouble":
+                    return toNumber(value).doubleValue();
+                case "getBigDecimal":
+                    return value instanceof BigDecimal ? value : new BigDecimal(toNumber(value).toString());
+                case "getTimestamp":
+                    return toTimestamp(value);
+                case "getDate":
+                    return new java.sql.Date(toTimestamp(value).getTime());
+                case "getTime":
+                    return new Time(toTimestamp(value).getTime());
+                case "getBytes":
+                    return value instanceof byte[] ? value : value.toString().getBytes(StandardCharsets.UTF_8);
+                case "getArray":
+                    if (value instanceof Array) {
+                        return value;
+                    }
+                    break;
+                case "getObject":
+                    if (targetType == null || targetType.isInstance(value)) {
+                        return value;
+                    } else if (targetType == String.class) {
+                        return value.toString();
+                    }
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            throw new SQLException("Can't convert value '" + value + "' (" + getter + ")", e);
+        }
+        throw new SQLException("Can't convert value of type " + value.getClass().getName() + " (" + getter + ")");
+    }
+
+    @NotNull
+    private static BigDecimal toNumber(@NotNull Object value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        } else if (value instanceof Integer || value instanceof Long) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            return BigDecimal.valueOf(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? BigDecimal.ONE : BigDecimal.ZERO;
+        }
+        return new BigDecimal(value.toString().trim());
+    }
+
+    @NotNull
+    private static Timestamp toTimestamp(@NotNull Object value) {
+        if (value instanceof Timestamp) {
+            return (Timestamp) value;
+        } else if (value instanceof Number) {
+            return new Timestamp(((Number) value).longValue());
+        }
+        return Timestamp.valueOf(value.toString().trim());
+    }
+
+    private static Object getDefaultValue(@NotNull Class<?> type) {
+        if (type == Boolean.TYPE) {
+            return false;
+        } else if (type == Integer.TYPE) {
+            return 0;
+        } else if (type == Long.TYPE) {
+            return 0L;
+        } else if (type == Short.TYPE) {
+            return (short) 0;
+        } else if (type == Byte.TYPE) {
+            return (byte) 0;
+        } else if (type == Double.TYPE) {
+            return 0.0;
+        } else if (type == Float.TYPE) {
+            return 0.0f;
+        }
+        return null;
+    }
+
+    private static void writeString(@NotNull DataOutputStream output, @NotNull String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    @NotNull
+    private static String readString(@NotNull DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeValue(@NotNull DataOutputStream output, @Nullable Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(TYPE_NULL);
+        } else if (value instanceof String) {
+            output.writeByte(TYPE_STRING);
+            writeString(output, (String) value);
+        } else if (value instanceof Integer || value instanceof Short) {
+            output.writeByte(TYPE_INTEGER);
+            output.writeInt(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            output.writeByte(TYPE_LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            output.writeByte(TYPE_DOUBLE);
+            output.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof BigDecimal) {
+            output.writeByte(TYPE_DECIMAL);
+            writeString(output, value.toString());
+        } else if (value instanceof Boolean) {
+            output.writeByte(TYPE_BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Timestamp) {
+            output.writeByte(TYPE_TIMESTAMP);
+            output.writeLong(((Timestamp) value).getTime());
+            output.writeInt(((Timestamp) value).getNanos());
+        } else if (value instanceof byte[]) {
+            output.writeByte(TYPE_BYTES);
+            output.writeInt(((byte[]) value).length);
+            output.write((byte[]) value);
+        } else if (value instanceof SnapshotArray) {
+            SnapshotArray array = (SnapshotArray) value;
+            output.writeByte(TYPE_ARRAY);
+            writeString(output, CommonUtils.notEmpty(array.baseTypeName));
+            output.writeInt(array.baseType);
+            writeString(output, array.elements.getClass().getComponentType().getName());
+            output.writeInt(array.elements.length);
+            for (Object element : array.elements) {
+                writeValue(output, element);
+            }
+        } else {
+            throw new IOException("Unsupported value type: " + value.getClass().getName());
+        }
+    }
+
+    @Nullable
+    private static Object readValue(@NotNull DataInputStream input) throws IOException {
+        byte type = input.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return readString(input);
+            case TYPE_INTEGER:
+                return input.readInt();
+            case TYPE_LONG:
+                return input.readLong();
+            case TYPE_DOUBLE:
+                return input.readDouble();
+            case TYPE_DECIMAL:
+                return new BigDecimal(readString(input));
+            case TYPE_BOOLEAN:
+                return input.readBoolean();
+            case TYPE_TIMESTAMP: {
+                Timestamp timestamp = new Timestamp(input.readLong());
+                timestamp.setNanos(input.readInt());
+                return timestamp;
+            }
+            case TYPE_BYTES: {
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                return bytes;
+            }
+            case TYPE_ARRAY: {
+                String baseTypeName = readString(input);
+                int baseType = input.readInt();
+                Class<?> elementType = getArrayElementType(readString(input));
+                Object[] elements = (Object[]) java.lang.reflect.Array.newInstance(elementType, input.readInt());
+                for (int i = 0; i < elements.length; i++) {
+                    Object element = readValue(input);
+                    if (element instanceof Number && elementType == Short.class) {
+                        element = ((Number) element).shortValue();
+                    } else if (element instanceof Number && elementType == Float.class) {
+                        element = ((Number) element).floatValue();
+                    }
+                    elements[i] = element;
+                }
+                return new SnapshotArray(baseTypeName, baseType, elements);
+            }
+            default:
+                throw new IOException("Bad value type: " + type);
+        }
+    }
+
+    @NotNull
+    private static Class<?> getArrayElementType(@NotNull String className) throws IOException {
+        for (Class<?> type : ARRAY_ELEMENT_TYPES) {
+            if (type.getName().equals(className)) {
+                return type;
+            }
+        }
+        throw new IOException("Bad array element type: " + className);
+    }
+
+    /**
+     * Detached copy of SQL array
+     */
+    private static class SnapshotArray implements Array {
+        private final String baseTypeName;
+        private final int baseType;
+        private final Object[] elements;
+
+        SnapshotArray(String baseTypeName, int baseType, @NotNull Object[] elements) {
+            this.baseTypeName = baseTypeName;
+            this.baseType = baseType;
+            this.elements = elements;
+        }
+
+        @Nullable
+        static SnapshotArray of(@NotNull Array array) throws SQLException {
+            Object data = array.getArray();
+            if (data == null || !data.getClass().isArray()) {
+                return null;
+            }
+            int length = java.lang.reflect.Array.getLength(data);
+            Class<?> elementType = String.class;
+            if (data instanceof Object[]) {
+                for (Class<?> type : ARRAY_ELEMENT_TYPES) {
+                    if (type == data.getClass().getComponentType()) {
+                        elementType = type;
+                        break;
+                    }
+                }
+            }
+            Object[] elements = (Object[]) java.lang.reflect.Array.newInstance(elementType, length);
+            for (int i = 0; i < length; i++) {
+                Object element = java.lang.reflect.Array.get(data, i);
+                // Elements of unsupported types are kept as strings
+                elements[i] = element == null || elementType != String.class ? element : element.toString();
+            }
+            return new SnapshotArray(array.getBaseTypeName(), array.getBaseType(), elements);
+        }
+
+        @Override
+        public String getBaseTypeName() {
+            return baseTypeName;
+        }
+
+        @Override
+        public int getBaseType() {
+            return baseType;
+        }
+
+        @Override
+        public Object getArray() {
+            return elements.clone();
+        }
+
+        @Override
+        public Object getArray(Map<String, Class<?>> map) {
+            return getArray();
+        }
+
+        @Override
+        public Object getArray(long index, int count) {
+            return Arrays.copyOfRange(elements, (int) index - 1, (int) index - 1 + count);
+        }
+
+        @Override
+        public Object getArray(long index, int count, Map<String, Class<?>> map) {
+            return getArray(index, count);
+        }
+
+        @Override
+        public ResultSet getResultSet() throws SQLException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        @Override
+        public ResultSet getResultSet(Map<String, Class<?>> map) throws SQLException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        @Override
+        public ResultSet getResultSet(long index, int count) throws SQLException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        @Override
+        public ResultSet getResultSet(long index, int count, Map<String, Class<?>> map) throws SQLException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        @Override
+        public void free() {
+            // Nothing to free
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder str = new StringBuilder("{");
+            for (int i = 0; i < elements.length; i++) {
+                if (i > 0) str.append(",");
+                str.append(elements[i]);
+            }
+            return str.append("}").toString();
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+import java.sql.SQLException;
+
+/**
+ * Data source which supports persistent snapshots of metadata caches.
+ * Snapshot is used instead of cache query if owner change marker is the same as it was when snapshot was saved.
+ *
+ * @see JDBCCacheSnapshot
+ */
+public interface JDBCCacheSnapshotProvider {
+
+    /**
+     * Returns marker which changes each time metadata of the specified owner changes
+     * (e.g. max DDL time of owner objects).
+     * Returns null if snapshots are not supported for this owner.
+     */
+    @Nullable
+    String getCacheSnapshotMarker(@NotNull JDBCSession session, @NotNull DBSObject owner) throws SQLException;
+
+}
@@ -20,6 +20,7 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBConstants;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBUtils;
@@ -63,6 +64,8 @@ public abstract class JDBCCompositeCache<
     private final Object objectColumnName;
 
     private final Map<PARENT, List<OBJECT>> objectCache = new IdentityHashMap<>();
+    // Number of parents which objects were read individually. Negative after bulk load
+    private int parentLoadCount;
 
     protected JDBCCompositeCache(
         JDBCStructCache<OWNER,?,?> parentCache,
@@ -101,6 +104,15 @@ public abstract class JDBCCompositeCache<
 
     }
 
+    /**
+     * Returns true if objects of all parents can be read with a single statement (see {@link #prepareObjectsStatement})
+     * when objects of many parents are read one by one.
+     * Number of parents is configured by {@link ModelPreferences#META_BULK_LOAD_THRESHOLD}.
+     */
+    protected boolean isBulkLoadSupported() {
+        return false;
+    }
+
     // Checks whether object may not have any children or this situation should be treated as an error.
     protected boolean isEmptyObjectRowsAllowed() {
         return false;
@@ -208,6 +220,7 @@ public abstract class JDBCCompositeCache<
         if (forParent == null) {
             super.clearCache();
             objectCache.clear();
+            parentLoadCount = 0;
         } else {
             List<OBJECT> removedObjects = objectCache.remove(forParent);
             if (removedObjects != null) {
@@ -227,10 +240,25 @@ public abstract class JDBCCompositeCache<
     {
         synchronized (objectCache) {
             this.objectCache.clear();
+            this.parentLoadCount = 0;
         }
         super.clearCache();
     }
 
+    // Must be called under objectCache lock
+    private boolean isBulkLoadRequired(OWNER owner) {
+        if (isFullyCached() || parentLoadCount < 0) {
+            return false;
+        }
+        int threshold = JDBCStructCache.getBulkLoadThreshold(owner);
+        if (threshold <= 0 || ++parentLoadCount < threshold) {
+            return false;
+        }
+        // Bulk load is performed only once (until cache refresh)
+        parentLoadCount = -1;
+        return true;
+    }
+
     @Override
     public void setCache(List<OBJECT> objects) {
         super.setCache(objects);
@@ -263,12 +291,23 @@ public abstract class JDBCCompositeCache<
     protected void loadObjects(DBRProgressMonitor monitor, OWNER owner, PARENT forParent)
         throws DBException
     {
+        boolean bulkLoad;
         synchronized (objectCache) {
             if ((forParent == null && isFullyCached()) ||
                 (forParent != null && (!forParent.isPersisted() || objectCache.containsKey(forParent))))
             {
                 return;
             }
+            bulkLoad = forParent != null && isBulkLoadSupported() && isBulkLoadRequired(owner);
+        }
+        if (bulkLoad) {
+            // Too many parents were read one by one. Read objects of all parents at once
+            loadObjects(monitor, owner, null);
+            synchronized (objectCache) {
+                if (objectCache.containsKey(forParent) || monitor.isCanceled()) {
+                    return;
+                }
+            }
         }
 
         // Load tables and columns first
@@ -288,8 +327,13 @@ public abstract class JDBCCompositeCache<
             JDBCStatement dbStat = prepareObjectsStatement(session, owner, forParent);
             dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
             try {
-                dbStat.executeStatement();
-                JDBCResultSet dbResult = dbStat.getResultSet();
+                JDBCResultSet dbResult;
+                if (forParent == null) {
+                    dbResult = JDBCCacheSnapshot.executeStatement(session, dbStat, owner, this);
+                } else {
+                    dbStat.executeStatement();
+                    dbResult = dbStat.getResultSet();
+                }
                 if (dbResult != null) try {
                     while (dbResult.next()) {
                         if (monitor.isCanceled()) {
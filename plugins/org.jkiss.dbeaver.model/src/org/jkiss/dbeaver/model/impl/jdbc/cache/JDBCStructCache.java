@@ -20,6 +20,7 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBConstants;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBUtils;
@@ -50,6 +51,8 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
     private final Object objectNameColumn;
     private volatile boolean childrenCached = false;
     private final Map<OBJECT, SimpleObjectCache<OBJECT, CHILD>> childrenCache = new IdentityHashMap<>();
+    // Number of objects which children were read individually. Negative after bulk load
+    private volatile int childrenLoadCount;
 
     abstract protected JDBCStatement prepareChildrenStatement(@NotNull JDBCSession session, @NotNull OWNER owner, @Nullable OBJECT forObject)
         throws SQLException;
@@ -78,6 +81,13 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
             || (forObject != null && (!forObject.isPersisted() || isChildrenCached(forObject))) || monitor.isCanceled()) {
             return;
         }
+        if (forObject != null && isBulkLoadSupported() && isBulkLoadRequired(owner)) {
+            // Too many objects were read one by one. Read children of all objects at once
+            loadChildren(monitor, owner, null);
+            if (isChildrenCached(forObject) || monitor.isCanceled()) {
+                return;
+            }
+        }
         if (forObject == null) {
             // If we have some child objects read before that - do not clear them.
             // We have to reuse them because there could be some references in cached model
@@ -95,8 +105,13 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
             // Load columns
             try (JDBCStatement dbStat = prepareChildrenStatement(session, owner, forObject)) {
                 dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
-                dbStat.executeStatement();
-                JDBCResultSet dbResult = dbStat.getResultSet();
+                JDBCResultSet dbResult;
+                if (forObject == null) {
+                    dbResult = JDBCCacheSnapshot.executeStatement(session, dbStat, owner, this);
+                } else {
+                    dbStat.executeStatement();
+                    dbResult = dbStat.getResultSet();
+                }
                 if (dbResult != null) {
                     try {
                         while (dbResult.next()) {
@@ -178,6 +193,33 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
         }
     }
 
+    /**
+     * Returns true if children of all objects can be read with a single statement (see {@link #prepareChildrenStatement})
+     * when children of many objects are read one by one.
+     * Number of objects is configured by {@link ModelPreferences#META_BULK_LOAD_THRESHOLD}.
+     */
+    protected boolean isBulkLoadSupported() {
+        return false;
+    }
+
+    private boolean isBulkLoadRequired(OWNER owner) {
+        if (childrenCached || childrenLoadCount < 0) {
+            return false;
+        }
+        int threshold = getBulkLoadThreshold(owner);
+        if (threshold <= 0 || ++childrenLoadCount < threshold) {
+            return false;
+        }
+        // Bulk load is performed only once (until cache refresh)
+        childrenLoadCount = -1;
+        return true;
+    }
+
+    static int getBulkLoadThreshold(DBSObject owner) {
+        DBPDataSource dataSource = owner.getDataSource();
+        return dataSource == null ? 0 : dataSource.getContainer().getPreferenceStore().getInt(ModelPreferences.META_BULK_LOAD_THRESHOLD);
+    }
+
     @Override
     public void removeObject(@NotNull OBJECT object, boolean resetFullCache)
     {
@@ -242,6 +284,7 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
                 this.childrenCache.remove(forParent);
             } else {
                 this.childrenCache.clear();
+                childrenLoadCount = 0;
             }
             childrenCached = false;
         }
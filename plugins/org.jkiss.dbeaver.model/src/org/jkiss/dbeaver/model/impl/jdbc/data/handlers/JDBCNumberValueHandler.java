@@ -39,7 +39,7 @@ import java.util.Date;
 /**
  * JDBC number value handler
  */
-public class JDBCNumberValueHandler extends JDBCAbstractValueHandler implements DBDValueHandlerConfigurable, DBDValueDefaultGenerator {
+public class JDBCNumberValueHandler extends JDBCAbstractValueHandler implements DBDValueHandlerConfigurable, DBDValueDefaultGenerator, DBDValueAppender {
 
     private static final Log log = Log.getLog(JDBCNumberValueHandler.class);
 
@@ -93,6 +93,30 @@ public class JDBCNumberValueHandler extends JDBCAbstractValueHandler implements
         return getFormatter(column).formatValue(value);
     }
 
+    @Override
+    public synchronized void appendValueDisplayString(@NotNull DBSTypedObject column, @Nullable Object value, @NotNull DBDDisplayFormat format, @NotNull StringBuilder buffer) {
+        if (format == DBDDisplayFormat.NATIVE || format == DBDDisplayFormat.EDIT) {
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                buffer.append(((Number) value).longValue());
+                return;
+            }
+            if (value instanceof Double && !((Double) value).isNaN() && !((Double) value).isInfinite()) {
+                if (useScientificNotation < 0) {
+                    this.useScientificNotation =
+                        formatSettings.isUseScientificNumericFormat() ? 1 : 0;
+                }
+                int startPos = buffer.length();
+                buffer.append(((Double) value).doubleValue());
+                if (useScientificNotation > 0 || buffer.indexOf("E", startPos) == -1) {
+                    return;
+                }
+                // We don't want exponential view
+                buffer.setLength(startPos);
+            }
+        }
+        buffer.append(getValueDisplayString(column, value, format));
+    }
+
     private DBDDataFormatter getFormatter(@NotNull DBSTypedObject column) {
         if (formatter == null) {
             try {
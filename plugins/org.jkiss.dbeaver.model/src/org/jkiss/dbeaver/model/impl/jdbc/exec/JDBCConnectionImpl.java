@@ -32,6 +32,11 @@ import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRBlockingObject;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLConstants;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.utils.ArrayUtils;
+import org.jkiss.utils.CommonUtils;
 
 import java.sql.*;
 import java.util.Map;
@@ -45,6 +50,16 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
 
     private static final Log log = Log.getLog(JDBCConnectionImpl.class);
 
+    // Non-DDL statements which change objects referenced by cached statements
+    // or switch default catalog/schema (USE db, SET search_path, SET SCHEMA, etc)
+    private static final String[] SCHEMA_CHANGE_KEYWORDS = {
+        SQLConstants.KEYWORD_TRUNCATE,
+        "RENAME", //$NON-NLS-1$
+        "COMMENT", //$NON-NLS-1$
+        "USE", //$NON-NLS-1$
+        "SET", //$NON-NLS-1$
+    };
+
     @NotNull
     final JDBCExecutionContext context;
 
@@ -95,6 +110,8 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
         boolean returnGeneratedKeys)
         throws DBCException
     {
+        invalidateStatementCache(sqlQuery);
+        JDBCStatementCache statementCache = context.getStatementCache();
         try {
             if (type == DBCStatementType.EXEC && JDBCUtils.queryHasOutputParameters(getDataSource().getSQLDialect(), sqlQuery)) {
                 // Execute as call - only if we query has out parameters bounds
@@ -175,10 +192,13 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
                 JDBCPreparedStatement dbStat;
                 try {
                     // Generic prepared statement
-                    dbStat = prepareStatement(
-                        sqlQuery,
-                        scrollable ? ResultSet.TYPE_SCROLL_INSENSITIVE : ResultSet.TYPE_FORWARD_ONLY,
-                        updatable ? ResultSet.CONCUR_UPDATABLE : ResultSet.CONCUR_READ_ONLY);
+                    int resultSetType = scrollable ? ResultSet.TYPE_SCROLL_INSENSITIVE : ResultSet.TYPE_FORWARD_ONLY;
+                    int resultSetConcurrency = updatable ? ResultSet.CONCUR_UPDATABLE : ResultSet.CONCUR_READ_ONLY;
+                    if (statementCache != null) {
+                        dbStat = prepareCachedStatement(statementCache, sqlQuery, resultSetType, resultSetConcurrency);
+                    } else {
+                        dbStat = prepareStatement(sqlQuery, resultSetType, resultSetConcurrency);
+                    }
                 }
                 catch (SQLFeatureNotSupportedException | UnsupportedOperationException | IncompatibleClassChangeError e) {
                     dbStat =  prepareStatement(sqlQuery);
@@ -198,6 +218,56 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
         }
     }
 
+    @NotNull
+    private JDBCPreparedStatement prepareCachedStatement(@NotNull JDBCStatementCache statementCache, @NotNull String sql, int resultSetType, int resultSetConcurrency)
+        throws SQLException
+    {
+        JDBCStatementCache.Key key = new JDBCStatementCache.Key(sql, resultSetType, resultSetConcurrency);
+        JDBCStatementCache.Entry entry = statementCache.acquire(key);
+        if (entry == null) {
+            entry = statementCache.register(key, getOriginal().prepareStatement(sql, resultSetType, resultSetConcurrency));
+        }
+        JDBCPreparedStatement dbStat;
+        try {
+            dbStat = createPreparedStatementImpl(entry.statement, sql);
+        } catch (SQLException | RuntimeException e) {
+            statementCache.release(entry, false);
+            throw e;
+        }
+        if (dbStat instanceof JDBCStatementImpl) {
+            ((JDBCStatementImpl<?>) dbStat).setStatementCache(statementCache, entry);
+        }
+        return dbStat;
+    }
+
+    /**
+     * Clears statement cache of the context if query changes schema objects or default catalog/schema.
+     * Cached statements may refer to changed objects or were resolved in the previous default schema.
+     */
+    public void invalidateStatementCache(@Nullable String sqlQuery) {
+        JDBCStatementCache statementCache = context.getStatementCache();
+        if (statementCache != null && sqlQuery != null && isSchemaChangeQuery(sqlQuery)) {
+            statementCache.clear();
+        }
+    }
+
+    private void clearStatementCache() {
+        JDBCStatementCache statementCache = context.getStatementCache();
+        if (statementCache != null) {
+            statementCache.clear();
+        }
+    }
+
+    private boolean isSchemaChangeQuery(@NotNull String sqlQuery) {
+        SQLDialect dialect = getDataSource().getSQLDialect();
+        String firstKeyword = SQLUtils.getFirstKeyword(dialect, sqlQuery);
+        if (CommonUtils.isEmpty(firstKeyword)) {
+            return false;
+        }
+        return ArrayUtils.containsIgnoreCase(dialect.getDDLKeywords(), firstKeyword) ||
+            ArrayUtils.containsIgnoreCase(SCHEMA_CHANGE_KEYWORDS, firstKeyword);
+    }
+
     // Disable escaping (#3512)
     private void disableStatementEscapeProcessing(JDBCStatement statement) {
         if (statement != null) {
@@ -241,6 +311,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCPreparedStatement prepareStatement(String sql)
         throws SQLException
     {
+        invalidateStatementCache(sql);
         return createPreparedStatementImpl(getOriginal().prepareStatement(sql), sql);
     }
 
@@ -352,6 +423,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public void setCatalog(String catalog)
         throws SQLException
     {
+        clearStatementCache();
         getOriginal().setCatalog(catalog);
     }
 
@@ -402,6 +474,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCPreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
         throws SQLException
     {
+        invalidateStatementCache(sql);
         return createPreparedStatementImpl(
             getOriginal().prepareStatement(sql, resultSetType, resultSetConcurrency),
             sql);
@@ -510,6 +583,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCPreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability)
         throws SQLException
     {
+        invalidateStatementCache(sql);
         return createPreparedStatementImpl(
             getOriginal().prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability),
             sql);
@@ -530,6 +604,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCPreparedStatement prepareStatement(String sql, int autoGeneratedKeys)
         throws SQLException
     {
+        invalidateStatementCache(sql);
         return createPreparedStatementImpl(getOriginal().prepareStatement(sql, autoGeneratedKeys), sql);
     }
 
@@ -538,6 +613,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCPreparedStatement prepareStatement(String sql, int[] columnIndexes)
         throws SQLException
     {
+        invalidateStatementCache(sql);
         return createPreparedStatementImpl(getOriginal().prepareStatement(sql, columnIndexes), sql);
     }
 
@@ -546,6 +622,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCPreparedStatement prepareStatement(String sql, String[] columnNames)
         throws SQLException
     {
+        invalidateStatementCache(sql);
         return createPreparedStatementImpl(getOriginal().prepareStatement(sql, columnNames), sql);
     }
 
@@ -559,6 +636,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     @Override
     public void setSchema(String schema) throws SQLException
     {
+        clearStatementCache();
         getOriginal().setSchema(schema);
     }
 
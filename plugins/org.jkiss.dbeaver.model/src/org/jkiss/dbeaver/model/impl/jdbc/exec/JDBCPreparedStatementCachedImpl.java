@@ -16,13 +16,25 @@
  */
 package org.jkiss.dbeaver.model.impl.jdbc.exec;
 
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 
+import java.sql.PreparedStatement;
+
+/**
+ * Prepared statement which can be executed many times.
+ * close() does nothing, statement must be closed with {@link #drop()} by its owner.
+ */
 public class JDBCPreparedStatementCachedImpl extends JDBCPreparedStatementImpl {
 
 	public JDBCPreparedStatementCachedImpl(JDBCPreparedStatementImpl statment){
 		super(statment.getSession(), statment.original, statment.query, statment.disableLogging);
 	}
 
+	public JDBCPreparedStatementCachedImpl(@NotNull JDBCSession session, @NotNull PreparedStatement original, String query) {
+		super(session, original, query, false);
+	}
+
 	@Override
 	public void close() {
 		// For cached statement close() do nothing
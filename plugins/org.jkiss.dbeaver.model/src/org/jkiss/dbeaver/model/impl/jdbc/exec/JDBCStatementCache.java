@@ -0,0 +1,234 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of prepared statements of a single execution context.
+ *
+ * Statements are keyed by query text and result set type/concurrency.
+ * Cached statement is removed from the cache while it is in use, so it never has more than one user.
+ * Closed statement is reset and returned back to the cache. Eldest statements are closed when cache overflows.
+ * Statements prepared before the last {@link #clear()} are closed on release.
+ */
+public class JDBCStatementCache {
+
+    private static final Log log = Log.getLog(JDBCStatementCache.class);
+
+    public static final class Key {
+        final String query;
+        final int resultSetType;
+        final int resultSetConcurrency;
+        final int hashCode;
+
+        public Key(@NotNull String query, int resultSetType, int resultSetConcurrency) {
+            this.query = query;
+            this.resultSetType = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+            this.hashCode = (query.hashCode() * 31 + resultSetType) * 31 + resultSetConcurrency;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) obj;
+            return hashCode == key.hashCode &&
+                resultSetType == key.resultSetType &&
+                resultSetConcurrency == key.resultSetConcurrency &&
+                query.equals(key.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Statement checked out from the cache
+     */
+    public static final class Entry {
+        final Key key;
+        final PreparedStatement statement;
+        final long generation;
+        final int fetchSize;
+
+        Entry(@NotNull Key key, @NotNull PreparedStatement statement, long generation, int fetchSize) {
+            this.key = key;
+            this.statement = statement;
+            this.generation = generation;
+            this.fetchSize = fetchSize;
+        }
+    }
+
+    private final int maxSize;
+    private final LinkedHashMap<Key, Entry> statements;
+    private long generation;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public JDBCStatementCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized int getSize() {
+        return statements.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Takes statement out of the cache. Returns null if there is no cached statement for this key.
+     */
+    @Nullable
+    public synchronized Entry acquire(@NotNull Key key) {
+        Entry entry = statements.remove(key);
+        if (entry == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return entry;
+    }
+
+    /**
+     * Makes cache entry for the newly prepared statement
+     */
+    @NotNull
+    public Entry register(@NotNull Key key, @NotNull PreparedStatement statement) {
+        int fetchSize = 0;
+        try {
+            fetchSize = statement.getFetchSize();
+        } catch (Throwable e) {
+            // Not supported by driver
+        }
+        synchronized (this) {
+            return new Entry(key, statement, generation, fetchSize);
+        }
+    }
+
+    /**
+     * Returns statement back to the cache.
+     * Statement is closed if it can't be reset or if it was prepared before the cache was cleared.
+     */
+    public void release(@NotNull Entry entry, boolean reusable) {
+        if (reusable) {
+            reusable = resetStatement(entry);
+        }
+        List<Entry> toClose = new ArrayList<>();
+        synchronized (this) {
+            if (!reusable || entry.generation != generation) {
+                toClose.add(entry);
+            } else {
+                Entry prevEntry = statements.put(entry.key, entry);
+                if (prevEntry != null) {
+                    // The same query was prepared twice at once
+                    toClose.add(prevEntry);
+                }
+                for (Iterator<Entry> iter = statements.values().iterator(); statements.size() > maxSize && iter.hasNext(); ) {
+                    toClose.add(iter.next());
+                    iter.remove();
+                    evictionCount.incrementAndGet();
+                }
+            }
+        }
+        closeStatements(toClose);
+    }
+
+    /**
+     * Closes all cached statements. Statements which are in use now will be closed on release.
+     */
+    public void clear() {
+        List<Entry> toClose;
+        synchronized (this) {
+            generation++;
+            if (statements.isEmpty()) {
+                return;
+            }
+            toClose = new ArrayList<>(statements.values());
+            statements.clear();
+        }
+        closeStatements(toClose);
+    }
+
+    private static boolean resetStatement(@NotNull Entry entry) {
+        PreparedStatement statement = entry.statement;
+        try {
+            ResultSet resultSet = statement.getResultSet();
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            statement.clearParameters();
+            statement.clearWarnings();
+            statement.setMaxRows(0);
+            statement.setQueryTimeout(0);
+            statement.setFetchSize(entry.fetchSize);
+            return true;
+        } catch (Throwable e) {
+            log.debug("Can't reset cached statement: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void closeStatements(@NotNull List<Entry> entries) {
+        for (Entry entry : entries) {
+            try {
+                entry.statement.close();
+            } catch (SQLException e) {
+                log.debug("Can't close cached statement: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Statement cache: size=" + getSize() + "/" + maxSize +
+            ", hits=" + hitCount.get() + ", misses=" + missCount.get() + ", evictions=" + evictionCount.get();
+    }
+
+}
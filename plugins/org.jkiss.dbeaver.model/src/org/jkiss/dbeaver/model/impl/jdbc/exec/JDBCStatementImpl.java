@@ -60,6 +60,9 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
     private long updateCount;
     private Throwable executeError;
 
+    private JDBCStatementCache statementCache;
+    private JDBCStatementCache.Entry statementCacheEntry;
+
     public JDBCStatementImpl(@NotNull JDBCSession connection, @NotNull STATEMENT original, boolean disableLogging)
     {
         super(connection);
@@ -79,6 +82,14 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         return !disableLogging;
     }
 
+    /**
+     * Original statement was taken from the statement cache. It will be returned back on close.
+     */
+    void setStatementCache(@NotNull JDBCStatementCache statementCache, @NotNull JDBCStatementCache.Entry statementCacheEntry) {
+        this.statementCache = statementCache;
+        this.statementCacheEntry = statementCacheEntry;
+    }
+
 
     protected void startBlock()
     {
@@ -116,6 +127,12 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         return query;
     }
 
+    private void invalidateStatementCache(String sql) {
+        if (connection instanceof JDBCConnectionImpl) {
+            ((JDBCConnectionImpl) connection).invalidateStatementCache(sql);
+        }
+    }
+
     @Override
     public void setQueryString(@Nullable String query)
     {
@@ -325,6 +342,7 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         throws SQLException
     {
         setQueryString(sql);
+        invalidateStatementCache(sql);
         this.beforeExecute();
         try {
             return handleExecuteResult(getOriginal().execute(sql));
@@ -341,6 +359,7 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         throws SQLException
     {
         setQueryString(sql);
+        invalidateStatementCache(sql);
         this.beforeExecute();
         try {
             return makeResultSet(getOriginal().executeQuery(sql));
@@ -356,6 +375,7 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         throws SQLException
     {
         setQueryString(sql);
+        invalidateStatementCache(sql);
         this.beforeExecute();
         try {
             return handleExecuteResult(getOriginal().executeUpdate(sql));
@@ -385,6 +405,7 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         throws SQLException
     {
         setQueryString(sql);
+        invalidateStatementCache(sql);
         this.beforeExecute();
         try {
             return handleExecuteResult(getOriginal().executeUpdate(sql, autoGeneratedKeys));
@@ -400,6 +421,7 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         throws SQLException
     {
         setQueryString(sql);
+        invalidateStatementCache(sql);
         this.beforeExecute();
         try {
             return handleExecuteResult(getOriginal().executeUpdate(sql, columnIndexes));
@@ -415,6 +437,7 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         throws SQLException
     {
         setQueryString(sql);
+        invalidateStatementCache(sql);
         this.beforeExecute();
         try {
             return handleExecuteResult(getOriginal().executeUpdate(sql, columnNames));
@@ -430,6 +453,7 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         throws SQLException
     {
         setQueryString(sql);
+        invalidateStatementCache(sql);
         this.beforeExecute();
         try {
             return handleExecuteResult(getOriginal().execute(sql, autoGeneratedKeys));
@@ -445,6 +469,7 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         throws SQLException
     {
         setQueryString(sql);
+        invalidateStatementCache(sql);
         this.beforeExecute();
         try {
             return handleExecuteResult(getOriginal().execute(sql, columnIndexes));
@@ -460,6 +485,7 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         throws SQLException
     {
         setQueryString(sql);
+        invalidateStatementCache(sql);
         this.beforeExecute();
         try {
             return handleExecuteResult(getOriginal().execute(sql, columnNames));
@@ -493,6 +519,13 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
             QMUtils.getDefaultHandler().handleStatementClose(this, updateCount);
         }
 
+        if (statementCacheEntry != null) {
+            // Failed statements are not reused, their state may be broken
+            statementCache.release(statementCacheEntry, executeError == null);
+            statementCacheEntry = null;
+            return;
+        }
+
         // Close statement
         try {
             getOriginal().close();
@@ -20,6 +20,7 @@ import org.eclipse.core.runtime.Status;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.access.DBAObject;
 import org.jkiss.dbeaver.model.exec.DBCException;
@@ -39,6 +40,7 @@ import org.jkiss.dbeaver.model.struct.rdb.DBSCatalog;
 import org.jkiss.dbeaver.model.struct.rdb.DBSPackage;
 import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
 import org.jkiss.dbeaver.model.struct.rdb.DBSSequence;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.BeanUtils;
 import org.jkiss.utils.CommonUtils;
@@ -57,8 +59,26 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
 
     private volatile boolean locked;
     protected volatile DBNDatabaseNode[] childNodes;
+    private volatile VirtualChildren virtualChildren;
     private boolean filtered;
 
+    /**
+     * Child objects of the node in virtual children mode.
+     * Nodes are created only for the current window of child objects.
+     */
+    private static class VirtualChildren {
+        final DBXTreeItem meta;
+        final List<DBSObject> objects;
+        int windowOffset;
+        int windowLength;
+        DBNDatabaseNode[] windowNodes = EMPTY_NODES;
+
+        VirtualChildren(DBXTreeItem meta, List<DBSObject> objects) {
+            this.meta = meta;
+            this.objects = objects;
+        }
+    }
+
     protected DBNDatabaseNode(DBNNode parentNode) {
         super(parentNode);
     }
@@ -224,7 +244,10 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
         if (needsLoad) {
             if (this.initializeNode(monitor, null)) {
                 final List<DBNDatabaseNode> tmpList = new ArrayList<>();
-                loadChildren(monitor, getMeta(), null, tmpList, this, true);
+                // Nodes of virtual children window are reused
+                VirtualChildren virtual = this.virtualChildren;
+                DBNDatabaseNode[] windowNodes = virtual == null || virtual.windowNodes.length == 0 ? null : virtual.windowNodes;
+                loadChildren(monitor, getMeta(), windowNodes, tmpList, this, true);
                 if (!monitor.isCanceled()) {
                     synchronized (this) {
                         if (tmpList.isEmpty()) {
@@ -232,6 +255,7 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
                         } else {
                             this.childNodes = tmpList.toArray(new DBNDatabaseNode[0]);
                         }
+                        this.virtualChildren = null;
                     }
                     this.afterChildRead();
                 }
@@ -244,6 +268,194 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
         // Do nothing
     }
 
+    /**
+     * Returns window of child nodes (virtual children mode).
+     * Child objects are read as usual, but nodes are created only for the requested window.
+     * Nodes of the previous window which are out of the requested one are disposed.
+     * If all children fit in the window then they are loaded as usual.
+     * Returns null if children are already loaded or if they can't be virtualized
+     * (e.g. they include folders or objects of several types).
+     */
+    @Nullable
+    public DBNDatabaseNode[] getChildrenWindow(DBRProgressMonitor monitor, int offset, int length)
+        throws DBException {
+        if (childNodes != null || isDisposed() || !hasChildren(false)) {
+            return null;
+        }
+        VirtualChildren virtual = virtualChildren;
+        if (virtual == null) {
+            if (!this.initializeNode(monitor, null)) {
+                return null;
+            }
+            virtual = readVirtualChildren(monitor);
+            if (virtual == null || monitor.isCanceled()) {
+                return null;
+            }
+            if (virtual.objects.size() <= length) {
+                // No need in virtual mode
+                return getChildren(monitor);
+            }
+        }
+        List<DBNDatabaseNode> released = new ArrayList<>();
+        DBNDatabaseNode[] window;
+        synchronized (this) {
+            if (childNodes != null) {
+                return null;
+            }
+            if (virtualChildren == null) {
+                virtualChildren = virtual;
+            } else {
+                virtual = virtualChildren;
+            }
+            window = setChildrenWindow(monitor, virtual, offset, length, released);
+        }
+        for (DBNDatabaseNode node : released) {
+            node.dispose(false);
+        }
+        return window;
+    }
+
+    /**
+     * Returns number of child objects in virtual children mode or -1 if node is not in this mode.
+     */
+    public int getVirtualChildrenCount() {
+        VirtualChildren virtual = virtualChildren;
+        return virtual == null ? -1 : virtual.objects.size();
+    }
+
+    /**
+     * Returns offset of the current children window or 0 if node is not in virtual children mode.
+     */
+    public int getChildrenWindowOffset() {
+        VirtualChildren virtual = virtualChildren;
+        return virtual == null ? 0 : virtual.windowOffset;
+    }
+
+    /**
+     * Returns child node of the object in virtual children mode.
+     * If the object is out of the current children window then the window is moved to it,
+     * so only nodes of this window are created. Other child objects stay without nodes.
+     * Returns null if node is not in virtual children mode or it doesn't have such child object.
+     */
+    @Nullable
+    public DBNDatabaseNode getVirtualChildNode(DBRProgressMonitor monitor, DBSObject object) {
+        List<DBNDatabaseNode> released = new ArrayList<>();
+        DBNDatabaseNode childNode = null;
+        boolean windowMoved = false;
+        synchronized (this) {
+            VirtualChildren virtual = childNodes == null ? virtualChildren : null;
+            if (virtual == null) {
+                return null;
+            }
+            int index = -1;
+            for (int i = 0; i < virtual.objects.size(); i++) {
+                if (virtual.objects.get(i) == object) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return null;
+            }
+            int windowLength = Math.max(1, virtual.windowLength);
+            if (index < virtual.windowOffset || index >= virtual.windowOffset + virtual.windowNodes.length) {
+                // Windows are switched by pages, so keep the same offsets
+                setChildrenWindow(monitor, virtual, index / windowLength * windowLength, windowLength, released);
+                windowMoved = true;
+            }
+            int windowIndex = index - virtual.windowOffset;
+            if (windowIndex >= 0 && windowIndex < virtual.windowNodes.length) {
+                childNode = virtual.windowNodes[windowIndex];
+            }
+        }
+        for (DBNDatabaseNode node : released) {
+            node.dispose(false);
+        }
+        if (windowMoved) {
+            getModel().fireNodeUpdate(this, this, DBNEvent.NodeChange.REFRESH);
+        }
+        return childNode;
+    }
+
+    /**
+     * Reads child objects without creating nodes.
+     * Returns null if there are several children types or children are folders.
+     */
+    @Nullable
+    private VirtualChildren readVirtualChildren(DBRProgressMonitor monitor)
+        throws DBException {
+        List<DBXTreeNode> childMetas = getMeta().getChildren(this);
+        if (childMetas == null || childMetas.size() != 1 || !(childMetas.get(0) instanceof DBXTreeItem)) {
+            return null;
+        }
+        DBXTreeItem itemMeta = (DBXTreeItem) childMetas.get(0);
+        if (itemMeta.isOptional() || !itemMeta.isNavigable()) {
+            return null;
+        }
+        DBNBrowseSettings navSettings = getDataSourceContainer().getNavigatorSettings();
+        if (navSettings.isShowOnlyEntities() && !isEntityMeta(itemMeta)) {
+            return null;
+        }
+        final DBSObjectFilter filter = getNodeFilter(itemMeta, false);
+        this.filtered = filter != null && !filter.isNotApplicable();
+        final Collection<?> itemList = readTreeItems(monitor, itemMeta);
+        if (itemList == null) {
+            return null;
+        }
+        List<DBSObject> objects = new ArrayList<>(itemList.size());
+        for (Object childItem : itemList) {
+            if (isVisibleChildItem(childItem, itemList, filter, navSettings.isShowSystemObjects(), navSettings.isHideFolders(), navSettings.isMergeEntities())) {
+                objects.add((DBSObject) childItem);
+            }
+        }
+        if (DBWorkbench.getPlatform().getPreferenceStore().getBoolean(ModelPreferences.NAVIGATOR_SORT_ALPHABETICALLY) || navSettings.isMergeEntities()) {
+            // The same order as in the navigator tree
+            objects.sort((o1, o2) -> CommonUtils.notEmpty(o1.getName()).compareToIgnoreCase(CommonUtils.notEmpty(o2.getName())));
+        }
+        return new VirtualChildren(itemMeta, objects);
+    }
+
+    private DBNDatabaseNode[] setChildrenWindow(
+        DBRProgressMonitor monitor,
+        VirtualChildren virtual,
+        int offset,
+        int length,
+        List<DBNDatabaseNode> released)
+    {
+        int count = virtual.objects.size();
+        offset = Math.max(0, Math.min(offset, count - 1));
+        int endOffset = Math.min(count, offset + length);
+
+        // Old window nodes by object name. Objects may be replaced after refresh
+        Map<String, DBNDatabaseNode> oldNodes = new HashMap<>();
+        for (DBNDatabaseNode oldNode : virtual.windowNodes) {
+            DBSObject oldObject = oldNode.getObject();
+            if (oldObject == null || oldNodes.putIfAbsent(DBUtils.getObjectUniqueName(oldObject), oldNode) != null) {
+                released.add(oldNode);
+            }
+        }
+        DBNDatabaseNode[] window = new DBNDatabaseNode[endOffset - offset];
+        for (int i = offset; i < endOffset; i++) {
+            DBSObject object = virtual.objects.get(i);
+            DBNDatabaseNode node = oldNodes.remove(DBUtils.getObjectUniqueName(object));
+            if (node != null && !equalObjects(node.getObject(), object)) {
+                released.add(node);
+                node = null;
+            }
+            if (node == null) {
+                node = new DBNDatabaseItem(this, virtual.meta, object, false);
+            } else {
+                node.reloadObject(monitor, object);
+            }
+            window[i - offset] = node;
+        }
+        released.addAll(oldNodes.values());
+        virtual.windowOffset = offset;
+        virtual.windowLength = length;
+        virtual.windowNodes = window;
+        return window;
+    }
+
     DBNDatabaseNode[] getChildNodes() {
         return childNodes;
     }
@@ -255,6 +467,17 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
                     return true;
                 }
             }
+        } else if (virtualChildren != null) {
+            synchronized (this) {
+                VirtualChildren virtual = virtualChildren;
+                if (virtual != null) {
+                    for (DBSObject child : virtual.objects) {
+                        if (child == object) {
+                            return true;
+                        }
+                    }
+                }
+            }
         }
         return false;
     }
@@ -266,7 +489,17 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
             // Let's find a folder with right type
             metaChildren = getFolderMeta(object.getClass());
         }
-        if (metaChildren != null) {
+        VirtualChildren virtual;
+        synchronized (this) {
+            virtual = childNodes == null ? virtualChildren : null;
+            if (virtual != null) {
+                virtual.objects.add(object);
+            }
+        }
+        if (virtual != null) {
+            // Node will be created when the object gets in the children window
+            getModel().fireNodeUpdate(this, this, DBNEvent.NodeChange.REFRESH);
+        } else if (metaChildren != null) {
             final DBNDatabaseItem newChild = new DBNDatabaseItem(this, metaChildren, object, false);
             synchronized (this) {
                 childNodes = ArrayUtils.add(DBNDatabaseNode.class, childNodes, newChild);
@@ -289,6 +522,16 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
                         break;
                     }
                 }
+            } else if (childNodes == null && virtualChildren != null) {
+                VirtualChildren virtual = virtualChildren;
+                virtual.objects.removeIf(child -> child == object);
+                for (int i = 0; i < virtual.windowNodes.length; i++) {
+                    if (virtual.windowNodes[i].getObject() == object) {
+                        childNode = virtual.windowNodes[i];
+                        virtual.windowNodes = ArrayUtils.remove(DBNDatabaseNode.class, virtual.windowNodes, i);
+                        break;
+                    }
+                }
             }
         }
         if (childNode != null) {
@@ -404,6 +647,10 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
         synchronized (this) {
             childrenCopy = childNodes == null ? null : Arrays.copyOf(childNodes, childNodes.length);
             childNodes = null;
+            if (childrenCopy == null && virtualChildren != null) {
+                childrenCopy = virtualChildren.windowNodes;
+            }
+            virtualChildren = null;
         }
         if (childrenCopy != null) {
             for (DBNNode child : childrenCopy) {
@@ -572,49 +819,10 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
         boolean mergeEntities,
         boolean reflect)
         throws DBException {
-        if (this.isDisposed())
-        {
-            // Property reading can take really long time so this node can be disposed at this moment -
-            // check it
-            return false;
-        }
-        // Read property using reflection
-        final Object valueObject = getValueObject();
-        if (valueObject == null) {
-            return false;
-        }
-        final PropertyValueReader valueReader = new PropertyValueReader(monitor, meta, valueObject);
-        DBPDataSource dataSource = getDataSource();
-        if (dataSource != null) {
-            DBExecUtils.tryExecuteRecover(monitor, dataSource, valueReader);
-        } else {
-            try {
-                valueReader.run(monitor);
-            } catch (InvocationTargetException e) {
-                throw new DBCException("Error reading child elements", e.getTargetException());
-            } catch (InterruptedException e) {
-                return false;
-            }
-        }
-        final Object propertyValue = valueReader.propertyValue;
-        if (propertyValue == null) {
-            return false;
-        }
-        if (!(propertyValue instanceof Collection<?>)) {
-            log.warn("Bad property '" + meta.getPropertyName() + "' value: " + propertyValue.getClass().getName()); //$NON-NLS-1$ //$NON-NLS-2$
-            return false;
-        }
-
         final DBSObjectFilter filter = getNodeFilter(meta, false);
         this.filtered = filter != null && !filter.isNotApplicable();
-
-        final Collection<?> itemList = (Collection<?>) propertyValue;
-        if (itemList.isEmpty()) {
-            return false;
-        }
-        if (this.isDisposed()) {
-            // Property reading can take really long time so this node can be disposed at this moment -
-            // check it
+        final Collection<?> itemList = readTreeItems(monitor, meta);
+        if (itemList == null) {
             return false;
         }
 
@@ -623,32 +831,7 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
             Collections.addAll(oldList, oldListCmp);
         }
         for (Object childItem : itemList) {
-            if (childItem == null) {
-                continue;
-            }
-            if (!(childItem instanceof DBSObject)) {
-                log.warn("Bad item type: " + childItem.getClass().getName()); //$NON-NLS-1$
-                continue;
-            }
-            if (DBUtils.isHiddenObject(childItem)) {
-                // Skip hidden objects
-                continue;
-            }
-            if ((!showSystem && DBUtils.isSystemObject(childItem)) &&
-                !(itemList.size() == 1 && (childItem instanceof DBSSchema || childItem instanceof DBSCatalog))) { // Show system catalog/schema in case when only one object in the itemList
-                // Skip system objects
-                continue;
-            }
-            if (hideFolders && (childItem instanceof DBAObject || childItem instanceof DBPSystemInfoObject)) {
-                // Skip all DBA objects
-                continue;
-            }
-            if (mergeEntities && childItem instanceof DBSSchema) {
-                // Skip schemas in merge entities mode
-                continue;
-            }
-            if (filter != null && !filter.matches(((DBSObject) childItem).getName())) {
-                // Doesn't match filter
+            if (!isVisibleChildItem(childItem, itemList, filter, showSystem, hideFolders, mergeEntities)) {
                 continue;
             }
             DBSObject object = (DBSObject) childItem;
@@ -706,6 +889,97 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
         return true;
     }
 
+    /**
+     * Reads child objects using reflect api.
+     * Returns null if there are no child objects.
+     */
+    @Nullable
+    private Collection<?> readTreeItems(DBRProgressMonitor monitor, DBXTreeItem meta)
+        throws DBException {
+        if (this.isDisposed())
+        {
+            // Property reading can take really long time so this node can be disposed at this moment -
+            // check it
+            return null;
+        }
+        // Read property using reflection
+        final Object valueObject = getValueObject();
+        if (valueObject == null) {
+            return null;
+        }
+        final PropertyValueReader valueReader = new PropertyValueReader(monitor, meta, valueObject);
+        DBPDataSource dataSource = getDataSource();
+        if (dataSource != null) {
+            DBExecUtils.tryExecuteRecover(monitor, dataSource, valueReader);
+        } else {
+            try {
+                valueReader.run(monitor);
+            } catch (InvocationTargetException e) {
+                throw new DBCException("Error reading child elements", e.getTargetException());
+            } catch (InterruptedException e) {
+                return null;
+            }
+        }
+        final Object propertyValue = valueReader.propertyValue;
+        if (propertyValue == null) {
+            return null;
+        }
+        if (!(propertyValue instanceof Collection<?>)) {
+            log.warn("Bad property '" + meta.getPropertyName() + "' value: " + propertyValue.getClass().getName()); //$NON-NLS-1$ //$NON-NLS-2$
+            return null;
+        }
+
+        final Collection<?> itemList = (Collection<?>) propertyValue;
+        if (itemList.isEmpty()) {
+            return null;
+        }
+        if (this.isDisposed()) {
+            // Property reading can take really long time so this node can be disposed at this moment -
+            // check it
+            return null;
+        }
+        return itemList;
+    }
+
+    private static boolean isVisibleChildItem(
+        Object childItem,
+        Collection<?> itemList,
+        @Nullable DBSObjectFilter filter,
+        boolean showSystem,
+        boolean hideFolders,
+        boolean mergeEntities)
+    {
+        if (childItem == null) {
+            return false;
+        }
+        if (!(childItem instanceof DBSObject)) {
+            log.warn("Bad item type: " + childItem.getClass().getName()); //$NON-NLS-1$
+            return false;
+        }
+        if (DBUtils.isHiddenObject(childItem)) {
+            // Skip hidden objects
+            return false;
+        }
+        if ((!showSystem && DBUtils.isSystemObject(childItem)) &&
+            !(itemList.size() == 1 && (childItem instanceof DBSSchema || childItem instanceof DBSCatalog))) { // Show system catalog/schema in case when only one object in the itemList
+            // Skip system objects
+            return false;
+        }
+        if (hideFolders && (childItem instanceof DBAObject || childItem instanceof DBPSystemInfoObject)) {
+            // Skip all DBA objects
+            return false;
+        }
+        if (mergeEntities && childItem instanceof DBSSchema) {
+            // Skip schemas in merge entities mode
+            return false;
+        }
+        if (filter != null && !filter.matches(((DBSObject) childItem).getName())) {
+            // Doesn't match filter
+            return false;
+        }
+        return true;
+    }
+
     @Nullable
     @Override
     public DBCExecutionContext getExecutionContext() {
@@ -813,6 +1087,10 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
 
     private void reloadChildren(DBRProgressMonitor monitor, Object source, boolean reflect)
         throws DBException {
+        if (childNodes == null && virtualChildren != null) {
+            reloadVirtualChildren(monitor, reflect);
+            return;
+        }
         DBNDatabaseNode[] oldChildren;
         synchronized (this) {
             if (childNodes == null) {
@@ -828,6 +1106,32 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
         }
     }
 
+    private void reloadVirtualChildren(DBRProgressMonitor monitor, boolean reflect)
+        throws DBException {
+        VirtualChildren newVirtual = readVirtualChildren(monitor);
+        if (newVirtual == null) {
+            // Children will be loaded again on the next request
+            clearChildren(reflect);
+            return;
+        }
+        List<DBNDatabaseNode> released = new ArrayList<>();
+        synchronized (this) {
+            VirtualChildren oldVirtual = virtualChildren;
+            if (childNodes != null || oldVirtual == null) {
+                // Children were loaded or cleared meanwhile
+                return;
+            }
+            newVirtual.windowNodes = oldVirtual.windowNodes;
+            virtualChildren = newVirtual;
+            if (oldVirtual.windowLength > 0) {
+                setChildrenWindow(monitor, newVirtual, oldVirtual.windowOffset, oldVirtual.windowLength, released);
+            }
+        }
+        for (DBNDatabaseNode node : released) {
+            node.dispose(reflect);
+        }
+    }
+
     protected static boolean equalObjects(DBSObject object1, DBSObject object2) {
         if (object1 == object2) {
             return true;
@@ -421,6 +421,18 @@ public class DBNModel implements IResourceChangeListener {
 
     private boolean cacheNodeChildren(DBRProgressMonitor monitor, DBNDatabaseNode node, DBSObject objectToCache, boolean addFiltered) throws DBException
     {
+        if (node.getVirtualChildrenCount() >= 0) {
+            // Don't create nodes for all children of the node. Only the node of the requested object is needed
+            if (node.getVirtualChildNode(monitor, objectToCache) != null) {
+                return true;
+            }
+            if (addFiltered && node.isFiltered()) {
+                // The same as for regular children
+                node.addChildItem(objectToCache);
+                return node.getVirtualChildNode(monitor, objectToCache) != null;
+            }
+            return false;
+        }
         DBNDatabaseNode[] children = node.getChildren(monitor);
         boolean cached = false;
         if (!ArrayUtils.isEmpty(children)) {
@@ -333,7 +333,7 @@ public class DBNProjectDatabases extends DBNNode implements DBNContainer, DBPEve
                         parentFound = false;
                     }
                     if (parentNode != null) {
-                        if (parentNode.getChildNodes() == null && parentNode.hasChildren(false)) {
+                        if (parentNode.getChildNodes() == null && parentNode.getVirtualChildrenCount() < 0 && parentNode.hasChildren(false)) {
                             final DBNDatabaseNode nodeToLoad = parentNode;
                             // We have to load children here
                             final AbstractJob loaderJob = new AbstractJob("Load sibling nodes of new database object") {
@@ -361,7 +361,7 @@ public class DBNProjectDatabases extends DBNNode implements DBNContainer, DBPEve
                             // Second try
                             parentNode = model.getParentNode(event.getObject());
                         }
-                        if (parentNode != null && parentNode.getChildNodes() != null && !parentNode.hasChildItem(event.getObject())) {
+                        if (parentNode != null && (parentNode.getChildNodes() != null || parentNode.getVirtualChildrenCount() >= 0) && !parentNode.hasChildItem(event.getObject())) {
                             // Add only if object wasn't yet added (e.g. by create new object command)
                             parentNode.addChildItem(event.getObject());
                         }
@@ -26,9 +26,12 @@ public class QMConstants {
 
     public static final String PROP_OBJECT_TYPES = PROP_PREFIX + "objectTypes";
     public static final String PROP_QUERY_TYPES = PROP_PREFIX + "queryTypes";
+    public static final String PROP_MIN_DURATION = PROP_PREFIX + "minDuration";
+    public static final String PROP_TIME_PERIOD = PROP_PREFIX + "timePeriod";
     public static final String PROP_ENTRIES_PER_PAGE = PROP_PREFIX + "maxEntries";
     public static final String PROP_HISTORY_DAYS = PROP_PREFIX + "historyDays";
     public static final String PROP_STORE_LOG_FILE = PROP_PREFIX + "storeLogs";
     public static final String PROP_LOG_DIRECTORY = PROP_PREFIX + "logDirectory";
+    public static final String PROP_STORE_HISTORY = PROP_PREFIX + "storeHistory";
 
 }
@@ -37,6 +37,9 @@ public class QMEventCriteria {
     DBCExecutionPurpose[] queryTypes = new DBCExecutionPurpose[0];
     @Nullable
     String searchString;
+    long fromTime;
+    long toTime;
+    long minDuration;
 
     public String getContainerId() {
         return containerId;
@@ -95,4 +98,41 @@ public class QMEventCriteria {
     public void setSearchString(String searchString) {
         this.searchString = searchString;
     }
+
+    /**
+     * Lower bound of query open time (ms). Zero means no bound.
+     */
+    public long getFromTime() {
+        return fromTime;
+    }
+
+    public void setFromTime(long fromTime) {
+        this.fromTime = fromTime;
+    }
+
+    /**
+     * Upper bound of query open time (ms). Zero means no bound.
+     */
+    public long getToTime() {
+        return toTime;
+    }
+
+    public void setToTime(long toTime) {
+        this.toTime = toTime;
+    }
+
+    public boolean hasTimeRange() {
+        return fromTime > 0 || toTime > 0;
+    }
+
+    /**
+     * Minimal query execution time (ms). Zero means any duration.
+     */
+    public long getMinDuration() {
+        return minDuration;
+    }
+
+    public void setMinDuration(long minDuration) {
+        this.minDuration = minDuration;
+    }
 }
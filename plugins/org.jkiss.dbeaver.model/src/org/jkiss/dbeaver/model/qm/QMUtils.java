@@ -182,6 +182,12 @@ public class QMUtils {
             }
         }
         criteria.setQueryTypes(queryTypes.toArray(new DBCExecutionPurpose[0]));
+        criteria.setMinDuration(store.getLong(QMConstants.PROP_MIN_DURATION));
+        long timePeriod = store.getLong(QMConstants.PROP_TIME_PERIOD);
+        if (timePeriod > 0) {
+            // Time period is kept in minutes
+            criteria.setFromTime(System.currentTimeMillis() - timePeriod * 60 * 1000);
+        }
         return criteria;
     }
 
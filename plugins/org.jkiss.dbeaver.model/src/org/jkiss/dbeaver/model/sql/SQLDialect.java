@@ -350,6 +350,15 @@ public interface SQLDialect {
     @NotNull
     MultiValueInsertMode getDefaultMultiValueInsertMode();
 
+    /**
+     * Maximum number of bind parameters in a single query.
+     * Used to split multi-value inserts into several statements.
+     * By default returns generic limit which most drivers accept.
+     */
+    default int getMaxQueryParametersCount() {
+        return Short.MAX_VALUE;
+    }
+
     String addFiltersToQuery(DBRProgressMonitor monitor, DBPDataSource dataSource, String query, DBDDataFilter filter);
 
     /**
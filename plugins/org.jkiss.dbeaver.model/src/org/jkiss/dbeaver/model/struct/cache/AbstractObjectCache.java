@@ -32,15 +32,65 @@ import java.lang.reflect.Modifier;
 import java.util.*;
 
 /**
- * Various objects cache
+ * Various objects cache.
+ *
+ * Cache contents are published as immutable snapshots (object list + lazily built name index).
+ * Readers never lock, modifications are serialized by the cache monitor and publish a new snapshot.
+ * Objects which are cached one by one are appended to the arrays of the current snapshot,
+ * so loading of a large cache doesn't copy the whole list on each new object.
  */
 public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extends DBSObject>
     implements DBSObjectCache<OWNER, OBJECT>
 {
     private static final Log log = Log.getLog(AbstractObjectCache.class);
 
-    private List<OBJECT> objectList;
-    private Map<String, OBJECT> objectMap;
+    private static final class CacheSnapshot<OBJECT> {
+        // Next snapshots may share this array and append objects after the snapshot size
+        final Object[] array;
+        final int size;
+        final List<OBJECT> objects;
+        // Built on first lookup
+        volatile ObjectNameIndex nameIndex;
+
+        CacheSnapshot(Object[] array, int size, ObjectNameIndex nameIndex) {
+            this.array = array;
+            this.size = size;
+            this.objects = new SnapshotList<>(array, size);
+            this.nameIndex = nameIndex;
+        }
+
+        @Nullable
+        OBJECT getObject(int position) {
+            // Shared name index may contain objects appended after this snapshot
+            return position >= 0 && position < size ? (OBJECT) array[position] : null;
+        }
+    }
+
+    private static final class SnapshotList<OBJECT> extends AbstractList<OBJECT> implements RandomAccess {
+        private final Object[] array;
+        private final int size;
+
+        SnapshotList(Object[] array, int size) {
+            this.array = array;
+            this.size = size;
+        }
+
+        @Override
+        public OBJECT get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return (OBJECT) array[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    // Null if cache is empty
+    private volatile CacheSnapshot<OBJECT> snapshot;
     protected volatile boolean fullCache = false;
     protected volatile boolean caseSensitive = true;
 
@@ -74,16 +124,17 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Override
     public List<OBJECT> getCachedObjects()
     {
-        synchronized (cacheSync) {
-            return objectList == null ? Collections.<OBJECT>emptyList() : objectList;
-        }
+        CacheSnapshot<OBJECT> curSnapshot = snapshot;
+        return curSnapshot == null ? Collections.<OBJECT>emptyList() : curSnapshot.objects;
     }
 
     public <SUB_TYPE> List<SUB_TYPE> getTypedObjects(DBRProgressMonitor monitor, OWNER owner, Class<SUB_TYPE> type)
         throws DBException
     {
-        List<SUB_TYPE> result = new ArrayList<>();
-        for (OBJECT object : getAllObjects(monitor, owner)) {
+        // Result may be modified by caller, so it is never a cache snapshot list
+        Collection<OBJECT> allObjects = getAllObjects(monitor, owner);
+        List<SUB_TYPE> result = new ArrayList<>(allObjects.size());
+        for (OBJECT object : allObjects) {
             if (type.isInstance(object)) {
                 result.add(type.cast(object));
             }
@@ -95,31 +146,47 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Override
     public OBJECT getCachedObject(@NotNull String name)
     {
-        synchronized (cacheSync) {
-            return objectList == null || name == null ? null : getObjectMap().get(caseSensitive ? name : name.toUpperCase());
-        }
+        CacheSnapshot<OBJECT> curSnapshot = snapshot;
+        return curSnapshot == null || name == null ? null : curSnapshot.getObject(getNameIndex(curSnapshot).get(name));
     }
 
     public int getCacheSize() {
-        synchronized (cacheSync) {
-            return objectList == null ? 0 : objectList.size();
-        }
+        CacheSnapshot<OBJECT> curSnapshot = snapshot;
+        return curSnapshot == null ? 0 : curSnapshot.size;
     }
 
     @Override
     public void cacheObject(@NotNull OBJECT object)
     {
         synchronized (cacheSync) {
-            if (this.objectList == null) {
-                this.objectList = new ArrayList<>();
-            }
             detectCaseSensitivity(object);
-            this.objectList.add(object);
-            if (this.objectMap != null) {
+            CacheSnapshot<OBJECT> curSnapshot = snapshot;
+            if (curSnapshot == null) {
+                this.snapshot = new CacheSnapshot<>(new Object[] { object }, 1, null);
+                return;
+            }
+            // Objects are often cached one by one. Append object to the current arrays if possible.
+            // Slots after the current snapshot size are not visible to any other snapshot.
+            int position = curSnapshot.size;
+            Object[] array = curSnapshot.array;
+            if (position == array.length) {
+                array = Arrays.copyOf(array, position + (position >> 1) + 1);
+            }
+            array[position] = object;
+            ObjectNameIndex newIndex = curSnapshot.nameIndex;
+            if (newIndex != null) {
                 String name = getObjectName(object);
-                checkDuplicateName(name, object);
-                this.objectMap.put(name, object);
+                if (newIndex.isCaseSensitive() != caseSensitive) {
+                    newIndex = null;
+                } else if (name != null) {
+                    if (!newIndex.hasCapacity() || newIndex.getByKey(name) >= 0) {
+                        // Rehash or replace existing name in a copy, the old index may be in use
+                        newIndex = newIndex.copy(1);
+                    }
+                    putObject(newIndex, name, position, object);
+                }
             }
+            this.snapshot = new CacheSnapshot<>(array, position + 1, newIndex);
         }
     }
 
@@ -127,12 +194,11 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     public void removeObject(@NotNull OBJECT object, boolean resetFullCache)
     {
         synchronized (cacheSync) {
-            if (this.objectList != null) {
+            CacheSnapshot<OBJECT> curSnapshot = snapshot;
+            if (curSnapshot != null) {
                 detectCaseSensitivity(object);
-                this.objectList.remove(object);
-                if (this.objectMap != null) {
-                    this.objectMap.remove(getObjectName(object));
-                }
+                // Positions of the following objects are changed, so name index will be rebuilt
+                removeCachedObject(object);
             }
             if (resetFullCache) {
                 fullCache = false;
@@ -143,13 +209,19 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Override
     public void renameObject(@NotNull OBJECT object, @NotNull String oldName, @NotNull String newName) {
         synchronized (cacheSync) {
-            if (this.objectMap != null) {
-                if (!caseSensitive) {
+            CacheSnapshot<OBJECT> curSnapshot = snapshot;
+            ObjectNameIndex nameIndex = curSnapshot == null ? null : curSnapshot.nameIndex;
+            if (nameIndex != null) {
+                if (!nameIndex.isCaseSensitive()) {
                     oldName = oldName.toUpperCase(Locale.ENGLISH);
                     newName = newName.toUpperCase(Locale.ENGLISH);
                 }
-                if (this.objectMap.remove(oldName) == object) {
-                    this.objectMap.put(newName, object);
+                int position = nameIndex.getByKey(oldName);
+                if (curSnapshot.getObject(position) == object) {
+                    ObjectNameIndex newIndex = nameIndex.copy(1);
+                    newIndex.remove(oldName);
+                    newIndex.put(newName, position);
+                    this.snapshot = new CacheSnapshot<>(curSnapshot.array, curSnapshot.size, newIndex);
                 }
             }
         }
@@ -176,8 +248,7 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     public void clearCache()
     {
         synchronized (cacheSync) {
-            this.objectList = null;
-            this.objectMap = null;
+            this.snapshot = null;
             this.fullCache = false;
         }
     }
@@ -185,8 +256,12 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     public void setCache(List<OBJECT> objects)
     {
         synchronized (cacheSync) {
-            this.objectList = objects;
-            this.objectMap = null;
+            if (objects == null) {
+                this.snapshot = null;
+            } else {
+                Object[] array = objects.toArray();
+                this.snapshot = new CacheSnapshot<>(array, array.length, null);
+            }
             this.fullCache = true;
         }
     }
@@ -208,47 +283,50 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     protected void mergeCache(List<OBJECT> objects)
     {
         synchronized (cacheSync) {
-            if (this.objectList != null) {
+            CacheSnapshot<OBJECT> curSnapshot = snapshot;
+            if (curSnapshot != null && !curSnapshot.objects.isEmpty()) {
                 // Merge lists
+                ObjectNameIndex nameIndex = getNameIndex(curSnapshot);
                 objects = new ArrayList<>(objects);
                 for (int i = 0; i < objects.size(); i++) {
-                    OBJECT newObject = objects.get(i);
-                    String newObjectName = getObjectName(newObject);
-                    for (int k = 0; k < objectList.size(); k++) {
-                        OBJECT oldObject = objectList.get(k);
-                        String oldObjectName = getObjectName(oldObject);
-                        if (newObjectName.equals(oldObjectName)) {
-                            objects.set(i, oldObject);
-                            break;
-                        }
+                    String newObjectName = getObjectName(objects.get(i));
+                    OBJECT oldObject = newObjectName == null ? null : curSnapshot.getObject(nameIndex.getByKey(newObjectName));
+                    if (oldObject != null) {
+                        objects.set(i, oldObject);
                     }
                 }
             }
+            setCache(objects);
         }
-        setCache(objects);
     }
 
-    private Map<String, OBJECT> getObjectMap()
+    @NotNull
+    private ObjectNameIndex getNameIndex(@NotNull CacheSnapshot<OBJECT> curSnapshot)
     {
-        synchronized (cacheSync) {
-            if (this.objectMap == null) {
-                this.objectMap = new HashMap<>();
-                if (objectList.size() > 0) {
-                    detectCaseSensitivity(objectList.get(0));
+        ObjectNameIndex nameIndex = curSnapshot.nameIndex;
+        if (nameIndex == null || nameIndex.isCaseSensitive() != caseSensitive) {
+            if (curSnapshot.size > 0 && caseSensitive) {
+                // Case sensitivity is changed by writers only
+                synchronized (cacheSync) {
+                    detectCaseSensitivity(curSnapshot.objects.get(0));
                 }
-
-                for (OBJECT object : objectList) {
-                    String name = getObjectName(object);
-                    checkDuplicateName(name, object);
-                    this.objectMap.put(name, object);
+            }
+            // Concurrent readers may build the same index twice, that's ok
+            nameIndex = new ObjectNameIndex(caseSensitive, curSnapshot.size);
+            for (int i = 0; i < curSnapshot.size; i++) {
+                OBJECT object = (OBJECT) curSnapshot.array[i];
+                String name = getObjectName(object);
+                if (name != null) {
+                    putObject(nameIndex, name, i, object);
                 }
             }
-            return this.objectMap;
+            curSnapshot.nameIndex = nameIndex;
         }
+        return nameIndex;
     }
 
-    private void checkDuplicateName(String name, OBJECT object) {
-        if (this.objectMap.containsKey(name)) {
+    private void putObject(@NotNull ObjectNameIndex nameIndex, @NotNull String name, int position, @NotNull OBJECT object) {
+        if (nameIndex.put(name, position) >= 0) {
             log.debug("Duplicate object name '" + name + "' in cache " + this.getClass().getSimpleName() + ". Last value: " + DBUtils.getObjectFullName(object, DBPEvaluationContext.DDL));
         }
     }
@@ -274,21 +352,20 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
 
     public void clearChildrenOf(DBSObject parent) {
         synchronized (cacheSync) {
-            if (objectList == null) {
+            CacheSnapshot<OBJECT> curSnapshot = snapshot;
+            if (curSnapshot == null) {
                 return;
             }
-            for (int i = 0; i < objectList.size(); ) {
-                OBJECT object = objectList.get(i);
-                if (object.getParentObject() == parent) {
-                    this.objectList.remove(object);
-                    if (this.objectMap != null) {
-                        this.objectMap.remove(getObjectName(object));
-                    }
-                    fullCache = false;
-                } else {
-                    i++;
+            List<OBJECT> newList = new ArrayList<>(curSnapshot.size);
+            for (OBJECT object : curSnapshot.objects) {
+                if (object.getParentObject() != parent) {
+                    newList.add(object);
                 }
             }
+            if (newList.size() != curSnapshot.size) {
+                this.snapshot = new CacheSnapshot<>(newList.toArray(), newList.size(), null);
+                fullCache = false;
+            }
         }
     }
 
@@ -358,8 +435,11 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
         }
     }
 
+    /**
+     * Iterates over the current cache snapshot. Removal publishes a new snapshot.
+     */
     protected class CacheIterator implements Iterator<OBJECT> {
-        private Iterator<OBJECT> listIterator = objectList.iterator();
+        private final Iterator<OBJECT> listIterator = getCachedObjects().iterator();
         private OBJECT curObject;
         public CacheIterator()
         {
@@ -380,9 +460,18 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
         @Override
         public void remove()
         {
-            listIterator.remove();
-            if (objectMap != null) {
-                objectMap.remove(getObjectName(curObject));
+            removeCachedObject(curObject);
+        }
+    }
+
+    private void removeCachedObject(@NotNull OBJECT object) {
+        synchronized (cacheSync) {
+            CacheSnapshot<OBJECT> curSnapshot = snapshot;
+            if (curSnapshot != null) {
+                List<OBJECT> newList = new ArrayList<>(curSnapshot.objects);
+                if (newList.remove(object)) {
+                    this.snapshot = new CacheSnapshot<>(newList.toArray(), newList.size(), null);
+                }
             }
         }
     }
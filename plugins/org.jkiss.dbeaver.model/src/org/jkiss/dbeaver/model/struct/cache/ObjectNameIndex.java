@@ -0,0 +1,211 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.struct.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+/**
+ * Object name hash index (open addressing, linear probing). Maps names to object positions in the cache snapshot.
+ *
+ * Keys are normalized object names (upper-cased for case insensitive caches).
+ * Case insensitive lookup of ASCII names doesn't create upper-cased name copies.
+ *
+ * Published index may be shared by several cache snapshots. Cache writer may still add new names to it,
+ * readers ignore positions which are out of their snapshot. Existing entries are changed only in index copies.
+ */
+final class ObjectNameIndex {
+
+    // Per-character upper-casing is the same as String.toUpperCase only for non-Turkish locales
+    private static final boolean ASCII_UPPER_CASE_SAFE = "i".toUpperCase().equals("I"); //$NON-NLS-1$
+
+    private final boolean caseSensitive;
+    private final String[] keys;
+    // Position + 1. Zero means that position wasn't written yet
+    private final int[] positions;
+    private int size;
+
+    ObjectNameIndex(boolean caseSensitive, int expectedSize) {
+        this.caseSensitive = caseSensitive;
+        int capacity = 8;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        this.keys = new String[capacity];
+        this.positions = new int[capacity];
+    }
+
+    private ObjectNameIndex(@NotNull ObjectNameIndex source, int capacity) {
+        this.caseSensitive = source.caseSensitive;
+        if (capacity == source.keys.length) {
+            this.keys = source.keys.clone();
+            this.positions = source.positions.clone();
+        } else {
+            this.keys = new String[capacity];
+            this.positions = new int[capacity];
+            int mask = capacity - 1;
+            for (int k = 0; k < source.keys.length; k++) {
+                if (source.keys[k] != null) {
+                    int i = source.keys[k].hashCode() & mask;
+                    while (keys[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = source.keys[k];
+                    positions[i] = source.positions[k];
+                }
+            }
+        }
+        this.size = source.size;
+    }
+
+    boolean isCaseSensitive() {
+        return caseSensitive;
+    }
+
+    /**
+     * Returns index copy. Copy has enough capacity for the specified number of additional names.
+     */
+    @NotNull
+    ObjectNameIndex copy(int extraSize) {
+        int capacity = keys.length;
+        while ((size + extraSize) * 2 > capacity) {
+            capacity <<= 1;
+        }
+        return new ObjectNameIndex(this, capacity);
+    }
+
+    /**
+     * Checks that name can be added without rehash
+     */
+    boolean hasCapacity() {
+        return (size + 1) * 2 <= keys.length;
+    }
+
+    /**
+     * Finds object position by normalized name. Returns -1 if not found
+     */
+    int getByKey(@NotNull String key) {
+        int mask = keys.length - 1;
+        for (int i = key.hashCode() & mask; ; i = (i + 1) & mask) {
+            String entryKey = keys[i];
+            if (entryKey == null) {
+                return -1;
+            }
+            if (entryKey.equals(key)) {
+                return positions[i] - 1;
+            }
+        }
+    }
+
+    /**
+     * Finds object position by name. Name is normalized according to the index case sensitivity.
+     * Returns -1 if not found
+     */
+    int get(@NotNull String name) {
+        if (caseSensitive) {
+            return getByKey(name);
+        }
+        if (!ASCII_UPPER_CASE_SAFE) {
+            return getByKey(name.toUpperCase());
+        }
+        int length = name.length();
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+            if (c >= 0x80) {
+                // Non-ASCII upper-casing may change string length
+                return getByKey(name.toUpperCase());
+            }
+            hash = 31 * hash + (c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c);
+        }
+        int mask = keys.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            String entryKey = keys[i];
+            if (entryKey == null) {
+                return -1;
+            }
+            if (entryKey.length() == length && isUpperCaseOf(entryKey, name)) {
+                return positions[i] - 1;
+            }
+        }
+    }
+
+    private static boolean isUpperCaseOf(@NotNull String key, @NotNull String name) {
+        for (int i = 0; i < key.length(); i++) {
+            char c = name.charAt(i);
+            if (key.charAt(i) != (c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Puts object position. Returns previous position of the same key or -1.
+     * Index must have capacity for the new name (see {@link #hasCapacity()}).
+     */
+    int put(@NotNull String key, int position) {
+        int mask = keys.length - 1;
+        for (int i = key.hashCode() & mask; ; i = (i + 1) & mask) {
+            String entryKey = keys[i];
+            if (entryKey == null) {
+                // Position goes first: concurrent readers skip keys without position
+                positions[i] = position + 1;
+                keys[i] = key;
+                size++;
+                return -1;
+            }
+            if (entryKey.equals(key)) {
+                int prevPosition = positions[i] - 1;
+                positions[i] = position + 1;
+                return prevPosition;
+            }
+        }
+    }
+
+    /**
+     * Removes name with the specified key. Returns removed position or -1.
+     */
+    int remove(@NotNull String key) {
+        int mask = keys.length - 1;
+        int i = key.hashCode() & mask;
+        for (; ; i = (i + 1) & mask) {
+            if (keys[i] == null) {
+                return -1;
+            }
+            if (keys[i].equals(key)) {
+                break;
+            }
+        }
+        int removed = positions[i] - 1;
+        // Shift following entries of the same cluster back, so lookups don't stop at the gap
+        int gap = i;
+        for (int next = (i + 1) & mask; keys[next] != null; next = (next + 1) & mask) {
+            int home = keys[next].hashCode() & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                positions[gap] = positions[next];
+                gap = next;
+            }
+        }
+        keys[gap] = null;
+        positions[gap] = 0;
+        size--;
+        return removed;
+    }
+
+}
@@ -35,6 +35,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * QMController default implementation
@@ -45,7 +46,8 @@ public class QMControllerImpl implements QMController {
 
     private QMExecutionHandler defaultHandler;
     private QMMCollectorImpl metaHandler;
-    private final List<QMExecutionHandler> handlers = new ArrayList<>();
+    private QMHistoryStore historyStore;
+    private final List<QMExecutionHandler> handlers = new CopyOnWriteArrayList<>();
     private QMEventBrowser eventBrowser;
     private DefaultEventBrowser defaultEventBrowser = new DefaultEventBrowser();
 
@@ -57,21 +59,27 @@ public class QMControllerImpl implements QMController {
 
         metaHandler = new QMMCollectorImpl();
         registerHandler(metaHandler);
+
+        historyStore = new QMHistoryStore();
+        metaHandler.addListener(historyStore);
     }
 
     public void dispose()
     {
+        if (historyStore != null) {
+            metaHandler.removeListener(historyStore);
+            historyStore.dispose();
+            historyStore = null;
+        }
         if (metaHandler != null) {
             unregisterHandler(metaHandler);
             metaHandler.dispose();
             metaHandler = null;
         }
 
-        synchronized (handlers) {
-            if (!handlers.isEmpty()) {
-                log.warn("Some QM handlers are still registered: " + handlers);
-                handlers.clear();
-            }
+        if (!handlers.isEmpty()) {
+            log.warn("Some QM handlers are still registered: " + handlers);
+            handlers.clear();
         }
       	defaultHandler = null;
     }
@@ -99,23 +107,23 @@ public class QMControllerImpl implements QMController {
                 this.eventBrowser = defaultEventBrowser;
             }
         }
+        if (eventBrowser == defaultEventBrowser && historyStore != null && historyStore.isEnabled()) {
+            // Persistent history
+            return historyStore;
+        }
 
         return eventBrowser;
     }
 
     @Override
     public void registerHandler(QMExecutionHandler handler) {
-        synchronized (handlers) {
-            handlers.add(handler);
-        }
+        handlers.add(handler);
     }
 
     @Override
     public void unregisterHandler(QMExecutionHandler handler) {
-        synchronized (handlers) {
-            if (!handlers.remove(handler)) {
-                log.warn("QM handler '" + handler + "' isn't registered within QM controller");
-            }
+        if (!handlers.remove(handler)) {
+            log.warn("QM handler '" + handler + "' isn't registered within QM controller");
         }
     }
 
@@ -133,9 +141,7 @@ public class QMControllerImpl implements QMController {
 
     List<QMExecutionHandler> getHandlers()
     {
-        synchronized (handlers) {
-            return handlers;
-        }
+        return handlers;
     }
 
     private class NotifyInvocationHandler implements InvocationHandler {
@@ -145,11 +151,8 @@ public class QMControllerImpl implements QMController {
         {
             try {
                 if (method.getReturnType() == Void.TYPE && method.getName().startsWith("handle")) {
-                    QMExecutionHandler[] handlersCopy;
-                    synchronized (handlers) {
-                        handlersCopy = handlers.toArray(new QMExecutionHandler[handlers.size()]);
-                    }
-                    for (QMExecutionHandler handler : handlersCopy) {
+                    // Copy-on-write list iteration doesn't need locking
+                    for (QMExecutionHandler handler : handlers) {
                         try {
                             method.invoke(handler, args);
                         } catch (InvocationTargetException e) {
@@ -182,10 +185,14 @@ public class QMControllerImpl implements QMController {
         {
             List<QMMetaEvent> pastEvents = metaHandler.getPastEvents();
             Collections.reverse(pastEvents);
-            if (criteria.getObjectTypes() != null || criteria.getQueryTypes() != null) {
-                // Filter by query type and object type
+            if (criteria.getObjectTypes() != null || criteria.getQueryTypes() != null || criteria.hasTimeRange() || criteria.getMinDuration() > 0) {
+                // Filter by query type, object type, time and duration
                 for (Iterator<QMMetaEvent> iter = pastEvents.iterator(); iter.hasNext(); ) {
                     QMMetaEvent event = iter.next();
+                    if (!matchesTime(event.getObject(), criteria)) {
+                        iter.remove();
+                        continue;
+                    }
                     if (criteria.getObjectTypes() != null) {
                         if (!matchesObjectType(event.getObject(), criteria.getObjectTypes())) {
                             iter.remove();
@@ -227,6 +234,17 @@ public class QMControllerImpl implements QMController {
             }
         }
 
+        private boolean matchesTime(QMMObject object, QMEventCriteria criteria) {
+            long openTime = object.getOpenTime();
+            if (criteria.getFromTime() > 0 && openTime < criteria.getFromTime()) {
+                return false;
+            }
+            if (criteria.getToTime() > 0 && openTime > criteria.getToTime()) {
+                return false;
+            }
+            return criteria.getMinDuration() <= 0 || Math.max(object.getCloseTime() - openTime, 0) >= criteria.getMinDuration();
+        }
+
         private boolean matchesObjectType(QMMObject object, QMObjectType[] objectTypes) {
             if (object instanceof QMMSessionInfo)
                 return ArrayUtils.contains(objectTypes, QMObjectType.session);
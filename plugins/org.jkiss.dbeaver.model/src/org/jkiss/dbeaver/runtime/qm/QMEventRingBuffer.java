@@ -0,0 +1,118 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue with many producers and a single consumer.
+ *
+ * Each slot has a sequence number: producer claims a slot by incrementing tail and publishes element
+ * by advancing slot sequence, consumer frees slot by advancing sequence by capacity.
+ * If queue is full new elements are dropped (and counted), producers never block.
+ */
+public final class QMEventRingBuffer<T> {
+
+    private final int mask;
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    // Accessed by consumer only
+    private long head;
+
+    public QMEventRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.mask = size - 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public int getCapacity() {
+        return elements.length;
+    }
+
+    /**
+     * Total number of elements dropped because queue was full
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Adds element. Returns false if queue is full (element is dropped then).
+     */
+    public boolean offer(@NotNull T element) {
+        for (;;) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    // Volatile write publishes element to consumer
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (sequence < position) {
+                // Slot wasn't consumed yet
+                droppedCount.incrementAndGet();
+                return false;
+            }
+            // Another producer claimed this position, retry
+        }
+    }
+
+    /**
+     * Removes next element. Must be called from the consumer thread only.
+     */
+    @Nullable
+    public T poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            // Empty or producer didn't publish element yet
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        T element = (T) elements[index];
+        elements[index] = null;
+        sequences.set(index, head + elements.length);
+        head++;
+        return element;
+    }
+
+    /**
+     * Moves all published elements to the list. Must be called from the consumer thread only.
+     */
+    public int drainTo(@NotNull List<T> target) {
+        int count = 0;
+        for (T element = poll(); element != null; element = poll()) {
+            target.add(element);
+            count++;
+        }
+        return count;
+    }
+
+}
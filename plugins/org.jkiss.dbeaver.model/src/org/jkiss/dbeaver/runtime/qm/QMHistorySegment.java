@@ -0,0 +1,576 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.qm.QMEventCriteria;
+import org.jkiss.dbeaver.model.qm.meta.QMMSessionInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementExecuteInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementInfo;
+import org.jkiss.utils.ArrayUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Query history segment. Segment keeps queries executed during one day.
+ *
+ * Data file is append-only sequence of length-prefixed records.
+ * Index keeps record offsets, open times, durations, data sources, query types and
+ * a token dictionary of query texts (token -> record numbers). Query texts are not kept in memory.
+ * Index of sealed (past) segment is saved next to data file, index of the active segment is kept in memory.
+ */
+final class QMHistorySegment {
+
+    private static final Log log = Log.getLog(QMHistorySegment.class);
+
+    static final String DATA_FILE_EXT = ".dat"; //$NON-NLS-1$
+    static final String INDEX_FILE_EXT = ".idx"; //$NON-NLS-1$
+
+    private static final int INDEX_VERSION = 3;
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    @NotNull
+    private final String name;
+    @NotNull
+    private final Path dataFile;
+    @NotNull
+    private final Path indexFile;
+    private volatile boolean sealed;
+    // Index of sealed segment may be released and re-read from index file
+    private SoftReference<Index> indexRef;
+    // Index of the active segment is updated on append
+    private Index activeIndex;
+    private DataOutputStream writer;
+    private long writePosition;
+
+    QMHistorySegment(@NotNull Path folder, @NotNull String name, boolean sealed) {
+        this.name = name;
+        this.dataFile = folder.resolve(name + DATA_FILE_EXT);
+        this.indexFile = folder.resolve(name + INDEX_FILE_EXT);
+        this.sealed = sealed;
+    }
+
+    @NotNull
+    String getName() {
+        return name;
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    /**
+     * Closes writer. Segment becomes read-only.
+     */
+    synchronized void seal() {
+        closeWriter();
+        sealed = true;
+        activeIndex = null;
+    }
+
+    synchronized void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.debug("Error closing query history segment " + dataFile, e);
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Deletes segment files
+     */
+    synchronized void delete() throws IOException {
+        closeWriter();
+        Files.deleteIfExists(indexFile);
+        Files.deleteIfExists(dataFile);
+        indexRef = null;
+        activeIndex = null;
+    }
+
+    /**
+     * Appends executed queries to the data file and updates index
+     */
+    synchronized void append(@NotNull List<QMMStatementExecuteInfo> executions) throws IOException {
+        if (writer == null) {
+            writePosition = Files.exists(dataFile) ? Files.size(dataFile) : 0;
+            writer = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(dataFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1000);
+        for (QMMStatementExecuteInfo exec : executions) {
+            buffer.reset();
+            Record record = new Record(exec);
+            record.write(new DataOutputStream(buffer));
+            writer.writeInt(buffer.size());
+            buffer.writeTo(writer);
+            if (activeIndex != null) {
+                activeIndex.add(writePosition, record);
+            }
+            writePosition += 4 + buffer.size();
+        }
+        writer.flush();
+        if (activeIndex != null) {
+            activeIndex.dataLength = writePosition;
+        }
+    }
+
+    /**
+     * Finds records which match criteria. Only indexed properties are checked,
+     * search string match has to be verified on the record itself.
+     * Record offsets are returned in reverse order (fresh records first).
+     */
+    @NotNull
+    synchronized long[] findRecords(@NotNull QMEventCriteria criteria, @NotNull Collection<String> searchTokens) throws IOException {
+        Index index = getIndex();
+        BitSet candidates = null;
+        for (String searchToken : searchTokens) {
+            BitSet tokenRecords = new BitSet(index.count);
+            for (Map.Entry<String, Postings> entry : index.postings.entrySet()) {
+                if (entry.getKey().contains(searchToken)) {
+                    Postings postings = entry.getValue();
+                    for (int i = 0; i < postings.size; i++) {
+                        tokenRecords.set(postings.records[i]);
+                    }
+                }
+            }
+            if (candidates == null) {
+                candidates = tokenRecords;
+            } else {
+                candidates.and(tokenRecords);
+            }
+        }
+        int containerNumber = -1;
+        if (criteria.getContainerId() != null) {
+            Integer number = index.containerNumbers.get(criteria.getContainerId());
+            if (number == null) {
+                return new long[0];
+            }
+            containerNumber = number;
+        }
+        boolean checkPurpose = criteria.getQueryTypes() != null && criteria.hasQueryTypes();
+        long fromTime = criteria.getFromTime();
+        long toTime = criteria.getToTime();
+        long minDuration = criteria.getMinDuration();
+        long[] result = new long[candidates == null ? index.count : candidates.cardinality()];
+        int resultSize = 0;
+        for (int i = index.count - 1; i >= 0; i--) {
+            if (candidates != null && !candidates.get(i)) {
+                continue;
+            }
+            if (containerNumber >= 0 && index.containers[i] != containerNumber) {
+                continue;
+            }
+            if (fromTime > 0 && index.openTimes[i] < fromTime) {
+                continue;
+            }
+            if (toTime > 0 && index.openTimes[i] > toTime) {
+                continue;
+            }
+            if (minDuration > 0 && index.durations[i] < minDuration) {
+                continue;
+            }
+            if (checkPurpose && !ArrayUtils.contains(criteria.getQueryTypes(), DBCExecutionPurpose.values()[index.purposes[i]])) {
+                continue;
+            }
+            result[resultSize++] = index.offsets[i];
+        }
+        return resultSize == result.length ? result : Arrays.copyOf(result, resultSize);
+    }
+
+    /**
+     * Opens data file reader. Reader is used to read records found by {@link #findRecords}.
+     */
+    @NotNull
+    RecordReader openReader() throws IOException {
+        return new RecordReader(dataFile);
+    }
+
+    @NotNull
+    private Index getIndex() throws IOException {
+        if (!sealed) {
+            if (activeIndex == null) {
+                activeIndex = buildIndex();
+            }
+            return activeIndex;
+        }
+        Index index = indexRef == null ? null : indexRef.get();
+        if (index == null) {
+            long dataLength = Files.size(dataFile);
+            if (Files.exists(indexFile)) {
+                try {
+                    index = readIndexFile(dataLength);
+                } catch (IOException e) {
+                    log.debug("Error reading query history index " + indexFile + ". Rebuild index.", e);
+                }
+            }
+            if (index == null) {
+                index = buildIndex();
+                try {
+                    writeIndexFile(index);
+                } catch (IOException e) {
+                    log.debug("Error saving query history index " + indexFile, e);
+                }
+            }
+            indexRef = new SoftReference<>(index);
+        }
+        return index;
+    }
+
+    @NotNull
+    private Index buildIndex() throws IOException {
+        Index index = new Index();
+        if (writer != null) {
+            writer.flush();
+        }
+        if (!Files.exists(dataFile)) {
+            return index;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(dataFile)))) {
+            long position = 0;
+            for (;;) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                byte[] data = new byte[length];
+                try {
+                    in.readFully(data);
+                } catch (EOFException e) {
+                    log.debug("Truncated query history record in " + dataFile);
+                    break;
+                }
+                index.add(position, Record.read(data));
+                position += 4 + length;
+            }
+            index.dataLength = position;
+        }
+        return index;
+    }
+
+    @Nullable
+    private Index readIndexFile(long dataLength) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != INDEX_VERSION || in.readLong() != dataLength) {
+                // Obsolete index
+                return null;
+            }
+            Index index = new Index();
+            index.dataLength = dataLength;
+            int containerCount = in.readInt();
+            for (int i = 0; i < containerCount; i++) {
+                index.getContainerNumber(CommonUtils.notEmpty(readString(in)));
+            }
+            int count = in.readInt();
+            index.ensureCapacity(count);
+            for (int i = 0; i < count; i++) {
+                index.offsets[i] = in.readLong();
+                index.openTimes[i] = in.readLong();
+                index.durations[i] = in.readLong();
+                index.containers[i] = in.readInt();
+                index.purposes[i] = in.readByte();
+            }
+            index.count = count;
+            int tokenCount = in.readInt();
+            for (int i = 0; i < tokenCount; i++) {
+                String token = readString(in);
+                if (token == null) {
+                    throw new IOException("Empty query history index token");
+                }
+                int size = in.readInt();
+                Postings postings = new Postings(size);
+                for (int k = 0; k < size; k++) {
+                    postings.add(in.readInt());
+                }
+                index.postings.put(token, postings);
+            }
+            return index;
+        }
+    }
+
+    private void writeIndexFile(@NotNull Index index) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile)))) {
+            out.writeInt(INDEX_VERSION);
+            out.writeLong(index.dataLength);
+            out.writeInt(index.containerIds.size());
+            for (String containerId : index.containerIds) {
+                writeString(out, containerId);
+            }
+            out.writeInt(index.count);
+            for (int i = 0; i < index.count; i++) {
+                out.writeLong(index.offsets[i]);
+                out.writeLong(index.openTimes[i]);
+                out.writeLong(index.durations[i]);
+                out.writeInt(index.containers[i]);
+                out.writeByte(index.purposes[i]);
+            }
+            out.writeInt(index.postings.size());
+            for (Map.Entry<String, Postings> entry : index.postings.entrySet()) {
+                writeString(out, entry.getKey());
+                Postings postings = entry.getValue();
+                out.writeInt(postings.size);
+                for (int i = 0; i < postings.size; i++) {
+                    out.writeInt(postings.records[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits text on lower-cased word tokens
+     */
+    @NotNull
+    static Set<String> tokenize(@Nullable String text) {
+        if (CommonUtils.isEmpty(text)) {
+            return Collections.emptySet();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        int length = text.length();
+        int tokenStart = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_');
+            if (wordChar) {
+                if (tokenStart < 0) {
+                    tokenStart = i;
+                }
+            } else if (tokenStart >= 0) {
+                if (i - tokenStart >= MIN_TOKEN_LENGTH) {
+                    tokens.add(text.substring(tokenStart, i).toLowerCase(Locale.ENGLISH));
+                }
+                tokenStart = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Writes length-prefixed UTF-8 string. Unlike {@link DataOutputStream#writeUTF} it isn't limited to 64K bytes.
+     */
+    private static void writeString(@NotNull DataOutput out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    @Nullable
+    private static String readString(@NotNull DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class Postings {
+        int[] records;
+        int size;
+
+        Postings(int capacity) {
+            records = new int[Math.max(capacity, 4)];
+        }
+
+        void add(int record) {
+            if (size == records.length) {
+                records = Arrays.copyOf(records, size * 2);
+            }
+            records[size++] = record;
+        }
+    }
+
+    private static class Index {
+        long dataLength;
+        int count;
+        long[] offsets = new long[0];
+        long[] openTimes = new long[0];
+        long[] durations = new long[0];
+        int[] containers = new int[0];
+        byte[] purposes = new byte[0];
+        final List<String> containerIds = new ArrayList<>();
+        final Map<String, Integer> containerNumbers = new HashMap<>();
+        final Map<String, Postings> postings = new HashMap<>();
+
+        void ensureCapacity(int capacity) {
+            if (capacity > offsets.length) {
+                int newCapacity = Math.max(capacity, offsets.length * 2 + 16);
+                offsets = Arrays.copyOf(offsets, newCapacity);
+                openTimes = Arrays.copyOf(openTimes, newCapacity);
+                durations = Arrays.copyOf(durations, newCapacity);
+                containers = Arrays.copyOf(containers, newCapacity);
+                purposes = Arrays.copyOf(purposes, newCapacity);
+            }
+        }
+
+        int getContainerNumber(@NotNull String containerId) {
+            Integer number = containerNumbers.get(containerId);
+            if (number == null) {
+                number = containerIds.size();
+                containerIds.add(containerId);
+                containerNumbers.put(containerId, number);
+            }
+            return number;
+        }
+
+        void add(long offset, @NotNull Record record) {
+            ensureCapacity(count + 1);
+            offsets[count] = offset;
+            openTimes[count] = record.openTime;
+            durations[count] = Math.max(record.closeTime - record.openTime, 0);
+            containers[count] = getContainerNumber(CommonUtils.notEmpty(record.containerId));
+            purposes[count] = (byte) record.purpose.ordinal();
+            for (String token : tokenize(record.queryString)) {
+                postings.computeIfAbsent(token, t -> new Postings(4)).add(count);
+            }
+            count++;
+        }
+    }
+
+    /**
+     * Reads records by offset
+     */
+    static class RecordReader implements Closeable {
+        private final RandomAccessFile file;
+
+        private RecordReader(@NotNull Path dataFile) throws IOException {
+            this.file = new RandomAccessFile(dataFile.toFile(), "r");
+        }
+
+        @NotNull
+        QMMStatementExecuteInfo readRecord(long offset) throws IOException {
+            file.seek(offset);
+            byte[] data = new byte[file.readInt()];
+            file.readFully(data);
+            return Record.read(data).toExecuteInfo();
+        }
+
+        @Override
+        public void close() throws IOException {
+            file.close();
+        }
+    }
+
+    /**
+     * Stored query execution
+     */
+    private static class Record {
+        long openTime;
+        long closeTime;
+        String containerId;
+        String containerName;
+        String driverId;
+        String contextName;
+        DBCExecutionPurpose purpose;
+        boolean transactional;
+        long rowCount;
+        int errorCode;
+        String errorMessage;
+        long fetchBeginTime;
+        long fetchEndTime;
+        String queryString;
+
+        Record() {
+        }
+
+        Record(@NotNull QMMStatementExecuteInfo exec) {
+            QMMStatementInfo statement = exec.getStatement();
+            QMMSessionInfo session = statement.getSession();
+            this.openTime = exec.getOpenTime();
+            this.closeTime = exec.getCloseTime();
+            this.containerId = session.getContainerId();
+            this.containerName = session.getContainerName();
+            this.driverId = session.getDriverId();
+            this.contextName = session.getContextName();
+            this.purpose = statement.getPurpose();
+            this.transactional = exec.isTransactional();
+            this.rowCount = exec.getUpdateRowCount() >= 0 ? exec.getUpdateRowCount() : exec.getFetchRowCount();
+            this.errorCode = exec.getErrorCode();
+            this.errorMessage = exec.getErrorMessage();
+            this.fetchBeginTime = exec.getFetchBeginTime();
+            this.fetchEndTime = exec.getFetchEndTime();
+            this.queryString = exec.getQueryString();
+        }
+
+        void write(@NotNull DataOutputStream out) throws IOException {
+            out.writeLong(openTime);
+            out.writeLong(closeTime);
+            writeString(out, containerId);
+            writeString(out, containerName);
+            writeString(out, driverId);
+            writeString(out, contextName);
+            out.writeByte(purpose == null ? DBCExecutionPurpose.USER.ordinal() : purpose.ordinal());
+            out.writeBoolean(transactional);
+            out.writeLong(rowCount);
+            out.writeInt(errorCode);
+            writeString(out, errorMessage);
+            out.writeLong(fetchBeginTime);
+            out.writeLong(fetchEndTime);
+            writeString(out, queryString);
+        }
+
+        @NotNull
+        static Record read(@NotNull byte[] data) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+            Record record = new Record();
+            record.openTime = in.readLong();
+            record.closeTime = in.readLong();
+            record.containerId = readString(in);
+            record.containerName = readString(in);
+            record.driverId = readString(in);
+            record.contextName = readString(in);
+            int purpose = in.readByte();
+            DBCExecutionPurpose[] purposes = DBCExecutionPurpose.values();
+            record.purpose = purpose >= 0 && purpose < purposes.length ? purposes[purpose] : DBCExecutionPurpose.USER;
+            record.transactional = in.readBoolean();
+            record.rowCount = in.readLong();
+            record.errorCode = in.readInt();
+            record.errorMessage = readString(in);
+            record.fetchBeginTime = in.readLong();
+            record.fetchEndTime = in.readLong();
+            record.queryString = readString(in);
+            return record;
+        }
+
+        @NotNull
+        QMMStatementExecuteInfo toExecuteInfo() {
+            QMMSessionInfo session = new QMMSessionInfo(
+                openTime, closeTime, containerId, containerName, driverId, null, null, contextName, transactional);
+            QMMStatementInfo statement = new QMMStatementInfo(openTime, closeTime, session, purpose);
+            return new QMMStatementExecuteInfo(
+                openTime, closeTime, statement, queryString, rowCount, errorCode, errorMessage, fetchBeginTime, fetchEndTime, transactional);
+        }
+    }
+
+}
@@ -0,0 +1,378 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceListener;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.qm.*;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementExecuteInfo;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.time.Clock;
+import java.util.*;
+
+/**
+ * Persistent query history.
+ *
+ * Executed queries are appended to daily segments ({@link QMHistorySegment}) in the workspace metadata folder.
+ * Store is also a history browser: search uses segment indexes and reads only matched records.
+ * Segments older than {@link QMConstants#PROP_HISTORY_DAYS} days are deleted.
+ */
+public class QMHistoryStore implements QMMetaListener, QMEventBrowser, DBPPreferenceListener {
+
+    private static final Log log = Log.getLog(QMHistoryStore.class);
+
+    public static final String HISTORY_FOLDER = "qm-history"; //$NON-NLS-1$
+
+    private static final String SEGMENT_NAME_PATTERN = "yyyyMMdd"; //$NON-NLS-1$
+
+    @NotNull
+    private final Path folder;
+    @Nullable
+    private final DBPPreferenceStore preferenceStore;
+    @NotNull
+    private final Clock clock;
+    private volatile boolean enabled;
+    private int historyDays;
+    // Segments by name
+    private final Map<String, QMHistorySegment> segments = new TreeMap<>();
+    private QMHistorySegment activeSegment;
+
+    /**
+     * Creates store which follows query manager preferences
+     */
+    public QMHistoryStore() {
+        this(GeneralUtils.getMetadataFolder().resolve(HISTORY_FOLDER), ModelPreferences.getPreferences(), Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates store in the specified folder. Clock defines the current segment.
+     */
+    public QMHistoryStore(@NotNull Path folder, @Nullable DBPPreferenceStore preferenceStore, @NotNull Clock clock) {
+        this.folder = folder;
+        this.preferenceStore = preferenceStore;
+        this.clock = clock;
+        if (preferenceStore != null) {
+            preferenceStore.addPropertyChangeListener(this);
+            loadSettings();
+        }
+    }
+
+    public void dispose() {
+        if (preferenceStore != null) {
+            preferenceStore.removePropertyChangeListener(this);
+        }
+        synchronized (segments) {
+            for (QMHistorySegment segment : segments.values()) {
+                segment.closeWriter();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables history store. Zero history days means no history limit.
+     */
+    void setEnabled(boolean enabled, int historyDays) {
+        this.enabled = enabled;
+        this.historyDays = historyDays;
+        if (enabled) {
+            try {
+                loadSegments();
+            } catch (IOException e) {
+                log.error("Error reading query history folder '" + folder + "'", e);
+            }
+        }
+    }
+
+    private void loadSettings() {
+        setEnabled(
+            preferenceStore.getBoolean(QMConstants.PROP_STORE_HISTORY),
+            preferenceStore.getInt(QMConstants.PROP_HISTORY_DAYS));
+    }
+
+    @Override
+    public void preferenceChange(PreferenceChangeEvent event) {
+        if (event.getProperty().startsWith(QMConstants.PROP_PREFIX)) {
+            loadSettings();
+        }
+    }
+
+    @Override
+    public void metaInfoChanged(@NotNull DBRProgressMonitor monitor, @NotNull List<QMMetaEvent> events) {
+        if (!enabled) {
+            return;
+        }
+        List<QMMStatementExecuteInfo> executions = new ArrayList<>();
+        // Fresh events come first
+        for (int i = events.size() - 1; i >= 0; i--) {
+            QMMetaEvent event = events.get(i);
+            if (event.getAction() == QMMetaEvent.Action.END && event.getObject() instanceof QMMStatementExecuteInfo) {
+                executions.add((QMMStatementExecuteInfo) event.getObject());
+            }
+        }
+        if (executions.isEmpty()) {
+            return;
+        }
+        try {
+            getActiveSegment().append(executions);
+        } catch (IOException e) {
+            log.warn("IO error writing query history. Disable query history store", e);
+            enabled = false;
+        }
+    }
+
+    @Override
+    public QMEventCursor getQueryHistoryCursor(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull QMEventCriteria criteria,
+        @Nullable QMEventFilter filter)
+        throws DBException
+    {
+        if (criteria.hasObjectTypes() && !criteria.hasObjectType(QMObjectType.query)) {
+            // Only queries are stored
+            return new QMUtils.ListCursorImpl(Collections.emptyList());
+        }
+        List<QMHistorySegment> searchSegments;
+        synchronized (segments) {
+            if (criteria.hasTimeRange()) {
+                // Segment names are ordered as their days, so skip segments outside of the time range
+                String fromName = criteria.getFromTime() > 0 ? getSegmentName(criteria.getFromTime()) : null;
+                String toName = criteria.getToTime() > 0 ? getSegmentName(criteria.getToTime()) : null;
+                searchSegments = new ArrayList<>();
+                for (QMHistorySegment segment : segments.values()) {
+                    if ((fromName == null || segment.getName().compareTo(fromName) >= 0) &&
+                        (toName == null || segment.getName().compareTo(toName) <= 0))
+                    {
+                        searchSegments.add(segment);
+                    }
+                }
+            } else {
+                searchSegments = new ArrayList<>(segments.values());
+            }
+        }
+        // Fresh segments first
+        Collections.reverse(searchSegments);
+        return new HistoryCursor(searchSegments, criteria, filter);
+    }
+
+    @NotNull
+    private QMHistorySegment getActiveSegment() throws IOException {
+        String segmentName = getSegmentName(clock.millis());
+        synchronized (segments) {
+            if (activeSegment == null || !activeSegment.getName().equals(segmentName)) {
+                if (activeSegment != null) {
+                    activeSegment.seal();
+                }
+                Files.createDirectories(folder);
+                activeSegment = segments.get(segmentName);
+                if (activeSegment == null) {
+                    activeSegment = new QMHistorySegment(folder, segmentName, false);
+                    segments.put(segmentName, activeSegment);
+                }
+                deleteObsoleteSegments();
+            }
+            return activeSegment;
+        }
+    }
+
+    private void loadSegments() throws IOException {
+        if (!Files.exists(folder)) {
+            return;
+        }
+        String activeName = getSegmentName(clock.millis());
+        synchronized (segments) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(folder, "*" + QMHistorySegment.DATA_FILE_EXT)) {
+                for (Path file : files) {
+                    String fileName = file.getFileName().toString();
+                    String segmentName = fileName.substring(0, fileName.length() - QMHistorySegment.DATA_FILE_EXT.length());
+                    if (!segments.containsKey(segmentName)) {
+                        segments.put(segmentName, new QMHistorySegment(folder, segmentName, !segmentName.equals(activeName)));
+                    }
+                }
+            }
+            deleteObsoleteSegments();
+        }
+    }
+
+    private void deleteObsoleteSegments() {
+        if (historyDays <= 0) {
+            return;
+        }
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(clock.millis());
+        calendar.add(Calendar.DAY_OF_MONTH, -historyDays);
+        String firstSegmentName = getSegmentName(calendar.getTimeInMillis());
+        for (Iterator<QMHistorySegment> iter = segments.values().iterator(); iter.hasNext(); ) {
+            QMHistorySegment segment = iter.next();
+            if (segment.getName().compareTo(firstSegmentName) < 0 && segment != activeSegment) {
+                try {
+                    segment.delete();
+                    iter.remove();
+                } catch (IOException e) {
+                    log.debug("Error deleting query history segment " + segment.getName(), e);
+                }
+            }
+        }
+    }
+
+    @NotNull
+    private static String getSegmentName(long time) {
+        return new SimpleDateFormat(SEGMENT_NAME_PATTERN, Locale.ENGLISH).format(new Date(time));
+    }
+
+    /**
+     * Reads matched records segment by segment, fresh records first
+     */
+    private static class HistoryCursor implements QMEventCursor {
+
+        private final List<QMHistorySegment> segments;
+        private final QMEventCriteria criteria;
+        @Nullable
+        private final QMEventFilter filter;
+        @Nullable
+        private final String searchString;
+        private final Set<String> searchTokens;
+        private int segmentIndex = -1;
+        private long[] records;
+        private int recordIndex;
+        private QMHistorySegment.RecordReader reader;
+        private QMMetaEvent nextEvent;
+
+        HistoryCursor(@NotNull List<QMHistorySegment> segments, @NotNull QMEventCriteria criteria, @Nullable QMEventFilter filter) {
+            this.segments = segments;
+            this.criteria = criteria;
+            this.filter = filter;
+            this.searchString = CommonUtils.isEmpty(criteria.getSearchString()) ? null : criteria.getSearchString().toLowerCase(Locale.ENGLISH);
+            this.searchTokens = QMHistorySegment.tokenize(searchString);
+        }
+
+        /**
+         * Returns number of indexed matches. Search string match isn't verified so actual number of events may be less.
+         */
+        @Override
+        public long getTotalSize() {
+            long totalSize = 0;
+            for (QMHistorySegment segment : segments) {
+                try {
+                    totalSize += segment.findRecords(criteria, searchTokens).length;
+                } catch (IOException e) {
+                    log.debug("Error searching query history segment " + segment.getName(), e);
+                }
+            }
+            return totalSize;
+        }
+
+        @Override
+        public void scroll(int position, DBRProgressMonitor monitor) throws DBException {
+            for (int i = 0; i < position; i++) {
+                if (!hasNextEvent(monitor)) {
+                    throw new DBException("Position is out of range (" + i + ")");
+                }
+                nextEvent(monitor);
+            }
+        }
+
+        @Override
+        public boolean hasNextEvent(DBRProgressMonitor monitor) throws DBException {
+            try {
+                while (nextEvent == null) {
+                    if (records == null || recordIndex >= records.length) {
+                        if (!nextSegment()) {
+                            return false;
+                        }
+                        continue;
+                    }
+                    if (monitor.isCanceled()) {
+                        return false;
+                    }
+                    QMMStatementExecuteInfo exec = reader.readRecord(records[recordIndex++]);
+                    if (searchString != null &&
+                        (exec.getQueryString() == null || !exec.getQueryString().toLowerCase(Locale.ENGLISH).contains(searchString)))
+                    {
+                        continue;
+                    }
+                    QMMetaEvent event = new QMMetaEvent(exec, QMMetaEvent.Action.END);
+                    if (filter == null || filter.accept(event)) {
+                        nextEvent = event;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new DBException("Error reading query history", e);
+            }
+        }
+
+        @Override
+        public QMMetaEvent nextEvent(DBRProgressMonitor monitor) throws DBException {
+            if (!hasNextEvent(monitor)) {
+                throw new DBException("No more events in query history");
+            }
+            QMMetaEvent event = nextEvent;
+            nextEvent = null;
+            return event;
+        }
+
+        private boolean nextSegment() throws IOException {
+            closeReader();
+            records = null;
+            while (++segmentIndex < segments.size()) {
+                QMHistorySegment segment = segments.get(segmentIndex);
+                long[] segmentRecords = segment.findRecords(criteria, searchTokens);
+                if (segmentRecords.length > 0) {
+                    records = segmentRecords;
+                    recordIndex = 0;
+                    reader = segment.openReader();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void closeReader() {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    log.debug(e);
+                }
+                reader = null;
+            }
+        }
+
+        @Override
+        public void close() {
+            closeReader();
+        }
+    }
+
+}
@@ -30,14 +30,23 @@ import org.jkiss.dbeaver.model.qm.QMMetaListener;
 import org.jkiss.dbeaver.model.qm.meta.*;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
-import org.jkiss.utils.LongKeyMap;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * Query manager execution handler implementation
+ * Query manager execution handler implementation.
+ *
+ * Handlers don't use global locks: session state is modified under the session monitor
+ * (sessions are independent) and meta events are put in a bounded lock-free queue.
+ * Events are delivered to listeners and to the history by a single dispatcher job.
+ * If the queue overflows events are dropped and counted.
  */
 public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMCollector {
 
@@ -45,28 +54,31 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
 
     private static final long EVENT_DISPATCH_PERIOD = 250;
     private static final int MAX_HISTORY_EVENTS = 10000;
+    private static final int EVENT_QUEUE_SIZE = 1 << 16;
 
     // Session map
-    private LongKeyMap<QMMSessionInfo> sessionMap = new LongKeyMap<>();
-    private List<Long> closedSessions = new ArrayList<>();
+    private final Map<Long, QMMSessionInfo> sessionMap = new ConcurrentHashMap<>();
+    private final Queue<Long> closedSessions = new ConcurrentLinkedQueue<>();
 
     // External listeners
-    private final List<QMMetaListener> listeners = new ArrayList<>();
+    private final List<QMMetaListener> listeners = new CopyOnWriteArrayList<>();
 
-    // Temporary event pool
-    private List<QMMetaEvent> eventPool = new ArrayList<>();
+    // Events which are not dispatched yet
+    private final QMEventRingBuffer<QMMetaEvent> eventQueue = new QMEventRingBuffer<>(EVENT_QUEUE_SIZE);
     // Sync object
     private final Object historySync = new Object();
-    // History (may be purged when limit reached)
-    private List<QMMetaEvent> pastEvents = new ArrayList<>();
-    private boolean running = true;
+    // History (circular buffer, oldest events are overwritten when limit reached)
+    private final QMMetaEvent[] pastEvents = new QMMetaEvent[MAX_HISTORY_EVENTS];
+    private int pastEventsStart;
+    private int pastEventsCount;
+    private volatile boolean running = true;
 
     public QMMCollectorImpl()
     {
         new EventDispatcher().schedule(EVENT_DISPATCH_PERIOD);
     }
 
-    public synchronized void dispose()
+    public void dispose()
     {
         if (!sessionMap.isEmpty()) {
             List<QMMSessionInfo> openSessions = new ArrayList<>();
@@ -79,11 +91,9 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
                 log.warn("Some sessions are still open: " + openSessions);
             }
         }
-        synchronized (listeners) {
-            if (!listeners.isEmpty()) {
-                log.warn("Some QM meta collector listeners are still open: " + listeners);
-                listeners.clear();
-            }
+        if (!listeners.isEmpty()) {
+            log.warn("Some QM meta collector listeners are still open: " + listeners);
+            listeners.clear();
         }
         running = false;
     }
@@ -102,46 +112,27 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
 
     public void addListener(QMMetaListener listener)
     {
-        synchronized (listeners) {
-            listeners.add(listener);
-        }
+        listeners.add(listener);
     }
 
     public void removeListener(QMMetaListener listener)
     {
-        synchronized (listeners) {
-            if (!listeners.remove(listener)) {
-                log.warn("Listener '" + listener + "' is not registered in QM meta collector");
-            }
+        if (!listeners.remove(listener)) {
+            log.warn("Listener '" + listener + "' is not registered in QM meta collector");
         }
     }
 
-    private List<QMMetaListener> getListeners()
+    /**
+     * Number of events dropped because dispatcher didn't keep up with event producers
+     */
+    public long getDroppedEventCount()
     {
-        synchronized (listeners) {
-            if (listeners.isEmpty()) {
-                return Collections.emptyList();
-            }
-            if (listeners.size() == 1) {
-                return Collections.singletonList(listeners.get(0));
-            }
-            return new ArrayList<>(listeners);
-        }
+        return eventQueue.getDroppedCount();
     }
 
-    private synchronized void fireMetaEvent(final QMMObject object, final QMMetaEvent.Action action)
+    private void fireMetaEvent(final QMMObject object, final QMMetaEvent.Action action)
     {
-        eventPool.add(new QMMetaEvent(object, action));
-    }
-
-    private synchronized List<QMMetaEvent> obtainEvents()
-    {
-        if (eventPool.isEmpty()) {
-            return Collections.emptyList();
-        }
-        List<QMMetaEvent> events = eventPool;
-        eventPool = new ArrayList<>();
-        return events;
+        eventQueue.offer(new QMMetaEvent(object, action));
     }
 
     public QMMSessionInfo getSessionInfo(DBCExecutionContext context)
@@ -156,154 +147,200 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
     public List<QMMetaEvent> getPastEvents()
     {
         synchronized (historySync) {
-            return new ArrayList<>(pastEvents);
+            List<QMMetaEvent> events = new ArrayList<>(pastEventsCount);
+            for (int i = 0; i < pastEventsCount; i++) {
+                events.add(pastEvents[(pastEventsStart + i) % pastEvents.length]);
+            }
+            return events;
+        }
+    }
+
+    private void addPastEvents(List<QMMetaEvent> events)
+    {
+        synchronized (historySync) {
+            for (QMMetaEvent event : events) {
+                if (pastEventsCount < pastEvents.length) {
+                    pastEvents[(pastEventsStart + pastEventsCount) % pastEvents.length] = event;
+                    pastEventsCount++;
+                } else {
+                    // Overwrite the oldest event
+                    pastEvents[pastEventsStart] = event;
+                    pastEventsStart = (pastEventsStart + 1) % pastEvents.length;
+                }
+            }
         }
     }
 
     @Override
-    public synchronized void handleContextOpen(@NotNull DBCExecutionContext context, boolean transactional)
+    public void handleContextOpen(@NotNull DBCExecutionContext context, boolean transactional)
     {
         final long contextId = context.getContextId();
         QMMSessionInfo session = sessionMap.get(contextId);
         if (session == null) {
-            session = new QMMSessionInfo(
+            QMMSessionInfo newSession = new QMMSessionInfo(
                 context,
                 transactional);
-            sessionMap.put(contextId, session);
-        } else {
+            session = sessionMap.putIfAbsent(contextId, newSession);
+            if (session == null) {
+                synchronized (newSession) {
+                    fireMetaEvent(newSession, QMMetaEvent.Action.BEGIN);
+                }
+                return;
+            }
+        }
+        synchronized (session) {
             // This session may already be in cache in case of reconnect/invalidate
             // (when context closed and reopened without new context object creation)
             session.reopen(context);
+            // Notify
+            fireMetaEvent(session, QMMetaEvent.Action.BEGIN);
         }
-
-        // Remove from closed sessions (in case of re-opened connection)
-        closedSessions.remove(contextId);
-        // Notify
-        fireMetaEvent(session, QMMetaEvent.Action.BEGIN);
     }
 
     @Override
-    public synchronized void handleContextClose(@NotNull DBCExecutionContext context)
+    public void handleContextClose(@NotNull DBCExecutionContext context)
     {
         QMMSessionInfo session = getSessionInfo(context);
         if (session != null) {
-            session.close();
-            fireMetaEvent(session, QMMetaEvent.Action.END);
+            synchronized (session) {
+                session.close();
+                fireMetaEvent(session, QMMetaEvent.Action.END);
+            }
         }
         closedSessions.add(context.getContextId());
     }
 
     @Override
-    public synchronized void handleTransactionAutocommit(@NotNull DBCExecutionContext context, boolean autoCommit)
+    public void handleTransactionAutocommit(@NotNull DBCExecutionContext context, boolean autoCommit)
     {
         QMMSessionInfo sessionInfo = getSessionInfo(context);
         if (sessionInfo != null) {
-            QMMTransactionInfo oldTxn = sessionInfo.changeTransactional(!autoCommit);
-            if (oldTxn != null) {
-                fireMetaEvent(oldTxn, QMMetaEvent.Action.END);
+            synchronized (sessionInfo) {
+                QMMTransactionInfo oldTxn = sessionInfo.changeTransactional(!autoCommit);
+                if (oldTxn != null) {
+                    fireMetaEvent(oldTxn, QMMetaEvent.Action.END);
+                }
+                fireMetaEvent(sessionInfo, QMMetaEvent.Action.UPDATE);
             }
-            fireMetaEvent(sessionInfo, QMMetaEvent.Action.UPDATE);
         }
     }
 
     @Override
-    public synchronized void handleTransactionCommit(@NotNull DBCExecutionContext context)
+    public void handleTransactionCommit(@NotNull DBCExecutionContext context)
     {
         QMMSessionInfo sessionInfo = getSessionInfo(context);
         if (sessionInfo != null) {
-            QMMTransactionInfo oldTxn = sessionInfo.commit();
-            if (oldTxn != null) {
-                fireMetaEvent(oldTxn, QMMetaEvent.Action.END);
+            synchronized (sessionInfo) {
+                QMMTransactionInfo oldTxn = sessionInfo.commit();
+                if (oldTxn != null) {
+                    fireMetaEvent(oldTxn, QMMetaEvent.Action.END);
+                }
             }
         }
     }
 
     @Override
-    public synchronized void handleTransactionRollback(@NotNull DBCExecutionContext context, DBCSavepoint savepoint)
+    public void handleTransactionRollback(@NotNull DBCExecutionContext context, DBCSavepoint savepoint)
     {
         QMMSessionInfo sessionInfo = getSessionInfo(context);
         if (sessionInfo != null) {
-            QMMObject oldTxn = sessionInfo.rollback(savepoint);
-            if (oldTxn != null) {
-                fireMetaEvent(oldTxn, QMMetaEvent.Action.END);
+            synchronized (sessionInfo) {
+                QMMObject oldTxn = sessionInfo.rollback(savepoint);
+                if (oldTxn != null) {
+                    fireMetaEvent(oldTxn, QMMetaEvent.Action.END);
+                }
             }
         }
     }
 
     @Override
-    public synchronized void handleStatementOpen(@NotNull DBCStatement statement)
+    public void handleStatementOpen(@NotNull DBCStatement statement)
     {
         QMMSessionInfo session = getSessionInfo(statement.getSession().getExecutionContext());
         if (session != null) {
-            QMMStatementInfo stat = session.openStatement(statement);
-            fireMetaEvent(stat, QMMetaEvent.Action.BEGIN);
+            synchronized (session) {
+                QMMStatementInfo stat = session.openStatement(statement);
+                fireMetaEvent(stat, QMMetaEvent.Action.BEGIN);
+            }
         }
     }
 
     @Override
-    public synchronized void handleStatementClose(@NotNull DBCStatement statement, long rows)
+    public void handleStatementClose(@NotNull DBCStatement statement, long rows)
     {
         QMMSessionInfo session = getSessionInfo(statement.getSession().getExecutionContext());
         if (session != null) {
-            QMMStatementInfo stat = session.closeStatement(statement, rows);
-            if (stat == null) {
-                log.warn("Can't properly handle statement close");
-            } else {
-                fireMetaEvent(stat, QMMetaEvent.Action.END);
+            synchronized (session) {
+                QMMStatementInfo stat = session.closeStatement(statement, rows);
+                if (stat == null) {
+                    log.warn("Can't properly handle statement close");
+                } else {
+                    fireMetaEvent(stat, QMMetaEvent.Action.END);
+                }
             }
         }
     }
 
     @Override
-    public synchronized void handleStatementExecuteBegin(@NotNull DBCStatement statement)
+    public void handleStatementExecuteBegin(@NotNull DBCStatement statement)
     {
         QMMSessionInfo session = getSessionInfo(statement.getSession().getExecutionContext());
         if (session != null) {
-            QMMStatementExecuteInfo exec = session.beginExecution(statement);
-            if (exec != null) {
-                fireMetaEvent(exec, QMMetaEvent.Action.BEGIN);
+            synchronized (session) {
+                QMMStatementExecuteInfo exec = session.beginExecution(statement);
+                if (exec != null) {
+                    fireMetaEvent(exec, QMMetaEvent.Action.BEGIN);
+                }
             }
         }
     }
 
     @Override
-    public synchronized void handleStatementExecuteEnd(@NotNull DBCStatement statement, long rows, Throwable error)
+    public void handleStatementExecuteEnd(@NotNull DBCStatement statement, long rows, Throwable error)
     {
         QMMSessionInfo session = getSessionInfo(statement.getSession().getExecutionContext());
         if (session != null) {
-            QMMStatementExecuteInfo exec = session.endExecution(statement, rows, error);
-            if (exec != null) {
-                fireMetaEvent(exec, QMMetaEvent.Action.END);
+            synchronized (session) {
+                QMMStatementExecuteInfo exec = session.endExecution(statement, rows, error);
+                if (exec != null) {
+                    fireMetaEvent(exec, QMMetaEvent.Action.END);
+                }
             }
         }
     }
 
     @Override
-    public synchronized void handleResultSetOpen(@NotNull DBCResultSet resultSet)
+    public void handleResultSetOpen(@NotNull DBCResultSet resultSet)
     {
         QMMSessionInfo session = getSessionInfo(resultSet.getSession().getExecutionContext());
         if (session != null) {
-            QMMStatementExecuteInfo exec = session.beginFetch(resultSet);
-            if (exec != null) {
-                fireMetaEvent(exec, QMMetaEvent.Action.UPDATE);
+            synchronized (session) {
+                QMMStatementExecuteInfo exec = session.beginFetch(resultSet);
+                if (exec != null) {
+                    fireMetaEvent(exec, QMMetaEvent.Action.UPDATE);
+                }
             }
         }
     }
 
     @Override
-    public synchronized void handleResultSetClose(@NotNull DBCResultSet resultSet, long rowCount)
+    public void handleResultSetClose(@NotNull DBCResultSet resultSet, long rowCount)
     {
         QMMSessionInfo session = getSessionInfo(resultSet.getSession().getExecutionContext());
         if (session != null) {
-            QMMStatementExecuteInfo exec = session.endFetch(resultSet, rowCount);
-            if (exec != null) {
-                fireMetaEvent(exec, QMMetaEvent.Action.UPDATE);
+            synchronized (session) {
+                QMMStatementExecuteInfo exec = session.endFetch(resultSet, rowCount);
+                if (exec != null) {
+                    fireMetaEvent(exec, QMMetaEvent.Action.UPDATE);
+                }
             }
         }
     }
 
     private class EventDispatcher extends AbstractJob {
 
+        private long reportedDropCount;
+
         protected EventDispatcher()
         {
             super("QM meta events dispatcher");
@@ -314,45 +351,36 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
         @Override
         protected IStatus run(DBRProgressMonitor monitor)
         {
-            final List<QMMetaEvent> events;
-            List<Long> sessionsToClose;
-            synchronized (QMMCollectorImpl.this) {
-                events = obtainEvents();
-                sessionsToClose = closedSessions;
-                closedSessions.clear();
+            final List<QMMetaEvent> events = new ArrayList<>();
+            eventQueue.drainTo(events);
+            long dropCount = eventQueue.getDroppedCount();
+            if (dropCount != reportedDropCount) {
+                log.debug((dropCount - reportedDropCount) + " QM meta events were dropped (event queue is full)");
+                reportedDropCount = dropCount;
             }
             if (!events.isEmpty()) {
-                final List<QMMetaListener> listeners = getListeners();
-                if (!listeners.isEmpty() && !events.isEmpty()) {
-                    // Reverse collection. Fresh events must come first.
-                    Collections.reverse(events);
-                    // Dispatch all events
-                    for (QMMetaListener listener : listeners) {
-                        try {
-                            listener.metaInfoChanged(monitor, events);
-                        } catch (Throwable e) {
-                            log.error("Error notifying event listener", e);
-                        }
-                    }
-                }
-                synchronized (historySync) {
-                    pastEvents.addAll(events);
-                    int size = pastEvents.size();
-                    if (size > MAX_HISTORY_EVENTS) {
-                        pastEvents = new ArrayList<>(pastEvents.subList(
-                            size - MAX_HISTORY_EVENTS,
-                            size));
+                // Reverse collection. Fresh events must come first.
+                Collections.reverse(events);
+                // Dispatch all events
+                for (QMMetaListener listener : listeners) {
+                    try {
+                        listener.metaInfoChanged(monitor, events);
+                    } catch (Throwable e) {
+                        log.error("Error notifying event listener", e);
                     }
                 }
+                addPastEvents(events);
             }
             // Cleanup closed sessions
-            synchronized (QMMCollectorImpl.this) {
-                for (Long sessionId : sessionsToClose) {
-                    final QMMSessionInfo session = sessionMap.get(sessionId);
-                    if (session != null && !session.isClosed()) {
-                        // It is possible (rarely) that session was reopened before event dispatcher run
-                        // In that case just ignore it
-                        sessionMap.remove(sessionId);
+            for (Long sessionId = closedSessions.poll(); sessionId != null; sessionId = closedSessions.poll()) {
+                final QMMSessionInfo session = sessionMap.get(sessionId);
+                // It is possible (rarely) that session was reopened before event dispatcher run
+                // In that case just ignore it
+                if (session != null) {
+                    synchronized (session) {
+                        if (session.isClosed()) {
+                            sessionMap.remove(sessionId, session);
+                        }
                     }
                 }
             }
@@ -22,7 +22,7 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
-import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.DBPErrorAssistant;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
@@ -86,124 +86,151 @@ public class DashboardUpdater {
             }
         }
 
+        // Queries are grouped by execution context, each context is read in a single session
+        Map<DBCExecutionContext, List<MapQueryInfo>> contextMapQueries = new LinkedHashMap<>();
         for (Map.Entry<DBPDataSourceContainer, List<MapQueryInfo>> mqEntry : mapQueries.entrySet()) {
-            monitor.subTask("Read dashboard data");
-            DBPDataSourceContainer dsContainer = mqEntry.getKey();
-            DBPDataSource dataSource = dsContainer.getDataSource();
-            if (dataSource == null) {
+            if (mqEntry.getKey().getDataSource() == null) {
                 continue;
             }
+            for (MapQueryInfo mqi : mqEntry.getValue()) {
+                DBCExecutionContext executionContext = mqi.viewContainer.getExecutionContext();
+                if (executionContext != null) {
+                    contextMapQueries.computeIfAbsent(executionContext, k -> new ArrayList<>()).add(mqi);
+                }
+            }
+        }
+        for (Map.Entry<DBCExecutionContext, List<MapQueryInfo>> mqEntry : contextMapQueries.entrySet()) {
+            monitor.subTask("Read dashboard data");
+            DBCExecutionContext executionContext = mqEntry.getKey();
             try {
-                DBExecUtils.tryExecuteRecover(dashboards, dataSource, param -> {
+                DBExecUtils.tryExecuteRecover(monitor, executionContext.getDataSource(), param -> {
                     try {
-                        for (MapQueryInfo mqi : mqEntry.getValue()) {
-                            readMapQueryData(monitor, mqi);
-                        }
+                        readMapQueryData(monitor, executionContext, mqEntry.getValue());
                     } catch (Throwable e) {
                         throw new InvocationTargetException(e);
                     }
                 });
             } catch (DBException e) {
-                log.debug("Error reading map query data for '" + dsContainer.getName() + "'", e);
+                log.debug("Error reading map query data for '" + executionContext.getDataSource().getContainer().getName() + "'", e);
             }
         }
 
+        Map<DBCExecutionContext, List<DashboardContainer>> contextDashboards = new LinkedHashMap<>();
         for (DashboardContainer dashboard : dashboards) {
-            DBPDataSource dataSource = dashboard.getDataSourceContainer().getDataSource();
-            if (dataSource == null) {
+            if (!dashboard.getDataSourceContainer().isConnected() || DBWorkbench.getPlatform().isShuttingDown()) {
+                monitor.worked(1);
                 continue;
             }
-            try {
-                DBExecUtils.tryExecuteRecover(dashboards, dataSource, param -> {
-                    try {
-                        updateDashboard(monitor, dashboard);
-                    } catch (Throwable e) {
-                        throw new InvocationTargetException(e);
-                    }
-                });
-            } catch (DBException e) {
-                log.debug("Error reading dashboard '" + dashboard.getDashboardId() + "' data: " + GeneralUtils.getRootCause(e).getMessage());
+            if (dashboard.getMapQuery() != null) {
+                fetchDashboardMapData(monitor, dashboard);
+                monitor.worked(1);
+                continue;
+            }
+            DBCExecutionContext executionContext = dashboard.getQueryList().isEmpty() ?
+                null : dashboard.getGroup().getView().getExecutionContext();
+            if (executionContext == null) {
+                monitor.worked(1);
+                continue;
             }
-            monitor.worked(1);
+            contextDashboards.computeIfAbsent(executionContext, k -> new ArrayList<>()).add(dashboard);
+        }
+        for (Map.Entry<DBCExecutionContext, List<DashboardContainer>> dbEntry : contextDashboards.entrySet()) {
+            updateContextDashboards(monitor, dbEntry.getKey(), dbEntry.getValue());
         }
         monitor.done();
     }
 
-    private void readMapQueryData(DBRProgressMonitor monitor, MapQueryInfo mqInfo) throws DBCException {
-        DBCExecutionContext executionContext = mqInfo.viewContainer.getExecutionContext();
-        if (executionContext == null) {
-            return;
-        }
+    private void readMapQueryData(DBRProgressMonitor monitor, DBCExecutionContext executionContext, List<MapQueryInfo> queries) throws DBCException {
         try (DBCSession session = executionContext.openSession(
-            monitor, DBCExecutionPurpose.UTIL, "Read map query '" + mqInfo.mapQuery.getId() + "' data")) {
+            monitor, DBCExecutionPurpose.UTIL, "Read map queries data")) {
             session.enableLogging(false);
-            try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, mqInfo.mapQuery.getQueryText(), false, false, false)) {
-                if (dbStat.executeStatement()) {
-                    try (DBCResultSet dbResults = dbStat.openResultSet()) {
-                        mqInfo.timestamp = new Date();
-                        while (dbResults.nextRow()) {
-                            String mapKey = CommonUtils.toString(dbResults.getAttributeValue(0));
-                            Object mapValue = dbResults.getAttributeValue(1);
-                            mqInfo.mapValue.put(mapKey, mapValue);
+            for (MapQueryInfo mqInfo : queries) {
+                try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, mqInfo.mapQuery.getQueryText(), false, false, false)) {
+                    if (dbStat.executeStatement()) {
+                        try (DBCResultSet dbResults = dbStat.openResultSet()) {
+                            mqInfo.timestamp = new Date();
+                            while (dbResults.nextRow()) {
+                                String mapKey = CommonUtils.toString(dbResults.getAttributeValue(0));
+                                Object mapValue = dbResults.getAttributeValue(1);
+                                mqInfo.mapValue.put(mapKey, mapValue);
+                            }
                         }
                     }
+                } catch (Exception e) {
+                    throw new DBCException("Error reading map query '" + mqInfo.mapQuery.getId() + "' data", e, executionContext);
                 }
             }
-        } catch (Exception e) {
-            throw new DBCException("Error reading map query data", e);
         }
     }
 
-    private void updateDashboard(DBRProgressMonitor monitor, DashboardContainer dashboard) throws DBCException {
-        if (!dashboard.getDataSourceContainer().isConnected() || DBWorkbench.getPlatform().isShuttingDown()) {
-            return;
-        }
-
-        if (dashboard.getMapQuery() != null) {
-            fetchDashboardMapData(monitor, dashboard);
-            return;
-        }
-        List<? extends DashboardQuery> queries = dashboard.getQueryList();
-        if (queries.isEmpty()) {
-            return;
-        }
-        DashboardViewContainer view = dashboard.getGroup().getView();
-        DBCExecutionContext executionContext = view.getExecutionContext();
-        if (executionContext == null) {
-            return;
-        }
-        try (DBCSession session = executionContext.openSession(
-            monitor, DBCExecutionPurpose.UTIL, "Read dashboard '" + dashboard.getDashboardTitle() + "' data")) {
-            session.enableLogging(false);
-
-            DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
-            boolean revertTxn = false;
-            if (false) {
+    /**
+     * Reads all dashboards of the execution context in a single session.
+     * Statements are prepared once per query text and re-executed for dashboards with the same query.
+     * Dashboard errors don't stop other dashboards, unless context has to be recovered.
+     */
+    private void updateContextDashboards(DBRProgressMonitor monitor, DBCExecutionContext executionContext, List<DashboardContainer> dashboards) {
+        DBPDataSource dataSource = executionContext.getDataSource();
+        // Dashboards read before the context recover are not read again
+        Set<DashboardContainer> processed = new HashSet<>();
+        try {
+            DBExecUtils.tryExecuteRecover(monitor, dataSource, param -> {
                 // FIXME: dashboards must be queued in auto-commit mode?
                 // FIXME: we can't switch to auto-commit because connection may be used by another tasks (e.g. SQL editor)
-                if (txnManager != null && txnManager.isSupportsTransactions() && !txnManager.isAutoCommit()) {
-                    txnManager.setAutoCommit(monitor, true);
-                    revertTxn = true;
-                }
-            }
-            try {
-                for (DashboardQuery query : queries) {
-                    try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.getQueryText(), false, false, false)) {
-                        if (dbStat.executeStatement()) {
-                            try (DBCResultSet dbResults = dbStat.openResultSet()) {
-                                if (dbResults != null) {
-                                    fetchDashboardData(dashboard, dbResults);
+                try (DBCSession session = executionContext.openSession(
+                    monitor, DBCExecutionPurpose.UTIL, "Read dashboards data")) {
+                    session.enableLogging(false);
+                    Map<String, DBCStatement> statements = new HashMap<>();
+                    try {
+                        for (DashboardContainer dashboard : dashboards) {
+                            if (monitor.isCanceled() || DBWorkbench.getPlatform().isShuttingDown()) {
+                                break;
+                            }
+                            if (processed.contains(dashboard)) {
+                                continue;
+                            }
+                            try {
+                                updateDashboard(session, statements, dashboard);
+                            } catch (DBCException e) {
+                                DBPErrorAssistant.ErrorType errorType = DBExecUtils.discoverErrorType(dataSource, e);
+                                if (errorType == DBPErrorAssistant.ErrorType.CONNECTION_LOST || errorType == DBPErrorAssistant.ErrorType.TRANSACTION_ABORTED) {
+                                    throw e;
                                 }
+                                log.debug("Error reading dashboard '" + dashboard.getDashboardId() + "' data: " + GeneralUtils.getRootCause(e).getMessage());
                             }
+                            processed.add(dashboard);
+                            monitor.worked(1);
+                        }
+                    } finally {
+                        for (DBCStatement dbStat : statements.values()) {
+                            dbStat.close();
                         }
-                    } catch (Exception e) {
-                        throw new DBCException("Error updating dashboard " + dashboard.getDashboardId(), e, session.getExecutionContext());
                     }
+                } catch (Throwable e) {
+                    throw new InvocationTargetException(e);
+                }
+            });
+        } catch (DBException e) {
+            log.debug("Error reading dashboards data for '" + dataSource.getContainer().getName() + "': " + GeneralUtils.getRootCause(e).getMessage());
+        }
+    }
+
+    private void updateDashboard(DBCSession session, Map<String, DBCStatement> statements, DashboardContainer dashboard) throws DBCException {
+        for (DashboardQuery query : dashboard.getQueryList()) {
+            try {
+                DBCStatement dbStat = statements.get(query.getQueryText());
+                if (dbStat == null) {
+                    dbStat = session.prepareStatement(DBCStatementType.QUERY, query.getQueryText(), false, false, false);
+                    statements.put(query.getQueryText(), dbStat);
                 }
-            } finally {
-                if (revertTxn) {
-                    txnManager.setAutoCommit(monitor, false);
+                if (dbStat.executeStatement()) {
+                    try (DBCResultSet dbResults = dbStat.openResultSet()) {
+                        if (dbResults != null) {
+                            fetchDashboardData(dashboard, dbResults);
+                        }
+                    }
                 }
+            } catch (Exception e) {
+                throw new DBCException("Error updating dashboard " + dashboard.getDashboardId(), e, session.getExecutionContext());
             }
         }
     }
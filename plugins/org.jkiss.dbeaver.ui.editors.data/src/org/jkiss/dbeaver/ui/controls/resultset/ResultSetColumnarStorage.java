@@ -0,0 +1,652 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.utils.CommonUtils;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Columnar row storage.
+ * Keeps values of simple (numeric, string, boolean) columns in primitive arrays instead of
+ * per-row Object[] with boxed values. Strings are dictionary-encoded while it pays off.
+ * Decimals are kept as unscaled long and scale while they fit in long.
+ * Column type is detected by the first non-null value. If some value doesn't match the
+ * column type then column is converted to plain object array.
+ */
+class ResultSetColumnarStorage implements ResultSetRowStorage {
+
+    private static final int INITIAL_CAPACITY = 256;
+    // Do not try to dictionary-encode strings if there are too many distinct values
+    private static final int DICTIONARY_CHECK_THRESHOLD = 4096;
+
+    private final Column[] columns;
+    private int rowCount;
+    private int capacity;
+
+    ResultSetColumnarStorage(int columnCount) {
+        this.columns = new Column[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = new UntypedColumn();
+        }
+        this.capacity = 0;
+    }
+
+    /**
+     * Checks whether result set with specified attributes may be stored in columns.
+     * All top-level attributes must be of simple data kind and mustn't have nested bindings.
+     */
+    static boolean isSupported(@NotNull DBDAttributeBinding[] attributes) {
+        if (attributes.length == 0) {
+            return false;
+        }
+        for (DBDAttributeBinding attr : attributes) {
+            if (attr.isCustom()) {
+                continue;
+            }
+            if (!CommonUtils.isEmpty(attr.getNestedBindings())) {
+                return false;
+            }
+            DBPDataKind dataKind = attr.getDataKind();
+            if (dataKind != DBPDataKind.NUMERIC && dataKind != DBPDataKind.STRING && dataKind != DBPDataKind.BOOLEAN) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int addRow(@NotNull Object[] values) {
+        if (rowCount == capacity) {
+            int newCapacity = capacity == 0 ? INITIAL_CAPACITY : capacity + (capacity >> 1);
+            for (Column column : columns) {
+                column.ensureCapacity(newCapacity);
+            }
+            capacity = newCapacity;
+        }
+        int index = rowCount;
+        for (int i = 0; i < columns.length; i++) {
+            Object value = i < values.length ? values[i] : null;
+            if (!columns[i].set(index, value)) {
+                // Value type mismatch
+                columns[i] = columns[i].convert(value, index, capacity);
+                columns[i].set(index, value);
+            }
+        }
+        rowCount++;
+        return index;
+    }
+
+    @Nullable
+    @Override
+    public Object getValue(int row, int column) {
+        if (column >= columns.length) {
+            return null;
+        }
+        return columns[column].get(row);
+    }
+
+    @NotNull
+    @Override
+    public Object[] getRowValues(int row) {
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = columns[i].get(row);
+        }
+        return values;
+    }
+
+    /**
+     * Compares primitive values without boxing
+     */
+    @Override
+    public int compareValues(int column, int row1, int row2) {
+        return columns[column].compare(row1, row2);
+    }
+
+    @Override
+    public void releaseRow(int row) {
+        for (Column column : columns) {
+            if (column instanceof ObjectColumn) {
+                DBUtils.releaseValue(column.get(row));
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        // Nothing to release. Arrays will be garbage collected
+    }
+
+    private abstract static class Column {
+        // Null bitmap
+        long[] nulls = new long[0];
+
+        abstract void ensureCapacity(int capacity);
+
+        /**
+         * Sets value. Returns false if value type doesn't match column type.
+         */
+        abstract boolean set(int row, @Nullable Object value);
+
+        @Nullable
+        abstract Object get(int row);
+
+        abstract int compareNotNull(int row1, int row2);
+
+        int compare(int row1, int row2) {
+            boolean null1 = isNull(row1), null2 = isNull(row2);
+            if (null1 && null2) {
+                return 0;
+            } else if (null1) {
+                return 1;
+            } else if (null2) {
+                return -1;
+            }
+            return compareNotNull(row1, row2);
+        }
+
+        void ensureNullsCapacity(int capacity) {
+            int words = (capacity + 63) >> 6;
+            if (nulls.length < words) {
+                nulls = Arrays.copyOf(nulls, words);
+            }
+        }
+
+        boolean isNull(int row) {
+            return (nulls[row >> 6] & (1L << row)) != 0;
+        }
+
+        void setNull(int row) {
+            nulls[row >> 6] |= 1L << row;
+        }
+
+        /**
+         * Makes column which can hold the specified value
+         */
+        @NotNull
+        Column convert(@NotNull Object value, int rowCount, int capacity) {
+            ObjectColumn objColumn = new ObjectColumn();
+            objColumn.ensureCapacity(capacity);
+            for (int i = 0; i < rowCount; i++) {
+                objColumn.set(i, get(i));
+            }
+            return objColumn;
+        }
+    }
+
+    /**
+     * Column with no non-null values yet. Is replaced with typed column on the first value
+     */
+    private static class UntypedColumn extends Column {
+
+        @Override
+        void ensureCapacity(int capacity) {
+            ensureNullsCapacity(capacity);
+        }
+
+        @Override
+        boolean set(int row, @Nullable Object value) {
+            if (value == null) {
+                setNull(row);
+                return true;
+            }
+            return false;
+        }
+
+        @Nullable
+        @Override
+        Object get(int row) {
+            return null;
+        }
+
+        @Override
+        int compareNotNull(int row1, int row2) {
+            return 0;
+        }
+
+        @NotNull
+        @Override
+        Column convert(@NotNull Object value, int rowCount, int capacity) {
+            Column column = createTypedColumn(value.getClass());
+            column.nulls = nulls;
+            column.ensureCapacity(capacity);
+            return column;
+        }
+
+        @NotNull
+        private static Column createTypedColumn(@NotNull Class<?> valueClass) {
+            if (valueClass == Integer.class) {
+                return new IntColumn();
+            } else if (valueClass == Long.class) {
+                return new LongColumn();
+            } else if (valueClass == Double.class) {
+                return new DoubleColumn();
+            } else if (valueClass == Float.class) {
+                return new FloatColumn();
+            } else if (valueClass == Short.class) {
+                return new ShortColumn();
+            } else if (valueClass == Boolean.class) {
+                return new BooleanColumn();
+            } else if (valueClass == String.class) {
+                return new StringColumn();
+            } else if (valueClass == BigDecimal.class) {
+                return new DecimalColumn();
+            } else {
+                return new ObjectColumn();
+            }
+        }
+    }
+
+    private static class IntColumn extends Column {
+        int[] data = new int[0];
+
+        @Override
+        void ensureCapacity(int capacity) {
+            data = Arrays.copyOf(data, capacity);
+            ensureNullsCapacity(capacity);
+        }
+
+        @Override
+        boolean set(int row, @Nullable Object value) {
+            if (value == null) {
+                setNull(row);
+                return true;
+            } else if (value.getClass() == Integer.class) {
+                data[row] = (Integer) value;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        Object get(int row) {
+            return isNull(row) ? null : data[row];
+        }
+
+        @Override
+        int compareNotNull(int row1, int row2) {
+            return Integer.compare(data[row1], data[row2]);
+        }
+    }
+
+    private static class LongColumn extends Column {
+        long[] data = new long[0];
+
+        @Override
+        void ensureCapacity(int capacity) {
+            data = Arrays.copyOf(data, capacity);
+            ensureNullsCapacity(capacity);
+        }
+
+        @Override
+        boolean set(int row, @Nullable Object value) {
+            if (value == null) {
+                setNull(row);
+                return true;
+            } else if (value.getClass() == Long.class) {
+                data[row] = (Long) value;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        Object get(int row) {
+            return isNull(row) ? null : data[row];
+        }
+
+        @Override
+        int compareNotNull(int row1, int row2) {
+            return Long.compare(data[row1], data[row2]);
+        }
+    }
+
+    private static class DoubleColumn extends Column {
+        double[] data = new double[0];
+
+        @Override
+        void ensureCapacity(int capacity) {
+            data = Arrays.copyOf(data, capacity);
+            ensureNullsCapacity(capacity);
+        }
+
+        @Override
+        boolean set(int row, @Nullable Object value) {
+            if (value == null) {
+                setNull(row);
+                return true;
+            } else if (value.getClass() == Double.class) {
+                data[row] = (Double) value;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        Object get(int row) {
+            return isNull(row) ? null : data[row];
+        }
+
+        @Override
+        int compareNotNull(int row1, int row2) {
+            // The same as CommonUtils.compareNumbers
+            double numDiff = data[row1] - data[row2];
+            return numDiff < 0 ? -1 : (numDiff > 0 ? 1 : 0);
+        }
+    }
+
+    private static class FloatColumn extends Column {
+        float[] data = new float[0];
+
+        @Override
+        void ensureCapacity(int capacity) {
+            data = Arrays.copyOf(data, capacity);
+            ensureNullsCapacity(capacity);
+        }
+
+        @Override
+        boolean set(int row, @Nullable Object value) {
+            if (value == null) {
+                setNull(row);
+                return true;
+            } else if (value.getClass() == Float.class) {
+                data[row] = (Float) value;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        Object get(int row) {
+            return isNull(row) ? null : data[row];
+        }
+
+        @Override
+        int compareNotNull(int row1, int row2) {
+            double numDiff = (double) data[row1] - data[row2];
+            return numDiff < 0 ? -1 : (numDiff > 0 ? 1 : 0);
+        }
+    }
+
+    private static class ShortColumn extends Column {
+        short[] data = new short[0];
+
+        @Override
+        void ensureCapacity(int capacity) {
+            data = Arrays.copyOf(data, capacity);
+            ensureNullsCapacity(capacity);
+        }
+
+        @Override
+        boolean set(int row, @Nullable Object value) {
+            if (value == null) {
+                setNull(row);
+                return true;
+            } else if (value.getClass() == Short.class) {
+                data[row] = (Short) value;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        Object get(int row) {
+            return isNull(row) ? null : data[row];
+        }
+
+        @Override
+        int compareNotNull(int row1, int row2) {
+            return Short.compare(data[row1], data[row2]);
+        }
+    }
+
+    private static class BooleanColumn extends Column {
+        long[] bits = new long[0];
+
+        @Override
+        void ensureCapacity(int capacity) {
+            int words = (capacity + 63) >> 6;
+            if (bits.length < words) {
+                bits = Arrays.copyOf(bits, words);
+            }
+            ensureNullsCapacity(capacity);
+        }
+
+        @Override
+        boolean set(int row, @Nullable Object value) {
+            if (value == null) {
+                setNull(row);
+                return true;
+            } else if (value.getClass() == Boolean.class) {
+                if ((Boolean) value) {
+                    bits[row >> 6] |= 1L << row;
+                }
+                return true;
+            }
+            return false;
+        }
+
+        private boolean getBit(int row) {
+            return (bits[row >> 6] & (1L << row)) != 0;
+        }
+
+        @Override
+        Object get(int row) {
+            return isNull(row) ? null : Boolean.valueOf(getBit(row));
+        }
+
+        @Override
+        int compareNotNull(int row1, int row2) {
+            return Boolean.compare(getBit(row1), getBit(row2));
+        }
+    }
+
+    /**
+     * Dictionary-encoded strings. Falls back to plain string array if values are mostly distinct.
+     */
+    private static class StringColumn extends Column {
+        int[] codes = new int[0];
+        String[] plain;
+        List<String> dictionary = new ArrayList<>();
+        Map<String, Integer> index = new HashMap<>();
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (plain != null) {
+                plain = Arrays.copyOf(plain, capacity);
+            } else {
+                codes = Arrays.copyOf(codes, capacity);
+            }
+            ensureNullsCapacity(capacity);
+        }
+
+        @Override
+        boolean set(int row, @Nullable Object value) {
+            if (value == null) {
+                setNull(row);
+                return true;
+            } else if (value.getClass() != String.class) {
+                return false;
+            }
+            String strValue = (String) value;
+            if (plain != null) {
+                plain[row] = strValue;
+                return true;
+            }
+            Integer code = index.get(strValue);
+            if (code == null) {
+                code = dictionary.size();
+                if (code >= DICTIONARY_CHECK_THRESHOLD && code > row / 2) {
+                    // Too many distinct values. Dictionary costs more than it saves.
+                    switchToPlain(row);
+                    plain[row] = strValue;
+                    return true;
+                }
+                dictionary.add(strValue);
+                index.put(strValue, code);
+            }
+            codes[row] = code;
+            return true;
+        }
+
+        private void switchToPlain(int rowCount) {
+            String[] newPlain = new String[codes.length];
+            for (int i = 0; i < rowCount; i++) {
+                if (!isNull(i)) {
+                    newPlain[i] = dictionary.get(codes[i]);
+                }
+            }
+            plain = newPlain;
+            codes = null;
+            dictionary = null;
+            index = null;
+        }
+
+        @Override
+        Object get(int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            return plain != null ? plain[row] : dictionary.get(codes[row]);
+        }
+
+        @Override
+        int compareNotNull(int row1, int row2) {
+            if (plain == null && codes[row1] == codes[row2]) {
+                return 0;
+            }
+            return ((String) get(row1)).compareTo((String) get(row2));
+        }
+    }
+
+    /**
+     * Decimals with unscaled value which fits in long. Other decimals are kept as is.
+     */
+    private static class DecimalColumn extends Column {
+        long[] unscaled = new long[0];
+        short[] scales = new short[0];
+        // Decimals which don't fit in long. Allocated on the first such value
+        @Nullable
+        BigDecimal[] large;
+
+        @Override
+        void ensureCapacity(int capacity) {
+            unscaled = Arrays.copyOf(unscaled, capacity);
+            scales = Arrays.copyOf(scales, capacity);
+            if (large != null) {
+                large = Arrays.copyOf(large, capacity);
+            }
+            ensureNullsCapacity(capacity);
+        }
+
+        @Override
+        boolean set(int row, @Nullable Object value) {
+            if (value == null) {
+                setNull(row);
+                return true;
+            } else if (value.getClass() != BigDecimal.class) {
+                return false;
+            }
+            BigDecimal decValue = (BigDecimal) value;
+            int scale = decValue.scale();
+            if (scale >= Short.MIN_VALUE && scale <= Short.MAX_VALUE && decValue.unscaledValue().bitLength() < 64) {
+                unscaled[row] = decValue.unscaledValue().longValue();
+                scales[row] = (short) scale;
+            } else {
+                if (large == null) {
+                    large = new BigDecimal[unscaled.length];
+                }
+                large[row] = decValue;
+            }
+            return true;
+        }
+
+        private boolean isCompact(int row) {
+            return large == null || large[row] == null;
+        }
+
+        @Override
+        Object get(int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            return isCompact(row) ? BigDecimal.valueOf(unscaled[row], scales[row]) : large[row];
+        }
+
+        @Override
+        int compareNotNull(int row1, int row2) {
+            if (isCompact(row1) && isCompact(row2) && scales[row1] == scales[row2]) {
+                return Long.compare(unscaled[row1], unscaled[row2]);
+            }
+            return ((BigDecimal) get(row1)).compareTo((BigDecimal) get(row2));
+        }
+    }
+
+    private static class ObjectColumn extends Column {
+        Object[] data = new Object[0];
+
+        @Override
+        void ensureCapacity(int capacity) {
+            data = Arrays.copyOf(data, capacity);
+        }
+
+        @Override
+        boolean set(int row, @Nullable Object value) {
+            data[row] = value;
+            return true;
+        }
+
+        @Override
+        Object get(int row) {
+            return data[row];
+        }
+
+        @Override
+        int compare(int row1, int row2) {
+            return DBUtils.compareDataValues(data[row1], data[row2]);
+        }
+
+        @Override
+        int compareNotNull(int row1, int row2) {
+            return DBUtils.compareDataValues(data[row1], data[row2]);
+        }
+
+        @NotNull
+        @Override
+        Column convert(@NotNull Object value, int rowCount, int capacity) {
+            return this;
+        }
+    }
+
+}
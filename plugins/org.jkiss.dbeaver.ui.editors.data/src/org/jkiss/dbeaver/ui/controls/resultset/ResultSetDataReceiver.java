@@ -42,6 +42,9 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
 
     private static final Log log = Log.getLog(ResultSetDataReceiver.class);
 
+    // Max number of rows buffered in receiver when all rows are fetched
+    private static final int FETCH_ALL_FLUSH_SIZE = 10000;
+
     private ResultSetViewer resultSetViewer;
     private int columnsCount;
     private DBDAttributeBinding[] metaColumns;
@@ -50,6 +53,8 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
     private boolean nextSegmentRead;
     private long offset;
     private long maxRows;
+    // Some rows were already pushed into viewer during fetch
+    private boolean rowsFlushed;
 
     private boolean paused;
 
@@ -93,6 +98,7 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
         throws DBCException {
         this.errorList.clear();
         this.rows.clear();
+        this.rowsFlushed = false;
         this.offset = offset;
         this.maxRows = maxRows;
 
@@ -149,6 +155,27 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
             }
         }
         rows.add(row);
+
+        if (nextSegmentRead && maxRows <= 0 && rows.size() >= FETCH_ALL_FLUSH_SIZE) {
+            // Fetch all rows. Do not accumulate everything in receiver, push rows into viewer by portions.
+            // Thus the model may keep them in a compact form (or spill to disk).
+            flushRows();
+        }
+    }
+
+    private void flushRows() {
+        final List<Object[]> tmpRows = rows;
+        final boolean resetOldRows = !rowsFlushed && isRereadOnScrolling();
+        rows = new ArrayList<>();
+        rowsFlushed = true;
+
+        // Model is read by presentation in UI thread, so it must be modified in UI thread as well
+        UIUtils.syncExec(() -> resultSetViewer.appendData(tmpRows, resetOldRows));
+        UIUtils.asyncExec(() -> resultSetViewer.getActivePresentation().refreshData(false, true, true));
+    }
+
+    private boolean isRereadOnScrolling() {
+        return getDataContainer().getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING);
     }
 
     @Override
@@ -179,8 +206,9 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
             resultSetViewer.setData(tmpRows, focusRow);
         } else {
             monitor.subTask("Append data");
-            boolean resetOldRows = getDataContainer().getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING);
-            resultSetViewer.appendData(tmpRows, resetOldRows);
+            boolean resetOldRows = !rowsFlushed && isRereadOnScrolling();
+            // Appended rows may be spilled to disk, do not race with presentation refresh
+            UIUtils.syncExec(() -> resultSetViewer.appendData(tmpRows, resetOldRows));
         }
         // Check for more data
         hasMoreData = maxRows > 0 && tmpRows.size() >= maxRows;
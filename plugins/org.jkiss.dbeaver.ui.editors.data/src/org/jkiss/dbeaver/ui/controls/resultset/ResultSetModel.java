@@ -24,11 +24,14 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.*;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.trace.DBCTrace;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.struct.*;
 import org.jkiss.dbeaver.model.virtual.DBVColorOverride;
 import org.jkiss.dbeaver.model.virtual.DBVEntity;
@@ -39,6 +42,7 @@ import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -48,6 +52,9 @@ public class ResultSetModel {
 
     private static final Log log = Log.getLog(ResultSetModel.class);
 
+    // Number of recently used row blocks kept in memory when rows are spilled to disk
+    private static final int MAX_HOT_SPILL_BLOCKS = 64;
+
     // Attributes
     private DBDAttributeBinding[] attributes = new DBDAttributeBinding[0];
     private List<DBDAttributeBinding> visibleAttributes = new ArrayList<>();
@@ -58,6 +65,8 @@ public class ResultSetModel {
 
     // Data
     private List<ResultSetRow> curRows = new ArrayList<>();
+    // Shared storage for rows with simple values. Null if rows keep their own values.
+    private ResultSetRowStorage rowStorage;
     private Long totalRowCount = null;
     private int changesCount = 0;
     private volatile boolean hasData = false;
@@ -336,9 +345,12 @@ public class ResultSetModel {
         return curRows;
     }
 
+    /**
+     * Returns values of the row. Result must be treated as read-only.
+     */
     @NotNull
     public Object[] getRowData(int index) {
-        return curRows.get(index).values;
+        return curRows.get(index).peekValues();
     }
 
     @NotNull
@@ -356,7 +368,14 @@ public class ResultSetModel {
 
     @Nullable
     public Object getCellValue(@NotNull DBDAttributeBinding attribute, @NotNull ResultSetRow row) {
-        return DBUtils.getAttributeValue(attribute, attributes, row.values);
+        if (row.isInStorage()) {
+            if (!attribute.isCustom() && attribute.getLevel() == 0) {
+                // Read directly from columns, avoid row materialization
+                return row.getValue(attribute.getOrdinalPosition());
+            }
+            return DBUtils.getAttributeValue(attribute, attributes, row.peekValues());
+        }
+        return DBUtils.getAttributeValue(attribute, attributes, row.getValues());
     }
 
     /**
@@ -379,7 +398,7 @@ public class ResultSetModel {
         } else {
             rootIndex = attr.getTopParent().getOrdinalPosition();
         }
-        Object rootValue = row.values[rootIndex];
+        Object rootValue = row.getValue(rootIndex);
         Object ownerValue = depth > 0 ? rootValue : null;
         {
             // Obtain owner value and create all intermediate values
@@ -485,7 +504,7 @@ public class ResultSetModel {
                     e.printStackTrace();
                 }
             } else {
-                row.values[rootIndex] = value;
+                row.setValue(rootIndex, value);
             }
             return true;
         }
@@ -802,22 +821,98 @@ public class ResultSetModel {
     void appendData(@NotNull List<Object[]> rows, boolean resetOldRows) {
         if (resetOldRows) {
             curRows.clear();
+            disposeRowStorage();
         }
         int rowCount = rows.size();
         int firstRowNum = curRows.size();
+        if (rowStorage == null && firstRowNum == 0 && rowCount > 0 && isColumnarStorageEnabled()) {
+            rowStorage = new ResultSetColumnarStorage(rows.get(0).length);
+        }
         List<ResultSetRow> newRows = new ArrayList<>(rowCount);
         for (int i = 0; i < rowCount; i++) {
-            newRows.add(
-                new ResultSetRow(firstRowNum + i, rows.get(i)));
+            Object[] values = rows.get(i);
+            if (rowStorage != null && values.length <= rowStorage.getColumnCount()) {
+                newRows.add(
+                    new ResultSetRow(firstRowNum + i, rowStorage, rowStorage.addRow(values)));
+            } else {
+                newRows.add(
+                    new ResultSetRow(firstRowNum + i, values));
+            }
         }
         curRows.addAll(newRows);
 
         updateRowColors(resetOldRows, newRows);
+
+        if (!(rowStorage instanceof ResultSetSpillStorage) && isSpillRequired()) {
+            spillRowsToDisk();
+        }
+    }
+
+    private boolean isColumnarStorageEnabled() {
+        if (!ResultSetColumnarStorage.isSupported(attributes)) {
+            return false;
+        }
+        DBPPreferenceStore preferenceStore = getDataSourcePreferenceStore();
+        return preferenceStore != null && preferenceStore.getBoolean(ResultSetPreferences.RESULT_SET_USE_COLUMNAR_STORAGE);
+    }
+
+    private boolean isSpillRequired() {
+        DBPPreferenceStore preferenceStore = getDataSourcePreferenceStore();
+        return preferenceStore != null &&
+            preferenceStore.getBoolean(ResultSetPreferences.RESULT_SET_SPILL_TO_DISK) &&
+            curRows.size() > preferenceStore.getInt(ResultSetPreferences.RESULT_SET_SPILL_THRESHOLD);
+    }
+
+    @Nullable
+    private DBPPreferenceStore getDataSourcePreferenceStore() {
+        DBPDataSource dataSource = attributes.length == 0 ? null : attributes[0].getDataSource();
+        return dataSource == null ? null : dataSource.getContainer().getPreferenceStore();
+    }
+
+    /**
+     * Moves all rows from in-memory storage (or rows own values) to the disk-backed storage.
+     * Only a limited window of recently used row blocks will be kept in heap after this.
+     * Changed and added rows keep their own values.
+     */
+    private void spillRowsToDisk() {
+        if (curRows.isEmpty()) {
+            return;
+        }
+        int columnCount = rowStorage != null ? rowStorage.getColumnCount() : curRows.get(0).getValueCount();
+        ResultSetRowStorage spillStorage;
+        try {
+            spillStorage = new ResultSetSpillStorage(new VoidProgressMonitor(), columnCount, MAX_HOT_SPILL_BLOCKS);
+        } catch (IOException e) {
+            log.error("Can't create result set spill file. Keep all rows in memory.", e);
+            return;
+        }
+        for (ResultSetRow row : curRows) {
+            if (row.isInStorage()) {
+                if (row.getStorage() == rowStorage) {
+                    row.moveToStorage(spillStorage, spillStorage.addRow(rowStorage.getRowValues(row.getStorageIndex())));
+                }
+            } else if (row.getState() == ResultSetRow.STATE_NORMAL && !row.isChanged() && row.getValueCount() <= columnCount) {
+                row.moveToStorage(spillStorage, spillStorage.addRow(row.peekValues()));
+            }
+        }
+        log.debug("Result set rows (" + curRows.size() + ") were spilled to disk");
+        if (rowStorage != null) {
+            rowStorage.dispose();
+        }
+        rowStorage = spillStorage;
+    }
+
+    private void disposeRowStorage() {
+        if (rowStorage != null) {
+            rowStorage.dispose();
+            rowStorage = null;
+        }
     }
 
     void clearData() {
         // Refresh all rows
         this.curRows = new ArrayList<>();
+        this.disposeRowStorage();
         this.totalRowCount = null;
         this.singleSourceEntity = null;
 
@@ -907,6 +1002,9 @@ public class ResultSetModel {
 
     void releaseAllData() {
         final List<ResultSetRow> oldRows = curRows;
+        final ResultSetRowStorage oldStorage = rowStorage;
+        // Storage will be disposed after rows release
+        rowStorage = null;
         // Cleanup in separate job.
         // Sometimes model cleanup takes much time (e.g. freeing LOB values)
         // So let's do it in separate job to avoid UI locking
@@ -914,6 +1012,9 @@ public class ResultSetModel {
             for (ResultSetRow row : oldRows) {
                 row.release();
             }
+            if (oldStorage != null) {
+                oldStorage.dispose();
+            }
         }, "Release values", 5000);
     }
 
@@ -1053,9 +1154,17 @@ public class ResultSetModel {
                     if (binding == null) {
                         continue;
                     }
-                    Object cell1 = getCellValue(binding, row1);
-                    Object cell2 = getCellValue(binding, row2);
-                    result = DBUtils.compareDataValues(cell1, cell2);
+                    ResultSetRowStorage storage = row1.getStorage();
+                    if (storage != null && storage == row2.getStorage() && !binding.isCustom() && binding.getLevel() == 0 &&
+                        binding.getOrdinalPosition() < storage.getColumnCount())
+                    {
+                        // Compare in storage. Avoids boxing of primitive values
+                        result = storage.compareValues(binding.getOrdinalPosition(), row1.getStorageIndex(), row2.getStorageIndex());
+                    } else {
+                        Object cell1 = getCellValue(binding, row1);
+                        Object cell2 = getCellValue(binding, row2);
+                        result = DBUtils.compareDataValues(cell1, cell2);
+                    }
                     if (co.isOrderDescending()) {
                         result = -result;
                     }
@@ -52,9 +52,12 @@ public class ResultSetRow {
     private int rowNumber;
     // Row number in grid
     private int visualNumber;
-    // Column values
-    @NotNull
-    public Object[] values;
+    // Column values. Null if row values are kept in shared storage
+    @Nullable
+    private Object[] values;
+    @Nullable
+    private ResultSetRowStorage storage;
+    private int storageIndex;
     @Nullable
     public Map<DBDAttributeBinding, Object> changes;
     // Row state
@@ -71,11 +74,92 @@ public class ResultSetRow {
         this.state = STATE_NORMAL;
     }
 
+    ResultSetRow(int rowNumber, @NotNull ResultSetRowStorage storage, int storageIndex) {
+        this.rowNumber = rowNumber;
+        this.visualNumber = rowNumber;
+        this.storage = storage;
+        this.storageIndex = storageIndex;
+        this.state = STATE_NORMAL;
+    }
+
+    /**
+     * Returns row values. If row is kept in shared storage then it is detached from it
+     * (values are copied in the row) so the returned array can be modified.
+     * Use {@link #peekValues()} or {@link #getValue(int)} to read values.
+     */
     @NotNull
     public Object[] getValues() {
+        if (values == null) {
+            detachFromStorage();
+        }
         return values;
     }
 
+    void setValues(@NotNull Object[] values) {
+        this.values = values;
+        this.storage = null;
+    }
+
+    /**
+     * Returns row values without detaching row from shared storage.
+     * If row is kept in storage then result is a transient copy, otherwise it is the row values array.
+     * Result must be treated as read-only.
+     */
+    @NotNull
+    public Object[] peekValues() {
+        if (values == null) {
+            assert storage != null;
+            return storage.getRowValues(storageIndex);
+        }
+        return values;
+    }
+
+    public int getValueCount() {
+        if (values == null) {
+            assert storage != null;
+            return storage.getColumnCount();
+        }
+        return values.length;
+    }
+
+    @Nullable
+    public Object getValue(int index) {
+        if (values == null) {
+            assert storage != null;
+            return storage.getValue(storageIndex, index);
+        }
+        return values[index];
+    }
+
+    void setValue(int index, @Nullable Object value) {
+        getValues()[index] = value;
+    }
+
+    boolean isInStorage() {
+        return values == null;
+    }
+
+    @Nullable
+    ResultSetRowStorage getStorage() {
+        return storage;
+    }
+
+    int getStorageIndex() {
+        return storageIndex;
+    }
+
+    void moveToStorage(@NotNull ResultSetRowStorage storage, int storageIndex) {
+        this.values = null;
+        this.storage = storage;
+        this.storageIndex = storageIndex;
+    }
+
+    private void detachFromStorage() {
+        assert storage != null;
+        values = storage.getRowValues(storageIndex);
+        storage = null;
+    }
+
     public boolean isChanged() {
         return changes != null && !changes.isEmpty();
     }
@@ -132,8 +216,12 @@ public class ResultSetRow {
     }
 
     void release() {
-        for (Object value : values) {
-            DBUtils.releaseValue(value);
+        if (values != null) {
+            for (Object value : values) {
+                DBUtils.releaseValue(value);
+            }
+        } else if (storage != null) {
+            storage.releaseRow(storageIndex);
         }
         if (changes != null) {
             for (Object oldValue : changes.values()) {
@@ -0,0 +1,56 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+/**
+ * Shared storage of row values.
+ * Rows which are kept in storage do not have their own values array.
+ */
+interface ResultSetRowStorage {
+
+    int getColumnCount();
+
+    int getRowCount();
+
+    /**
+     * Appends row values and returns index of the new row in storage.
+     */
+    int addRow(@NotNull Object[] values);
+
+    @Nullable
+    Object getValue(int row, int column);
+
+    @NotNull
+    Object[] getRowValues(int row);
+
+    /**
+     * Compares two values of the same column.
+     * Follows {@link org.jkiss.dbeaver.model.DBUtils#compareDataValues(Object, Object)} semantics (nulls go last).
+     */
+    int compareValues(int column, int row1, int row2);
+
+    void releaseRow(int row);
+
+    /**
+     * Releases all resources held by storage
+     */
+    void dispose();
+
+}
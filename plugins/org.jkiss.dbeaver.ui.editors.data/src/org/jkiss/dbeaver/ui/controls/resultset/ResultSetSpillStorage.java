@@ -0,0 +1,542 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.impl.data.DBDValueError;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.utils.ContentUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.Date;
+import java.util.*;
+
+/**
+ * Row storage which pages cold row blocks out to a memory-mapped temporary file.
+ * Only the last (filling) block and a limited number of recently used blocks are kept in heap.
+ *
+ * Simple values (numbers, strings, booleans, dates and times) are serialized.
+ * Other values (e.g. LOBs or value errors) are pinned in memory one by one, the rest of their row is spilled.
+ */
+class ResultSetSpillStorage implements ResultSetRowStorage {
+
+    private static final Log log = Log.getLog(ResultSetSpillStorage.class);
+
+    private static final String SPILL_FOLDER = "resultset-spill"; //$NON-NLS-1$
+
+    static final int BLOCK_SIZE = 4096;
+
+    private static final byte ROW_NORMAL = 0;
+    private static final byte ROW_PINNED = 1;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_INT = 1;
+    private static final byte TYPE_LONG = 2;
+    private static final byte TYPE_DOUBLE = 3;
+    private static final byte TYPE_FLOAT = 4;
+    private static final byte TYPE_SHORT = 5;
+    private static final byte TYPE_BYTE = 6;
+    private static final byte TYPE_TRUE = 7;
+    private static final byte TYPE_FALSE = 8;
+    private static final byte TYPE_STRING = 9;
+    private static final byte TYPE_DECIMAL = 10;
+    private static final byte TYPE_BIGINT = 11;
+    private static final byte TYPE_DATE = 12;
+    private static final byte TYPE_SQL_DATE = 13;
+    private static final byte TYPE_SQL_TIME = 14;
+    private static final byte TYPE_TIMESTAMP = 15;
+    private static final byte TYPE_LOCAL_DATE = 16;
+    private static final byte TYPE_LOCAL_TIME = 17;
+    private static final byte TYPE_LOCAL_DATE_TIME = 18;
+    private static final byte TYPE_OFFSET_TIME = 19;
+    private static final byte TYPE_OFFSET_DATE_TIME = 20;
+    private static final byte TYPE_ZONED_DATE_TIME = 21;
+    private static final byte TYPE_INSTANT = 22;
+    // Value is kept in memory
+    private static final byte TYPE_PINNED = 23;
+
+    // Placeholder of pinned values in decoded blocks
+    private static final Object PINNED_VALUE = new Object();
+
+    // Unsafe.invokeCleaner (Java 9+). There is no public API to unmap a buffer.
+    private static Object unsafe;
+    private static Method unmapMethod;
+
+    static {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe"); //$NON-NLS-1$
+            Field unsafeField = unsafeClass.getDeclaredField("theUnsafe"); //$NON-NLS-1$
+            unsafeField.setAccessible(true);
+            unsafe = unsafeField.get(null);
+            unmapMethod = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class); //$NON-NLS-1$
+        } catch (Throwable e) {
+            // Mapped buffers will be released by GC
+            log.debug("Buffer unmapping is not supported: " + e.getMessage());
+        }
+    }
+
+    private final int columnCount;
+    private final File file;
+    private final RandomAccessFile fileAccess;
+    private final FileChannel channel;
+
+    private int rowCount;
+    // Offsets and lengths of blocks written to the file
+    private long[] blockOffsets = new long[16];
+    private int[] blockLengths = new int[16];
+    private int spilledBlockCount;
+    private long fileLength;
+    // Block which is being filled
+    private Object[][] tailBlock;
+    // Recently used spilled blocks
+    private final Map<Integer, Object[][]> hotBlocks;
+    // Rows which can't be serialized (e.g. with less values than columns)
+    private final Map<Integer, Object[]> pinnedRows = new HashMap<>();
+    // Values which can't be serialized. Key is (row * columnCount + column)
+    private final Map<Long, Object> pinnedValues = new HashMap<>();
+
+    private final ByteArrayOutputStream blockBuffer = new ByteArrayOutputStream();
+    private final DataOutputStream blockOutput = new DataOutputStream(blockBuffer);
+
+    ResultSetSpillStorage(@NotNull DBRProgressMonitor monitor, int columnCount, int maxHotBlocks) throws IOException {
+        this.columnCount = columnCount;
+        this.file = ContentUtils.makeTempFile(
+            monitor,
+            DBWorkbench.getPlatform().getTempFolder(monitor, SPILL_FOLDER),
+            "rows" + System.identityHashCode(this),
+            "data");
+        this.fileAccess = new RandomAccessFile(file, "rw");
+        this.channel = fileAccess.getChannel();
+        this.tailBlock = new Object[BLOCK_SIZE][];
+        this.hotBlocks = new LinkedHashMap<Integer, Object[][]>(maxHotBlocks, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Object[][]> eldest) {
+                return size() > maxHotBlocks;
+            }
+        };
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    @Override
+    public synchronized int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public synchronized int addRow(@NotNull Object[] values) {
+        int index = rowCount;
+        int blockRow = index % BLOCK_SIZE;
+        tailBlock[blockRow] = values;
+        rowCount++;
+        if (blockRow == BLOCK_SIZE - 1) {
+            spillTailBlock();
+        }
+        return index;
+    }
+
+    @Nullable
+    @Override
+    public Object getValue(int row, int column) {
+        Object[] values = getRow(row);
+        return column < values.length ? values[column] : null;
+    }
+
+    @NotNull
+    @Override
+    public Object[] getRowValues(int row) {
+        return getRow(row).clone();
+    }
+
+    @Override
+    public int compareValues(int column, int row1, int row2) {
+        return DBUtils.compareDataValues(getValue(row1, column), getValue(row2, column));
+    }
+
+    @Override
+    public synchronized void releaseRow(int row) {
+        Object[] pinned = pinnedRows.get(row);
+        if (pinned != null) {
+            for (Object value : pinned) {
+                DBUtils.releaseValue(value);
+            }
+        }
+        if (!pinnedValues.isEmpty()) {
+            for (int k = 0; k < columnCount; k++) {
+                Object value = pinnedValues.get(getValueKey(row, k));
+                if (value != null) {
+                    DBUtils.releaseValue(value);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void dispose() {
+        hotBlocks.clear();
+        pinnedRows.clear();
+        pinnedValues.clear();
+        tailBlock = null;
+        try {
+            fileAccess.close();
+        } catch (IOException e) {
+            log.debug("Error closing spill file", e);
+        }
+        if (file.exists()) {
+            ContentUtils.deleteTempFile(file);
+        }
+    }
+
+    @NotNull
+    private synchronized Object[] getRow(int row) {
+        if (tailBlock == null) {
+            // Disposed
+            return new Object[columnCount];
+        }
+        int blockIndex = row / BLOCK_SIZE;
+        int blockRow = row % BLOCK_SIZE;
+        if (blockIndex == spilledBlockCount) {
+            return tailBlock[blockRow];
+        }
+        Object[][] block = hotBlocks.get(blockIndex);
+        if (block == null) {
+            block = readBlock(blockIndex);
+            hotBlocks.put(blockIndex, block);
+        }
+        return block[blockRow];
+    }
+
+    private void spillTailBlock() {
+        int blockIndex = spilledBlockCount;
+        int firstRow = blockIndex * BLOCK_SIZE;
+        if (blockIndex >= blockOffsets.length) {
+            blockOffsets = Arrays.copyOf(blockOffsets, blockOffsets.length * 2);
+            blockLengths = Arrays.copyOf(blockLengths, blockLengths.length * 2);
+        }
+        try {
+            blockBuffer.reset();
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                Object[] values = tailBlock[i];
+                if (values.length == columnCount) {
+                    blockOutput.writeByte(ROW_NORMAL);
+                    for (int k = 0; k < columnCount; k++) {
+                        if (!writeValue(values[k])) {
+                            blockOutput.writeByte(TYPE_PINNED);
+                            pinnedValues.put(getValueKey(firstRow + i, k), values[k]);
+                        }
+                    }
+                } else {
+                    blockOutput.writeByte(ROW_PINNED);
+                    pinnedRows.put(firstRow + i, values);
+                }
+            }
+            blockOutput.flush();
+
+            ByteBuffer data = ByteBuffer.wrap(blockBuffer.toByteArray());
+            int length = data.remaining();
+            while (data.hasRemaining()) {
+                channel.write(data, fileLength + (length - data.remaining()));
+            }
+            blockOffsets[blockIndex] = fileLength;
+            blockLengths[blockIndex] = length;
+            fileLength += length;
+        } catch (IOException e) {
+            // Keep the block in memory. We can't spill it.
+            log.error("Error writing result set block to '" + file.getAbsolutePath() + "'", e);
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                pinnedRows.put(firstRow + i, tailBlock[i]);
+                for (int k = 0; k < columnCount; k++) {
+                    pinnedValues.remove(getValueKey(firstRow + i, k));
+                }
+            }
+            blockOffsets[blockIndex] = -1;
+        }
+        // Just written block is the most probable to be read soon
+        hotBlocks.put(blockIndex, tailBlock);
+        spilledBlockCount++;
+        tailBlock = new Object[BLOCK_SIZE][];
+    }
+
+    @NotNull
+    private Object[][] readBlock(int blockIndex) {
+        Object[][] block = new Object[BLOCK_SIZE][];
+        int firstRow = blockIndex * BLOCK_SIZE;
+        if (blockOffsets[blockIndex] < 0) {
+            // Block wasn't spilled
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                block[i] = pinnedRows.get(firstRow + i);
+            }
+            return block;
+        }
+        MappedByteBuffer buffer = null;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, blockOffsets[blockIndex], blockLengths[blockIndex]);
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                if (buffer.get() == ROW_PINNED) {
+                    block[i] = pinnedRows.get(firstRow + i);
+                } else {
+                    Object[] values = new Object[columnCount];
+                    for (int k = 0; k < columnCount; k++) {
+                        values[k] = readValue(buffer);
+                        if (values[k] == PINNED_VALUE) {
+                            values[k] = pinnedValues.get(getValueKey(firstRow + i, k));
+                        }
+                    }
+                    block[i] = values;
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error reading result set block from '" + file.getAbsolutePath() + "'", e);
+            DBDValueError error = new DBDValueError(e);
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                if (block[i] == null) {
+                    block[i] = new Object[columnCount];
+                    Arrays.fill(block[i], error);
+                }
+            }
+        } finally {
+            if (buffer != null) {
+                // All values were copied, mapping isn't needed anymore
+                unmapBuffer(buffer);
+            }
+        }
+        return block;
+    }
+
+    /**
+     * Mapped file can't be deleted (on Windows) while it has mapped buffers.
+     * Buffers are unmapped by GC only, so release them explicitly where possible.
+     */
+    private static void unmapBuffer(@NotNull MappedByteBuffer buffer) {
+        if (unmapMethod == null || unsafe == null) {
+            return;
+        }
+        try {
+            unmapMethod.invoke(unsafe, buffer);
+        } catch (Throwable e) {
+            log.debug("Can't unmap spill file buffer", e);
+        }
+    }
+
+    private long getValueKey(int row, int column) {
+        return (long) row * columnCount + column;
+    }
+
+    /**
+     * Writes value to the block buffer.
+     * @return false if the value type is not supported. Nothing is written in this case.
+     */
+    private boolean writeValue(@Nullable Object value) throws IOException {
+        if (value == null) {
+            blockOutput.writeByte(TYPE_NULL);
+            return true;
+        }
+        Class<?> valueClass = value.getClass();
+        if (valueClass == String.class) {
+            byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            blockOutput.writeByte(TYPE_STRING);
+            blockOutput.writeInt(bytes.length);
+            blockOutput.write(bytes);
+        } else if (valueClass == Boolean.class) {
+            blockOutput.writeByte((Boolean) value ? TYPE_TRUE : TYPE_FALSE);
+        } else if (valueClass == Integer.class) {
+            blockOutput.writeByte(TYPE_INT);
+            blockOutput.writeInt((Integer) value);
+        } else if (valueClass == Long.class) {
+            blockOutput.writeByte(TYPE_LONG);
+            blockOutput.writeLong((Long) value);
+        } else if (valueClass == Double.class) {
+            blockOutput.writeByte(TYPE_DOUBLE);
+            blockOutput.writeDouble((Double) value);
+        } else if (valueClass == Float.class) {
+            blockOutput.writeByte(TYPE_FLOAT);
+            blockOutput.writeFloat((Float) value);
+        } else if (valueClass == Short.class) {
+            blockOutput.writeByte(TYPE_SHORT);
+            blockOutput.writeShort((Short) value);
+        } else if (valueClass == Byte.class) {
+            blockOutput.writeByte(TYPE_BYTE);
+            blockOutput.writeByte((Byte) value);
+        } else if (valueClass == BigDecimal.class) {
+            byte[] unscaled = ((BigDecimal) value).unscaledValue().toByteArray();
+            blockOutput.writeByte(TYPE_DECIMAL);
+            blockOutput.writeInt(((BigDecimal) value).scale());
+            blockOutput.writeInt(unscaled.length);
+            blockOutput.write(unscaled);
+        } else if (valueClass == BigInteger.class) {
+            byte[] bytes = ((BigInteger) value).toByteArray();
+            blockOutput.writeByte(TYPE_BIGINT);
+            blockOutput.writeInt(bytes.length);
+            blockOutput.write(bytes);
+        } else if (valueClass == Date.class) {
+            blockOutput.writeByte(TYPE_DATE);
+            blockOutput.writeLong(((Date) value).getTime());
+        } else if (valueClass == java.sql.Date.class) {
+            blockOutput.writeByte(TYPE_SQL_DATE);
+            blockOutput.writeLong(((java.sql.Date) value).getTime());
+        } else if (valueClass == Time.class) {
+            blockOutput.writeByte(TYPE_SQL_TIME);
+            blockOutput.writeLong(((Time) value).getTime());
+        } else if (valueClass == Timestamp.class) {
+            blockOutput.writeByte(TYPE_TIMESTAMP);
+            blockOutput.writeLong(((Timestamp) value).getTime());
+            blockOutput.writeInt(((Timestamp) value).getNanos());
+        } else if (valueClass == LocalDate.class) {
+            blockOutput.writeByte(TYPE_LOCAL_DATE);
+            blockOutput.writeLong(((LocalDate) value).toEpochDay());
+        } else if (valueClass == LocalTime.class) {
+            blockOutput.writeByte(TYPE_LOCAL_TIME);
+            blockOutput.writeLong(((LocalTime) value).toNanoOfDay());
+        } else if (valueClass == LocalDateTime.class) {
+            blockOutput.writeByte(TYPE_LOCAL_DATE_TIME);
+            blockOutput.writeLong(((LocalDateTime) value).toLocalDate().toEpochDay());
+            blockOutput.writeLong(((LocalDateTime) value).toLocalTime().toNanoOfDay());
+        } else if (valueClass == OffsetTime.class) {
+            blockOutput.writeByte(TYPE_OFFSET_TIME);
+            blockOutput.writeLong(((OffsetTime) value).toLocalTime().toNanoOfDay());
+            blockOutput.writeInt(((OffsetTime) value).getOffset().getTotalSeconds());
+        } else if (valueClass == OffsetDateTime.class) {
+            LocalDateTime dateTime = ((OffsetDateTime) value).toLocalDateTime();
+            blockOutput.writeByte(TYPE_OFFSET_DATE_TIME);
+            blockOutput.writeLong(dateTime.toLocalDate().toEpochDay());
+            blockOutput.writeLong(dateTime.toLocalTime().toNanoOfDay());
+            blockOutput.writeInt(((OffsetDateTime) value).getOffset().getTotalSeconds());
+        } else if (valueClass == ZonedDateTime.class) {
+            Instant instant = ((ZonedDateTime) value).toInstant();
+            byte[] zone = ((ZonedDateTime) value).getZone().getId().getBytes(StandardCharsets.UTF_8);
+            blockOutput.writeByte(TYPE_ZONED_DATE_TIME);
+            blockOutput.writeLong(instant.getEpochSecond());
+            blockOutput.writeInt(instant.getNano());
+            blockOutput.writeInt(zone.length);
+            blockOutput.write(zone);
+        } else if (valueClass == Instant.class) {
+            blockOutput.writeByte(TYPE_INSTANT);
+            blockOutput.writeLong(((Instant) value).getEpochSecond());
+            blockOutput.writeInt(((Instant) value).getNano());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    @Nullable
+    private static Object readValue(@NotNull ByteBuffer buffer) throws IOException {
+        byte type = buffer.get();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING: {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            case TYPE_TRUE:
+                return Boolean.TRUE;
+            case TYPE_FALSE:
+                return Boolean.FALSE;
+            case TYPE_INT:
+                return buffer.getInt();
+            case TYPE_LONG:
+                return buffer.getLong();
+            case TYPE_DOUBLE:
+                return buffer.getDouble();
+            case TYPE_FLOAT:
+                return buffer.getFloat();
+            case TYPE_SHORT:
+                return buffer.getShort();
+            case TYPE_BYTE:
+                return buffer.get();
+            case TYPE_DECIMAL: {
+                int scale = buffer.getInt();
+                byte[] unscaled = new byte[buffer.getInt()];
+                buffer.get(unscaled);
+                return new BigDecimal(new BigInteger(unscaled), scale);
+            }
+            case TYPE_BIGINT: {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                return new BigInteger(bytes);
+            }
+            case TYPE_DATE:
+                return new Date(buffer.getLong());
+            case TYPE_SQL_DATE:
+                return new java.sql.Date(buffer.getLong());
+            case TYPE_SQL_TIME:
+                return new Time(buffer.getLong());
+            case TYPE_TIMESTAMP: {
+                Timestamp timestamp = new Timestamp(buffer.getLong());
+                timestamp.setNanos(buffer.getInt());
+                return timestamp;
+            }
+            case TYPE_LOCAL_DATE:
+                return LocalDate.ofEpochDay(buffer.getLong());
+            case TYPE_LOCAL_TIME:
+                return LocalTime.ofNanoOfDay(buffer.getLong());
+            case TYPE_LOCAL_DATE_TIME:
+                return readLocalDateTime(buffer);
+            case TYPE_OFFSET_TIME: {
+                LocalTime time = LocalTime.ofNanoOfDay(buffer.getLong());
+                return OffsetTime.of(time, ZoneOffset.ofTotalSeconds(buffer.getInt()));
+            }
+            case TYPE_OFFSET_DATE_TIME: {
+                LocalDateTime dateTime = readLocalDateTime(buffer);
+                return OffsetDateTime.of(dateTime, ZoneOffset.ofTotalSeconds(buffer.getInt()));
+            }
+            case TYPE_ZONED_DATE_TIME: {
+                Instant instant = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+                byte[] zone = new byte[buffer.getInt()];
+                buffer.get(zone);
+                return ZonedDateTime.ofInstant(instant, ZoneId.of(new String(zone, StandardCharsets.UTF_8)));
+            }
+            case TYPE_INSTANT:
+                return Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+            case TYPE_PINNED:
+                return PINNED_VALUE;
+            default:
+                throw new IOException("Bad value type in spill file: " + type);
+        }
+    }
+
+    @NotNull
+    private static LocalDateTime readLocalDateTime(@NotNull ByteBuffer buffer) {
+        LocalDate date = LocalDate.ofEpochDay(buffer.getLong());
+        return LocalDateTime.of(date, LocalTime.ofNanoOfDay(buffer.getLong()));
+    }
+
+}
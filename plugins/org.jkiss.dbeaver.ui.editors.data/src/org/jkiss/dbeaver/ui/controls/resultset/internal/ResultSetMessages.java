@@ -307,6 +307,14 @@ public class ResultSetMessages extends NLS {
     public static String pref_page_database_resultsets_label_read_metadata_tip;
     public static String pref_page_database_resultsets_label_read_references_tip;
     public static String pref_page_database_resultsets_label_fetch_size_tip;
+    public static String pref_page_database_resultsets_label_columnar_storage;
+    public static String pref_page_database_resultsets_label_columnar_storage_tip;
+    public static String pref_page_database_resultsets_label_statement_cache_size;
+    public static String pref_page_database_resultsets_label_statement_cache_size_tip;
+    public static String pref_page_database_resultsets_label_spill_to_disk;
+    public static String pref_page_database_resultsets_label_spill_to_disk_tip;
+    public static String pref_page_database_resultsets_label_spill_threshold;
+    public static String pref_page_database_resultsets_label_spill_threshold_tip;
 
     public static String pref_page_content_cache_clob;
     public static String pref_page_content_cache_blob;
@@ -67,6 +67,10 @@ public class PrefPageResultSetMain extends TargetPrefPage
     private Button showErrorsInDialog;
 
     private Button advUseFetchSize;
+    private Button advUseColumnarStorage;
+    private Button advSpillToDisk;
+    private Spinner advSpillThreshold;
+    private Spinner advStatementCacheSize;
 
     private Button ignoreColumnLabelCheck;
     private Button useDateTimeEditor;
@@ -94,6 +98,10 @@ public class PrefPageResultSetMain extends TargetPrefPage
             store.contains(ResultSetPreferences.KEEP_STATEMENT_OPEN) ||
             store.contains(ResultSetPreferences.RESULT_SET_ORDERING_MODE) ||
             store.contains(ModelPreferences.RESULT_SET_USE_FETCH_SIZE) ||
+            store.contains(ResultSetPreferences.RESULT_SET_USE_COLUMNAR_STORAGE) ||
+            store.contains(ResultSetPreferences.RESULT_SET_SPILL_TO_DISK) ||
+            store.contains(ResultSetPreferences.RESULT_SET_SPILL_THRESHOLD) ||
+            store.contains(ModelPreferences.RESULT_SET_STATEMENT_CACHE_SIZE) ||
             store.contains(ResultSetPreferences.RESULT_SET_USE_NAVIGATOR_FILTERS) ||
             store.contains(ResultSetPreferences.RESULT_SET_SHOW_ERRORS_IN_DIALOG) ||
             store.contains(ModelPreferences.RESULT_SET_IGNORE_COLUMN_LABEL)
@@ -163,6 +171,11 @@ public class PrefPageResultSetMain extends TargetPrefPage
 
             ignoreColumnLabelCheck = UIUtils.createCheckbox(advGroup, ResultSetMessages.pref_page_database_general_use_column_names, ResultSetMessages.pref_page_database_general_use_column_names_tip, false, 1);
             advUseFetchSize = UIUtils.createCheckbox(advGroup, ResultSetMessages.pref_page_database_resultsets_label_fetch_size, ResultSetMessages.pref_page_database_resultsets_label_fetch_size_tip, false, 1);
+            advUseColumnarStorage = UIUtils.createCheckbox(advGroup, ResultSetMessages.pref_page_database_resultsets_label_columnar_storage, ResultSetMessages.pref_page_database_resultsets_label_columnar_storage_tip, false, 1);
+            advSpillToDisk = UIUtils.createCheckbox(advGroup, ResultSetMessages.pref_page_database_resultsets_label_spill_to_disk, ResultSetMessages.pref_page_database_resultsets_label_spill_to_disk_tip, false, 1);
+            Composite cacheComposite = UIUtils.createComposite(advGroup, 2);
+            advSpillThreshold = UIUtils.createLabelSpinner(cacheComposite, ResultSetMessages.pref_page_database_resultsets_label_spill_threshold, ResultSetMessages.pref_page_database_resultsets_label_spill_threshold_tip, 0, 10000, Integer.MAX_VALUE);
+            advStatementCacheSize = UIUtils.createLabelSpinner(cacheComposite, ResultSetMessages.pref_page_database_resultsets_label_statement_cache_size, ResultSetMessages.pref_page_database_resultsets_label_statement_cache_size_tip, 0, 0, 1000);
         }
 
 
@@ -219,6 +232,10 @@ public class PrefPageResultSetMain extends TargetPrefPage
             useNavigatorFilters.setSelection(store.getBoolean(ResultSetPreferences.RESULT_SET_USE_NAVIGATOR_FILTERS));
 
             advUseFetchSize.setSelection(store.getBoolean(ModelPreferences.RESULT_SET_USE_FETCH_SIZE));
+            advUseColumnarStorage.setSelection(store.getBoolean(ResultSetPreferences.RESULT_SET_USE_COLUMNAR_STORAGE));
+            advSpillToDisk.setSelection(store.getBoolean(ResultSetPreferences.RESULT_SET_SPILL_TO_DISK));
+            advSpillThreshold.setSelection(store.getInt(ResultSetPreferences.RESULT_SET_SPILL_THRESHOLD));
+            advStatementCacheSize.setSelection(store.getInt(ModelPreferences.RESULT_SET_STATEMENT_CACHE_SIZE));
             ignoreColumnLabelCheck.setSelection(store.getBoolean(ModelPreferences.RESULT_SET_IGNORE_COLUMN_LABEL));
 
             showErrorsInDialog.setSelection(store.getBoolean(ResultSetPreferences.RESULT_SET_SHOW_ERRORS_IN_DIALOG));
@@ -251,6 +268,10 @@ public class PrefPageResultSetMain extends TargetPrefPage
             store.setValue(ResultSetPreferences.RESULT_SET_USE_NAVIGATOR_FILTERS, useNavigatorFilters.getSelection());
 
             store.setValue(ModelPreferences.RESULT_SET_USE_FETCH_SIZE, advUseFetchSize.getSelection());
+            store.setValue(ResultSetPreferences.RESULT_SET_USE_COLUMNAR_STORAGE, advUseColumnarStorage.getSelection());
+            store.setValue(ResultSetPreferences.RESULT_SET_SPILL_TO_DISK, advSpillToDisk.getSelection());
+            store.setValue(ResultSetPreferences.RESULT_SET_SPILL_THRESHOLD, advSpillThreshold.getSelection());
+            store.setValue(ModelPreferences.RESULT_SET_STATEMENT_CACHE_SIZE, advStatementCacheSize.getSelection());
             store.setValue(ModelPreferences.RESULT_SET_IGNORE_COLUMN_LABEL, ignoreColumnLabelCheck.getSelection());
 
             store.setValue(ResultSetPreferences.RESULT_SET_SHOW_ERRORS_IN_DIALOG, showErrorsInDialog.getSelection());
@@ -281,6 +302,10 @@ public class PrefPageResultSetMain extends TargetPrefPage
         store.setToDefault(ResultSetPreferences.RESULT_SET_USE_NAVIGATOR_FILTERS);
 
         store.setToDefault(ModelPreferences.RESULT_SET_USE_FETCH_SIZE);
+        store.setToDefault(ResultSetPreferences.RESULT_SET_USE_COLUMNAR_STORAGE);
+        store.setToDefault(ResultSetPreferences.RESULT_SET_SPILL_TO_DISK);
+        store.setToDefault(ResultSetPreferences.RESULT_SET_SPILL_THRESHOLD);
+        store.setToDefault(ModelPreferences.RESULT_SET_STATEMENT_CACHE_SIZE);
         store.setToDefault(ModelPreferences.RESULT_SET_IGNORE_COLUMN_LABEL);
 
         store.setToDefault(ResultSetPreferences.RESULT_SET_SHOW_ERRORS_IN_DIALOG);
@@ -90,6 +90,7 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
     private static final String QUERY_LOG_CONTROL_ID = "org.jkiss.dbeaver.ui.qm.log"; //$NON-NLS-1$
     private static final String VIEWER_ID = "DBeaver.QM.LogViewer"; //$NON-NLS-1$
     private static final int MIN_ENTRIES_PER_PAGE = 1;
+    private static final long[] MIN_DURATION_VALUES = { 0, 100, 1000, 10000, 60000 };
 
     public static final String COLOR_UNCOMMITTED = "org.jkiss.dbeaver.txn.color.committed.background";  //= new RGB(0xBD, 0xFE, 0xBF); //$NON-NLS-1$
     public static final String COLOR_REVERTED = "org.jkiss.dbeaver.txn.color.reverted.background";  // = new RGB(0xFF, 0x63, 0x47); //$NON-NLS-1$
@@ -903,9 +904,43 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
             manager.add(toggleAction);
         }
         manager.add(new Separator());
+        MenuManager durationMenu = new MenuManager(SQLEditorMessages.controls_querylog_filter_min_duration);
+        for (long minDuration : MIN_DURATION_VALUES) {
+            String title = minDuration == 0 ?
+                SQLEditorMessages.controls_querylog_filter_min_duration_any :
+                NLS.bind(SQLEditorMessages.controls_querylog_filter_min_duration_value, NUMBER_FORMAT.format(minDuration));
+            durationMenu.add(makeLongPreferenceAction(store, QMConstants.PROP_MIN_DURATION, minDuration, title));
+        }
+        manager.add(durationMenu);
+        MenuManager periodMenu = new MenuManager(SQLEditorMessages.controls_querylog_filter_time_period);
+        periodMenu.add(makeLongPreferenceAction(store, QMConstants.PROP_TIME_PERIOD, 0, SQLEditorMessages.controls_querylog_filter_time_period_any));
+        periodMenu.add(makeLongPreferenceAction(store, QMConstants.PROP_TIME_PERIOD, 60, SQLEditorMessages.controls_querylog_filter_time_period_hour));
+        periodMenu.add(makeLongPreferenceAction(store, QMConstants.PROP_TIME_PERIOD, 60 * 24, SQLEditorMessages.controls_querylog_filter_time_period_day));
+        periodMenu.add(makeLongPreferenceAction(store, QMConstants.PROP_TIME_PERIOD, 60 * 24 * 7, SQLEditorMessages.controls_querylog_filter_time_period_week));
+        manager.add(periodMenu);
+        manager.add(new Separator());
         manager.add(ActionUtils.makeCommandContribution(site, "org.jkiss.dbeaver.core.qm.filter"));
     }
 
+    private IAction makeLongPreferenceAction(DBPPreferenceStore store, String property, long value, String title) {
+        return new Action(title, Action.AS_RADIO_BUTTON) {
+            @Override
+            public boolean isChecked() {
+                return store.getLong(property) == value;
+            }
+
+            @Override
+            public void run() {
+                if (store.getLong(property) == value) {
+                    return;
+                }
+                store.setValue(property, value);
+                PrefUtils.savePreferenceStore(store);
+                scheduleLogRefresh();
+            }
+        };
+    }
+
     private void openSelectionInEditor() {
         DBPDataSourceContainer dsContainer = null;
         StringBuilder sql = new StringBuilder();
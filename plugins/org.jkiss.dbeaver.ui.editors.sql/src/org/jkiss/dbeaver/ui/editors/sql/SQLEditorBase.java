@@ -56,6 +56,7 @@ import org.jkiss.dbeaver.model.sql.completion.SQLCompletionContext;
 import org.jkiss.dbeaver.model.sql.parser.SQLParserContext;
 import org.jkiss.dbeaver.model.sql.parser.SQLParserPartitions;
 import org.jkiss.dbeaver.model.sql.parser.SQLRuleManager;
+import org.jkiss.dbeaver.model.sql.parser.SQLScriptParseIndex;
 import org.jkiss.dbeaver.model.sql.parser.SQLScriptParser;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.ui.*;
@@ -110,6 +111,9 @@ public abstract class SQLEditorBase extends BaseTextEditor implements DBPContext
     private final SQLRuleScanner ruleScanner;
     @Nullable
     private SQLParserContext parserContext;
+    // Statement boundaries of the current document
+    @Nullable
+    private SQLScriptParseIndex scriptIndex;
     private ProjectionSupport projectionSupport;
 
     private ProjectionAnnotationModel annotationModel;
@@ -512,6 +516,10 @@ public abstract class SQLEditorBase extends BaseTextEditor implements DBPContext
         if (viewerConfiguration != null) {
             viewerConfiguration.saveFoldingState();
         }
+        if (scriptIndex != null) {
+            scriptIndex.dispose();
+            scriptIndex = null;
+        }
 
         super.dispose();
     }
@@ -611,6 +619,11 @@ public abstract class SQLEditorBase extends BaseTextEditor implements DBPContext
         ruleManager.loadRules(getDataSource(), SQLEditorBase.isBigScript(getEditorInput()));
         ruleScanner.refreshRules(getDataSource(), ruleManager);
         parserContext = new SQLParserContext(getDataSource(), syntaxManager, ruleManager, document != null ? document : new Document());
+        if (scriptIndex != null) {
+            scriptIndex.dispose();
+        }
+        scriptIndex = document == null ? null : new SQLScriptParseIndex(parserContext);
+        parserContext.setScriptIndex(scriptIndex);
 
         if (document instanceof IDocumentExtension3) {
             IDocumentPartitioner partitioner = new FastPartitioner(
@@ -717,6 +730,14 @@ public abstract class SQLEditorBase extends BaseTextEditor implements DBPContext
         return SQLScriptParser.extractScriptQueries(parserContext, startOffset, length, scriptMode, keepDelimiters, parseParameters);
     }
 
+    /**
+     * Returns statement boundaries index of the current document
+     */
+    @Nullable
+    public SQLScriptParseIndex getScriptIndex() {
+        return scriptIndex;
+    }
+
     public SQLCompletionContext getCompletionContext() {
         return completionContext;
     }
@@ -170,6 +170,8 @@ public class SQLEditorMessages extends NLS {
     public static String pref_page_sql_completion_label_activate_hippie_tip;
     public static String pref_page_sql_completion_label_use_global_search;
     public static String pref_page_sql_completion_label_use_global_search_tip;
+    public static String pref_page_sql_completion_label_use_object_index;
+    public static String pref_page_sql_completion_label_use_object_index_tip;
     public static String pref_page_sql_completion_label_show_column_procedures;
     public static String pref_page_sql_completion_label_show_column_procedures_tip;
     // SQLFormat
@@ -312,6 +314,14 @@ public class SQLEditorMessages extends NLS {
     public static String controls_querylog_disconnected_from;
     public static String controls_querylog_error;
     public static String controls_querylog_format_minutes;
+    public static String controls_querylog_filter_min_duration;
+    public static String controls_querylog_filter_min_duration_any;
+    public static String controls_querylog_filter_min_duration_value;
+    public static String controls_querylog_filter_time_period;
+    public static String controls_querylog_filter_time_period_any;
+    public static String controls_querylog_filter_time_period_hour;
+    public static String controls_querylog_filter_time_period_day;
+    public static String controls_querylog_filter_time_period_week;
     public static String controls_querylog_job_refresh;
     public static String controls_querylog_label_result;
     public static String controls_querylog_label_text;
@@ -24,6 +24,7 @@ import org.jkiss.dbeaver.model.DBPKeywordType;
 import org.jkiss.dbeaver.model.DBPNamedObject;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.sql.SQLModelPreferences;
 import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
 import org.jkiss.dbeaver.model.sql.completion.SQLCompletionContext;
 import org.jkiss.dbeaver.model.sql.completion.SQLCompletionProposalBase;
@@ -116,6 +117,11 @@ public class SQLEditorCompletionContext implements SQLCompletionContext
         return getActivePreferenceStore().getBoolean(SQLPreferenceConstants.HIDE_DUPLICATE_PROPOSALS);
     }
 
+    @Override
+    public boolean isUseObjectIndex() {
+        return getActivePreferenceStore().getBoolean(SQLModelPreferences.SQL_PROPOSAL_USE_OBJECT_INDEX);
+    }
+
     @Override
     public SQLCompletionProposalBase createProposal(
         @NotNull SQLCompletionRequest request,
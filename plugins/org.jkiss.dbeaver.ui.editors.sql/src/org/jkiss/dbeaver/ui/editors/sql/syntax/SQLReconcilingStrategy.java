@@ -34,6 +34,7 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.jkiss.dbeaver.model.sql.parser.SQLScriptParseIndex;
 import org.jkiss.dbeaver.ui.editors.EditorUtils;
 import org.jkiss.dbeaver.ui.editors.sql.SQLEditorBase;
 import org.jkiss.dbeaver.ui.editors.sql.internal.SQLEditorActivator;
@@ -240,6 +241,15 @@ public class SQLReconcilingStrategy implements IReconcilingStrategy, IReconcilin
 
     @Nullable
     private List<SQLScriptElement> extractQueries(int offset, int length) {
+        SQLScriptParseIndex scriptIndex = editor.getScriptIndex();
+        if (scriptIndex != null) {
+            // Index contains the same statements and is updated incrementally
+            List<SQLScriptElement> elements = new ArrayList<>();
+            for (IRegion region : scriptIndex.getStatements(offset, length)) {
+                elements.add(new SQLScriptElementImpl(region.getOffset(), region.getLength()));
+            }
+            return elements;
+        }
         return editor.extractScriptQueries(offset, length, false, true, false);
     }
 
@@ -122,6 +122,8 @@ public class UINavigatorMessages extends NLS {
     public static String pref_page_database_general_label_group_database_by_driver;
     public static String pref_page_database_general_label_long_list_fetch_size;
     public static String pref_page_database_general_label_long_list_fetch_size_tip;
+    public static String pref_page_database_general_label_virtual_children;
+    public static String pref_page_database_general_label_virtual_children_tip;
     public static String pref_page_database_general_label_double_click_node;
     public static String pref_page_database_general_label_double_click_node_open_properties;
     public static String pref_page_database_general_label_double_click_node_expand_collapse;
@@ -149,6 +151,8 @@ public class UINavigatorMessages extends NLS {
     public static String pref_page_projects_settings_description;
 
     public static String ui_navigator_loading_text_loading;
+    public static String ui_navigator_virtual_pager_text_next;
+    public static String ui_navigator_virtual_pager_text_previous;
     public static String ui_properties_category_information;
     public static String ui_properties_category_information_tip;
     public static String ui_properties_category_properties;
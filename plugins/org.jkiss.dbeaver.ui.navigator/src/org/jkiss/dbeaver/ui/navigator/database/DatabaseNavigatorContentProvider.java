@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.ui.navigator.database;
 import org.eclipse.jface.viewers.IStructuredContentProvider;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.Viewer;
+import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 import org.jkiss.dbeaver.model.navigator.DBNLazyNode;
@@ -33,6 +34,7 @@ import org.jkiss.dbeaver.ui.navigator.database.load.TreeLoadService;
 import org.jkiss.dbeaver.ui.navigator.database.load.TreeLoadVisualizer;
 import org.jkiss.dbeaver.ui.navigator.database.load.TreeNodeLazyExpander;
 import org.jkiss.dbeaver.ui.navigator.database.load.TreeNodeSpecial;
+import org.jkiss.dbeaver.ui.navigator.database.load.TreeNodeVirtualPager;
 import org.jkiss.utils.ArrayUtils;
 
 /**
@@ -111,6 +113,17 @@ class DatabaseNavigatorContentProvider implements IStructuredContentProvider, IT
         if (!parentNode.hasChildren(true)) {
             return EMPTY_CHILDREN;
         }
+        if (parentNode instanceof DBNDatabaseNode && ((DBNDatabaseNode) parentNode).getVirtualChildrenCount() >= 0) {
+            // Child objects are already read. Make nodes of the current window
+            try {
+                Object[] window = TreeNodeVirtualPager.readChildrenWindow(new VoidProgressMonitor(), (DBNDatabaseNode) parentNode);
+                if (window != null) {
+                    return window;
+                }
+            } catch (DBException e) {
+                log.debug("Error reading children window", e);
+            }
+        }
         if (parentNode instanceof DBNLazyNode && ((DBNLazyNode)parentNode).needsInitialization()) {
             return TreeLoadVisualizer.expandChildren(
                 navigatorTree.getViewer(),
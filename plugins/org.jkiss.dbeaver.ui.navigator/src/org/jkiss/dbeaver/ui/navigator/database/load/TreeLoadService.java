@@ -46,6 +46,12 @@ public class TreeLoadService extends DatabaseLoadService<Object[]> {
         throws InvocationTargetException, InterruptedException
     {
         try {
+            if (parentNode instanceof DBNDatabaseNode) {
+                Object[] window = TreeNodeVirtualPager.readChildrenWindow(monitor, (DBNDatabaseNode) parentNode);
+                if (window != null) {
+                    return window;
+                }
+            }
             DBNNode[] children = DBNUtils.getNodeChildrenFiltered(monitor, parentNode, true);
             return children == null ? new Object[0] : children;
         } catch (Throwable ex) {
@@ -0,0 +1,129 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.navigator.database.load;
+
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Tree;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
+import org.jkiss.dbeaver.model.navigator.DBNUtils;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.ui.DBeaverIcons;
+import org.jkiss.dbeaver.ui.UIIcon;
+import org.jkiss.dbeaver.ui.internal.UINavigatorMessages;
+import org.jkiss.dbeaver.ui.navigator.NavigatorPreferences;
+import org.jkiss.dbeaver.ui.navigator.database.DatabaseNavigatorTree;
+
+/**
+ * Switches children window of the node in virtual children mode.
+ * Only nodes of the current window are kept in the tree and in the navigator model.
+ */
+public class TreeNodeVirtualPager extends TreeNodeSpecial {
+
+    private static final Log log = Log.getLog(TreeNodeVirtualPager.class);
+
+    private static Image IMG_MORE = DBeaverIcons.getImage(UIIcon.REFRESH);
+
+    private final int windowOffset;
+    private final int windowLength;
+    private final int totalChildren;
+    private final boolean next;
+
+    private TreeNodeVirtualPager(DBNDatabaseNode parent, int windowOffset, int windowLength, int totalChildren, boolean next) {
+        super(parent);
+        this.windowOffset = windowOffset;
+        this.windowLength = windowLength;
+        this.totalChildren = totalChildren;
+        this.next = next;
+    }
+
+    @Override
+    public String getText(Object element) {
+        int windowEnd = Math.min(windowOffset + windowLength, totalChildren);
+        return NLS.bind(
+            next ? UINavigatorMessages.ui_navigator_virtual_pager_text_next : UINavigatorMessages.ui_navigator_virtual_pager_text_previous,
+            new Object[] {windowOffset + 1, windowEnd, totalChildren});
+    }
+
+    @Override
+    public Image getImage(Object element) {
+        return IMG_MORE;
+    }
+
+    @Override
+    public boolean handleDefaultAction(DatabaseNavigatorTree tree) {
+        DBNDatabaseNode parent = (DBNDatabaseNode) getParent();
+        Tree treeControl = tree.getViewer().getTree();
+        treeControl.setRedraw(false);
+        try {
+            // Child objects are already read, so it doesn't access database
+            parent.getChildrenWindow(new VoidProgressMonitor(), windowOffset, windowLength);
+            tree.getViewer().refresh(parent);
+        } catch (DBException e) {
+            log.error("Error switching children window of " + parent.getNodeName(), e);
+        } finally {
+            treeControl.setRedraw(true);
+        }
+        return true;
+    }
+
+    public static boolean isVirtualChildrenEnabled() {
+        return DBWorkbench.getPlatform().getPreferenceStore().getBoolean(NavigatorPreferences.NAVIGATOR_VIRTUAL_CHILDREN);
+    }
+
+    /**
+     * Reads current children window of the node.
+     * Returns window nodes with pagers of previous and next windows or null if children can't be virtualized.
+     */
+    @Nullable
+    public static Object[] readChildrenWindow(@NotNull DBRProgressMonitor monitor, @NotNull DBNDatabaseNode parent) throws DBException {
+        if (!isVirtualChildrenEnabled()) {
+            return null;
+        }
+        int windowLength = Math.max(NavigatorPreferences.MIN_LONG_LIST_FETCH_SIZE, DBWorkbench.getPlatform().getPreferenceStore().getInt(NavigatorPreferences.NAVIGATOR_LONG_LIST_FETCH_SIZE));
+        DBNDatabaseNode[] window = parent.getChildrenWindow(monitor, parent.getChildrenWindowOffset(), windowLength);
+        if (window == null) {
+            return null;
+        }
+        int totalChildren = parent.getVirtualChildrenCount();
+        if (totalChildren < 0) {
+            // All children fit in the window and were loaded as usual
+            return DBNUtils.filterNavigableChildren(window, true);
+        }
+        int windowOffset = parent.getChildrenWindowOffset();
+        boolean hasPrevious = windowOffset > 0;
+        boolean hasNext = windowOffset + window.length < totalChildren;
+        Object[] items = new Object[window.length + (hasPrevious ? 1 : 0) + (hasNext ? 1 : 0)];
+        int pos = 0;
+        if (hasPrevious) {
+            items[pos++] = new TreeNodeVirtualPager(parent, Math.max(0, windowOffset - windowLength), windowLength, totalChildren, false);
+        }
+        System.arraycopy(window, 0, items, pos, window.length);
+        pos += window.length;
+        if (hasNext) {
+            items[pos] = new TreeNodeVirtualPager(parent, windowOffset + window.length, windowLength, totalChildren, true);
+        }
+        return items;
+    }
+
+}
@@ -51,12 +51,18 @@ public class SearchDataPage extends AbstractSearchPage {
     private static final String PROP_MASK = "search.data.mask"; //$NON-NLS-1$
     private static final String PROP_CASE_SENSITIVE = "search.data.case-sensitive"; //$NON-NLS-1$
     private static final String PROP_SAMPLE_ROWS = "search.data.sample-rows"; //$NON-NLS-1$
+    private static final String PROP_PARALLEL_SEARCHES = "search.data.parallel-searches"; //$NON-NLS-1$
+    private static final String PROP_TIME_LIMIT = "search.data.time-limit"; //$NON-NLS-1$
+    private static final String PROP_TOTAL_ROWS = "search.data.total-rows"; //$NON-NLS-1$
     private static final String PROP_FAST_SEARCH = "search.data.fast-search"; //$NON-NLS-1$
     private static final String PROP_SEARCH_NUMBERS = "search.data.search-numbers"; //$NON-NLS-1$
     private static final String PROP_SEARCH_LOBS = "search.data.search-lobs"; //$NON-NLS-1$
     private static final String PROP_SEARCH_FOREIGN = "search.data.search-foreign"; //$NON-NLS-1$
     private static final String PROP_HISTORY = "search.data.history"; //$NON-NLS-1$
 
+    // One day, in seconds
+    private static final int MAX_SEARCH_TIME = 24 * 60 * 60;
+
     private Combo searchText;
 
     private SearchDataParams params = new SearchDataParams();
@@ -132,6 +138,21 @@ public class SearchDataPage extends AbstractSearchPage {
             maxResultsSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
             maxResultsSpinner.addModifyListener(e -> params.maxResults = maxResultsSpinner.getSelection());
 
+            if (params.maxParallelSearches <= 0) {
+                params.maxParallelSearches = 1;
+            }
+            final Spinner parallelSpinner = UIUtils.createLabelSpinner(optionsGroup2, UISearchMessages.dialog_search_data_parallel_searches, UISearchMessages.dialog_search_data_parallel_searches_tip, params.maxParallelSearches, 1, 32);
+            parallelSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
+            parallelSpinner.addModifyListener(e -> params.maxParallelSearches = parallelSpinner.getSelection());
+
+            final Spinner timeLimitSpinner = UIUtils.createLabelSpinner(optionsGroup2, UISearchMessages.dialog_search_data_time_limit, UISearchMessages.dialog_search_data_time_limit_tip, params.maxSearchTime, 0, MAX_SEARCH_TIME);
+            timeLimitSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
+            timeLimitSpinner.addModifyListener(e -> params.maxSearchTime = timeLimitSpinner.getSelection());
+
+            final Spinner totalRowsSpinner = UIUtils.createLabelSpinner(optionsGroup2, UISearchMessages.dialog_search_data_total_rows, UISearchMessages.dialog_search_data_total_rows_tip, params.maxTotalResults, 0, Integer.MAX_VALUE);
+            totalRowsSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
+            totalRowsSpinner.addModifyListener(e -> params.maxTotalResults = totalRowsSpinner.getSelection());
+
             final Button caseCheckbox = UIUtils.createCheckbox(optionsGroup2, UISearchMessages.dialog_search_objects_case_sensitive, "Case sensitive search", params.caseSensitive, 2);
             caseCheckbox.addSelectionListener(new SelectionAdapter() {
                 @Override
@@ -205,6 +226,9 @@ public class SearchDataPage extends AbstractSearchPage {
         params.searchLOBs = store.getBoolean(PROP_SEARCH_LOBS);
         params.searchForeignObjects = store.getBoolean(PROP_SEARCH_FOREIGN);
         params.maxResults = store.getInt(PROP_SAMPLE_ROWS);
+        params.maxParallelSearches = store.getInt(PROP_PARALLEL_SEARCHES);
+        params.maxSearchTime = Math.min(store.getInt(PROP_TIME_LIMIT), MAX_SEARCH_TIME);
+        params.maxTotalResults = store.getInt(PROP_TOTAL_ROWS);
         for (int i = 0; ; i++) {
             String history = store.getString(PROP_HISTORY + "." + i); //$NON-NLS-1$
             if (CommonUtils.isEmpty(history)) {
@@ -229,6 +253,9 @@ public class SearchDataPage extends AbstractSearchPage {
         store.setValue(PROP_MASK, params.searchString);
         store.setValue(PROP_CASE_SENSITIVE, params.caseSensitive);
         store.setValue(PROP_SAMPLE_ROWS, params.maxResults);
+        store.setValue(PROP_PARALLEL_SEARCHES, params.maxParallelSearches);
+        store.setValue(PROP_TIME_LIMIT, params.maxSearchTime);
+        store.setValue(PROP_TOTAL_ROWS, params.maxTotalResults);
         store.setValue(PROP_FAST_SEARCH, params.fastSearch);
         store.setValue(PROP_SEARCH_NUMBERS, params.searchNumbers);
         store.setValue(PROP_SEARCH_LOBS, params.searchLOBs);
@@ -35,6 +35,9 @@ public class SearchDataParams {
     boolean searchLOBs;
     boolean searchForeignObjects;
     int maxResults;
+    int maxParallelSearches; // Number of tables searched at once, each in its own connection
+    int maxSearchTime; // Seconds, 0 means no limit
+    int maxTotalResults; // Rows found in all tables, 0 means no limit
     List<DBNNode> selectedNodes = new ArrayList<>();
 
     public SearchDataParams()
@@ -105,6 +108,30 @@ public class SearchDataParams {
         this.maxResults = maxResults;
     }
 
+    public int getMaxParallelSearches() {
+        return maxParallelSearches;
+    }
+
+    public void setMaxParallelSearches(int maxParallelSearches) {
+        this.maxParallelSearches = maxParallelSearches;
+    }
+
+    public int getMaxSearchTime() {
+        return maxSearchTime;
+    }
+
+    public void setMaxSearchTime(int maxSearchTime) {
+        this.maxSearchTime = maxSearchTime;
+    }
+
+    public int getMaxTotalResults() {
+        return maxTotalResults;
+    }
+
+    public void setMaxTotalResults(int maxTotalResults) {
+        this.maxTotalResults = maxTotalResults;
+    }
+
     public List<DBNNode> getSelectedNodes() {
         return selectedNodes;
     }
@@ -20,6 +20,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.search.ui.ISearchQuery;
 import org.eclipse.search.ui.ISearchResult;
 import org.eclipse.ui.IEditorPart;
@@ -36,12 +37,15 @@ import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 import org.jkiss.dbeaver.model.navigator.DBNModel;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DefaultProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.controls.resultset.IResultSetController;
@@ -55,6 +59,9 @@ import org.jkiss.utils.CommonUtils;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SearchDataQuery implements ISearchQuery {
 
@@ -62,6 +69,9 @@ public class SearchDataQuery implements ISearchQuery {
 
     private final SearchDataParams params;
     private SearchDataResult searchResult;
+    // Search budget shared by all search threads
+    private volatile long searchDeadline;
+    private final AtomicInteger totalRowsFound = new AtomicInteger();
 
     private SearchDataQuery(SearchDataParams params)
     {
@@ -109,19 +119,25 @@ public class SearchDataQuery implements ISearchQuery {
             DBRProgressMonitor monitor = new DefaultProgressMonitor(m);
 
             int totalObjects = 0;
+            searchDeadline = params.maxSearchTime > 0 ? System.currentTimeMillis() + params.maxSearchTime * 1000L : 0;
+            totalRowsFound.set(0);
 
             monitor.beginTask(
                 "Search \"" + searchString + "\" in " + params.sources.size() + " table(s) / " + dataSources.size() + " database(s)",
                 params.sources.size());
             try {
-                for (DBSDataContainer dataContainer : params.sources) {
-                    if (monitor.isCanceled()) {
-                        break;
-                    }
-                    if (searchDataInContainer(monitor, dbnModel, dataContainer)) {
-                        totalObjects++;
+                if (params.maxParallelSearches > 1 && params.sources.size() > 1) {
+                    totalObjects = searchDataParallel(monitor, dbnModel);
+                } else {
+                    for (DBSDataContainer dataContainer : params.sources) {
+                        if (monitor.isCanceled() || isSearchBudgetExhausted()) {
+                            break;
+                        }
+                        if (searchDataInContainer(monitor, dbnModel, dataContainer, null)) {
+                            totalObjects++;
+                        }
+                        monitor.worked(1);
                     }
-                    monitor.worked(1);
                 }
             } finally {
                 monitor.done();
@@ -135,7 +151,79 @@ public class SearchDataQuery implements ISearchQuery {
         }
     }
 
-    private boolean searchDataInContainer(DBRProgressMonitor monitor, DBNModel dbnModel, DBSDataContainer dataContainer) {
+    /**
+     * Searches tables in several threads. Each thread searches one table at a time in its own isolated context.
+     * If thread can't open isolated context then it uses the default context, but only one thread
+     * uses the default context of each instance at a time.
+     * Tables of embedded databases are searched in the current thread.
+     * Returns number of tables with found rows.
+     */
+    private int searchDataParallel(DBRProgressMonitor monitor, DBNModel dbnModel) {
+        Queue<DBSDataContainer> sharedSources = new ConcurrentLinkedQueue<>();
+        List<DBSDataContainer> embeddedSources = new ArrayList<>();
+        for (DBSDataContainer dataContainer : params.sources) {
+            DBPDataSource dataSource = dataContainer.getDataSource();
+            if (dataSource != null && dataSource.getContainer().getDriver().isEmbedded()) {
+                embeddedSources.add(dataContainer);
+            } else {
+                sharedSources.add(dataContainer);
+            }
+        }
+        AtomicInteger totalObjects = new AtomicInteger();
+        Map<DBSInstance, Object> defaultContextLocks = new ConcurrentHashMap<>();
+        List<SearchWorker> workers = new ArrayList<>();
+        for (int i = 0; i < Math.min(params.maxParallelSearches, sharedSources.size()); i++) {
+            SearchWorker worker = new SearchWorker(monitor, dbnModel, sharedSources, totalObjects, defaultContextLocks, i + 1);
+            workers.add(worker);
+            worker.schedule();
+        }
+        log.debug("Search in " + sharedSources.size() + " table(s) by " + workers.size() + " thread(s)");
+        for (DBSDataContainer dataContainer : embeddedSources) {
+            if (monitor.isCanceled() || isSearchBudgetExhausted()) {
+                break;
+            }
+            if (searchDataInContainer(monitor, dbnModel, dataContainer, null)) {
+                totalObjects.incrementAndGet();
+            }
+            synchronized (monitor) {
+                monitor.worked(1);
+            }
+        }
+        boolean interrupted = false;
+        for (SearchWorker worker : workers) {
+            while (worker.getState() != Job.NONE) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    // Do not leave workers alive. Wait for them to close their contexts and restore interrupt status after that
+                    interrupted = true;
+                    cancelSearchWorkers(workers);
+                }
+                if (monitor.isCanceled()) {
+                    cancelSearchWorkers(workers);
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return totalObjects.get();
+    }
+
+    private static void cancelSearchWorkers(List<SearchWorker> workers) {
+        for (SearchWorker worker : workers) {
+            worker.cancel();
+        }
+    }
+
+    private boolean isSearchBudgetExhausted() {
+        if (searchDeadline > 0 && System.currentTimeMillis() > searchDeadline) {
+            return true;
+        }
+        return params.maxTotalResults > 0 && totalRowsFound.get() >= params.maxTotalResults;
+    }
+
+    private boolean searchDataInContainer(DBRProgressMonitor monitor, DBNModel dbnModel, DBSDataContainer dataContainer, @Nullable DBCExecutionContext context) {
         if (!params.searchForeignObjects && dataContainer instanceof DBPForeignObject && ((DBPForeignObject) dataContainer).isForeignObject()) {
             return false;
         }
@@ -146,10 +234,15 @@ public class SearchDataQuery implements ISearchQuery {
             log.warn("Can't find tree node for object \"" + objectName + "\"");
             return false;
         }
-        monitor.subTask("Search in '" + objectName + "'");
+        synchronized (monitor) {
+            monitor.subTask("Search in '" + objectName + "'");
+        }
         log.debug("Search in '" + objectName + "'");
         SearchTableMonitor searchMonitor = new SearchTableMonitor(monitor);
-        try (DBCSession session = DBUtils.openUtilSession(searchMonitor, dataContainer, "Search rows in " + objectName)) {
+        try (DBCSession session = context == null ?
+            DBUtils.openUtilSession(searchMonitor, dataContainer, "Search rows in " + objectName) :
+            context.openSession(searchMonitor, DBCExecutionPurpose.UTIL, "Search rows in " + objectName))
+        {
             TestDataReceiver dataReceiver = new TestDataReceiver(searchMonitor);
             try {
                 findRows(session, dataContainer, dataReceiver);
@@ -291,6 +384,8 @@ public class SearchDataQuery implements ISearchQuery {
             if (dataFilter != null) {
                 dataReceiver.filter = dataFilter;
             } else {
+                // Text columns go first: most matches are found in them
+                constraints.sort(Comparator.comparingInt(c -> isTextAttribute(c.getAttribute()) ? 0 : 1));
                 dataReceiver.filter = new DBDDataFilter(constraints);
             }
             dataReceiver.filter.setAnyConstraint(true);
@@ -301,6 +396,11 @@ public class SearchDataQuery implements ISearchQuery {
         }
     }
 
+    private static boolean isTextAttribute(@NotNull DBSAttributeBase attribute) {
+        DBPDataKind dataKind = attribute.getDataKind();
+        return dataKind == DBPDataKind.STRING || dataKind == DBPDataKind.CONTENT;
+    }
+
     static SearchDataQuery createQuery(SearchDataParams params) throws DBException {
         return new SearchDataQuery(params);
     }
@@ -342,7 +442,83 @@ public class SearchDataQuery implements ISearchQuery {
 
         @Override
         public boolean isCanceled() {
-            return canceled || baseMonitor.isCanceled();
+            return canceled || baseMonitor.isCanceled() || isSearchBudgetExhausted();
+        }
+    }
+
+    /**
+     * Takes tables from the shared queue and searches them until the queue is empty.
+     * Keeps one isolated context per database instance.
+     */
+    private class SearchWorker extends AbstractJob {
+        private final DBRProgressMonitor monitor;
+        private final DBNModel dbnModel;
+        private final Queue<DBSDataContainer> sources;
+        private final AtomicInteger totalObjects;
+        private final Map<DBSInstance, Object> defaultContextLocks;
+        private final Map<DBSInstance, DBCExecutionContext> contexts = new HashMap<>();
+        // Instances where isolated context can't be opened
+        private final Set<DBSInstance> failedInstances = new HashSet<>();
+
+        SearchWorker(DBRProgressMonitor monitor, DBNModel dbnModel, Queue<DBSDataContainer> sources, AtomicInteger totalObjects, Map<DBSInstance, Object> defaultContextLocks, int index) {
+            super("Search data \"" + params.searchString + "\" (" + index + ")");
+            setSystem(true);
+            setUser(false);
+            this.monitor = monitor;
+            this.dbnModel = dbnModel;
+            this.sources = sources;
+            this.totalObjects = totalObjects;
+            this.defaultContextLocks = defaultContextLocks;
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor jobMonitor) {
+            try {
+                for (DBSDataContainer dataContainer = sources.poll(); dataContainer != null; dataContainer = sources.poll()) {
+                    if (isCanceled() || monitor.isCanceled() || isSearchBudgetExhausted()) {
+                        break;
+                    }
+                    DBSInstance instance = DBUtils.getObjectOwnerInstance(dataContainer);
+                    DBCExecutionContext context = getSearchContext(instance, dataContainer);
+                    boolean found;
+                    if (context != null) {
+                        found = searchDataInContainer(monitor, dbnModel, dataContainer, context);
+                    } else {
+                        synchronized (defaultContextLocks.computeIfAbsent(instance, k -> new Object())) {
+                            found = searchDataInContainer(monitor, dbnModel, dataContainer, null);
+                        }
+                    }
+                    if (found) {
+                        totalObjects.incrementAndGet();
+                    }
+                    synchronized (monitor) {
+                        monitor.worked(1);
+                    }
+                }
+            } finally {
+                for (DBCExecutionContext context : contexts.values()) {
+                    context.close();
+                }
+            }
+            return Status.OK_STATUS;
+        }
+
+        /**
+         * Returns isolated context of this worker or null if it can't be opened (then the default context must be used).
+         */
+        @Nullable
+        private DBCExecutionContext getSearchContext(DBSInstance instance, DBSDataContainer dataContainer) {
+            DBCExecutionContext context = contexts.get(instance);
+            if (context == null && !failedInstances.contains(instance)) {
+                try {
+                    context = instance.openIsolatedContext(monitor, "Search data", DBUtils.getDefaultContext(dataContainer, false));
+                    contexts.put(instance, context);
+                } catch (Throwable e) {
+                    log.debug("Can't open isolated context for search in '" + instance.getName() + "'. Tables will be searched sequentially in the default context", e);
+                    failedInstances.add(instance);
+                }
+            }
+            return context;
         }
     }
 
@@ -364,6 +540,7 @@ public class SearchDataQuery implements ISearchQuery {
         @Override
         public void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException {
             rowCount++;
+            totalRowsFound.incrementAndGet();
             if (rowCount >= params.maxResults) {
                 searchMonitor.canceled = true;
             }
@@ -42,6 +42,13 @@ public class UISearchMessages extends NLS {
     public static String dialog_search_objects_search_in_definitions;
     public static String dialog_search_objects_title;
 
+    public static String dialog_search_data_parallel_searches;
+    public static String dialog_search_data_parallel_searches_tip;
+    public static String dialog_search_data_time_limit;
+    public static String dialog_search_data_time_limit_tip;
+    public static String dialog_search_data_total_rows;
+    public static String dialog_search_data_total_rows_tip;
+
     static {
         // initialize resource bundle
         NLS.initializeMessages(BUNDLE_NAME, UISearchMessages.class);
@@ -0,0 +1,156 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model;
+
+import org.jkiss.dbeaver.ext.postgresql.model.PostgreCopyBinaryWriter.FieldType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+public class PostgreCopyBinaryWriterTest {
+
+    private ByteArrayOutputStream buffer;
+    private PostgreCopyBinaryWriter writer;
+
+    @Before
+    public void setUp() {
+        buffer = new ByteArrayOutputStream();
+        writer = new PostgreCopyBinaryWriter(buffer);
+    }
+
+    @Test
+    public void testHeaderAndTrailer() throws IOException {
+        writer.writeHeader();
+        writer.writeTrailer();
+        DataInputStream in = readBuffer();
+        byte[] signature = new byte[11];
+        in.readFully(signature);
+        Assert.assertArrayEquals(new byte[] {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0}, signature);
+        // Flags and header extension length
+        Assert.assertEquals(0, in.readInt());
+        Assert.assertEquals(0, in.readInt());
+        Assert.assertEquals(-1, in.readShort());
+        Assert.assertEquals(0, in.available());
+    }
+
+    @Test
+    public void testRow() throws IOException {
+        UUID uuid = UUID.randomUUID();
+        writer.startRow(6);
+        writer.writeValue(FieldType.INT4, 42);
+        writer.writeNull();
+        writer.writeValue(FieldType.TEXT, "Text \u00e9\u00e8");
+        writer.writeValue(FieldType.BOOL, Boolean.TRUE);
+        writer.writeValue(FieldType.UUID, uuid);
+        writer.writeValue(FieldType.FLOAT8, "2.5");
+
+        DataInputStream in = readBuffer();
+        Assert.assertEquals(6, in.readShort());
+        Assert.assertEquals(4, in.readInt());
+        Assert.assertEquals(42, in.readInt());
+        Assert.assertEquals(-1, in.readInt());
+        byte[] text = "Text \u00e9\u00e8".getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals(text.length, in.readInt());
+        byte[] textValue = new byte[text.length];
+        in.readFully(textValue);
+        Assert.assertArrayEquals(text, textValue);
+        Assert.assertEquals(1, in.readInt());
+        Assert.assertEquals(1, in.readByte());
+        Assert.assertEquals(16, in.readInt());
+        Assert.assertEquals(uuid.getMostSignificantBits(), in.readLong());
+        Assert.assertEquals(uuid.getLeastSignificantBits(), in.readLong());
+        Assert.assertEquals(8, in.readInt());
+        Assert.assertEquals(2.5, in.readDouble(), 0);
+        Assert.assertEquals(0, in.available());
+    }
+
+    @Test
+    public void testIntegers() throws IOException {
+        writer.writeValue(FieldType.INT2, (short) -5);
+        writer.writeValue(FieldType.INT2, " 32767 ");
+        writer.writeValue(FieldType.INT4, Integer.MIN_VALUE);
+        writer.writeValue(FieldType.INT8, new BigDecimal("10.000"));
+        writer.writeValue(FieldType.INT8, String.valueOf(Long.MAX_VALUE));
+
+        DataInputStream in = readBuffer();
+        Assert.assertEquals(2, in.readInt());
+        Assert.assertEquals(-5, in.readShort());
+        Assert.assertEquals(2, in.readInt());
+        Assert.assertEquals(Short.MAX_VALUE, in.readShort());
+        Assert.assertEquals(4, in.readInt());
+        Assert.assertEquals(Integer.MIN_VALUE, in.readInt());
+        Assert.assertEquals(8, in.readInt());
+        Assert.assertEquals(10, in.readLong());
+        Assert.assertEquals(8, in.readInt());
+        Assert.assertEquals(Long.MAX_VALUE, in.readLong());
+
+        assertBadValue(FieldType.INT2, 32768);
+        assertBadValue(FieldType.INT2, "-32769");
+        assertBadValue(FieldType.INT4, (long) Integer.MAX_VALUE + 1);
+        assertBadValue(FieldType.INT4, "1.5");
+        assertBadValue(FieldType.INT8, new BigDecimal("1.5"));
+        assertBadValue(FieldType.INT8, "9223372036854775808");
+        assertBadValue(FieldType.INT4, "abc");
+    }
+
+    @Test
+    public void testBooleans() throws IOException {
+        for (String value : Arrays.asList("t", "true", "y", "yes", "on", "1", "TRUE", " On ")) {
+            Assert.assertTrue(value, PostgreCopyBinaryWriter.parseBoolean(value));
+        }
+        for (String value : Arrays.asList("f", "false", "n", "no", "off", "0", "False", " OFF ")) {
+            Assert.assertFalse(value, PostgreCopyBinaryWriter.parseBoolean(value));
+        }
+        writer.writeValue(FieldType.BOOL, "yes");
+        writer.writeValue(FieldType.BOOL, "off");
+        writer.writeValue(FieldType.BOOL, 0);
+        DataInputStream in = readBuffer();
+        for (int expected : new int[] {1, 0, 0}) {
+            Assert.assertEquals(1, in.readInt());
+            Assert.assertEquals(expected, in.readByte());
+        }
+
+        assertBadValue(FieldType.BOOL, "");
+        assertBadValue(FieldType.BOOL, "2");
+        assertBadValue(FieldType.BOOL, "maybe");
+        assertBadValue(FieldType.BOOL, "yes please");
+    }
+
+    private void assertBadValue(FieldType type, Object value) throws IOException {
+        int size = buffer.size();
+        try {
+            writer.writeValue(type, value);
+            Assert.fail("Value must be rejected: " + value);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            // Nothing is written
+            Assert.assertEquals(size, buffer.size());
+        }
+    }
+
+    private DataInputStream readBuffer() {
+        return new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+    }
+}
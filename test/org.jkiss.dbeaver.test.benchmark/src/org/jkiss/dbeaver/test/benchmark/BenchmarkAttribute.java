@@ -0,0 +1,181 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDRowIdentifier;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCAttributeMetaData;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.model.struct.DBSEntityReferrer;
+
+import java.util.List;
+
+/**
+ * Plain attribute binding with explicit value handler
+ */
+class BenchmarkAttribute extends DBDAttributeBinding {
+
+    @NotNull
+    private final DBPDataSource dataSource;
+    @NotNull
+    private final String name;
+    @NotNull
+    private final String typeName;
+    private final int typeID;
+    @NotNull
+    private final DBPDataKind dataKind;
+    private final int ordinalPosition;
+
+    BenchmarkAttribute(
+        @NotNull DBPDataSource dataSource,
+        @NotNull DBDValueHandler valueHandler,
+        @NotNull String name,
+        @NotNull String typeName,
+        int typeID,
+        @NotNull DBPDataKind dataKind,
+        int ordinalPosition)
+    {
+        super(valueHandler);
+        this.dataSource = dataSource;
+        this.name = name;
+        this.typeName = typeName;
+        this.typeID = typeID;
+        this.dataKind = dataKind;
+        this.ordinalPosition = ordinalPosition;
+    }
+
+    @NotNull
+    @Override
+    public DBPDataSource getDataSource() {
+        return dataSource;
+    }
+
+    @Nullable
+    @Override
+    public DBDAttributeBinding getParentObject() {
+        return null;
+    }
+
+    @Override
+    public int getOrdinalPosition() {
+        return ordinalPosition;
+    }
+
+    @Override
+    public boolean isRequired() {
+        return false;
+    }
+
+    @Override
+    public boolean isAutoGenerated() {
+        return false;
+    }
+
+    @Override
+    public String getTypeName() {
+        return typeName;
+    }
+
+    @Override
+    public String getFullTypeName() {
+        return typeName;
+    }
+
+    @Override
+    public int getTypeID() {
+        return typeID;
+    }
+
+    @Override
+    public DBPDataKind getDataKind() {
+        return dataKind;
+    }
+
+    @Override
+    public Integer getScale() {
+        return null;
+    }
+
+    @Override
+    public Integer getPrecision() {
+        return null;
+    }
+
+    @Override
+    public long getMaxLength() {
+        return 0;
+    }
+
+    @Override
+    public long getTypeModifiers() {
+        return 0;
+    }
+
+    @NotNull
+    @Override
+    public String getLabel() {
+        return name;
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Nullable
+    @Override
+    public DBCAttributeMetaData getMetaAttribute() {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public DBSEntityAttribute getEntityAttribute() {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public DBDRowIdentifier getRowIdentifier() {
+        return null;
+    }
+
+    @Override
+    public String getRowIdentifierStatus() {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public List<DBSEntityReferrer> getReferrers() {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public Object extractNestedValue(@NotNull Object ownerValue) throws DBCException {
+        throw new DBCException("Nested values are not supported");
+    }
+
+}
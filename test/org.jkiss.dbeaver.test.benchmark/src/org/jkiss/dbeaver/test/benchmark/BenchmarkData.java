@@ -0,0 +1,75 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDFormatSettings;
+import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCDateTimeValueHandler;
+import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCNumberValueHandler;
+import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCStringValueHandler;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test data shared by benchmarks: ID, NAME, AMOUNT and CREATED columns
+ */
+class BenchmarkData {
+
+    static final int COLUMN_COUNT = 4;
+
+    @NotNull
+    static DBDAttributeBinding[] createAttributes(@NotNull DBPDataSource dataSource) {
+        DBDFormatSettings formatSettings = dataSource.getContainer();
+        return new DBDAttributeBinding[] {
+            new BenchmarkAttribute(dataSource, new JDBCNumberValueHandler(null, formatSettings),
+                "ID", "BIGINT", Types.BIGINT, DBPDataKind.NUMERIC, 0),
+            new BenchmarkAttribute(dataSource, JDBCStringValueHandler.INSTANCE,
+                "NAME", "VARCHAR", Types.VARCHAR, DBPDataKind.STRING, 1),
+            new BenchmarkAttribute(dataSource, new JDBCNumberValueHandler(null, formatSettings),
+                "AMOUNT", "DOUBLE", Types.DOUBLE, DBPDataKind.NUMERIC, 2),
+            new BenchmarkAttribute(dataSource, new JDBCDateTimeValueHandler(formatSettings),
+                "CREATED", "TIMESTAMP", Types.TIMESTAMP, DBPDataKind.DATETIME, 3),
+        };
+    }
+
+    /**
+     * Generates rows with the same values on each call
+     */
+    @NotNull
+    static List<Object[]> createRows(int rowCount) {
+        Random random = new Random(rowCount);
+        long baseTime = Timestamp.valueOf("2020-01-01 00:00:00").getTime();
+        List<Object[]> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new Object[] {
+                (long) i,
+                "Name \"" + random.nextInt(rowCount) + "\", description " + i,
+                random.nextInt(1000000) / 100.0,
+                new Timestamp(baseTime + random.nextInt(365 * 24 * 3600) * 1000L)
+            });
+        }
+        return rows;
+    }
+
+}
@@ -0,0 +1,289 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPImage;
+import org.jkiss.dbeaver.model.DBPNamedObject;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferProcessor;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferSettings;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataImporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamEntityMapping;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamProducerSettings;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterCSV;
+import org.jkiss.dbeaver.tools.transfer.stream.importer.DataImporterCSV;
+import org.jkiss.dbeaver.tools.transfer.stream.model.StreamDataSource;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV export and import throughput
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DataTransferCSVBenchmark {
+
+    @Param({"100000"})
+    public int rowCount;
+
+    private final DBRProgressMonitor monitor = new VoidProgressMonitor();
+    private final Map<String, Object> properties = new HashMap<>();
+    private DBDAttributeBinding[] attributes;
+    private List<Object[]> rows;
+    private byte[] csvData;
+    private StreamEntityMapping entityMapping;
+    private IStreamDataImporterSite importerSite;
+
+    @Setup
+    public void setUp() throws Exception {
+        properties.put("delimiter", ",");
+        properties.put("rowDelimiter", "default");
+        properties.put("header", "top");
+        properties.put("quoteChar", "\"");
+
+        StreamDataSource dataSource = new StreamDataSource("benchmark");
+        attributes = BenchmarkData.createAttributes(dataSource);
+        rows = BenchmarkData.createRows(rowCount);
+
+        // Exported data is the import source
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        exportRows(buffer);
+        csvData = buffer.toByteArray();
+
+        entityMapping = new StreamEntityMapping(new File("benchmark.csv"));
+        importerSite = Mockito.mock(IStreamDataImporterSite.class);
+        Mockito.when(importerSite.getSettings()).thenReturn(new StreamProducerSettings());
+        Mockito.when(importerSite.getSourceObject()).thenReturn(entityMapping);
+        Mockito.when(importerSite.getProcessorProperties()).thenReturn(properties);
+
+        DataImporterCSV importer = new DataImporterCSV();
+        importer.init(importerSite);
+        entityMapping.getStreamColumns().addAll(importer.readColumnsInfo(entityMapping, new ByteArrayInputStream(csvData)));
+    }
+
+    @Benchmark
+    public long exportCSV() throws Exception {
+        CountingOutputStream out = new CountingOutputStream();
+        exportRows(out);
+        return out.count;
+    }
+
+    @Benchmark
+    public long importCSV() throws Exception {
+        DataImporterCSV importer = new DataImporterCSV();
+        importer.init(importerSite);
+        CountingConsumer consumer = new CountingConsumer(entityMapping.getStreamColumns().size());
+        importer.runImport(monitor, entityMapping.getDataSource(), new ByteArrayInputStream(csvData), consumer);
+        return consumer.valueCount;
+    }
+
+    private void exportRows(@NotNull OutputStream out) throws Exception {
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024))) {
+            DataExporterCSV exporter = new DataExporterCSV();
+            exporter.init(new ExporterSite(attributes, properties, out, writer));
+            exporter.exportHeader(null);
+            for (Object[] row : rows) {
+                exporter.exportRow(null, null, row);
+            }
+            exporter.exportFooter(monitor);
+            exporter.dispose();
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(@NotNull byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    private static class ExporterSite implements IStreamDataExporterSite {
+        private final DBDAttributeBinding[] attributes;
+        private final Map<String, Object> properties;
+        private final OutputStream outputStream;
+        private final PrintWriter writer;
+
+        ExporterSite(DBDAttributeBinding[] attributes, Map<String, Object> properties, OutputStream outputStream, PrintWriter writer) {
+            this.attributes = attributes;
+            this.properties = properties;
+            this.outputStream = outputStream;
+            this.writer = writer;
+        }
+
+        @Override
+        public DBPNamedObject getSource() {
+            return attributes[0].getDataSource();
+        }
+
+        @Override
+        public DBDDisplayFormat getExportFormat() {
+            return DBDDisplayFormat.UI;
+        }
+
+        @Override
+        public Map<String, Object> getProperties() {
+            return properties;
+        }
+
+        @Override
+        public DBDAttributeBinding[] getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            return writer;
+        }
+
+        @Override
+        public void flush() {
+            writer.flush();
+        }
+
+        @Override
+        public void writeBinaryData(@NotNull DBDContentStorage cs) throws IOException {
+            throw new IOException("Binary data is not supported");
+        }
+
+        @NotNull
+        @Override
+        public String getOutputEncoding() {
+            return GeneralUtils.UTF8_ENCODING;
+        }
+    }
+
+    /**
+     * Reads all values of imported rows
+     */
+    private static class CountingConsumer implements IDataTransferConsumer<IDataTransferSettings, IDataTransferProcessor> {
+        private final int columnCount;
+        private long valueCount;
+
+        CountingConsumer(int columnCount) {
+            this.columnCount = columnCount;
+        }
+
+        @Override
+        public void initTransfer(DBSObject sourceObject, IDataTransferSettings settings, TransferParameters parameters, IDataTransferProcessor processor, Map<String, Object> processorProperties) {
+        }
+
+        @Override
+        public void startTransfer(DBRProgressMonitor monitor) {
+        }
+
+        @Override
+        public void finishTransfer(DBRProgressMonitor monitor, boolean last) {
+        }
+
+        @Override
+        public Object getTargetObject() {
+            return null;
+        }
+
+        @Override
+        public Object getTargetObjectContainer() {
+            return null;
+        }
+
+        @Override
+        public DBSObject getDatabaseObject() {
+            return null;
+        }
+
+        @Override
+        public String getObjectName() {
+            return "Benchmark";
+        }
+
+        @Override
+        public DBPImage getObjectIcon() {
+            return null;
+        }
+
+        @Override
+        public String getObjectContainerName() {
+            return null;
+        }
+
+        @Override
+        public DBPImage getObjectContainerIcon() {
+            return null;
+        }
+
+        @Override
+        public boolean isConfigurationComplete() {
+            return true;
+        }
+
+        @Override
+        public void fetchStart(DBCSession session, DBCResultSet resultSet, long offset, long maxRows) {
+        }
+
+        @Override
+        public void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException {
+            for (int i = 0; i < columnCount; i++) {
+                if (resultSet.getAttributeValue(i) != null) {
+                    valueCount++;
+                }
+            }
+        }
+
+        @Override
+        public void fetchEnd(DBCSession session, DBCResultSet resultSet) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCResultSetImpl;
+import org.jkiss.dbeaver.tools.transfer.stream.model.StreamDataSource;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.*;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Value extraction from JDBC result set (embedded H2 database)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JDBCResultSetBenchmark {
+
+    private static final String QUERY = "SELECT ID, NAME, AMOUNT, CREATED FROM BENCHMARK_DATA";
+
+    @Param({"100000"})
+    public int rowCount;
+
+    private Connection connection;
+    private JDBCSession session;
+    private DBDAttributeBinding[] attributes;
+    private DBDValueHandler[] valueHandlers;
+
+    @Setup
+    public void setUp() throws SQLException {
+        // Use driver directly: DriverManager doesn't see drivers from the bundle class path
+        connection = new org.h2.Driver().connect("jdbc:h2:mem:benchmark_" + rowCount, new Properties());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE BENCHMARK_DATA (ID BIGINT PRIMARY KEY, NAME VARCHAR(200), AMOUNT DOUBLE, CREATED TIMESTAMP)");
+        }
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO BENCHMARK_DATA VALUES (?,?,?,?)")) {
+            List<Object[]> rows = BenchmarkData.createRows(rowCount);
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] row = rows.get(i);
+                for (int k = 0; k < row.length; k++) {
+                    statement.setObject(k + 1, row[k]);
+                }
+                statement.addBatch();
+                if (i % 1000 == 999) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+
+        session = Mockito.mock(JDBCSession.class);
+        attributes = BenchmarkData.createAttributes(new StreamDataSource("benchmark"));
+        valueHandlers = new DBDValueHandler[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            valueHandlers[i] = attributes[i].getValueHandler();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long fetchObjects() throws Exception {
+        long count = 0;
+        try (Statement statement = connection.createStatement()) {
+            try (BenchmarkResultSet resultSet = new BenchmarkResultSet(session, statement.executeQuery(QUERY))) {
+                while (resultSet.nextRow()) {
+                    for (int i = 0; i < attributes.length; i++) {
+                        if (resultSet.getAttributeValue(i) != null) {
+                            count++;
+                        }
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long fetchWithValueHandlers() throws Exception {
+        long count = 0;
+        try (Statement statement = connection.createStatement()) {
+            try (BenchmarkResultSet resultSet = new BenchmarkResultSet(session, statement.executeQuery(QUERY))) {
+                while (resultSet.nextRow()) {
+                    for (int i = 0; i < attributes.length; i++) {
+                        if (valueHandlers[i].fetchValueObject(session, resultSet, attributes[i], i) != null) {
+                            count++;
+                        }
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private static class BenchmarkResultSet extends JDBCResultSetImpl {
+        BenchmarkResultSet(JDBCSession session, ResultSet original) {
+            super(session, null, original, "Benchmark", true);
+        }
+    }
+
+}
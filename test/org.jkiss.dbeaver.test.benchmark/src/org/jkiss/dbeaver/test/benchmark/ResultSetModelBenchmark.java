@@ -0,0 +1,80 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.tools.transfer.stream.model.StreamDataSource;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetModel;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result set model data loading and local sorting
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ResultSetModelBenchmark {
+
+    @Param({"10000", "200000"})
+    public int rowCount;
+
+    private DBCResultSet resultSet;
+    private DBDAttributeBinding[] attributes;
+    private List<Object[]> rows;
+    private ResultSetModel sortModel;
+
+    @Setup
+    public void setUp() {
+        resultSet = Mockito.mock(DBCResultSet.class);
+        attributes = BenchmarkData.createAttributes(new StreamDataSource("benchmark"));
+        rows = BenchmarkData.createRows(rowCount);
+
+        sortModel = createModel();
+        // Sort by amount descending, then by name
+        DBDAttributeConstraint amountConstraint = sortModel.getDataFilter().getConstraint(attributes[2]);
+        amountConstraint.setOrderPosition(1);
+        amountConstraint.setOrderDescending(true);
+        sortModel.getDataFilter().getConstraint(attributes[1]).setOrderPosition(2);
+    }
+
+    @Benchmark
+    public ResultSetModel setData() {
+        return createModel();
+    }
+
+    @Benchmark
+    public ResultSetModel sortRows() {
+        sortModel.resetOrdering();
+        return sortModel;
+    }
+
+    private ResultSetModel createModel() {
+        ResultSetModel model = new ResultSetModel();
+        model.setMetaData(resultSet, attributes);
+        model.setData(rows);
+        return model;
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.sql.analyzer.builder.request.RequestBuilder;
+import org.jkiss.dbeaver.model.sql.analyzer.builder.request.RequestResult;
+import org.jkiss.dbeaver.model.sql.completion.SQLCompletionProposalBase;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Completion analyzer performance on large schemas
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SQLCompletionAnalyzerBenchmark {
+
+    private static final int COLUMN_COUNT = 20;
+
+    @Param({"100", "1000"})
+    public int tableCount;
+
+    private RequestResult request;
+    private String tableQuery;
+    private String columnQuery;
+
+    @Setup
+    public void setUp() throws DBException {
+        request = RequestBuilder
+            .tables(s -> {
+                for (int i = 0; i < tableCount; i++) {
+                    s.table("Table" + i, t -> {
+                        for (int k = 0; k < COLUMN_COUNT; k++) {
+                            t.attribute("Column" + k);
+                        }
+                    });
+                }
+            })
+            .prepare();
+        tableQuery = "SELECT * FROM Table" + (tableCount / 2) + "|";
+        columnQuery = "SELECT Col| FROM Table" + (tableCount / 2);
+    }
+
+    @Benchmark
+    public List<SQLCompletionProposalBase> completeTableName() throws DBException {
+        return request.request(tableQuery);
+    }
+
+    @Benchmark
+    public List<SQLCompletionProposalBase> completeColumnName() throws DBException {
+        return request.request(columnQuery);
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.jkiss.dbeaver.model.sql.parser.SQLScriptParser;
+import org.jkiss.dbeaver.model.sql.registry.SQLDialectRegistry;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Script parser performance
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SQLScriptParserBenchmark {
+
+    private static final String[] STATEMENTS = {
+        "SELECT c.id, c.name, sum(o.amount) AS total\nFROM customer c\nJOIN orders o ON o.customer_id = c.id\n" +
+            "WHERE c.created > '2020-01-01' AND o.status IN ('NEW', 'PAID')\nGROUP BY c.id, c.name\nORDER BY total DESC;\n",
+        "INSERT INTO orders (id, customer_id, amount, status) VALUES (1, 2, 100.5, 'NEW');\n",
+        "-- Update statistics\nUPDATE customer SET name = 'Name; with delimiter' WHERE id = 10;\n",
+        "/* Multi-line\n comment */\nDELETE FROM orders WHERE status = 'CANCELLED';\n",
+        "CREATE TABLE audit_log (\n    id BIGINT NOT NULL,\n    message VARCHAR(1000),\n    created TIMESTAMP\n);\n",
+    };
+
+    @Param({"postgresql", "oracle"})
+    public String dialectId;
+
+    @Param({"1000", "10000"})
+    public int statementCount;
+
+    private SQLDialect dialect;
+    private DBPPreferenceStore preferenceStore;
+    private String script;
+
+    @Setup
+    public void setUp() throws DBException {
+        dialect = SQLDialectRegistry.getInstance().getDialect(dialectId).createInstance();
+        preferenceStore = DBWorkbench.getPlatform().getPreferenceStore();
+
+        StringBuilder buffer = new StringBuilder();
+        for (int i = 0; i < statementCount; i++) {
+            buffer.append(STATEMENTS[i % STATEMENTS.length]).append('\n');
+        }
+        script = buffer.toString();
+    }
+
+    @Benchmark
+    public List<SQLScriptElement> parseScript() {
+        return SQLScriptParser.parseScript(dialect, preferenceStore, script);
+    }
+
+}
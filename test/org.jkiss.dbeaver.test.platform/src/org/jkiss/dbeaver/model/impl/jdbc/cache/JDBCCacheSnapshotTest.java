@@ -0,0 +1,274 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.app.DBPProject;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JDBCCacheSnapshotTest {
+    private static final String[] LABELS = {"NAME", "OID", "IS_SYSTEM", "CREATED", "ROW_COUNT", "KIND", "OPTIONS", "DESCRIPTION"};
+    private static final int[] TYPES = {Types.VARCHAR, Types.BIGINT, Types.BOOLEAN, Types.TIMESTAMP, Types.NUMERIC, Types.SMALLINT, Types.ARRAY, Types.VARCHAR};
+    private static final Timestamp CREATED = Timestamp.valueOf("2022-03-04 05:06:07.123456789");
+
+    @Mock
+    private JDBCSession session;
+    @Mock
+    private DBPDataSourceContainer container;
+    @Mock
+    private DBPProject project;
+    @Mock
+    private DBPPreferenceStore preferenceStore;
+    @Mock
+    private DBSObject owner;
+    @Mock
+    private JDBCStatement statement;
+
+    private JDBCDataSource dataSource;
+    private Path metadataFolder;
+    private String marker;
+
+    @Before
+    public void init() throws Exception {
+        metadataFolder = Files.createTempDirectory("dbeaver-snapshot-test");
+        marker = "1:100;";
+        dataSource = Mockito.mock(JDBCDataSource.class, Mockito.withSettings().extraInterfaces(JDBCCacheSnapshotProvider.class));
+        Mockito.when(((JDBCCacheSnapshotProvider) dataSource).getCacheSnapshotMarker(session, owner)).thenAnswer(invocation -> marker);
+        Mockito.when(dataSource.getContainer()).thenReturn(container);
+        Mockito.when(container.getPreferenceStore()).thenReturn(preferenceStore);
+        Mockito.when(container.getProject()).thenReturn(project);
+        Mockito.when(container.getId()).thenReturn("snapshot-test");
+        Mockito.when(project.getMetadataFolder(false)).thenReturn(metadataFolder);
+        Mockito.when(preferenceStore.getBoolean(ModelPreferences.META_CACHE_SNAPSHOTS)).thenReturn(true);
+        Mockito.when(session.getDataSource()).thenReturn(dataSource);
+        Mockito.when(owner.getName()).thenReturn("public");
+        Mockito.when(statement.getQueryString()).thenReturn("SELECT * FROM pg_catalog.pg_class WHERE relnamespace=?");
+        Mockito.when(statement.executeStatement()).thenReturn(true);
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        try (Stream<Path> files = Files.walk(metadataFolder)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        JDBCResultSet liveResult = createLiveResult();
+        Mockito.when(statement.getResultSet()).thenReturn(liveResult);
+
+        // Rows are recorded while they are read from the live result set
+        try (JDBCResultSet dbResult = JDBCCacheSnapshot.executeStatement(session, statement, owner, this)) {
+            Assert.assertNotSame(liveResult, dbResult);
+            assertRows(dbResult);
+        }
+        Mockito.verify(statement, Mockito.times(1)).executeStatement();
+        Mockito.verify(liveResult).close();
+
+        // The same rows are read from the snapshot without query execution
+        try (JDBCResultSet dbResult = JDBCCacheSnapshot.executeStatement(session, statement, owner, this)) {
+            assertRows(dbResult);
+        }
+        Mockito.verify(statement, Mockito.times(1)).executeStatement();
+    }
+
+    @Test
+    public void testResultSetProxy() throws Exception {
+        Mockito.when(statement.getResultSet()).thenReturn(createLiveResult());
+        readAll(JDBCCacheSnapshot.executeStatement(session, statement, owner, this));
+
+        ResultSet resultSet;
+        try (JDBCResultSet dbResult = JDBCCacheSnapshot.executeStatement(session, statement, owner, this)) {
+            resultSet = dbResult.getOriginal();
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            Assert.assertEquals(LABELS.length, metaData.getColumnCount());
+            for (int i = 0; i < LABELS.length; i++) {
+                Assert.assertEquals(LABELS[i], metaData.getColumnLabel(i + 1));
+                Assert.assertEquals(TYPES[i], metaData.getColumnType(i + 1));
+            }
+            Assert.assertEquals(ResultSet.TYPE_FORWARD_ONLY, resultSet.getType());
+            Assert.assertEquals(ResultSet.CONCUR_READ_ONLY, resultSet.getConcurrency());
+            // Column lookup is case insensitive
+            Assert.assertEquals(2, resultSet.findColumn("oid"));
+            try {
+                resultSet.getString(1);
+                Assert.fail("Values can't be read before the first row");
+            } catch (SQLException e) {
+                // Expected
+            }
+            Assert.assertTrue(resultSet.next());
+            Assert.assertEquals(1, resultSet.getRow());
+            try {
+                resultSet.getString("MISSING");
+                Assert.fail("Missing column must be reported");
+            } catch (SQLException e) {
+                // Expected
+            }
+            try {
+                resultSet.getInt("NAME");
+                Assert.fail("String can't be read as a number");
+            } catch (SQLException e) {
+                // Expected
+            }
+            try {
+                resultSet.absolute(1);
+                Assert.fail("Scrolling is not supported");
+            } catch (SQLFeatureNotSupportedException e) {
+                // Expected
+            }
+        }
+        Assert.assertTrue(resultSet.isClosed());
+        Assert.assertFalse(resultSet.next());
+    }
+
+    @Test
+    public void testMarkerChange() throws Exception {
+        Mockito.when(statement.getResultSet()).thenReturn(createLiveResult(), createLiveResult());
+        readAll(JDBCCacheSnapshot.executeStatement(session, statement, owner, this));
+
+        marker = "1:101;";
+        try (JDBCResultSet dbResult = JDBCCacheSnapshot.executeStatement(session, statement, owner, this)) {
+            assertRows(dbResult);
+        }
+        Mockito.verify(statement, Mockito.times(2)).executeStatement();
+
+        // Snapshot was recorded again with the new marker
+        readAll(JDBCCacheSnapshot.executeStatement(session, statement, owner, this));
+        Mockito.verify(statement, Mockito.times(2)).executeStatement();
+    }
+
+    @Test
+    public void testIncompleteRead() throws Exception {
+        Mockito.when(statement.getResultSet()).thenReturn(createLiveResult(), createLiveResult());
+        try (JDBCResultSet dbResult = JDBCCacheSnapshot.executeStatement(session, statement, owner, this)) {
+            Assert.assertTrue(dbResult.next());
+        }
+
+        // Partially read rows are not saved
+        try (JDBCResultSet dbResult = JDBCCacheSnapshot.executeStatement(session, statement, owner, this)) {
+            assertRows(dbResult);
+        }
+        Mockito.verify(statement, Mockito.times(2)).executeStatement();
+    }
+
+    @Test
+    public void testSnapshotsDisabled() throws Exception {
+        Mockito.when(preferenceStore.getBoolean(ModelPreferences.META_CACHE_SNAPSHOTS)).thenReturn(false);
+        JDBCResultSet liveResult = createLiveResult();
+        Mockito.when(statement.getResultSet()).thenReturn(liveResult);
+        Assert.assertSame(liveResult, JDBCCacheSnapshot.executeStatement(session, statement, owner, this));
+    }
+
+    private JDBCResultSet createLiveResult() throws SQLException {
+        ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(metaData.getColumnCount()).thenReturn(LABELS.length);
+        for (int i = 0; i < LABELS.length; i++) {
+            Mockito.when(metaData.getColumnLabel(i + 1)).thenReturn(LABELS[i]);
+            Mockito.when(metaData.getColumnType(i + 1)).thenReturn(TYPES[i]);
+        }
+        Array options = Mockito.mock(Array.class);
+        Mockito.when(options.getArray()).thenReturn(new String[] {"fillfactor=70", null});
+        Mockito.when(options.getBaseTypeName()).thenReturn("text");
+        Mockito.when(options.getBaseType()).thenReturn(Types.VARCHAR);
+
+        JDBCResultSet dbResult = Mockito.mock(JDBCResultSet.class);
+        Mockito.when(dbResult.getMetaData()).thenReturn(metaData);
+        Mockito.when(dbResult.next()).thenReturn(true, true, false);
+        Mockito.when(dbResult.getObject(1)).thenReturn("table1", "table2");
+        Mockito.when(dbResult.getObject(2)).thenReturn(16384L, 16385L);
+        Mockito.when(dbResult.getObject(3)).thenReturn(false, true);
+        Mockito.when(dbResult.getObject(4)).thenReturn(CREATED, null);
+        Mockito.when(dbResult.getObject(5)).thenReturn(new BigDecimal("12345678901234567890.5"), null);
+        Mockito.when(dbResult.getObject(6)).thenReturn((short) 114, (short) 118);
+        Mockito.when(dbResult.getObject(7)).thenReturn(options, null);
+        Mockito.when(dbResult.getObject(8)).thenReturn("Multi-line\ncomment \u00e9\u4e2d", null);
+        return dbResult;
+    }
+
+    private static void assertRows(JDBCResultSet dbResult) throws SQLException {
+        Assert.assertTrue(dbResult.next());
+        Assert.assertEquals("table1", dbResult.getString("NAME"));
+        Assert.assertEquals(16384L, dbResult.getLong(2));
+        Assert.assertEquals(16384, dbResult.getInt("oid"));
+        Assert.assertEquals("16384", dbResult.getString("OID"));
+        Assert.assertFalse(dbResult.getBoolean("IS_SYSTEM"));
+        Assert.assertEquals(CREATED, dbResult.getTimestamp("CREATED"));
+        Assert.assertEquals(new BigDecimal("12345678901234567890.5"), dbResult.getBigDecimal("ROW_COUNT"));
+        Assert.assertEquals(114, dbResult.getInt("KIND"));
+        Assert.assertEquals((short) 114, dbResult.getShort("KIND"));
+        Array options = dbResult.getArray("OPTIONS");
+        Assert.assertEquals("text", options.getBaseTypeName());
+        Assert.assertArrayEquals(new String[] {"fillfactor=70", null}, (Object[]) options.getArray());
+        Assert.assertEquals("Multi-line\ncomment \u00e9\u4e2d", dbResult.getString("DESCRIPTION"));
+        Assert.assertFalse(dbResult.wasNull());
+
+        Assert.assertTrue(dbResult.next());
+        Assert.assertEquals("table2", dbResult.getString(1));
+        Assert.assertEquals(Long.valueOf(16385L), dbResult.getObject("OID", Long.class));
+        Assert.assertTrue(dbResult.getBoolean(3));
+        Assert.assertNull(dbResult.getTimestamp("CREATED"));
+        Assert.assertTrue(dbResult.wasNull());
+        Assert.assertEquals(0L, dbResult.getLong("ROW_COUNT"));
+        Assert.assertTrue(dbResult.wasNull());
+        Assert.assertNull(dbResult.getArray("OPTIONS"));
+        Assert.assertNull(dbResult.getString("DESCRIPTION"));
+        Assert.assertTrue(dbResult.wasNull());
+
+        Assert.assertFalse(dbResult.next());
+    }
+
+    private static void readAll(JDBCResultSet dbResult) throws SQLException {
+        try {
+            while (dbResult.next()) {
+                // Read all rows to save snapshot
+            }
+        } finally {
+            dbResult.close();
+        }
+    }
+
+}
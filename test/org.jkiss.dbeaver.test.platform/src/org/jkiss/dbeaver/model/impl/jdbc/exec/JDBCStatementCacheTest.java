@@ -0,0 +1,154 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class JDBCStatementCacheTest {
+    private static final String QUERY = "SELECT * FROM orders WHERE id = ?";
+
+    private final JDBCStatementCache cache = new JDBCStatementCache(2);
+
+    @Test
+    public void testHitAndMiss() throws Exception {
+        JDBCStatementCache.Key key = makeKey(QUERY);
+        Assert.assertNull(cache.acquire(key));
+        Assert.assertEquals(1, cache.getMissCount());
+
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        cache.release(cache.register(key, statement), true);
+        Assert.assertEquals(1, cache.getSize());
+
+        // Equal key finds the cached statement, which is taken out of the cache while in use
+        JDBCStatementCache.Entry entry = cache.acquire(makeKey(QUERY));
+        Assert.assertNotNull(entry);
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(0, cache.getSize());
+        Assert.assertNull(cache.acquire(key));
+
+        // Result set type is a part of the key
+        cache.release(entry, true);
+        Assert.assertNull(cache.acquire(new JDBCStatementCache.Key(QUERY, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)));
+        Mockito.verify(statement, Mockito.never()).close();
+
+        // Released entry holds the same statement
+        cache.release(cache.acquire(key), false);
+        Mockito.verify(statement).close();
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(statement.getFetchSize()).thenReturn(50);
+        Mockito.when(statement.getResultSet()).thenReturn(resultSet);
+
+        JDBCStatementCache.Entry entry = cache.register(makeKey(QUERY), statement);
+        cache.release(entry, true);
+
+        Mockito.verify(resultSet).close();
+        Mockito.verify(statement).clearParameters();
+        Mockito.verify(statement).setMaxRows(0);
+        Mockito.verify(statement).setQueryTimeout(0);
+        Mockito.verify(statement).setFetchSize(50);
+        Assert.assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void testNotReusable() throws Exception {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        cache.release(cache.register(makeKey(QUERY), statement), false);
+        Mockito.verify(statement).close();
+        Assert.assertEquals(0, cache.getSize());
+
+        // Statement which can't be reset is closed too
+        PreparedStatement brokenStatement = Mockito.mock(PreparedStatement.class);
+        Mockito.doThrow(new SQLException("Closed")).when(brokenStatement).clearParameters();
+        cache.release(cache.register(makeKey(QUERY), brokenStatement), true);
+        Mockito.verify(brokenStatement).close();
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        PreparedStatement first = Mockito.mock(PreparedStatement.class);
+        PreparedStatement second = Mockito.mock(PreparedStatement.class);
+        PreparedStatement third = Mockito.mock(PreparedStatement.class);
+        cache.release(cache.register(makeKey("SELECT 1"), first), true);
+        cache.release(cache.register(makeKey("SELECT 2"), second), true);
+        // Recently used statement is kept
+        cache.release(cache.acquire(makeKey("SELECT 1")), true);
+        cache.release(cache.register(makeKey("SELECT 3"), third), true);
+
+        Assert.assertEquals(2, cache.getSize());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Mockito.verify(second).close();
+        Mockito.verify(first, Mockito.never()).close();
+        Mockito.verify(third, Mockito.never()).close();
+        Assert.assertNull(cache.acquire(makeKey("SELECT 2")));
+    }
+
+    @Test
+    public void testDuplicateRelease() throws Exception {
+        // The same query prepared twice at once: the last released statement stays in the cache
+        PreparedStatement first = Mockito.mock(PreparedStatement.class);
+        PreparedStatement second = Mockito.mock(PreparedStatement.class);
+        JDBCStatementCache.Entry firstEntry = cache.register(makeKey(QUERY), first);
+        JDBCStatementCache.Entry secondEntry = cache.register(makeKey(QUERY), second);
+        cache.release(firstEntry, true);
+        cache.release(secondEntry, true);
+
+        Assert.assertEquals(1, cache.getSize());
+        Mockito.verify(first).close();
+        Mockito.verify(second, Mockito.never()).close();
+        cache.release(cache.acquire(makeKey(QUERY)), false);
+        Mockito.verify(second).close();
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        PreparedStatement cached = Mockito.mock(PreparedStatement.class);
+        PreparedStatement inUse = Mockito.mock(PreparedStatement.class);
+        cache.release(cache.register(makeKey("SELECT 1"), cached), true);
+        JDBCStatementCache.Entry inUseEntry = cache.register(makeKey("SELECT 2"), inUse);
+
+        cache.clear();
+        Assert.assertEquals(0, cache.getSize());
+        Mockito.verify(cached).close();
+        Mockito.verify(inUse, Mockito.never()).close();
+
+        // Statement prepared before clear is closed on release
+        cache.release(inUseEntry, true);
+        Mockito.verify(inUse).close();
+        Assert.assertEquals(0, cache.getSize());
+
+        // Statements prepared after clear are cached again
+        PreparedStatement fresh = Mockito.mock(PreparedStatement.class);
+        cache.release(cache.register(makeKey("SELECT 2"), fresh), true);
+        Assert.assertEquals(1, cache.getSize());
+    }
+
+    private static JDBCStatementCache.Key makeKey(String query) {
+        return new JDBCStatementCache.Key(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+}
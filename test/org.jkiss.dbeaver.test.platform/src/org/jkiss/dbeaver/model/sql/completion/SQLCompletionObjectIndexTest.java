@@ -0,0 +1,200 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.completion;
+
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SQLCompletionObjectIndexTest {
+
+    private static final long INDEX_TIMEOUT = 10000;
+
+    @Mock
+    private DBPDataSource dataSource;
+    @Mock
+    private DBPDataSourceContainer dataSourceContainer;
+    @Mock
+    private DBPDataSourceRegistry registry;
+
+    private SQLCompletionObjectIndex index;
+
+    @Before
+    public void init() {
+        Mockito.when(dataSource.getContainer()).thenReturn(dataSourceContainer);
+        Mockito.when(dataSourceContainer.getRegistry()).thenReturn(registry);
+        Mockito.when(dataSourceContainer.getName()).thenReturn("test");
+    }
+
+    @After
+    public void dispose() {
+        if (index != null) {
+            index.dispose();
+        }
+    }
+
+    @Test
+    public void testFindObjects() throws Exception {
+        index = SQLCompletionObjectIndex.createIndex(dataSource, 1000);
+        TestContainer schema = new TestContainer(null, "PUBLIC");
+        schema.addChild("ORDERS");
+        schema.addChild("ORDER_ITEMS");
+        schema.addChild("CUSTOMERS");
+        DBSObjectContainer[] scopes = { schema };
+
+        // Not indexed yet
+        Assert.assertNull(index.findObjects(scopes, null, "ORD", false, false, 10));
+        waitFor(() -> index.isIndexed(schema));
+        Assert.assertEquals(3, index.getSize());
+
+        List<DBSObject> found = index.findObjects(scopes, null, "ord", false, false, 10);
+        Assert.assertNotNull(found);
+        Assert.assertEquals(2, found.size());
+        Assert.assertTrue(index.findObjects(scopes, null, "ord", true, false, 10).isEmpty());
+        Assert.assertEquals(1, index.findObjects(scopes, null, "ORD", false, false, 1).size());
+
+        found = index.findObjects(scopes, null, "ITEM", false, true, 10);
+        Assert.assertNotNull(found);
+        Assert.assertEquals(1, found.size());
+        Assert.assertEquals("ORDER_ITEMS", found.get(0).getName());
+
+        // Objects of other containers are not visible
+        TestContainer otherSchema = new TestContainer(null, "OTHER");
+        otherSchema.addChild("ORDERS");
+        waitFor(() -> {
+            index.scheduleIndexing(otherSchema);
+            return index.isIndexed(otherSchema);
+        });
+        Assert.assertEquals(1, index.findObjects(new DBSObjectContainer[] { otherSchema }, null, "ORD", false, false, 10).size());
+        Assert.assertEquals(2, index.findObjects(scopes, null, "ORD", false, false, 10).size());
+    }
+
+    @Test
+    public void testOverflow() throws Exception {
+        index = SQLCompletionObjectIndex.createIndex(dataSource, 10);
+        TestContainer schema = new TestContainer(null, "PUBLIC");
+        for (int i = 0; i < 20; i++) {
+            schema.addChild("TABLE_" + i);
+        }
+        DBSObjectContainer[] scopes = { schema };
+        Assert.assertNull(index.findObjects(scopes, null, "TABLE", false, false, 100));
+        waitFor(() -> index.isOverflowed());
+
+        // Overflowed index must not be used, otherwise completion would miss objects
+        Assert.assertFalse(index.isIndexed(schema));
+        Assert.assertNull(index.findObjects(scopes, null, "TABLE", false, false, 100));
+        Assert.assertEquals(0, index.getSize());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long startTime = System.currentTimeMillis();
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() - startTime > INDEX_TIMEOUT) {
+                Assert.fail("Index wasn't built in " + INDEX_TIMEOUT + "ms");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private class TestContainer extends TestObject implements DBSObjectContainer {
+        private final List<DBSObject> children = new ArrayList<>();
+
+        TestContainer(DBSObject parent, String name) {
+            super(parent, name);
+        }
+
+        void addChild(String name) {
+            children.add(new TestObject(this, name));
+        }
+
+        @Override
+        public Collection<? extends DBSObject> getChildren(DBRProgressMonitor monitor) {
+            return children;
+        }
+
+        @Override
+        public DBSObject getChild(DBRProgressMonitor monitor, String childName) {
+            for (DBSObject child : children) {
+                if (child.getName().equals(childName)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Class<? extends DBSObject> getPrimaryChildType(DBRProgressMonitor monitor) {
+            return TestObject.class;
+        }
+
+        @Override
+        public void cacheStructure(DBRProgressMonitor monitor, int scope) {
+        }
+    }
+
+    private class TestObject implements DBSObject {
+        private final DBSObject parent;
+        private final String name;
+
+        TestObject(DBSObject parent, String name) {
+            this.parent = parent;
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDescription() {
+            return null;
+        }
+
+        @Override
+        public DBSObject getParentObject() {
+            return parent;
+        }
+
+        @Override
+        public DBPDataSource getDataSource() {
+            return dataSource;
+        }
+
+        @Override
+        public boolean isPersisted() {
+            return true;
+        }
+    }
+}
@@ -16,7 +16,9 @@
  */
 package org.jkiss.dbeaver.model.sql.parser;
 
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IRegion;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
@@ -312,6 +314,178 @@ public class SQLScriptParserTest {
             });
     }
 
+    @Test
+    public void parseIndexFollowsEdits() throws DBException, BadLocationException {
+        SQLParserContext context = createParserContext(setDialect("postgresql"),
+            "SELECT 1;\n" +
+            "SELECT 2;\n" +
+            "\n" +
+            "SELECT a, b FROM t WHERE c = 'x;y';\n" +
+            "UPDATE t SET a = 1;\n" +
+            "do $$\nbegin\nnull;\nend $$;\n" +
+            "SELECT 3;\n");
+        Document document = (Document) context.getDocument();
+        SQLScriptParseIndex index = new SQLScriptParseIndex(context);
+        try {
+            assertIndex(context, index);
+
+            // Remove delimiter, then the blank line which separates statements
+            replace(document, "SELECT 2;", 8, 1, "");
+            assertIndex(context, index);
+            replace(document, "SELECT 2", 8, 2, " ");
+            assertIndex(context, index);
+
+            // Split statement
+            replace(document, "FROM t WHERE", 0, 0, ";\n");
+            assertIndex(context, index);
+
+            // Insert several statements
+            replace(document, "UPDATE t", 0, 0, "SELECT 4; SELECT 5;\nSELECT 6;\n");
+            assertIndex(context, index);
+
+            // Remove text across several delimiters
+            int start = document.get().indexOf("SELECT 1") + 3;
+            replace(document, "SELECT 1", 3, document.get().indexOf("SELECT 5") + 2 - start, "");
+            assertIndex(context, index);
+
+            // Open string literal which hides following delimiters, then close it
+            replace(document, "SELECT 6", 0, 0, "'");
+            assertIndex(context, index);
+            replace(document, "UPDATE t", 0, 0, "';\n");
+            assertIndex(context, index);
+
+            // Several edits before the next request
+            replace(document, "';\n", 0, 3, "");
+            replace(document, "'SELECT 6", 0, 1, "");
+            replace(document, "UPDATE t", 0, 0, "SELECT 7;");
+            assertIndex(context, index);
+
+            // Break dollar-quoted block, then restore it
+            replace(document, "end $$", 4, 2, "");
+            assertIndex(context, index);
+            replace(document, "end ", 4, 0, "$$");
+            assertIndex(context, index);
+
+            // Replace the whole document
+            document.replace(0, document.getLength(), "");
+            assertIndex(context, index);
+            document.replace(0, 0, "SELECT 8;\nSELECT 9;");
+            assertIndex(context, index);
+        } finally {
+            index.dispose();
+        }
+    }
+
+    @Test
+    public void parseIndexDropsParseOfChangedText() throws DBException, BadLocationException {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            script.append("SELECT ").append(i).append(" FROM t WHERE a = 'x;y';\n");
+        }
+        ConcurrentEditDocument document = new ConcurrentEditDocument(script.toString());
+        SQLParserContext context = createParserContext(setDialect("postgresql"), document);
+        SQLScriptParseIndex index = new SQLScriptParseIndex(context);
+        try {
+            // Change document during the initial parse
+            document.editOnRead(50, document.get().indexOf("SELECT 10"), 0, "SELECT 100;\n");
+            index.getStatementCount();
+            Assert.assertTrue(document.isEdited());
+            assertIndex(context, index);
+
+            // Change document during the dirty region parse: add statement
+            replace(document, "SELECT 3 ", 7, 1, "33");
+            document.editOnRead(20, document.get().indexOf("SELECT 15"), 0, "SELECT 200;\n");
+            index.getStatementCount();
+            Assert.assertTrue(document.isEdited());
+            assertIndex(context, index);
+
+            // Remove delimiters, so the dirty region grows while it is parsed
+            replace(document, "SELECT 5 ", 0, 0, "'");
+            int start = document.get().indexOf("'x;y';\nSELECT 7 ");
+            document.editOnRead(20, start, document.get().indexOf("SELECT 9 ") - start, "");
+            index.getStatements(0, document.getLength());
+            Assert.assertTrue(document.isEdited());
+            assertIndex(context, index);
+        } finally {
+            index.dispose();
+        }
+    }
+
+    /**
+     * Document which is changed by another thread when it is read.
+     * Like SQL editor document which is changed in UI thread while reconciler parses it.
+     */
+    private static class ConcurrentEditDocument extends Document {
+        private int readsBeforeEdit = -1;
+        private int editOffset, editLength;
+        private String editText;
+        private volatile boolean edited;
+
+        ConcurrentEditDocument(String text) {
+            super(text);
+        }
+
+        void editOnRead(int reads, int offset, int length, String text) {
+            Assert.assertTrue(offset >= 0);
+            this.readsBeforeEdit = reads;
+            this.editOffset = offset;
+            this.editLength = length;
+            this.editText = text;
+            this.edited = false;
+        }
+
+        boolean isEdited() {
+            return edited;
+        }
+
+        @Override
+        public char getChar(int pos) throws BadLocationException {
+            if (readsBeforeEdit >= 0 && readsBeforeEdit-- == 0) {
+                Thread editor = new Thread(() -> {
+                    try {
+                        replace(editOffset, editLength, editText);
+                        edited = true;
+                    } catch (BadLocationException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                editor.start();
+                try {
+                    editor.join(10000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                // Editor must not wait for the parse to finish
+                Assert.assertTrue("Document change is blocked by index parse", edited);
+            }
+            return super.getChar(pos);
+        }
+    }
+
+    private void replace(Document document, String search, int shift, int length, String text) throws BadLocationException {
+        int offset = document.get().indexOf(search);
+        Assert.assertTrue("Text not found: " + search, offset >= 0);
+        document.replace(offset + shift, length, text);
+    }
+
+    private void assertIndex(SQLParserContext context, SQLScriptParseIndex index) {
+        // Index must have the same boundaries as the full document parse
+        int length = context.getDocument().getLength();
+        List<SQLScriptElement> elements = SQLScriptParser.extractScriptQueries(context, 0, length, false, true, false);
+        List<IRegion> regions = index.getStatements(0, length);
+        Assert.assertEquals(elements.size(), index.getStatementCount());
+        Assert.assertEquals(elements.size(), regions.size());
+        for (int i = 0; i < elements.size(); i++) {
+            SQLScriptElement element = elements.get(i);
+            Assert.assertEquals(element.getOffset(), regions.get(i).getOffset());
+            Assert.assertEquals(element.getLength(), regions.get(i).getLength());
+            IRegion region = index.getStatementAt(element.getOffset());
+            Assert.assertNotNull(region);
+            Assert.assertEquals(element.getOffset(), region.getOffset());
+            Assert.assertEquals(element.getOffset() + element.getLength(), index.getStatementBoundary(element.getOffset() + element.getLength()));
+        }
+    }
+
     private void assertParse(String dialectName, String query, String[] expected) throws DBException {
         SQLParserContext context = createParserContext(setDialect(dialectName), query);
         List<SQLScriptElement> elements = SQLScriptParser.extractScriptQueries(context, 0, context.getDocument().getLength(), false, false, false);
@@ -322,11 +496,14 @@ public class SQLScriptParserTest {
     }
 
     private SQLParserContext createParserContext(SQLDialect dialect, String query) {
+        return createParserContext(dialect, new Document(query));
+    }
+
+    private SQLParserContext createParserContext(SQLDialect dialect, Document document) {
         SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
         syntaxManager.init(dialect, dataSourceContainer.getPreferenceStore());
         SQLRuleManager ruleManager = new SQLRuleManager(syntaxManager);
         ruleManager.loadRules(dataSource, false);
-        Document document = new Document(query);
         return new SQLParserContext(dataSource, syntaxManager, ruleManager, document);
     }
 
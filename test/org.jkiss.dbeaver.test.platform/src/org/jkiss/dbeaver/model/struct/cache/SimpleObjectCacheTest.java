@@ -0,0 +1,213 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.struct.cache;
+
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SimpleObjectCacheTest {
+
+    @Test
+    public void testLookup() {
+        SimpleObjectCache<DBSObject, TestObject> cache = new SimpleObjectCache<>();
+        List<TestObject> objects = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            objects.add(new TestObject("table_" + i));
+        }
+        cache.setCache(objects);
+        for (TestObject object : objects) {
+            Assert.assertSame(object, cache.getCachedObject(object.getName()));
+        }
+        Assert.assertNull(cache.getCachedObject("TABLE_1"));
+        Assert.assertNull(cache.getCachedObject("table_1000"));
+
+        cache.setCaseSensitive(false);
+        Assert.assertSame(objects.get(1), cache.getCachedObject("TABLE_1"));
+        Assert.assertSame(objects.get(1), cache.getCachedObject("Table_1"));
+        Assert.assertNull(cache.getCachedObject("table_1000"));
+    }
+
+    @Test
+    public void testModifications() {
+        SimpleObjectCache<DBSObject, TestObject> cache = new SimpleObjectCache<>();
+        cache.setCaseSensitive(false);
+        TestObject first = new TestObject("First");
+        TestObject second = new TestObject("Second");
+        cache.cacheObject(first);
+        Assert.assertSame(first, cache.getCachedObject("FIRST"));
+
+        List<TestObject> snapshot = cache.getCachedObjects();
+        cache.cacheObject(second);
+        Assert.assertSame(second, cache.getCachedObject("second"));
+        Assert.assertEquals(1, snapshot.size());
+        Assert.assertEquals(2, cache.getCacheSize());
+
+        cache.removeObject(first, false);
+        Assert.assertNull(cache.getCachedObject("first"));
+        Assert.assertSame(second, cache.getCachedObject("second"));
+        Assert.assertEquals(1, cache.getCacheSize());
+
+        second.name = "Renamed";
+        cache.renameObject(second, "Second", "Renamed");
+        Assert.assertNull(cache.getCachedObject("second"));
+        Assert.assertSame(second, cache.getCachedObject("renamed"));
+
+        // Non-ASCII names are upper-cased as strings
+        TestObject german = new TestObject("Straße");
+        cache.cacheObject(german);
+        Assert.assertSame(german, cache.getCachedObject("STRASSE"));
+        Assert.assertSame(german, cache.getCachedObject("straße"));
+
+        cache.clearCache();
+        Assert.assertNull(cache.getCachedObject("renamed"));
+        Assert.assertTrue(cache.getCachedObjects().isEmpty());
+    }
+
+    @Test
+    public void testRemoveCollisions() {
+        SimpleObjectCache<DBSObject, TestObject> cache = new SimpleObjectCache<>();
+        List<TestObject> objects = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            objects.add(new TestObject("c" + i));
+        }
+        cache.setCache(objects);
+        Assert.assertNotNull(cache.getCachedObject("c0"));
+        for (int i = 0; i < objects.size(); i += 2) {
+            cache.removeObject(objects.get(i), false);
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            TestObject found = cache.getCachedObject("c" + i);
+            if (i % 2 == 0) {
+                Assert.assertNull(found);
+            } else {
+                Assert.assertSame(objects.get(i), found);
+            }
+        }
+    }
+
+    @Test
+    public void testAppendObjects() {
+        SimpleObjectCache<DBSObject, TestObject> cache = new SimpleObjectCache<>();
+        List<TestObject> objects = new ArrayList<>();
+        List<List<TestObject>> snapshots = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            TestObject object = new TestObject("object_" + i);
+            objects.add(object);
+            cache.cacheObject(object);
+            Assert.assertSame(object, cache.getCachedObject(object.getName()));
+            Assert.assertSame(objects.get(i / 2), cache.getCachedObject("object_" + (i / 2)));
+            Assert.assertNull(cache.getCachedObject("object_" + (i + 1)));
+            if (i % 50 == 0) {
+                snapshots.add(cache.getCachedObjects());
+            }
+        }
+        // Older snapshots do not see objects appended after them
+        for (int i = 0; i < snapshots.size(); i++) {
+            List<TestObject> snapshot = snapshots.get(i);
+            Assert.assertEquals(i * 50 + 1, snapshot.size());
+            for (int k = 0; k < snapshot.size(); k++) {
+                Assert.assertSame(objects.get(k), snapshot.get(k));
+            }
+        }
+
+        // Duplicate name: both are kept in the list, lookup finds the latest
+        TestObject duplicate = new TestObject("object_10");
+        cache.cacheObject(duplicate);
+        Assert.assertEquals(501, cache.getCacheSize());
+        Assert.assertSame(duplicate, cache.getCachedObject("object_10"));
+        Assert.assertSame(objects.get(11), cache.getCachedObject("object_11"));
+        Assert.assertEquals(451, snapshots.get(snapshots.size() - 1).size());
+    }
+
+    @Test
+    public void testConcurrentReader() throws Exception {
+        final SimpleObjectCache<DBSObject, TestObject> cache = new SimpleObjectCache<>();
+        final int count = 20000;
+        final TestObject[] objects = new TestObject[count];
+        for (int i = 0; i < count; i++) {
+            objects[i] = new TestObject("t" + i);
+        }
+        final List<String> errors = new ArrayList<>();
+        Thread reader = new Thread(() -> {
+            while (true) {
+                List<TestObject> snapshot = cache.getCachedObjects();
+                int size = snapshot.size();
+                for (int i = 0; i < size; i++) {
+                    if (snapshot.get(i) != objects[i]) {
+                        errors.add("Wrong object at " + i);
+                        return;
+                    }
+                }
+                if (size > 0) {
+                    int last = size - 1;
+                    if (cache.getCachedObject("t" + last) != objects[last]) {
+                        errors.add("Object t" + last + " not found");
+                        return;
+                    }
+                }
+                if (size == count) {
+                    return;
+                }
+            }
+        });
+        reader.start();
+        for (TestObject object : objects) {
+            cache.cacheObject(object);
+        }
+        reader.join(60000);
+        Assert.assertFalse(reader.isAlive());
+        Assert.assertTrue(errors.toString(), errors.isEmpty());
+    }
+
+    private static class TestObject implements DBSObject {
+        private String name;
+
+        TestObject(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDescription() {
+            return null;
+        }
+
+        @Override
+        public DBSObject getParentObject() {
+            return null;
+        }
+
+        @Override
+        public DBPDataSource getDataSource() {
+            return null;
+        }
+
+        @Override
+        public boolean isPersisted() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+public class QMEventRingBufferTest {
+    private static final int PRODUCER_COUNT = 4;
+    private static final int EVENTS_PER_PRODUCER = 100000;
+
+    @Test
+    public void testCapacity() {
+        Assert.assertEquals(2, new QMEventRingBuffer<Integer>(1).getCapacity());
+        Assert.assertEquals(8, new QMEventRingBuffer<Integer>(5).getCapacity());
+        Assert.assertEquals(8, new QMEventRingBuffer<Integer>(8).getCapacity());
+    }
+
+    @Test
+    public void testDropWhenFull() {
+        QMEventRingBuffer<Integer> buffer = new QMEventRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(buffer.offer(i));
+        }
+        Assert.assertFalse(buffer.offer(4));
+        Assert.assertFalse(buffer.offer(5));
+        Assert.assertEquals(2, buffer.getDroppedCount());
+
+        // Freed slot accepts new element
+        Assert.assertEquals(Integer.valueOf(0), buffer.poll());
+        Assert.assertTrue(buffer.offer(6));
+        Assert.assertFalse(buffer.offer(7));
+        Assert.assertEquals(3, buffer.getDroppedCount());
+
+        List<Integer> drained = new ArrayList<>();
+        Assert.assertEquals(4, buffer.drainTo(drained));
+        Assert.assertEquals(List.of(1, 2, 3, 6), drained);
+        Assert.assertNull(buffer.poll());
+    }
+
+    @Test
+    public void testWrapAround() {
+        QMEventRingBuffer<Integer> buffer = new QMEventRingBuffer<>(4);
+        int next = 0;
+        int expected = 0;
+        // Positions run many times past capacity, with partially filled buffer on each round
+        for (int round = 0; round < 100; round++) {
+            int count = round % 4 + 1;
+            for (int i = 0; i < count; i++) {
+                Assert.assertTrue(buffer.offer(next++));
+            }
+            for (int i = 0; i < count; i++) {
+                Assert.assertEquals(Integer.valueOf(expected++), buffer.poll());
+            }
+            Assert.assertNull(buffer.poll());
+        }
+        Assert.assertEquals(0, buffer.getDroppedCount());
+    }
+
+    @Test
+    public void testMultipleProducers() throws Exception {
+        QMEventRingBuffer<Long> buffer = new QMEventRingBuffer<>(1024);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCER_COUNT; p++) {
+            long producerBase = (long) p * EVENTS_PER_PRODUCER;
+            Thread producer = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < EVENTS_PER_PRODUCER; i++) {
+                    buffer.offer(producerBase + i);
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        startLatch.countDown();
+
+        long[] lastReceived = new long[PRODUCER_COUNT];
+        Arrays.fill(lastReceived, -1);
+        long receivedCount = 0;
+        List<Long> drained = new ArrayList<>();
+        boolean producersAlive = true;
+        while (producersAlive) {
+            producersAlive = false;
+            for (Thread producer : producers) {
+                producersAlive |= producer.isAlive();
+            }
+            // Drain after the liveness check, so elements of finished producers are not missed
+            drained.clear();
+            buffer.drainTo(drained);
+            for (Long value : drained) {
+                int producer = (int) (value / EVENTS_PER_PRODUCER);
+                long sequence = value % EVENTS_PER_PRODUCER;
+                // Elements of each producer come in order, without duplicates
+                Assert.assertTrue("Out of order element " + value, sequence > lastReceived[producer]);
+                lastReceived[producer] = sequence;
+                receivedCount++;
+            }
+        }
+        Assert.assertNull(buffer.poll());
+        // Every element is either received or counted as dropped
+        Assert.assertEquals((long) PRODUCER_COUNT * EVENTS_PER_PRODUCER, receivedCount + buffer.getDroppedCount());
+    }
+}
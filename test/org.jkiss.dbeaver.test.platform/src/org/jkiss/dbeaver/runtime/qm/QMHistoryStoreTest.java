@@ -0,0 +1,284 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.qm.QMConstants;
+import org.jkiss.dbeaver.model.qm.QMEventCriteria;
+import org.jkiss.dbeaver.model.qm.QMEventCursor;
+import org.jkiss.dbeaver.model.qm.QMMetaEvent;
+import org.jkiss.dbeaver.model.qm.QMObjectType;
+import org.jkiss.dbeaver.model.qm.meta.QMMSessionInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementExecuteInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementInfo;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RunWith(MockitoJUnitRunner.class)
+public class QMHistoryStoreTest {
+    private static final String FIRST_DAY = "20220110";
+    private static final String SECOND_DAY = "20220111";
+
+    private final DBRProgressMonitor monitor = new VoidProgressMonitor();
+
+    @Mock
+    private DBPPreferenceStore preferenceStore;
+
+    private Path folder;
+    private TestClock clock;
+    private QMHistoryStore store;
+
+    @Before
+    public void init() throws IOException {
+        folder = Files.createTempDirectory("dbeaver-qm-history-test");
+        clock = new TestClock(LocalDate.of(2022, 1, 10).atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant());
+        Mockito.when(preferenceStore.getBoolean(QMConstants.PROP_STORE_HISTORY)).thenReturn(true);
+        store = new QMHistoryStore(folder, preferenceStore, clock);
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        store.dispose();
+        try (Stream<Path> files = Files.walk(folder)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testSegmentRollOver() throws Exception {
+        append("SELECT * FROM first_day", "pg", DBCExecutionPurpose.USER);
+        clock.nextDay();
+        append("SELECT * FROM second_day", "pg", DBCExecutionPurpose.USER);
+
+        Assert.assertTrue(Files.exists(folder.resolve(FIRST_DAY + ".dat")));
+        Assert.assertTrue(Files.exists(folder.resolve(SECOND_DAY + ".dat")));
+        // Fresh segments come first
+        Assert.assertEquals(
+            Arrays.asList("SELECT * FROM second_day", "SELECT * FROM first_day"),
+            search(new QMEventCriteria()));
+    }
+
+    @Test
+    public void testObsoleteSegments() throws Exception {
+        Mockito.when(preferenceStore.getInt(QMConstants.PROP_HISTORY_DAYS)).thenReturn(1);
+        store.dispose();
+        store = new QMHistoryStore(folder, preferenceStore, clock);
+
+        append("SELECT * FROM first_day", "pg", DBCExecutionPurpose.USER);
+        clock.nextDay();
+        clock.nextDay();
+        append("SELECT * FROM third_day", "pg", DBCExecutionPurpose.USER);
+
+        Assert.assertFalse(Files.exists(folder.resolve(FIRST_DAY + ".dat")));
+        Assert.assertEquals(Collections.singletonList("SELECT * FROM third_day"), search(new QMEventCriteria()));
+    }
+
+    @Test
+    public void testIndexPersistence() throws Exception {
+        // Tokens longer than 64K bytes must survive index file round-trip
+        StringBuilder longName = new StringBuilder("t");
+        while (longName.length() <= 70000) {
+            longName.append("_long_name");
+        }
+        String longQuery = "SELECT * FROM " + longName;
+        append("SELECT * FROM orders", "pg", DBCExecutionPurpose.USER);
+        append(longQuery, "pg", DBCExecutionPurpose.USER);
+        clock.nextDay();
+        append("SELECT * FROM customers", "pg", DBCExecutionPurpose.USER);
+
+        QMEventCriteria criteria = new QMEventCriteria();
+        criteria.setSearchString("orders");
+        Assert.assertEquals(Collections.singletonList("SELECT * FROM orders"), search(criteria));
+        // Index of the sealed segment is saved on first search
+        Path indexFile = folder.resolve(FIRST_DAY + ".idx");
+        Assert.assertTrue(Files.exists(indexFile));
+        Assert.assertFalse(Files.exists(folder.resolve(SECOND_DAY + ".idx")));
+
+        // New store reads the same records using the saved index
+        store.dispose();
+        store = new QMHistoryStore(folder, preferenceStore, clock);
+        Assert.assertEquals(Collections.singletonList("SELECT * FROM orders"), search(criteria));
+        criteria.setSearchString("_long_name_long_name");
+        Assert.assertEquals(Collections.singletonList(longQuery), search(criteria));
+        criteria.setSearchString(null);
+        Assert.assertEquals(
+            Arrays.asList("SELECT * FROM customers", longQuery, "SELECT * FROM orders"),
+            search(criteria));
+    }
+
+    @Test
+    public void testCriteriaSearch() throws Exception {
+        append("SELECT id, name FROM orders", "pg", DBCExecutionPurpose.USER);
+        append("SELECT * FROM pg_catalog.pg_class", "pg", DBCExecutionPurpose.META);
+        append("UPDATE orders SET name = 'test'", "mysql", DBCExecutionPurpose.USER_SCRIPT);
+        clock.nextDay();
+        append("DELETE FROM orders WHERE id = 1", "pg", DBCExecutionPurpose.USER);
+
+        QMEventCriteria criteria = new QMEventCriteria();
+        criteria.setContainerId("pg");
+        Assert.assertEquals(
+            Arrays.asList("DELETE FROM orders WHERE id = 1", "SELECT * FROM pg_catalog.pg_class", "SELECT id, name FROM orders"),
+            search(criteria));
+
+        criteria.setQueryTypes(new DBCExecutionPurpose[] {DBCExecutionPurpose.USER, DBCExecutionPurpose.USER_SCRIPT});
+        Assert.assertEquals(
+            Arrays.asList("DELETE FROM orders WHERE id = 1", "SELECT id, name FROM orders"),
+            search(criteria));
+
+        // Search string is matched as a substring
+        criteria.setContainerId(null);
+        criteria.setSearchString("order");
+        Assert.assertEquals(
+            Arrays.asList("DELETE FROM orders WHERE id = 1", "UPDATE orders SET name = 'test'", "SELECT id, name FROM orders"),
+            search(criteria));
+        criteria.setSearchString("orders set");
+        Assert.assertEquals(Collections.singletonList("UPDATE orders SET name = 'test'"), search(criteria));
+
+        criteria.setSearchString(null);
+        criteria.setContainerId("oracle");
+        Assert.assertEquals(Collections.emptyList(), search(criteria));
+
+        // Only queries are stored
+        criteria.setContainerId(null);
+        criteria.setObjectTypes(new QMObjectType[] {QMObjectType.session});
+        Assert.assertEquals(Collections.emptyList(), search(criteria));
+    }
+
+    @Test
+    public void testTimeAndDurationSearch() throws Exception {
+        long firstDayStart = clock.millis();
+        append("SELECT * FROM fast_orders", "pg", DBCExecutionPurpose.USER, 10);
+        append("SELECT * FROM slow_orders", "pg", DBCExecutionPurpose.USER, 5000);
+        clock.nextDay();
+        long secondDayStart = clock.millis();
+        append("SELECT * FROM slow_customers", "pg", DBCExecutionPurpose.USER, 2000);
+        append("SELECT * FROM fast_customers", "pg", DBCExecutionPurpose.USER, 10);
+
+        QMEventCriteria criteria = new QMEventCriteria();
+        criteria.setMinDuration(1000);
+        Assert.assertEquals(
+            Arrays.asList("SELECT * FROM slow_customers", "SELECT * FROM slow_orders"),
+            search(criteria));
+
+        criteria.setMinDuration(0);
+        criteria.setFromTime(secondDayStart);
+        Assert.assertEquals(
+            Arrays.asList("SELECT * FROM fast_customers", "SELECT * FROM slow_customers"),
+            search(criteria));
+
+        criteria.setFromTime(0);
+        criteria.setToTime(firstDayStart);
+        Assert.assertEquals(Collections.singletonList("SELECT * FROM fast_orders"), search(criteria));
+
+        // Durations survive index file round-trip
+        store.dispose();
+        store = new QMHistoryStore(folder, preferenceStore, clock);
+        criteria.setToTime(secondDayStart);
+        criteria.setMinDuration(1000);
+        Assert.assertEquals(
+            Arrays.asList("SELECT * FROM slow_customers", "SELECT * FROM slow_orders"),
+            search(criteria));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        Mockito.when(preferenceStore.getBoolean(QMConstants.PROP_STORE_HISTORY)).thenReturn(false);
+        store.dispose();
+        store = new QMHistoryStore(folder, preferenceStore, clock);
+
+        append("SELECT * FROM orders", "pg", DBCExecutionPurpose.USER);
+        Assert.assertFalse(Files.exists(folder.resolve(FIRST_DAY + ".dat")));
+    }
+
+    private void append(String query, String containerId, DBCExecutionPurpose purpose) {
+        append(query, containerId, purpose, 10);
+    }
+
+    private void append(String query, String containerId, DBCExecutionPurpose purpose, long duration) {
+        long time = clock.millis();
+        QMMSessionInfo session = new QMMSessionInfo(time, time, containerId, containerId, "driver", null, null, "Main", false);
+        QMMStatementInfo statement = new QMMStatementInfo(time, time + duration, session, purpose);
+        QMMStatementExecuteInfo execution = new QMMStatementExecuteInfo(time, time + duration, statement, query, 1, 0, null, 0, 0, false);
+        store.metaInfoChanged(monitor, Collections.singletonList(new QMMetaEvent(execution, QMMetaEvent.Action.END)));
+        clock.tick();
+    }
+
+    private List<String> search(QMEventCriteria criteria) throws Exception {
+        List<String> queries = new ArrayList<>();
+        try (QMEventCursor cursor = store.getQueryHistoryCursor(monitor, criteria, null)) {
+            while (cursor.hasNextEvent(monitor)) {
+                queries.add(((QMMStatementExecuteInfo) cursor.nextEvent(monitor).getObject()).getQueryString());
+            }
+        }
+        return queries;
+    }
+
+    private static class TestClock extends Clock {
+        private Instant instant;
+
+        TestClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void tick() {
+            instant = instant.plusSeconds(1);
+        }
+
+        void nextDay() {
+            instant = instant.plus(1, ChronoUnit.DAYS);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -18,9 +18,18 @@ package org.jkiss.dbeaver.tools.transfer;
 
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataImporterSite;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamDataImporterColumnInfo;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamEntityMapping;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamProducerSettings;
 import org.jkiss.dbeaver.tools.transfer.stream.importer.DataImporterCSV;
 import org.junit.Assert;
 import org.junit.Before;
@@ -33,6 +42,9 @@ import org.mockito.runners.MockitoJUnitRunner;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,13 +57,33 @@ public class CSVImporterTest {
     private final StreamEntityMapping mapping = new StreamEntityMapping(DUMMY_FILE);
     private final Map<String, Object> properties = new HashMap<>();
 
+    private final DBRProgressMonitor monitor = new VoidProgressMonitor();
+
     @Mock
     private IStreamDataImporterSite site;
+    @Mock
+    private StreamProducerSettings settings;
+    @Mock
+    private DBPDataSource streamDataSource;
+    @Mock
+    private DBSInstance instance;
+    @Mock
+    private DBCExecutionContext context;
+    @Mock
+    private DBCSession session;
+    @Mock
+    private IDataTransferConsumer<?, ?> consumer;
 
     @Before
     public void init() throws DBException {
         importer.init(site);
         Mockito.when(site.getProcessorProperties()).thenReturn(properties);
+        Mockito.when(site.getSourceObject()).thenReturn(mapping);
+        Mockito.when(site.getSettings()).thenReturn(settings);
+        Mockito.when(streamDataSource.getDefaultInstance()).thenReturn(instance);
+        Mockito.when(instance.getDefaultContext(monitor, false)).thenReturn(context);
+        Mockito.when(context.openSession(Mockito.eq(monitor), Mockito.eq(DBCExecutionPurpose.UTIL), Mockito.anyString())).thenReturn(session);
+        Mockito.when(session.getProgressMonitor()).thenReturn(monitor);
     }
 
     @Test
@@ -118,6 +150,76 @@ public class CSVImporterTest {
         Assert.assertEquals(DBPDataKind.STRING, columnsInfo.get(1).getDataKind());
     }
 
+    @Test
+    public void parallelParsingReadsSameRows() throws DBException, IOException {
+        StringBuilder data = new StringBuilder("id,name,comment\n");
+        appendRows(data, 0, 100);
+        List<List<Object>> rows = readRows(data.toString(), 1);
+        Assert.assertEquals(100, rows.size());
+        Assert.assertEquals(Arrays.asList("0", "name \"0\"", "first line\nsecond line, \"escaped\"\nthird line"), rows.get(0));
+        Assert.assertEquals(Arrays.asList("1", "name \"1\"", "plain"), rows.get(1));
+        Assert.assertEquals(Arrays.asList("2", "name \"2\"", ""), rows.get(2));
+        Assert.assertEquals(rows, readRows(data.toString(), 4));
+    }
+
+    @Test
+    public void parallelParsingSplitsChunksAfterQuotedValue() throws DBException, IOException {
+        // Quoted value is longer than the parser chunk (4M characters), so the chunk boundary is reached inside of it
+        StringBuilder longValue = new StringBuilder();
+        while (longValue.length() < 5 * 1024 * 1024) {
+            for (int i = 0; i < 1000; i++) {
+                longValue.append("text with \"\"quotes\"\", \\\"escapes\\\" and, commas ");
+            }
+            longValue.append('\n');
+        }
+        StringBuilder data = new StringBuilder("id,name,comment\n");
+        appendRows(data, 0, 1000);
+        data.append("1000,\"long\",\"").append(longValue).append("\"\n");
+        appendRows(data, 1001, 2000);
+
+        List<List<Object>> rows = readRows(data.toString(), 1);
+        Assert.assertEquals(2000, rows.size());
+        Assert.assertEquals(
+            longValue.toString().replace("\"\"", "\"").replace("\\\"", "\""),
+            rows.get(1000).get(2));
+        Assert.assertEquals(rows, readRows(data.toString(), 4));
+    }
+
+    private static void appendRows(StringBuilder data, int from, int to) {
+        for (int i = from; i < to; i++) {
+            data.append(i).append(",\"name \"\"").append(i).append("\"\"\",");
+            if (i % 3 == 0) {
+                // Quoted multi-line value with escaped quotes
+                data.append("\"first line\nsecond line, \\\"escaped\\\"\nthird line\"");
+            } else if (i % 3 == 1) {
+                data.append("plain");
+            }
+            data.append('\n');
+        }
+    }
+
+    private List<List<Object>> readRows(String data, int parseThreads) throws DBException, IOException {
+        properties.put("quoteChar", "\"");
+        properties.put("parseThreads", parseThreads);
+        mapping.getStreamColumns().clear();
+        mapping.getStreamColumns().addAll(readColumnsInfo(data, true));
+
+        List<List<Object>> rows = new ArrayList<>();
+        Mockito.doAnswer(invocation -> {
+            DBCResultSet resultSet = (DBCResultSet) invocation.getArguments()[1];
+            List<Object> row = new ArrayList<>();
+            for (int i = 0; i < mapping.getStreamColumns().size(); i++) {
+                row.add(resultSet.getAttributeValue(i));
+            }
+            rows.add(row);
+            return null;
+        }).when(consumer).fetchRow(Mockito.eq(session), Mockito.any(DBCResultSet.class));
+        try (ByteArrayInputStream is = new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8))) {
+            importer.runImport(monitor, streamDataSource, is, consumer);
+        }
+        return rows;
+    }
+
     private List<StreamDataImporterColumnInfo> readColumnsInfo(String data, boolean isHeaderPresent) throws DBException, IOException {
         properties.put("header", isHeaderPresent ? DataImporterCSV.HeaderPosition.top : DataImporterCSV.HeaderPosition.none);
         try (ByteArrayInputStream is = new ByteArrayInputStream(data.getBytes())) {
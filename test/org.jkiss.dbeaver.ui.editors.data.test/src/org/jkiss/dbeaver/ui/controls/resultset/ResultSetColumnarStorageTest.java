@@ -0,0 +1,124 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+public class ResultSetColumnarStorageTest {
+
+    @Test
+    public void testTypedValues() {
+        ResultSetColumnarStorage storage = new ResultSetColumnarStorage(8);
+        int rowCount = 1000;
+        for (int i = 0; i < rowCount; i++) {
+            Assert.assertEquals(i, storage.addRow(new Object[] {
+                i % 3 == 0 ? null : i, (long) i, (double) i / 2, (float) i, (short) i, i % 2 == 0, "value " + (i % 10), null
+            }));
+        }
+        Assert.assertEquals(rowCount, storage.getRowCount());
+        for (int i = 0; i < rowCount; i++) {
+            Object[] values = storage.getRowValues(i);
+            Assert.assertEquals(i % 3 == 0 ? null : i, values[0]);
+            Assert.assertEquals((long) i, values[1]);
+            Assert.assertEquals((double) i / 2, values[2]);
+            Assert.assertEquals((float) i, values[3]);
+            Assert.assertEquals((short) i, values[4]);
+            Assert.assertEquals(i % 2 == 0, values[5]);
+            Assert.assertEquals("value " + (i % 10), values[6]);
+            Assert.assertNull(values[7]);
+            Assert.assertEquals(values[6], storage.getValue(i, 6));
+        }
+        // Nulls go last
+        Assert.assertTrue(storage.compareValues(0, 1, 0) < 0);
+        Assert.assertTrue(storage.compareValues(0, 1, 2) < 0);
+        Assert.assertTrue(storage.compareValues(5, 1, 0) < 0);
+        Assert.assertEquals(0, storage.compareValues(6, 1, 11));
+    }
+
+    @Test
+    public void testTypeMismatch() {
+        ResultSetColumnarStorage storage = new ResultSetColumnarStorage(2);
+        storage.addRow(new Object[] { 1, "a" });
+        storage.addRow(new Object[] { null, "b" });
+        storage.addRow(new Object[] { 3L, 2 });
+        // Short row
+        storage.addRow(new Object[] { 4 });
+
+        Assert.assertEquals(1, storage.getValue(0, 0));
+        Assert.assertNull(storage.getValue(1, 0));
+        Assert.assertEquals(3L, storage.getValue(2, 0));
+        Assert.assertEquals(4, storage.getValue(3, 0));
+        Assert.assertEquals("a", storage.getValue(0, 1));
+        Assert.assertEquals("b", storage.getValue(1, 1));
+        Assert.assertEquals(2, storage.getValue(2, 1));
+        Assert.assertNull(storage.getValue(3, 1));
+        Assert.assertNull(storage.getValue(0, 2));
+    }
+
+    @Test
+    public void testDistinctStrings() {
+        ResultSetColumnarStorage storage = new ResultSetColumnarStorage(1);
+        int rowCount = 20000;
+        for (int i = 0; i < rowCount; i++) {
+            storage.addRow(new Object[] { i % 5 == 0 ? null : "s" + i });
+        }
+        for (int i = 0; i < rowCount; i++) {
+            Assert.assertEquals(i % 5 == 0 ? null : "s" + i, storage.getValue(i, 0));
+        }
+        Assert.assertTrue(storage.compareValues(0, 1, 2) < 0);
+        Assert.assertTrue(storage.compareValues(0, 0, 1) > 0);
+    }
+
+    @Test
+    public void testDecimalValues() {
+        ResultSetColumnarStorage storage = new ResultSetColumnarStorage(1);
+        BigDecimal[] decimals = {
+            new BigDecimal("12.50"),
+            null,
+            new BigDecimal("-3"),
+            new BigDecimal("12.5"),
+            new BigDecimal(BigInteger.TEN.pow(30), 2),
+            new BigDecimal("1E+5"),
+            BigDecimal.valueOf(Long.MAX_VALUE, 4),
+            new BigDecimal("0.000"),
+        };
+        for (BigDecimal value : decimals) {
+            storage.addRow(new Object[] { value });
+        }
+        for (int i = 0; i < decimals.length; i++) {
+            // Scale is kept
+            Assert.assertEquals(decimals[i], storage.getValue(i, 0));
+        }
+        Assert.assertEquals(0, storage.compareValues(0, 0, 3));
+        Assert.assertTrue(storage.compareValues(0, 2, 0) < 0);
+        Assert.assertTrue(storage.compareValues(0, 4, 0) > 0);
+        Assert.assertTrue(storage.compareValues(0, 5, 4) < 0);
+        Assert.assertTrue(storage.compareValues(0, 7, 2) > 0);
+        Assert.assertTrue(storage.compareValues(0, 1, 4) > 0);
+
+        // Non-decimal value converts column to objects
+        storage.addRow(new Object[] { 5 });
+        Assert.assertEquals(decimals[0], storage.getValue(0, 0));
+        Assert.assertEquals(decimals[4], storage.getValue(4, 0));
+        Assert.assertEquals(5, storage.getValue(8, 0));
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2022 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.Date;
+
+public class ResultSetSpillStorageTest {
+
+    private static final int COLUMN_COUNT = 8;
+    private static final int ROW_COUNT = ResultSetSpillStorage.BLOCK_SIZE * 3 + 10;
+
+    private ResultSetSpillStorage storage;
+
+    @Before
+    public void setUp() throws Exception {
+        // Only one spilled block in heap, so the others are read back from file
+        storage = new ResultSetSpillStorage(new VoidProgressMonitor(), COLUMN_COUNT, 1);
+    }
+
+    @After
+    public void tearDown() {
+        storage.dispose();
+    }
+
+    @Test
+    public void testSimpleValues() {
+        for (int i = 0; i < ROW_COUNT; i++) {
+            Assert.assertEquals(i, storage.addRow(new Object[] {
+                i, (long) i, "row " + i, i % 2 == 0, null, new BigDecimal(BigInteger.valueOf(i), 2), (double) i, (short) (i % 100)
+            }));
+        }
+        Assert.assertEquals(ROW_COUNT, storage.getRowCount());
+        for (int i = ROW_COUNT - 1; i >= 0; i--) {
+            Object[] values = storage.getRowValues(i);
+            Assert.assertEquals(i, values[0]);
+            Assert.assertEquals((long) i, values[1]);
+            Assert.assertEquals("row " + i, values[2]);
+            Assert.assertEquals(i % 2 == 0, values[3]);
+            Assert.assertNull(values[4]);
+            Assert.assertEquals(new BigDecimal(BigInteger.valueOf(i), 2), values[5]);
+            Assert.assertEquals((double) i, values[6]);
+            Assert.assertEquals((short) (i % 100), values[7]);
+        }
+    }
+
+    @Test
+    public void testTemporalValues() {
+        Timestamp timestamp = Timestamp.valueOf("2022-01-24 10:20:30.123456789");
+        Object[] row = {
+            new Date(1643019630000L),
+            java.sql.Date.valueOf("2022-01-24"),
+            Time.valueOf("10:20:30"),
+            timestamp,
+            LocalDateTime.of(2022, 1, 24, 10, 20, 30, 123456789),
+            OffsetDateTime.of(2022, 1, 24, 10, 20, 30, 1000, ZoneOffset.ofHours(3)),
+            ZonedDateTime.of(2022, 1, 24, 10, 20, 30, 0, ZoneId.of("Europe/Berlin")),
+            Instant.ofEpochSecond(1643019630L, 999)
+        };
+        for (int i = 0; i < ROW_COUNT; i++) {
+            storage.addRow(row.clone());
+        }
+        for (int i = 0; i < ROW_COUNT; i += 1000) {
+            Object[] values = storage.getRowValues(i);
+            for (int k = 0; k < COLUMN_COUNT; k++) {
+                Assert.assertEquals(row[k], values[k]);
+                Assert.assertEquals(row[k].getClass(), values[k].getClass());
+            }
+            Assert.assertEquals(timestamp.getNanos(), ((Timestamp) values[3]).getNanos());
+        }
+    }
+
+    @Test
+    public void testPinnedValues() {
+        Object[] pinned = new Object[ROW_COUNT];
+        for (int i = 0; i < ROW_COUNT; i++) {
+            pinned[i] = new StringBuilder("value " + i);
+            storage.addRow(new Object[] { i, pinned[i], LocalDate.ofEpochDay(i), "row " + i, null, null, null, null });
+        }
+        for (int i = 0; i < ROW_COUNT; i++) {
+            // Only values of unsupported types stay in memory, the rest of row is read from file
+            Assert.assertEquals(i, storage.getValue(i, 0));
+            Assert.assertSame(pinned[i], storage.getValue(i, 1));
+            Assert.assertEquals(LocalDate.ofEpochDay(i), storage.getValue(i, 2));
+            Assert.assertEquals("row " + i, storage.getValue(i, 3));
+        }
+    }
+
+    @Test
+    public void testShortRows() {
+        for (int i = 0; i < ROW_COUNT; i++) {
+            storage.addRow(i % 2 == 0 ? new Object[] { i } : new Object[] { i, "row " + i, null, null, null, null, null, null });
+        }
+        for (int i = 0; i < ROW_COUNT; i++) {
+            Assert.assertEquals(i, storage.getValue(i, 0));
+            Assert.assertEquals(i % 2 == 0 ? null : "row " + i, storage.getValue(i, 1));
+        }
+    }
+
+}